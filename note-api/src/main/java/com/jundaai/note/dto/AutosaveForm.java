@@ -0,0 +1,8 @@
+package com.jundaai.note.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+
+public record AutosaveForm(@NotNull(message = "Autosave content cannot be null.") String content) {
+
+}
@@ -0,0 +1,6 @@
+package com.jundaai.note.dto;
+
+
+public record AutosaveReceipt(Long noteId, long version) {
+
+}
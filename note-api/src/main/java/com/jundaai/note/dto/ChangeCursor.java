@@ -0,0 +1,40 @@
+package com.jundaai.note.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.jundaai.note.exception.InvalidCursorException;
+
+
+public record ChangeCursor(long sequence) {
+
+    private static final String PREFIX = "CHANGES:";
+
+    public static ChangeCursor first() {
+        return new ChangeCursor(0L);
+    }
+
+    public static ChangeCursor decode(String cursor) {
+        if (cursor == null) {
+            return first();
+        }
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!key.startsWith(PREFIX)) {
+                throw new InvalidCursorException(cursor);
+            }
+            long sequence = Long.parseLong(key.substring(PREFIX.length()));
+            if (sequence < 0) {
+                throw new InvalidCursorException(cursor);
+            }
+            return new ChangeCursor(sequence);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + sequence).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,6 @@
+package com.jundaai.note.dto;
+
+public enum ChangeEntityType {
+
+    FOLDER, NOTE, TAG,
+}
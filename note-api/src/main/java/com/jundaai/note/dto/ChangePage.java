@@ -0,0 +1,8 @@
+package com.jundaai.note.dto;
+
+import java.util.List;
+
+
+public record ChangePage(List<EntityChange> changes, String cursor, boolean hasMore) {
+
+}
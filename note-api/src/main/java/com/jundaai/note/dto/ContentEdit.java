@@ -0,0 +1,33 @@
+package com.jundaai.note.dto;
+
+import java.util.List;
+import java.util.Objects;
+
+import com.jundaai.note.exception.BadRequestException;
+import lombok.Builder;
+
+
+@Builder
+public record ContentEdit(int offset, int length, String text) {
+
+    public static String apply(String content, List<ContentEdit> edits) {
+        if (edits == null || edits.isEmpty()) {
+            throw new BadRequestException("Content edits cannot be empty.");
+        }
+        int patchedLength = content.length();
+        for (ContentEdit edit : edits) {
+            patchedLength += Objects.requireNonNullElse(edit.text(), "").length() - edit.length();
+        }
+        // edits address the base content, so they must be ascending and must not overlap
+        StringBuilder patched = new StringBuilder(Math.max(patchedLength, 0));
+        int copied = 0;
+        for (ContentEdit edit : edits) {
+            if (edit.offset() < copied || edit.length() < 0 || edit.offset() > content.length() - edit.length()) {
+                throw new BadRequestException("Content edit " + edit + " is out of order or out of range.");
+            }
+            patched.append(content, copied, edit.offset()).append(Objects.requireNonNullElse(edit.text(), ""));
+            copied = edit.offset() + edit.length();
+        }
+        return patched.append(content, copied, content.length()).toString();
+    }
+}
@@ -0,0 +1,16 @@
+package com.jundaai.note.dto;
+
+import java.time.ZonedDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import org.springframework.hateoas.server.core.Relation;
+
+
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Relation(itemRelation = "change", collectionRelation = "changeList")
+public record EntityChange(Long sequence, ChangeEntityType entityType, Long id, ChangeType changeType, String name,
+                           Long parentId, ZonedDateTime updatedAt) {
+
+}
@@ -0,0 +1,36 @@
+package com.jundaai.note.dto;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(ExchangeRecord.FolderRecord.class),
+        @JsonSubTypes.Type(ExchangeRecord.NoteRecord.class),
+        @JsonSubTypes.Type(ExchangeRecord.TagRecord.class)})
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public sealed interface ExchangeRecord {
+
+    @JsonTypeName("FOLDER")
+    record FolderRecord(Long id, Long parentId, String name, ZonedDateTime createdAt, ZonedDateTime updatedAt)
+            implements ExchangeRecord {
+
+    }
+
+    @JsonTypeName("NOTE")
+    record NoteRecord(Long id, Long folderId, String name, String content, List<String> tags,
+                      ZonedDateTime createdAt, ZonedDateTime updatedAt) implements ExchangeRecord {
+
+    }
+
+    @JsonTypeName("TAG")
+    record TagRecord(String name, ZonedDateTime createdAt, ZonedDateTime updatedAt) implements ExchangeRecord {
+
+    }
+}
@@ -0,0 +1,9 @@
+package com.jundaai.note.dto;
+
+import org.springframework.hateoas.server.core.Relation;
+
+
+@Relation(itemRelation = "folder", collectionRelation = "folderList")
+public record FolderTreeNode(Long id, String name, Long parentId, Integer depth) {
+
+}
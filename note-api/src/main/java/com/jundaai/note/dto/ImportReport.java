@@ -0,0 +1,11 @@
+package com.jundaai.note.dto;
+
+import java.util.List;
+
+
+public record ImportReport(long lines, int folders, int notes, int tags, List<LineError> errors) {
+
+    public record LineError(long line, String message) {
+
+    }
+}
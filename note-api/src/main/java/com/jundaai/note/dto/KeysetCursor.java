@@ -0,0 +1,58 @@
+package com.jundaai.note.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.jundaai.note.exception.InvalidCursorException;
+
+
+public record KeysetCursor(KeysetSort sort, ZonedDateTime updatedAt, String name, Long id) {
+
+    private static final ZonedDateTime MAX_UPDATED_AT = ZonedDateTime.of(9999, 12, 31, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    public static KeysetCursor first(KeysetSort sort) {
+        return switch (sort) {
+            case UPDATED_AT -> new KeysetCursor(sort, MAX_UPDATED_AT, null, Long.MAX_VALUE);
+            case NAME -> new KeysetCursor(sort, null, "", 0L);
+        };
+    }
+
+    public static KeysetCursor after(KeysetSort sort, ZonedDateTime updatedAt, String name, Long id) {
+        return switch (sort) {
+            case UPDATED_AT -> new KeysetCursor(sort, updatedAt, null, id);
+            case NAME -> new KeysetCursor(sort, null, name, id);
+        };
+    }
+
+    public static KeysetCursor decode(String cursor, KeysetSort sort) {
+        if (cursor == null) {
+            return first(sort);
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 3);
+            if (parts.length != 3 || KeysetSort.valueOf(parts[0]) != sort) {
+                throw new InvalidCursorException(cursor, sort.name());
+            }
+            Long id = Long.valueOf(parts[1]);
+            return switch (sort) {
+                case UPDATED_AT -> new KeysetCursor(sort, Instant.parse(parts[2]).atZone(ZoneOffset.UTC), null, id);
+                case NAME -> new KeysetCursor(sort, null, parts[2], id);
+            };
+        } catch (IllegalArgumentException | DateTimeParseException exception) {
+            throw new InvalidCursorException(cursor, sort.name());
+        }
+    }
+
+    public String encode() {
+        String key = switch (sort) {
+            case UPDATED_AT -> updatedAt.toInstant().toString();
+            case NAME -> name;
+        };
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((sort.name() + ":" + id + ":" + key).getBytes(StandardCharsets.UTF_8));
+    }
+}
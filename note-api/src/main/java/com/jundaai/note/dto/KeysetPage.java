@@ -0,0 +1,20 @@
+package com.jundaai.note.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Slice;
+
+
+public record KeysetPage<T>(List<T> content, String nextCursor) {
+
+    public static <T> KeysetPage<T> of(Slice<T> slice, Function<T, KeysetCursor> cursorOf) {
+        List<T> content = slice.getContent();
+        String nextCursor = slice.hasNext() ? cursorOf.apply(content.get(content.size() - 1)).encode() : null;
+        return new KeysetPage<>(content, nextCursor);
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
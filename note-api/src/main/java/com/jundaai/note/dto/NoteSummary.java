@@ -0,0 +1,5 @@
+package com.jundaai.note.dto;
+
+public record NoteSummary(Long id, String name) {
+
+}
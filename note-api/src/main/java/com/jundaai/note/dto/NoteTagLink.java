@@ -0,0 +1,5 @@
+package com.jundaai.note.dto;
+
+public record NoteTagLink(Long noteId, Long tagId, String tagName) {
+
+}
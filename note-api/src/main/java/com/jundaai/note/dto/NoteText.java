@@ -0,0 +1,5 @@
+package com.jundaai.note.dto;
+
+public record NoteText(Long id, Long folderId, String name, String content) {
+
+}
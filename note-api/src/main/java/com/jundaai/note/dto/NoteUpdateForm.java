@@ -1,5 +1,7 @@
 package com.jundaai.note.dto;
 
+import java.util.List;
+
 import jakarta.validation.constraints.NotBlank;
 import lombok.Builder;
 
@@ -9,6 +11,8 @@ public record NoteUpdateForm(@NotBlank(message = "Note update type cannot be bla
                              String newName,
                              String newContent,
                              Long toFolderId,
-                             String tagName) {
+                             String tagName,
+                             Long baseVersion,
+                             List<ContentEdit> edits) {
 
 }
@@ -0,0 +1,6 @@
+package com.jundaai.note.dto;
+
+public enum NoteUpdateType {
+
+    RENAME_NOTE, MODIFY_CONTENT, APPEND_CONTENT, PATCH_CONTENT, MOVE_NOTE, ADD_TAG, REMOVE_TAG,
+}
@@ -0,0 +1,5 @@
+package com.jundaai.note.dto;
+
+public record SearchHit(Long id, Long folderId, String name, double score) {
+
+}
@@ -0,0 +1,11 @@
+package com.jundaai.note.dto;
+
+import java.time.ZonedDateTime;
+
+import org.springframework.hateoas.server.core.Relation;
+
+
+@Relation(itemRelation = "tag", collectionRelation = "tagList")
+public record TagSummary(Long id, String name, ZonedDateTime createdAt, ZonedDateTime updatedAt, Integer noteCount) {
+
+}
@@ -0,0 +1,17 @@
+package com.jundaai.note.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String cursor, String sort) {
+        super("Cursor: " + cursor + " is not valid for sort: " + sort + ".");
+    }
+
+    public InvalidCursorException(String cursor) {
+        super("Cursor: " + cursor + " is not valid.");
+    }
+}
@@ -0,0 +1,13 @@
+package com.jundaai.note.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class NoteContentConflictException extends RuntimeException {
+
+    public NoteContentConflictException(Long noteId, Long baseVersion) {
+        super("Content of note by id: " + noteId + " has changed since version: " + baseVersion + ".");
+    }
+}
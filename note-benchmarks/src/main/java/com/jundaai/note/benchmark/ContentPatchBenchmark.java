@@ -0,0 +1,112 @@
+package com.jundaai.note.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jundaai.note.NoteApplication;
+import com.jundaai.note.dto.ContentEdit;
+import com.jundaai.note.dto.FolderCreationForm;
+import com.jundaai.note.dto.KeysetSort;
+import com.jundaai.note.dto.NoteCreationForm;
+import com.jundaai.note.dto.NoteUpdateForm;
+import com.jundaai.note.dto.NoteUpdateType;
+import com.jundaai.note.model.Folder;
+import com.jundaai.note.model.Note;
+import com.jundaai.note.service.FolderService;
+import com.jundaai.note.service.NoteService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+
+// A one-character edit in the middle of a large note, sent as the whole new body or as a ranged edit against the
+// content version; both round-trip the update form through JSON so the payload size is part of the cost.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContentPatchBenchmark {
+
+    @Param({"1048576"})
+    private int contentLength;
+
+    private ConfigurableApplicationContext context;
+    private NoteService noteService;
+    private ObjectMapper objectMapper;
+    private Long noteId;
+    private int editOffset;
+    private String firstContent;
+    private String secondContent;
+    private Long contentVersion;
+    private long invocations;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(NoteApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:patch;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=sa",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--logging.level.root=warn");
+        noteService = context.getBean(NoteService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        FolderService folderService = context.getBean(FolderService.class);
+
+        Long rootId = folderService.getAllFolders(KeysetSort.NAME, null, 100).content().stream()
+                .filter(folder -> folder.getName().equals("root"))
+                .map(Folder::getId)
+                .findFirst()
+                .orElseThrow();
+        Long folderId = folderService.createFolderByParentId(rootId, new FolderCreationForm("Patch")).getId();
+        editOffset = contentLength / 2;
+        firstContent = Fixtures.content(contentLength);
+        secondContent = firstContent.substring(0, editOffset) + "!" + firstContent.substring(editOffset + 1);
+        noteId = noteService.createNoteByFolderId(folderId, new NoteCreationForm("Patch", firstContent)).getId();
+        contentVersion = noteService.getNoteById(noteId).getContentVersion();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Note replaceContent() throws JsonProcessingException {
+        return noteService.updateNoteById(noteId, roundTrip(NoteUpdateForm.builder()
+                .updateType(NoteUpdateType.MODIFY_CONTENT.name())
+                .newContent(invocations++ % 2 == 0 ? secondContent : firstContent)
+                .build()));
+    }
+
+    @Benchmark
+    public Note patchContent() throws JsonProcessingException {
+        Note note = noteService.updateNoteById(noteId, roundTrip(NoteUpdateForm.builder()
+                .updateType(NoteUpdateType.PATCH_CONTENT.name())
+                .baseVersion(contentVersion)
+                .edits(List.of(new ContentEdit(editOffset, 1, invocations++ % 2 == 0 ? "!" : "?")))
+                .build()));
+        contentVersion = note.getContentVersion();
+        return note;
+    }
+
+    private NoteUpdateForm roundTrip(NoteUpdateForm updateForm) throws JsonProcessingException {
+        return objectMapper.readValue(objectMapper.writeValueAsString(updateForm), NoteUpdateForm.class);
+    }
+}
@@ -0,0 +1,107 @@
+package com.jundaai.note.benchmark;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.jundaai.note.dto.FolderSummary;
+import com.jundaai.note.dto.NoteSummary;
+import com.jundaai.note.model.Folder;
+import com.jundaai.note.model.Note;
+import com.jundaai.note.model.Tag;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+
+final class Fixtures {
+
+    static final int FOLDER_FAN_OUT = 100;
+
+    private static final ZonedDateTime NOW = ZonedDateTime.parse("2023-01-01T12:00:00.123456Z");
+
+    private Fixtures() {
+    }
+
+    static void bindRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/notes");
+        request.setServerName("localhost");
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    static Folder root() {
+        return Folder.builder()
+                .id(1L)
+                .name("root")
+                .createdAt(NOW)
+                .updatedAt(NOW)
+                .build();
+    }
+
+    static List<Folder> folders(int count) {
+        Folder root = root();
+        List<Folder> folders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            folders.add(Folder.builder()
+                    .id(i + 2L)
+                    .name("Folder " + i)
+                    .createdAt(NOW)
+                    .updatedAt(NOW)
+                    .parentFolder(root)
+                    .build());
+        }
+        return folders;
+    }
+
+    static List<Note> notes(int count, String content) {
+        List<Folder> folders = folders(Math.min(count, FOLDER_FAN_OUT));
+        List<Note> notes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            notes.add(Note.builder()
+                    .id(i + 1L)
+                    .name("Note " + i)
+                    .content(content)
+                    .createdAt(NOW)
+                    .updatedAt(NOW)
+                    .folder(folders.get(i % folders.size()))
+                    .build());
+        }
+        return notes;
+    }
+
+    static List<Tag> tags(int count) {
+        List<Tag> tags = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tags.add(Tag.builder()
+                    .id(i + 1L)
+                    .name("tag-" + i)
+                    .createdAt(NOW)
+                    .updatedAt(NOW)
+                    .build());
+        }
+        return tags;
+    }
+
+    static Folder folderWithChildren(int count) {
+        Folder folder = folders(1).get(0);
+        List<FolderSummary> subFolderSummaries = new ArrayList<>(count);
+        List<NoteSummary> noteSummaries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            subFolderSummaries.add(new FolderSummary(i + 100L, "Sub-folder " + i));
+            noteSummaries.add(new NoteSummary(i + 1L, "Note " + i));
+        }
+        folder.setSubFolderSummaries(subFolderSummaries);
+        folder.setNoteSummaries(noteSummaries);
+        return folder;
+    }
+
+    static String content(int length) {
+        StringBuilder content = new StringBuilder(length);
+        while (content.length() < length) {
+            content.append("The quick brown fox jumps over the lazy dog. ");
+        }
+        content.setLength(length);
+        return content.toString();
+    }
+}
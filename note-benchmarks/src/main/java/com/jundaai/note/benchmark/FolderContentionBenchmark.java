@@ -0,0 +1,114 @@
+package com.jundaai.note.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.jundaai.note.NoteApplication;
+import com.jundaai.note.dto.FolderCreationForm;
+import com.jundaai.note.dto.KeysetSort;
+import com.jundaai.note.dto.NoteCreationForm;
+import com.jundaai.note.dto.NoteUpdateForm;
+import com.jundaai.note.dto.NoteUpdateType;
+import com.jundaai.note.model.Folder;
+import com.jundaai.note.model.Note;
+import com.jundaai.note.service.FolderService;
+import com.jundaai.note.service.NoteService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+
+// Writers either share one parent folder or each own a folder; with per-write parent updates the shared case
+// serializes on the parent row, with propagated folder timestamps both cases should scale alike.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class FolderContentionBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Application {
+
+        @Param({"true", "false"})
+        private boolean sharedFolder;
+
+        private ConfigurableApplicationContext context;
+        private NoteService noteService;
+        private FolderService folderService;
+        private Long rootId;
+        private final AtomicInteger writers = new AtomicInteger();
+
+        @Setup
+        public void setUp() {
+            context = new SpringApplicationBuilder(NoteApplication.class)
+                    .run("--server.port=0",
+                            "--spring.datasource.url=jdbc:h2:mem:contention;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+                            "--spring.datasource.username=sa",
+                            "--spring.datasource.password=sa",
+                            "--spring.datasource.driver-class-name=org.h2.Driver",
+                            "--spring.datasource.hikari.maximum-pool-size=16",
+                            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                            "--logging.level.root=warn");
+            noteService = context.getBean(NoteService.class);
+            folderService = context.getBean(FolderService.class);
+            rootId = folderService.getAllFolders(KeysetSort.NAME, null, 100).content().stream()
+                    .filter(folder -> folder.getName().equals("root"))
+                    .map(Folder::getId)
+                    .findFirst()
+                    .orElseThrow();
+        }
+
+        @TearDown
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+
+        private Long folderId;
+        private Long noteId;
+        private String name;
+        private long invocations;
+
+        @Setup
+        public void setUp(Application application) {
+            int writer = application.writers.incrementAndGet();
+            name = "Writer " + writer + " of " + application.sharedFolder;
+            folderId = application.sharedFolder ? application.rootId
+                    : application.folderService.createFolderByParentId(application.rootId,
+                    new FolderCreationForm(name)).getId();
+            noteId = application.noteService.createNoteByFolderId(folderId,
+                    new NoteCreationForm(name, "")).getId();
+        }
+    }
+
+    @Benchmark
+    public Note createNote(Application application, Writer writer) {
+        return application.noteService.createNoteByFolderId(writer.folderId,
+                new NoteCreationForm(writer.name + " note " + writer.invocations++, ""));
+    }
+
+    @Benchmark
+    public Note modifyContent(Application application, Writer writer) {
+        return application.noteService.updateNoteById(writer.noteId, NoteUpdateForm.builder()
+                .updateType(NoteUpdateType.MODIFY_CONTENT.name())
+                .newContent("Revision " + writer.invocations++)
+                .build());
+    }
+}
@@ -0,0 +1,68 @@
+package com.jundaai.note.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.jundaai.note.model.Folder;
+import com.jundaai.note.model.Note;
+import com.jundaai.note.model.Tag;
+import com.jundaai.note.model.assembler.FolderModelAssembler;
+import com.jundaai.note.model.assembler.NoteModelAssembler;
+import com.jundaai.note.model.assembler.TagModelAssembler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Thread)
+public class ModelAssemblerBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private final NoteModelAssembler noteModelAssembler = new NoteModelAssembler();
+    private final FolderModelAssembler folderModelAssembler = new FolderModelAssembler();
+    private final TagModelAssembler tagModelAssembler = new TagModelAssembler();
+
+    private List<Note> notes;
+    private List<Folder> folders;
+    private List<Tag> tags;
+
+    @Setup
+    public void setUp() {
+        Fixtures.bindRequest();
+        notes = Fixtures.notes(size, null);
+        folders = Fixtures.folders(size);
+        tags = Fixtures.tags(size);
+    }
+
+    @Benchmark
+    public CollectionModel<EntityModel<Note>> noteCollectionModel() {
+        return noteModelAssembler.toCollectionModel(notes);
+    }
+
+    @Benchmark
+    public CollectionModel<EntityModel<Folder>> folderCollectionModel() {
+        return folderModelAssembler.toCollectionModel(folders);
+    }
+
+    @Benchmark
+    public CollectionModel<EntityModel<Tag>> tagCollectionModel() {
+        return tagModelAssembler.toCollectionModel(tags);
+    }
+}
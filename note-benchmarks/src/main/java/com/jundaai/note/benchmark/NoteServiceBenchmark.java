@@ -0,0 +1,122 @@
+package com.jundaai.note.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.jundaai.note.NoteApplication;
+import com.jundaai.note.dto.FolderCreationForm;
+import com.jundaai.note.dto.KeysetSort;
+import com.jundaai.note.dto.NoteCreationForm;
+import com.jundaai.note.dto.NoteUpdateForm;
+import com.jundaai.note.dto.NoteUpdateType;
+import com.jundaai.note.dto.TagOperationForm;
+import com.jundaai.note.model.Folder;
+import com.jundaai.note.model.Note;
+import com.jundaai.note.service.FolderService;
+import com.jundaai.note.service.NoteService;
+import com.jundaai.note.service.TagService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NoteServiceBenchmark {
+
+    private static final String TAG_NAME = "benchmark";
+
+    @Param({"4096"})
+    private int contentLength;
+
+    private ConfigurableApplicationContext context;
+    private NoteService noteService;
+    private Long noteId;
+    private Long firstFolderId;
+    private Long secondFolderId;
+    private String firstContent;
+    private String secondContent;
+    private long invocations;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(NoteApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=sa",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--logging.level.root=warn");
+        noteService = context.getBean(NoteService.class);
+        FolderService folderService = context.getBean(FolderService.class);
+
+        Long rootId = folderService.getAllFolders(KeysetSort.NAME, null, 100).content().stream()
+                .filter(folder -> folder.getName().equals("root"))
+                .map(Folder::getId)
+                .findFirst()
+                .orElseThrow();
+        firstFolderId = folderService.createFolderByParentId(rootId, new FolderCreationForm("Benchmark A")).getId();
+        secondFolderId = folderService.createFolderByParentId(rootId, new FolderCreationForm("Benchmark B")).getId();
+        firstContent = Fixtures.content(contentLength);
+        secondContent = firstContent.substring(1) + "!";
+        Note note = noteService.createNoteByFolderId(firstFolderId, new NoteCreationForm("Benchmark", firstContent));
+        noteId = note.getId();
+        context.getBean(TagService.class).createTag(new TagOperationForm(TAG_NAME));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Note renameNote() {
+        return noteService.updateNoteById(noteId, NoteUpdateForm.builder()
+                .updateType(NoteUpdateType.RENAME_NOTE.name())
+                .newName("Benchmark " + invocations++)
+                .build());
+    }
+
+    @Benchmark
+    public Note modifyContent() {
+        return noteService.updateNoteById(noteId, NoteUpdateForm.builder()
+                .updateType(NoteUpdateType.MODIFY_CONTENT.name())
+                .newContent(invocations++ % 2 == 0 ? secondContent : firstContent)
+                .build());
+    }
+
+    @Benchmark
+    public Note moveNote() {
+        return noteService.updateNoteById(noteId, NoteUpdateForm.builder()
+                .updateType(NoteUpdateType.MOVE_NOTE.name())
+                .toFolderId(invocations++ % 2 == 0 ? secondFolderId : firstFolderId)
+                .build());
+    }
+
+    @Benchmark
+    public Note addAndRemoveTag() {
+        noteService.updateNoteById(noteId, NoteUpdateForm.builder()
+                .updateType(NoteUpdateType.ADD_TAG.name())
+                .tagName(TAG_NAME)
+                .build());
+        return noteService.updateNoteById(noteId, NoteUpdateForm.builder()
+                .updateType(NoteUpdateType.REMOVE_TAG.name())
+                .tagName(TAG_NAME)
+                .build());
+    }
+}
@@ -0,0 +1,107 @@
+package com.jundaai.note.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jundaai.note.model.Folder;
+import com.jundaai.note.model.Note;
+import com.jundaai.note.model.assembler.FolderModelAssembler;
+import com.jundaai.note.model.assembler.NoteModelAssembler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.AnnotationLinkRelationProvider;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.hateoas.server.core.DelegatingLinkRelationProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializationBenchmark {
+
+    @Param({"10", "1000"})
+    private int size;
+
+    @Param({"4096"})
+    private int contentLength;
+
+    private ObjectMapper halObjectMapper;
+    private Note note;
+    private Folder folder;
+    private EntityModel<Note> noteModel;
+    private EntityModel<Folder> folderModel;
+    private CollectionModel<EntityModel<Note>> noteCollectionModel;
+    private CollectionModel<EntityModel<Folder>> folderCollectionModel;
+
+    @Setup
+    public void setUp() {
+        halObjectMapper = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new Jackson2HalModule())
+                .handlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                        new DelegatingLinkRelationProvider(new AnnotationLinkRelationProvider(),
+                                new DefaultLinkRelationProvider()),
+                        CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY))
+                .build();
+
+        Fixtures.bindRequest();
+        NoteModelAssembler noteModelAssembler = new NoteModelAssembler();
+        FolderModelAssembler folderModelAssembler = new FolderModelAssembler();
+        note = Fixtures.notes(1, Fixtures.content(contentLength)).get(0);
+        folder = Fixtures.folderWithChildren(size);
+        noteModel = noteModelAssembler.toModel(note);
+        folderModel = folderModelAssembler.toModel(folder);
+        List<Note> notes = Fixtures.notes(size, null);
+        noteCollectionModel = noteModelAssembler.toCollectionModel(notes);
+        folderCollectionModel = folderModelAssembler.toCollectionModel(Fixtures.folders(size));
+    }
+
+    @Benchmark
+    public byte[] note() throws JsonProcessingException {
+        return halObjectMapper.writeValueAsBytes(note);
+    }
+
+    @Benchmark
+    public byte[] folder() throws JsonProcessingException {
+        return halObjectMapper.writeValueAsBytes(folder);
+    }
+
+    @Benchmark
+    public byte[] noteModel() throws JsonProcessingException {
+        return halObjectMapper.writeValueAsBytes(noteModel);
+    }
+
+    @Benchmark
+    public byte[] folderModel() throws JsonProcessingException {
+        return halObjectMapper.writeValueAsBytes(folderModel);
+    }
+
+    @Benchmark
+    public byte[] noteCollectionModel() throws JsonProcessingException {
+        return halObjectMapper.writeValueAsBytes(noteCollectionModel);
+    }
+
+    @Benchmark
+    public byte[] folderCollectionModel() throws JsonProcessingException {
+        return halObjectMapper.writeValueAsBytes(folderCollectionModel);
+    }
+}
@@ -0,0 +1,19 @@
+package com.jundaai.note.loadtest;
+
+final class Contents {
+
+    private static final String SENTENCE = "The quick brown fox jumps over the lazy dog. ";
+
+    private Contents() {
+    }
+
+    static String of(int length, long revision) {
+        String prefix = "Revision " + revision + ". ";
+        StringBuilder content = new StringBuilder(Math.max(length, prefix.length())).append(prefix);
+        while (content.length() < length) {
+            content.append(SENTENCE);
+        }
+        content.setLength(Math.max(length, prefix.length()));
+        return content.toString();
+    }
+}
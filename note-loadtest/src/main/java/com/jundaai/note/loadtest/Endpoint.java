@@ -0,0 +1,17 @@
+package com.jundaai.note.loadtest;
+
+public enum Endpoint {
+
+    CREATE_NOTE(10), MODIFY_CONTENT(20), ADD_TAG(10), LIST_FOLDER_NOTES(30), GET_NOTE(30),
+    ;
+
+    private final int defaultWeight;
+
+    Endpoint(int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    public int defaultWeight() {
+        return defaultWeight;
+    }
+}
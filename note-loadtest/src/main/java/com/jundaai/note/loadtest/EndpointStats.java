@@ -0,0 +1,40 @@
+package com.jundaai.note.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.SynchronizedHistogram;
+
+
+public class EndpointStats {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Histogram responseTimes = new SynchronizedHistogram(SIGNIFICANT_DIGITS);
+    private final Histogram serviceTimes = new SynchronizedHistogram(SIGNIFICANT_DIGITS);
+    private final AtomicLong errors = new AtomicLong();
+
+    void record(long responseNanos, long serviceNanos, boolean success) {
+        responseTimes.recordValue(responseNanos);
+        serviceTimes.recordValue(serviceNanos);
+        if (!success) {
+            errors.incrementAndGet();
+        }
+    }
+
+    public Histogram responseTimes() {
+        return responseTimes.copy();
+    }
+
+    public Histogram serviceTimes() {
+        return serviceTimes.copy();
+    }
+
+    public long count() {
+        return responseTimes.getTotalCount();
+    }
+
+    public long errors() {
+        return errors.get();
+    }
+}
@@ -0,0 +1,190 @@
+package com.jundaai.note.loadtest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jundaai.note.dto.NoteCreationForm;
+import com.jundaai.note.dto.NoteUpdateForm;
+import com.jundaai.note.dto.NoteUpdateType;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+public class LoadGenerator {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(REQUEST_TIMEOUT)
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final URI baseUri;
+    private final LoadTestSettings settings;
+    private final List<Long> folderIds;
+    private final List<Long> noteIds;
+    private final List<String> tagNames;
+    private final Endpoint[] endpointTable;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong revisions = new AtomicLong();
+    private final AtomicLong lastCompletion = new AtomicLong();
+
+    public LoadGenerator(URI baseUri, LoadTestSettings settings, SeedData seedData) {
+        this.baseUri = baseUri;
+        this.settings = settings;
+        this.folderIds = List.copyOf(seedData.folderIds());
+        this.noteIds = Collections.synchronizedList(new ArrayList<>(seedData.noteIds()));
+        this.tagNames = List.copyOf(seedData.tagNames());
+        this.endpointTable = new Endpoint[settings.totalWeight()];
+        int slot = 0;
+        for (Map.Entry<Endpoint, Integer> entry : settings.mix().entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                endpointTable[slot++] = entry.getKey();
+            }
+        }
+    }
+
+    public LoadReport run() throws InterruptedException {
+        if (!settings.warmup().isZero()) {
+            runPhase(settings.warmup(), null);
+        }
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        settings.mix().forEach((endpoint, weight) -> {
+            if (weight > 0) {
+                stats.put(endpoint, new EndpointStats());
+            }
+        });
+        long start = System.nanoTime();
+        lastCompletion.set(start);
+        runPhase(settings.duration(), stats);
+        return new LoadReport(settings, Duration.ofNanos(lastCompletion.get() - start), stats);
+    }
+
+    private void runPhase(Duration duration, Map<Endpoint, EndpointStats> stats) throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Endpoint endpoint = endpointTable[ThreadLocalRandom.current().nextInt(endpointTable.length)];
+            dispatch(endpoint, intended, stats == null ? null : stats.get(endpoint));
+        }
+        long drainDeadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void dispatch(Endpoint endpoint, long intended, EndpointStats endpointStats) {
+        HttpRequest request = request(endpoint);
+        inFlight.incrementAndGet();
+        long sent = System.nanoTime();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, throwable) -> {
+                    long completed = System.nanoTime();
+                    boolean success = throwable == null && response.statusCode() < 400;
+                    if (endpointStats != null) {
+                        endpointStats.record(completed - intended, completed - sent, success);
+                        lastCompletion.accumulateAndGet(completed, Math::max);
+                    }
+                    if (throwable != null) {
+                        log.error("{} failed: {}", endpoint, throwable.getMessage());
+                    } else if (!success) {
+                        log.error("{} returned {}: {}", endpoint, response.statusCode(), response.body());
+                    } else if (endpoint == Endpoint.CREATE_NOTE) {
+                        rememberCreatedNote(response.body());
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private HttpRequest request(Endpoint endpoint) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (endpoint) {
+            case CREATE_NOTE -> {
+                long revision = revisions.incrementAndGet();
+                yield post("/api/v1/folders/" + randomOf(folderIds, random) + "/notes",
+                        new NoteCreationForm("Load " + revision, Contents.of(settings.contentLength(), revision)));
+            }
+            case MODIFY_CONTENT -> patch("/api/v1/notes/" + randomOf(noteIds, random), NoteUpdateForm.builder()
+                    .updateType(NoteUpdateType.MODIFY_CONTENT.name())
+                    .newContent(Contents.of(settings.contentLength(), revisions.incrementAndGet()))
+                    .build());
+            case ADD_TAG -> patch("/api/v1/notes/" + randomOf(noteIds, random), NoteUpdateForm.builder()
+                    .updateType(NoteUpdateType.ADD_TAG.name())
+                    .tagName(randomOf(tagNames, random))
+                    .build());
+            case LIST_FOLDER_NOTES -> get("/api/v1/folders/" + randomOf(folderIds, random) + "/notes?size=20");
+            case GET_NOTE -> get("/api/v1/notes/" + randomOf(noteIds, random));
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, Object body) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json(body)))
+                .build();
+    }
+
+    private HttpRequest patch(String path, Object body) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(json(body)))
+                .build();
+    }
+
+    private String json(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException jsonProcessingException) {
+            throw new UncheckedIOException(jsonProcessingException);
+        }
+    }
+
+    private void rememberCreatedNote(String body) {
+        try {
+            noteIds.add(objectMapper.readTree(body).get("id").asLong());
+        } catch (IOException ioException) {
+            log.error("Unreadable created note: {}", ioException.getMessage());
+        }
+    }
+
+    private static <T> T randomOf(List<T> values, ThreadLocalRandom random) {
+        synchronized (values) {
+            return values.get(random.nextInt(values.size()));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.jundaai.note.loadtest;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+
+public record LoadReport(LoadTestSettings settings, Duration elapsed, Map<Endpoint, EndpointStats> stats) {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final String ROW_FORMAT = "%-18s %8s %7s %9s %9s %9s %9s %9s %9s %11s%n";
+
+    public double throughput(Endpoint endpoint) {
+        return stats.get(endpoint).count() / seconds();
+    }
+
+    public void print(PrintStream out) {
+        out.printf("Offered rate: %d req/s, measured for %.1f s%n", settings.rate(), seconds());
+        out.println("Latency in ms, measured from the intended send time (coordinated-omission corrected)");
+        out.printf(ROW_FORMAT, "endpoint", "count", "errors", "req/s", "p50", "p90", "p99", "p99.9", "max",
+                "service p99");
+        Histogram allResponseTimes = new Histogram(3);
+        Histogram allServiceTimes = new Histogram(3);
+        long allErrors = 0;
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            Histogram responseTimes = endpointStats.responseTimes();
+            Histogram serviceTimes = endpointStats.serviceTimes();
+            allResponseTimes.add(responseTimes);
+            allServiceTimes.add(serviceTimes);
+            allErrors += endpointStats.errors();
+            printRow(out, entry.getKey().name(), responseTimes, serviceTimes, endpointStats.errors());
+        }
+        printRow(out, "TOTAL", allResponseTimes, allServiceTimes, allErrors);
+    }
+
+    private void printRow(PrintStream out, String name, Histogram responseTimes, Histogram serviceTimes,
+                          long errors) {
+        out.printf(ROW_FORMAT, name,
+                responseTimes.getTotalCount(),
+                errors,
+                String.format("%.1f", responseTimes.getTotalCount() / seconds()),
+                millis(responseTimes.getValueAtPercentile(50)),
+                millis(responseTimes.getValueAtPercentile(90)),
+                millis(responseTimes.getValueAtPercentile(99)),
+                millis(responseTimes.getValueAtPercentile(99.9)),
+                millis(responseTimes.getMaxValue()),
+                millis(serviceTimes.getValueAtPercentile(99)));
+    }
+
+    private double seconds() {
+        return elapsed.toNanos() / 1_000_000_000.0;
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / NANOS_PER_MILLI);
+    }
+}
@@ -0,0 +1,48 @@
+package com.jundaai.note.loadtest;
+
+import java.net.URI;
+
+import com.jundaai.note.NoteApplication;
+import com.jundaai.note.service.FolderService;
+import com.jundaai.note.service.NoteService;
+import com.jundaai.note.service.TagService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+
+public class LoadTest {
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        try (ConfigurableApplicationContext context = boot("loadtest")) {
+            SeedData seedData = seed(context, settings);
+            System.out.printf("Seeded %d folders, %d notes and %d tags%n", seedData.folderIds().size(),
+                    seedData.noteIds().size(), seedData.tagNames().size());
+            System.out.printf("Warming up for %d s, then measuring for %d s at %d req/s, mix %s%n",
+                    settings.warmup().toSeconds(), settings.duration().toSeconds(), settings.rate(), settings.mix());
+            new LoadGenerator(baseUri(context), settings, seedData).run().print(System.out);
+        }
+    }
+
+    static ConfigurableApplicationContext boot(String databaseName) {
+        return new SpringApplicationBuilder(NoteApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=sa",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--logging.level.root=warn");
+    }
+
+    static SeedData seed(ConfigurableApplicationContext context, LoadTestSettings settings) {
+        return new Seeder(context.getBean(FolderService.class), context.getBean(NoteService.class),
+                context.getBean(TagService.class)).seed(settings);
+    }
+
+    static URI baseUri(ConfigurableApplicationContext context) {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return URI.create("http://localhost:" + port);
+    }
+}
@@ -0,0 +1,99 @@
+package com.jundaai.note.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.Builder;
+
+
+@Builder(toBuilder = true)
+public record LoadTestSettings(int rate,
+                               Duration warmup,
+                               Duration duration,
+                               int fanOut,
+                               int depth,
+                               int notesPerFolder,
+                               int tags,
+                               int contentLength,
+                               Map<Endpoint, Integer> mix) {
+
+    public static LoadTestSettings defaults() {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            mix.put(endpoint, endpoint.defaultWeight());
+        }
+        return LoadTestSettings.builder()
+                .rate(200)
+                .warmup(Duration.ofSeconds(10))
+                .duration(Duration.ofSeconds(60))
+                .fanOut(4)
+                .depth(3)
+                .notesPerFolder(10)
+                .tags(20)
+                .contentLength(2048)
+                .mix(mix)
+                .build();
+    }
+
+    public static LoadTestSettings parse(String... args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        LoadTestSettings defaults = defaults();
+        LoadTestSettingsBuilder builder = defaults.toBuilder();
+        options.forEach((name, value) -> {
+            switch (name) {
+            case "rate" -> builder.rate(positive(name, value));
+            case "warmup" -> builder.warmup(Duration.ofSeconds(Integer.parseInt(value)));
+            case "duration" -> builder.duration(Duration.ofSeconds(positive(name, value)));
+            case "fanOut" -> builder.fanOut(positive(name, value));
+            case "depth" -> builder.depth(positive(name, value));
+            case "notesPerFolder" -> builder.notesPerFolder(positive(name, value));
+            case "tags" -> builder.tags(positive(name, value));
+            case "contentLength" -> builder.contentLength(positive(name, value));
+            case "mix" -> builder.mix(parseMix(value));
+            default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        });
+        return builder.build();
+    }
+
+    public int totalWeight() {
+        return mix.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected ENDPOINT:weight in mix, got: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weight must not be negative: " + entry);
+            }
+            mix.put(Endpoint.valueOf(parts[0].trim()), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Mix must contain at least one positive weight: " + value);
+        }
+        return mix;
+    }
+
+    private static int positive(String name, String value) {
+        int parsed = Integer.parseInt(value);
+        if (parsed < 1) {
+            throw new IllegalArgumentException("--" + name + " must be positive, got: " + value);
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,8 @@
+package com.jundaai.note.loadtest;
+
+import java.util.List;
+
+
+public record SeedData(List<Long> folderIds, List<Long> noteIds, List<String> tagNames) {
+
+}
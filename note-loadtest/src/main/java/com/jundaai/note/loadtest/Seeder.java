@@ -0,0 +1,64 @@
+package com.jundaai.note.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.jundaai.note.dto.FolderCreationForm;
+import com.jundaai.note.dto.KeysetSort;
+import com.jundaai.note.dto.NoteCreationForm;
+import com.jundaai.note.dto.TagOperationForm;
+import com.jundaai.note.model.Folder;
+import com.jundaai.note.service.FolderService;
+import com.jundaai.note.service.NoteService;
+import com.jundaai.note.service.TagService;
+
+
+public class Seeder {
+
+    private final FolderService folderService;
+    private final NoteService noteService;
+    private final TagService tagService;
+
+    public Seeder(FolderService folderService, NoteService noteService, TagService tagService) {
+        this.folderService = folderService;
+        this.noteService = noteService;
+        this.tagService = tagService;
+    }
+
+    public SeedData seed(LoadTestSettings settings) {
+        Long rootId = folderService.getAllFolders(KeysetSort.NAME, null, 100).content().stream()
+                .filter(folder -> folder.getName().equals("root"))
+                .map(Folder::getId)
+                .findFirst()
+                .orElseThrow();
+
+        List<Long> folderIds = new ArrayList<>();
+        List<Long> level = List.of(rootId);
+        for (int depth = 1; depth <= settings.depth(); depth++) {
+            List<Long> nextLevel = new ArrayList<>();
+            for (Long parentId : level) {
+                for (int i = 0; i < settings.fanOut(); i++) {
+                    String name = "Load " + depth + "-" + i;
+                    nextLevel.add(folderService.createFolderByParentId(parentId, new FolderCreationForm(name)).getId());
+                }
+            }
+            folderIds.addAll(nextLevel);
+            level = nextLevel;
+        }
+
+        String content = Contents.of(settings.contentLength(), 0);
+        List<Long> noteIds = new ArrayList<>();
+        for (Long folderId : folderIds) {
+            for (int i = 0; i < settings.notesPerFolder(); i++) {
+                noteIds.add(noteService.createNoteByFolderId(folderId, new NoteCreationForm("Seed " + i, content))
+                        .getId());
+            }
+        }
+
+        List<String> tagNames = new ArrayList<>();
+        for (int i = 0; i < settings.tags(); i++) {
+            tagNames.add(tagService.createTag(new TagOperationForm("load-" + i)).getName());
+        }
+        return new SeedData(folderIds, noteIds, tagNames);
+    }
+}
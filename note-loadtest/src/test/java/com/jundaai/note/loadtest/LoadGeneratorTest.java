@@ -0,0 +1,71 @@
+package com.jundaai.note.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+
+public class LoadGeneratorTest {
+
+    private static ConfigurableApplicationContext context;
+
+    @BeforeAll
+    static void setUp() {
+        context = LoadTest.boot("loadgenerator");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        context.close();
+    }
+
+    @Test
+    public void run_EveryEndpointMeasuredWithoutErrors() throws InterruptedException {
+        // given
+        LoadTestSettings settings = LoadTestSettings.defaults().toBuilder()
+                .rate(100)
+                .warmup(Duration.ZERO)
+                .duration(Duration.ofSeconds(3))
+                .fanOut(2)
+                .depth(2)
+                .notesPerFolder(2)
+                .tags(3)
+                .contentLength(256)
+                .build();
+        SeedData seedData = LoadTest.seed(context, settings);
+
+        // when
+        LoadReport report = new LoadGenerator(LoadTest.baseUri(context), settings, seedData).run();
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        report.print(new PrintStream(printed, true, StandardCharsets.UTF_8));
+
+        // then
+        assertEquals(6, seedData.folderIds().size());
+        assertEquals(12, seedData.noteIds().size());
+        long total = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            EndpointStats stats = report.stats().get(endpoint);
+            assertTrue(stats.count() > 0, endpoint + " was never requested");
+            assertEquals(0, stats.errors(), endpoint + " had errors");
+            assertTrue(stats.responseTimes().getValueAtPercentile(99)
+                    >= stats.serviceTimes().getValueAtPercentile(99));
+            total += stats.count();
+        }
+        assertEquals(300, total);
+        assertTrue(report.throughput(Endpoint.GET_NOTE) > 0);
+        String output = printed.toString(StandardCharsets.UTF_8);
+        for (Endpoint endpoint : Endpoint.values()) {
+            assertTrue(output.contains(endpoint.name()));
+        }
+        assertTrue(output.contains("TOTAL"));
+    }
+}
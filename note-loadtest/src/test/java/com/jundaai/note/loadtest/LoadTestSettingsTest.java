@@ -0,0 +1,68 @@
+package com.jundaai.note.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+
+public class LoadTestSettingsTest {
+
+    @Test
+    public void parse_NoArguments_Defaults() {
+        // when
+        LoadTestSettings settings = LoadTestSettings.parse();
+
+        // then
+        assertEquals(LoadTestSettings.defaults(), settings);
+        assertEquals(100, settings.totalWeight());
+    }
+
+    @Test
+    public void parse_Overrides() {
+        // when
+        LoadTestSettings settings = LoadTestSettings.parse("--rate=500", "--warmup=0", "--duration=5",
+                "--fanOut=2", "--depth=4", "--notesPerFolder=3", "--tags=7", "--contentLength=64",
+                "--mix=GET_NOTE:3, CREATE_NOTE:1");
+
+        // then
+        assertEquals(500, settings.rate());
+        assertEquals(Duration.ZERO, settings.warmup());
+        assertEquals(Duration.ofSeconds(5), settings.duration());
+        assertEquals(2, settings.fanOut());
+        assertEquals(4, settings.depth());
+        assertEquals(3, settings.notesPerFolder());
+        assertEquals(7, settings.tags());
+        assertEquals(64, settings.contentLength());
+        assertEquals(Map.of(Endpoint.GET_NOTE, 3, Endpoint.CREATE_NOTE, 1), settings.mix());
+        assertEquals(4, settings.totalWeight());
+    }
+
+    @Test
+    public void parse_UnknownOption_Throws() {
+        // when
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> LoadTestSettings.parse("--threads=4"));
+
+        // then
+        assertEquals("Unknown option: --threads", exception.getMessage());
+    }
+
+    @Test
+    public void parse_NonPositiveRate_Throws() {
+        // when
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> LoadTestSettings.parse("--rate=0"));
+
+        // then
+        assertEquals("--rate must be positive, got: 0", exception.getMessage());
+    }
+
+    @Test
+    public void parse_AllZeroMix_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> LoadTestSettings.parse("--mix=GET_NOTE:0"));
+    }
+}
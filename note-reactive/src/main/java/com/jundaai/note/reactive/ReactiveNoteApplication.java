@@ -0,0 +1,13 @@
+package com.jundaai.note.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+
+@SpringBootApplication
+public class ReactiveNoteApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveNoteApplication.class, args);
+    }
+}
@@ -0,0 +1,39 @@
+package com.jundaai.note.reactive.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.config.EnableHypermediaSupport;
+import org.springframework.hateoas.config.EnableHypermediaSupport.HypermediaType;
+import org.springframework.hateoas.mediatype.hal.HalMediaTypeConfiguration;
+import org.springframework.hateoas.support.WebStack;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+
+@Configuration
+@EnableHypermediaSupport(type = HypermediaType.HAL, stacks = WebStack.WEBFLUX)
+public class WebConfig implements WebFluxConfigurer {
+
+    private final ObjectMapper objectMapper;
+    private final HalMediaTypeConfiguration halMediaTypeConfiguration;
+
+    public WebConfig(ObjectMapper objectMapper, HalMediaTypeConfiguration halMediaTypeConfiguration) {
+        this.objectMapper = objectMapper;
+        this.halMediaTypeConfiguration = halMediaTypeConfiguration;
+    }
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        ObjectMapper halObjectMapper = halMediaTypeConfiguration.configureObjectMapper(objectMapper.copy());
+        Jackson2JsonEncoder encoder = new Jackson2JsonEncoder(halObjectMapper);
+        encoder.registerObjectMappersForType(RepresentationModel.class, mappers -> {
+            mappers.put(MediaTypes.HAL_JSON, halObjectMapper);
+            mappers.put(MediaType.APPLICATION_NDJSON, halObjectMapper);
+        });
+        configurer.defaultCodecs().jackson2JsonEncoder(encoder);
+    }
+}
@@ -0,0 +1,22 @@
+package com.jundaai.note.reactive.controller;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+
+import org.springframework.web.server.ServerWebExchange;
+
+
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    static boolean checkNotModified(ServerWebExchange exchange, Long id, ZonedDateTime version) {
+        return exchange.checkNotModified(eTag(id, version), version.toInstant());
+    }
+
+    static String eTag(Long id, ZonedDateTime version) {
+        Instant instant = version.toInstant();
+        return "W/\"" + id + "-" + instant.getEpochSecond() + "." + instant.getNano() + "\"";
+    }
+}
@@ -0,0 +1,152 @@
+package com.jundaai.note.reactive.controller;
+
+import static org.springframework.hateoas.server.reactive.WebFluxLinkBuilder.methodOn;
+
+import java.net.URI;
+import java.util.Objects;
+
+import com.jundaai.note.dto.FolderCreationForm;
+import com.jundaai.note.dto.FolderTreeNode;
+import com.jundaai.note.dto.FolderUpdateForm;
+import com.jundaai.note.dto.KeysetSort;
+import com.jundaai.note.reactive.model.Folder;
+import com.jundaai.note.reactive.model.assembler.FolderModelAssembler;
+import com.jundaai.note.reactive.service.FolderService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+
+@Validated
+@RestController
+@RequestMapping(path = "/api/v1/folders")
+@Slf4j
+public class FolderController {
+
+    private final FolderService folderService;
+    private final FolderModelAssembler folderModelAssembler;
+
+    public FolderController(FolderService folderService, FolderModelAssembler folderModelAssembler) {
+        this.folderService = folderService;
+        this.folderModelAssembler = folderModelAssembler;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<CollectionModel<EntityModel<Folder>>>> getAllFolders(
+            @RequestParam(name = "sort", defaultValue = "UPDATED_AT") KeysetSort sort,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) Integer size,
+            ServerWebExchange exchange) {
+        log.info("Request to get all folders, sort: {}, cursor: {}, size: {}", sort, cursor, size);
+        return folderService.getAllFolders(sort, cursor, size)
+                .flatMap(folders -> folderModelAssembler.toCollectionModel(folders,
+                        nextCursor -> methodOn(FolderController.class).getAllFolders(sort, nextCursor, size, null),
+                        exchange))
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(path = "{folderId}")
+    public Mono<ResponseEntity<EntityModel<Folder>>> getFolderById(@PathVariable(name = "folderId") Long folderId,
+                                                                   ServerWebExchange exchange) {
+        log.info("Request to get folder by id: {}", folderId);
+        return folderService.getFolderVersionById(folderId).flatMap(version -> {
+            if (ConditionalRequests.checkNotModified(exchange, folderId, version)) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).<EntityModel<Folder>>build());
+            }
+            return folderService.getFolderById(folderId)
+                    .flatMap(folder -> folderModelAssembler.toModel(folder, exchange))
+                    .map(ResponseEntity::ok);
+        });
+    }
+
+    @GetMapping(path = "{folderId}/subFolders")
+    public Mono<ResponseEntity<CollectionModel<EntityModel<Folder>>>> getSubFoldersByParentId(
+            @PathVariable(name = "folderId") Long parentId,
+            @RequestParam(name = "sort", defaultValue = "UPDATED_AT") KeysetSort sort,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) Integer size,
+            ServerWebExchange exchange) {
+        log.info("Request to get sub-folders by parent id: {}, sort: {}, cursor: {}, size: {}", parentId, sort, cursor,
+                size);
+        return folderService.getSubFoldersByParentId(parentId, sort, cursor, size)
+                .flatMap(subFolders -> folderModelAssembler.toCollectionModel(subFolders,
+                        nextCursor -> methodOn(FolderController.class).getSubFoldersByParentId(parentId, sort,
+                                nextCursor, size, null),
+                        exchange))
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(path = "{folderId}/ancestors")
+    public Mono<ResponseEntity<CollectionModel<EntityModel<FolderTreeNode>>>> getAncestorsById(
+            @PathVariable(name = "folderId") Long folderId,
+            ServerWebExchange exchange) {
+        log.info("Request to get ancestors by folder id: {}", folderId);
+        return folderService.getAncestorsById(folderId)
+                .flatMap(ancestors -> folderModelAssembler.toNodeCollectionModel(ancestors, exchange))
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(path = "{folderId}/descendants")
+    public Mono<ResponseEntity<CollectionModel<EntityModel<FolderTreeNode>>>> getDescendantsById(
+            @PathVariable(name = "folderId") Long folderId,
+            @RequestParam(name = "maxDepth", required = false) @Min(1) Integer maxDepth,
+            ServerWebExchange exchange) {
+        log.info("Request to get descendants by folder id: {}, max depth: {}", folderId, maxDepth);
+        return folderService.getDescendantsById(folderId, Objects.requireNonNullElse(maxDepth, Integer.MAX_VALUE))
+                .flatMap(descendants -> folderModelAssembler.toNodeCollectionModel(descendants, exchange))
+                .map(ResponseEntity::ok);
+    }
+
+    @PostMapping(path = "{folderId}/subFolders")
+    public Mono<ResponseEntity<EntityModel<Folder>>> createFolderByParentId(
+            @PathVariable(name = "folderId") Long parentId,
+            @Valid @RequestBody FolderCreationForm creationForm,
+            ServerWebExchange exchange) {
+        log.info("Request to create new folder: {}, parent folder id: {}", creationForm, parentId);
+        return folderService.createFolderByParentId(parentId, creationForm)
+                .flatMap(folder -> folderModelAssembler.toModel(folder, exchange))
+                .map(model -> {
+                    final URI uri = UriComponentsBuilder.fromUri(exchange.getRequest().getURI())
+                            .replacePath("/api/v1/folders/{folderId}/subFolders")
+                            .replaceQuery(null)
+                            .buildAndExpand(model.getContent().getId())
+                            .toUri();
+                    return ResponseEntity.created(uri).body(model);
+                });
+    }
+
+    @PatchMapping(path = "{folderId}")
+    public Mono<ResponseEntity<EntityModel<Folder>>> updateFolderById(@PathVariable(name = "folderId") Long folderId,
+                                                                      @Valid @RequestBody FolderUpdateForm updateForm,
+                                                                      ServerWebExchange exchange) {
+        log.info("Request to update folder by id: {}, dto: {}", folderId, updateForm);
+        return folderService.updateFolderById(folderId, updateForm)
+                .flatMap(folder -> folderModelAssembler.toModel(folder, exchange))
+                .map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("{folderId}")
+    public Mono<ResponseEntity<Void>> deleteFolderById(@PathVariable(name = "folderId") Long folderId) {
+        log.info("Request to delete folder by id: {}", folderId);
+        return folderService.deleteFolderById(folderId)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+}
@@ -0,0 +1,176 @@
+package com.jundaai.note.reactive.controller;
+
+import static org.springframework.hateoas.server.reactive.WebFluxLinkBuilder.methodOn;
+
+import java.net.URI;
+
+import com.jundaai.note.dto.KeysetSort;
+import com.jundaai.note.dto.NoteCreationForm;
+import com.jundaai.note.dto.NoteUpdateForm;
+import com.jundaai.note.reactive.model.Note;
+import com.jundaai.note.reactive.model.assembler.NoteModelAssembler;
+import com.jundaai.note.reactive.service.NoteService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+@Validated
+@RestController
+@RequestMapping(path = "/api/v1")
+@Slf4j
+public class NoteController {
+
+    private final NoteService noteService;
+    private final NoteModelAssembler noteModelAssembler;
+
+    public NoteController(NoteService noteService, NoteModelAssembler noteModelAssembler) {
+        this.noteService = noteService;
+        this.noteModelAssembler = noteModelAssembler;
+    }
+
+    @GetMapping(path = "notes")
+    public Mono<ResponseEntity<CollectionModel<EntityModel<Note>>>> getAllNotes(
+            @RequestParam(name = "sort", defaultValue = "UPDATED_AT") KeysetSort sort,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) Integer size,
+            ServerWebExchange exchange) {
+        log.info("Request to get all notes, sort: {}, cursor: {}, size: {}", sort, cursor, size);
+        return noteService.getAllNotes(sort, cursor, size)
+                .flatMap(notes -> noteModelAssembler.toCollectionModel(notes,
+                        nextCursor -> methodOn(NoteController.class).getAllNotes(sort, nextCursor, size, null),
+                        exchange))
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(path = "notes", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<EntityModel<Note>> streamAllNotes(
+            @RequestParam(name = "sort", defaultValue = "UPDATED_AT") KeysetSort sort,
+            ServerWebExchange exchange) {
+        log.info("Request to stream all notes, sort: {}", sort);
+        return noteService.streamAllNotes(sort)
+                .concatMap(note -> noteModelAssembler.toModel(note, exchange));
+    }
+
+    @GetMapping(path = "folders/{folderId}/notes")
+    public Mono<ResponseEntity<CollectionModel<EntityModel<Note>>>> getAllNotesByFolderId(
+            @PathVariable(name = "folderId") Long folderId,
+            @RequestParam(name = "sort", defaultValue = "UPDATED_AT") KeysetSort sort,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) Integer size,
+            ServerWebExchange exchange) {
+        log.info("Request to get all notes by folder id: {}, sort: {}, cursor: {}, size: {}", folderId, sort, cursor,
+                size);
+        return noteService.getAllNotesByFolderId(folderId, sort, cursor, size)
+                .flatMap(notes -> noteModelAssembler.toCollectionModel(notes,
+                        nextCursor -> methodOn(NoteController.class).getAllNotesByFolderId(folderId, sort,
+                                nextCursor, size, null),
+                        exchange))
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(path = "folders/{folderId}/notes", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<EntityModel<Note>> streamAllNotesByFolderId(
+            @PathVariable(name = "folderId") Long folderId,
+            @RequestParam(name = "sort", defaultValue = "UPDATED_AT") KeysetSort sort,
+            ServerWebExchange exchange) {
+        log.info("Request to stream all notes by folder id: {}, sort: {}", folderId, sort);
+        return noteService.streamAllNotesByFolderId(folderId, sort)
+                .concatMap(note -> noteModelAssembler.toModel(note, exchange));
+    }
+
+    @GetMapping(path = "tags/{tagId}/notes")
+    public Mono<ResponseEntity<CollectionModel<EntityModel<Note>>>> getAllNotesByTagId(
+            @PathVariable(name = "tagId") Long tagId,
+            @RequestParam(name = "sort", defaultValue = "UPDATED_AT") KeysetSort sort,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) Integer size,
+            ServerWebExchange exchange) {
+        log.info("Request to get all notes by tag id: {}, sort: {}, cursor: {}, size: {}", tagId, sort, cursor, size);
+        return noteService.getAllNotesByTagId(tagId, sort, cursor, size)
+                .flatMap(notes -> noteModelAssembler.toCollectionModel(notes,
+                        nextCursor -> methodOn(NoteController.class).getAllNotesByTagId(tagId, sort, nextCursor,
+                                size, null),
+                        exchange))
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(path = "tags/{tagId}/notes", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<EntityModel<Note>> streamAllNotesByTagId(
+            @PathVariable(name = "tagId") Long tagId,
+            @RequestParam(name = "sort", defaultValue = "UPDATED_AT") KeysetSort sort,
+            ServerWebExchange exchange) {
+        log.info("Request to stream all notes by tag id: {}, sort: {}", tagId, sort);
+        return noteService.streamAllNotesByTagId(tagId, sort)
+                .concatMap(note -> noteModelAssembler.toModel(note, exchange));
+    }
+
+    @GetMapping(path = "notes/{noteId}")
+    public Mono<ResponseEntity<EntityModel<Note>>> getNoteById(@PathVariable(name = "noteId") Long noteId,
+                                                               ServerWebExchange exchange) {
+        log.info("Request to get note by note id: {}", noteId);
+        return noteService.getNoteVersionById(noteId).flatMap(version -> {
+            if (ConditionalRequests.checkNotModified(exchange, noteId, version)) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).<EntityModel<Note>>build());
+            }
+            return noteService.getNoteById(noteId)
+                    .flatMap(note -> noteModelAssembler.toModel(note, exchange))
+                    .map(ResponseEntity::ok);
+        });
+    }
+
+    @PostMapping(path = "folders/{folderId}/notes")
+    public Mono<ResponseEntity<EntityModel<Note>>> createNoteByFolderId(
+            @PathVariable(name = "folderId") Long folderId,
+            @Valid @RequestBody NoteCreationForm creationForm,
+            ServerWebExchange exchange) {
+        log.info("Request to create new note: {}, folder id: {}", creationForm, folderId);
+        return noteService.createNoteByFolderId(folderId, creationForm)
+                .flatMap(note -> noteModelAssembler.toModel(note, exchange))
+                .map(model -> {
+                    final URI uri = UriComponentsBuilder.fromUri(exchange.getRequest().getURI())
+                            .replacePath("/api/v1/folders/{folderId}/notes")
+                            .replaceQuery(null)
+                            .buildAndExpand(model.getContent().getId())
+                            .toUri();
+                    return ResponseEntity.created(uri).body(model);
+                });
+    }
+
+    @PatchMapping(path = "notes/{noteId}")
+    public Mono<ResponseEntity<EntityModel<Note>>> updateNoteById(@PathVariable(name = "noteId") Long noteId,
+                                                                  @Valid @RequestBody NoteUpdateForm updateForm,
+                                                                  ServerWebExchange exchange) {
+        log.info("Request to update note by id: {}, dto: {}", noteId, updateForm);
+        return noteService.updateNoteById(noteId, updateForm)
+                .flatMap(note -> noteModelAssembler.toModel(note, exchange))
+                .map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("notes/{noteId}")
+    public Mono<ResponseEntity<Void>> deleteNoteById(@PathVariable(name = "noteId") Long noteId) {
+        log.info("Request to delete note by id: {}", noteId);
+        return noteService.deleteNoteById(noteId)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+}
@@ -0,0 +1,121 @@
+package com.jundaai.note.reactive.controller;
+
+import static org.springframework.hateoas.server.reactive.WebFluxLinkBuilder.methodOn;
+
+import java.net.URI;
+
+import com.jundaai.note.dto.KeysetSort;
+import com.jundaai.note.dto.TagOperationForm;
+import com.jundaai.note.dto.TagSummary;
+import com.jundaai.note.reactive.model.Tag;
+import com.jundaai.note.reactive.model.assembler.TagModelAssembler;
+import com.jundaai.note.reactive.service.TagService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+@Validated
+@RestController
+@RequestMapping(path = "/api/v1")
+@Slf4j
+public class TagController {
+
+    private final TagService tagService;
+    private final TagModelAssembler tagModelAssembler;
+
+    public TagController(TagService tagService, TagModelAssembler tagModelAssembler) {
+        this.tagService = tagService;
+        this.tagModelAssembler = tagModelAssembler;
+    }
+
+    @GetMapping(path = "tags")
+    public Mono<ResponseEntity<CollectionModel<EntityModel<TagSummary>>>> getAllTags(
+            @RequestParam(name = "sort", defaultValue = "UPDATED_AT") KeysetSort sort,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) Integer size,
+            ServerWebExchange exchange) {
+        log.info("Request to get all tags, sort: {}, cursor: {}, size: {}", sort, cursor, size);
+        return tagService.getAllTags(sort, cursor, size)
+                .flatMap(tags -> tagModelAssembler.toSummaryCollectionModel(tags,
+                        nextCursor -> methodOn(TagController.class).getAllTags(sort, nextCursor, size, null),
+                        exchange))
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(path = "notes/{noteId}/tags")
+    public Mono<ResponseEntity<CollectionModel<EntityModel<Tag>>>> getAllTagsByNoteId(
+            @PathVariable(name = "noteId") Long noteId,
+            ServerWebExchange exchange) {
+        log.info("Request to get all tags by note id: {}", noteId);
+        return tagService.getAllTagsByNoteId(noteId)
+                .flatMap(tags -> tagModelAssembler.toCollectionModel(Flux.fromIterable(tags), exchange))
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(path = "tags/{tagId}")
+    public Mono<ResponseEntity<EntityModel<Tag>>> getTagById(@PathVariable(name = "tagId") Long tagId,
+                                                             ServerWebExchange exchange) {
+        log.info("Request to get tag by id: {}", tagId);
+        return tagService.getTagVersionById(tagId).flatMap(version -> {
+            if (ConditionalRequests.checkNotModified(exchange, tagId, version)) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).<EntityModel<Tag>>build());
+            }
+            return tagService.getTagById(tagId)
+                    .flatMap(tag -> tagModelAssembler.toModel(tag, exchange))
+                    .map(ResponseEntity::ok);
+        });
+    }
+
+    @PostMapping(path = "tags")
+    public Mono<ResponseEntity<EntityModel<Tag>>> createTag(@Valid @RequestBody TagOperationForm creationForm,
+                                                            ServerWebExchange exchange) {
+        log.info("Request to create new tag: {}", creationForm);
+        return tagService.createTag(creationForm)
+                .flatMap(tag -> tagModelAssembler.toModel(tag, exchange))
+                .map(model -> {
+                    final URI uri = UriComponentsBuilder.fromUri(exchange.getRequest().getURI())
+                            .replacePath("/api/v1/tags")
+                            .replaceQuery(null)
+                            .build()
+                            .toUri();
+                    return ResponseEntity.created(uri).body(model);
+                });
+    }
+
+    @PatchMapping(path = "tags/{tagId}")
+    public Mono<ResponseEntity<EntityModel<Tag>>> updateTag(@PathVariable(name = "tagId") Long tagId,
+                                                            @Valid @RequestBody TagOperationForm updateForm,
+                                                            ServerWebExchange exchange) {
+        log.info("Request to update tag by id: {}, dto: {}", tagId, updateForm);
+        return tagService.updateTagById(tagId, updateForm)
+                .flatMap(tag -> tagModelAssembler.toModel(tag, exchange))
+                .map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping(path = "tags/{tagId}")
+    public Mono<ResponseEntity<Void>> deleteTagById(@PathVariable(name = "tagId") Long tagId) {
+        log.info("Request to delete tag by id: {}", tagId);
+        return tagService.deleteTagById(tagId)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+}
@@ -0,0 +1,19 @@
+package com.jundaai.note.reactive.exception.advice;
+
+import com.jundaai.note.exception.FolderNotFoundException;
+import com.jundaai.note.exception.NoteNotFoundException;
+import com.jundaai.note.exception.TagNotFoundException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+
+@RestControllerAdvice
+public class RestResponseEntityExceptionHandler {
+
+    @ExceptionHandler(value = {FolderNotFoundException.class, NoteNotFoundException.class, TagNotFoundException.class})
+    public ResponseEntity<Object> handleResourceNotFound(RuntimeException exception) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(exception.getMessage());
+    }
+}
@@ -0,0 +1,35 @@
+package com.jundaai.note.reactive.exception.advice;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+
+@RestControllerAdvice
+public class ValidationExceptionHandler {
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(WebExchangeBindException.class)
+    public Map<String, String> handleInvalidArguments(WebExchangeBindException bindException) {
+        var errorMap = new HashMap<String, String>();
+        bindException.getBindingResult()
+                .getFieldErrors()
+                .forEach(error -> errorMap.put(error.getField(), error.getDefaultMessage()));
+        return errorMap;
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(ConstraintViolationException.class)
+    public Map<String, String> handleConstraintViolations(ConstraintViolationException constraintViolationException) {
+        var errorMap = new HashMap<String, String>();
+        constraintViolationException.getConstraintViolations()
+                .forEach(violation -> errorMap.put(violation.getPropertyPath().toString(), violation.getMessage()));
+        return errorMap;
+    }
+}
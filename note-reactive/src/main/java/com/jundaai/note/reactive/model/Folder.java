@@ -0,0 +1,48 @@
+package com.jundaai.note.reactive.model;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.jundaai.note.dto.FolderSummary;
+import com.jundaai.note.dto.NoteSummary;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+
+@Builder
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class Folder {
+
+    private Long id;
+
+    private String name;
+
+    private ZonedDateTime createdAt;
+
+    private ZonedDateTime updatedAt;
+
+    @ToString.Exclude
+    @JsonIgnoreProperties(value = {"parentFolder", "subFolders", "notes"})
+    private Folder parentFolder;
+
+    @JsonProperty("subFolders")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @ToString.Exclude
+    private List<FolderSummary> subFolderSummaries;
+
+    @JsonProperty("notes")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @ToString.Exclude
+    private List<NoteSummary> noteSummaries;
+}
@@ -0,0 +1,37 @@
+package com.jundaai.note.reactive.model;
+
+import java.time.ZonedDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+
+@Builder
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class Note {
+
+    private Long id;
+
+    private String name;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @ToString.Exclude
+    private String content;
+
+    private ZonedDateTime createdAt;
+
+    private ZonedDateTime updatedAt;
+
+    @JsonIgnoreProperties(value = {"parentFolder", "subFolders", "notes"})
+    private Folder folder;
+}
@@ -0,0 +1,28 @@
+package com.jundaai.note.reactive.model;
+
+import java.time.ZonedDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+
+@Builder
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class Tag {
+
+    private Long id;
+
+    private String name;
+
+    private ZonedDateTime createdAt;
+
+    private ZonedDateTime updatedAt;
+}
@@ -0,0 +1,78 @@
+package com.jundaai.note.reactive.model.assembler;
+
+import static org.springframework.hateoas.server.reactive.WebFluxLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.reactive.WebFluxLinkBuilder.methodOn;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import com.jundaai.note.dto.FolderTreeNode;
+import com.jundaai.note.dto.KeysetPage;
+import com.jundaai.note.reactive.controller.FolderController;
+import com.jundaai.note.reactive.model.Folder;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.server.reactive.ReactiveRepresentationModelAssembler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+@Component
+public class FolderModelAssembler implements ReactiveRepresentationModelAssembler<Folder, EntityModel<Folder>> {
+
+    @Override
+    public Mono<EntityModel<Folder>> toModel(Folder entity, ServerWebExchange exchange) {
+        List<Mono<Link>> links = new ArrayList<>();
+        links.add(linkTo(methodOn(FolderController.class).getFolderById(entity.getId(), null), exchange)
+                .withSelfRel().toMono());
+        if (entity.getParentFolder() != null) {
+            links.add(linkTo(methodOn(FolderController.class).getFolderById(entity.getParentFolder().getId(), null),
+                    exchange).withRel("parent").toMono());
+        }
+        links.add(linkTo(methodOn(FolderController.class).getAllFolders(null, null, null, null), exchange)
+                .withRel("all folders").toMono());
+        return Flux.concat(links).collectList().map(entityLinks -> EntityModel.of(entity, entityLinks));
+    }
+
+    @Override
+    public Mono<CollectionModel<EntityModel<Folder>>> toCollectionModel(Flux<? extends Folder> entities,
+                                                                        ServerWebExchange exchange) {
+        return entities.concatMap(entity -> toModel(entity, exchange)).collectList().map(CollectionModel::of);
+    }
+
+    public Mono<CollectionModel<EntityModel<Folder>>> toCollectionModel(KeysetPage<? extends Folder> page,
+                                                                        Function<String, Object> nextPageInvocation,
+                                                                        ServerWebExchange exchange) {
+        Mono<CollectionModel<EntityModel<Folder>>> collectionModel =
+                toCollectionModel(Flux.fromIterable(page.content()), exchange);
+        if (!page.hasNext()) {
+            return collectionModel;
+        }
+        return collectionModel.zipWith(linkTo(nextPageInvocation.apply(page.nextCursor()), exchange)
+                .withRel(IanaLinkRelations.NEXT).toMono(), CollectionModel::add);
+    }
+
+    public Mono<EntityModel<FolderTreeNode>> toNodeModel(FolderTreeNode node, ServerWebExchange exchange) {
+        List<Mono<Link>> links = new ArrayList<>();
+        links.add(linkTo(methodOn(FolderController.class).getFolderById(node.id(), null), exchange)
+                .withSelfRel().toMono());
+        if (node.parentId() != null) {
+            links.add(linkTo(methodOn(FolderController.class).getFolderById(node.parentId(), null), exchange)
+                    .withRel("parent").toMono());
+        }
+        return Flux.concat(links).collectList().map(nodeLinks -> EntityModel.of(node, nodeLinks));
+    }
+
+    public Mono<CollectionModel<EntityModel<FolderTreeNode>>> toNodeCollectionModel(
+            Iterable<? extends FolderTreeNode> nodes, ServerWebExchange exchange) {
+        return Flux.fromIterable(nodes)
+                .concatMap(node -> toNodeModel(node, exchange))
+                .collectList()
+                .map(CollectionModel::of);
+    }
+}
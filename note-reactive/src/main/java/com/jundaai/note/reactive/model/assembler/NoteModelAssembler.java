@@ -0,0 +1,55 @@
+package com.jundaai.note.reactive.model.assembler;
+
+import static org.springframework.hateoas.server.reactive.WebFluxLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.reactive.WebFluxLinkBuilder.methodOn;
+
+import java.util.function.Function;
+
+import com.jundaai.note.dto.KeysetPage;
+import com.jundaai.note.reactive.controller.FolderController;
+import com.jundaai.note.reactive.controller.NoteController;
+import com.jundaai.note.reactive.model.Note;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.server.reactive.ReactiveRepresentationModelAssembler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+@Component
+public class NoteModelAssembler implements ReactiveRepresentationModelAssembler<Note, EntityModel<Note>> {
+
+    @Override
+    public Mono<EntityModel<Note>> toModel(Note entity, ServerWebExchange exchange) {
+        return Flux.concat(
+                        linkTo(methodOn(NoteController.class).getNoteById(entity.getId(), null), exchange)
+                                .withSelfRel().toMono(),
+                        linkTo(methodOn(FolderController.class).getFolderById(entity.getFolder().getId(), null),
+                                exchange).withRel("folder").toMono(),
+                        linkTo(methodOn(NoteController.class).getAllNotes(null, null, null, null), exchange)
+                                .withRel("all notes").toMono())
+                .collectList()
+                .map(links -> EntityModel.of(entity, links));
+    }
+
+    @Override
+    public Mono<CollectionModel<EntityModel<Note>>> toCollectionModel(Flux<? extends Note> entities,
+                                                                      ServerWebExchange exchange) {
+        return entities.concatMap(entity -> toModel(entity, exchange)).collectList().map(CollectionModel::of);
+    }
+
+    public Mono<CollectionModel<EntityModel<Note>>> toCollectionModel(KeysetPage<? extends Note> page,
+                                                                      Function<String, Object> nextPageInvocation,
+                                                                      ServerWebExchange exchange) {
+        Mono<CollectionModel<EntityModel<Note>>> collectionModel =
+                toCollectionModel(Flux.fromIterable(page.content()), exchange);
+        if (!page.hasNext()) {
+            return collectionModel;
+        }
+        return collectionModel.zipWith(linkTo(nextPageInvocation.apply(page.nextCursor()), exchange)
+                .withRel(IanaLinkRelations.NEXT).toMono(), CollectionModel::add);
+    }
+}
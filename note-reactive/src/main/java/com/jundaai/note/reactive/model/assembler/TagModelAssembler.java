@@ -0,0 +1,65 @@
+package com.jundaai.note.reactive.model.assembler;
+
+import static org.springframework.hateoas.server.reactive.WebFluxLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.reactive.WebFluxLinkBuilder.methodOn;
+
+import java.util.function.Function;
+
+import com.jundaai.note.dto.KeysetPage;
+import com.jundaai.note.dto.TagSummary;
+import com.jundaai.note.reactive.controller.TagController;
+import com.jundaai.note.reactive.model.Tag;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.server.reactive.ReactiveRepresentationModelAssembler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+@Component
+public class TagModelAssembler implements ReactiveRepresentationModelAssembler<Tag, EntityModel<Tag>> {
+
+    @Override
+    public Mono<EntityModel<Tag>> toModel(Tag entity, ServerWebExchange exchange) {
+        return Flux.concat(
+                        linkTo(methodOn(TagController.class).getTagById(entity.getId(), null), exchange)
+                                .withSelfRel().toMono(),
+                        linkTo(methodOn(TagController.class).getAllTags(null, null, null, null), exchange)
+                                .withRel("all tags").toMono())
+                .collectList()
+                .map(links -> EntityModel.of(entity, links));
+    }
+
+    @Override
+    public Mono<CollectionModel<EntityModel<Tag>>> toCollectionModel(Flux<? extends Tag> entities,
+                                                                     ServerWebExchange exchange) {
+        return entities.concatMap(entity -> toModel(entity, exchange)).collectList().map(CollectionModel::of);
+    }
+
+    public Mono<EntityModel<TagSummary>> toSummaryModel(TagSummary summary, ServerWebExchange exchange) {
+        return Flux.concat(
+                        linkTo(methodOn(TagController.class).getTagById(summary.id(), null), exchange)
+                                .withSelfRel().toMono(),
+                        linkTo(methodOn(TagController.class).getAllTags(null, null, null, null), exchange)
+                                .withRel("all tags").toMono())
+                .collectList()
+                .map(links -> EntityModel.of(summary, links));
+    }
+
+    public Mono<CollectionModel<EntityModel<TagSummary>>> toSummaryCollectionModel(
+            KeysetPage<? extends TagSummary> page, Function<String, Object> nextPageInvocation,
+            ServerWebExchange exchange) {
+        Mono<CollectionModel<EntityModel<TagSummary>>> collectionModel = Flux.fromIterable(page.content())
+                .concatMap(summary -> toSummaryModel(summary, exchange))
+                .collectList()
+                .map(CollectionModel::of);
+        if (!page.hasNext()) {
+            return collectionModel;
+        }
+        return collectionModel.zipWith(linkTo(nextPageInvocation.apply(page.nextCursor()), exchange)
+                .withRel(IanaLinkRelations.NEXT).toMono(), CollectionModel::add);
+    }
+}
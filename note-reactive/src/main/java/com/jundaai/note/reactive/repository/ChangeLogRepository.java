@@ -0,0 +1,62 @@
+package com.jundaai.note.reactive.repository;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import com.jundaai.note.dto.ChangeEntityType;
+import com.jundaai.note.dto.ChangeType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+@Repository
+public class ChangeLogRepository {
+
+    private final DatabaseClient databaseClient;
+    private final SequenceAllocator sequenceAllocator;
+
+    public ChangeLogRepository(DatabaseClient databaseClient, SequenceAllocator sequenceAllocator) {
+        this.databaseClient = databaseClient;
+        this.sequenceAllocator = sequenceAllocator;
+    }
+
+    public Mono<Void> insertAll(ChangeEntityType entityType, ChangeType changeType, Collection<Long> entityIds,
+                                Long folderId) {
+        return insertAll(entityType, changeType, entityIds, folderId, null, null);
+    }
+
+    public Mono<Void> insert(ChangeEntityType entityType, ChangeType changeType, Long entityId, Long folderId) {
+        return insertAll(entityType, changeType, List.of(entityId), folderId, null, null);
+    }
+
+    public Mono<Void> insert(ChangeEntityType entityType, ChangeType changeType, Long entityId, Long folderId,
+                             Long toFolderId, Long tagId) {
+        return insertAll(entityType, changeType, List.of(entityId), folderId, toFolderId, tagId);
+    }
+
+    private Mono<Void> insertAll(ChangeEntityType entityType, ChangeType changeType, Collection<Long> entityIds,
+                                 Long folderId, Long toFolderId, Long tagId) {
+        ZonedDateTime now = ZonedDateTime.now();
+        // the sequence stays null, the servlet service assigns it once this transaction has committed
+        return Flux.fromIterable(entityIds)
+                .concatMap(entityId -> sequenceAllocator.nextId("change_log_seq")
+                        .flatMap(id -> {
+                            DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("insert into change_log " +
+                                            "(id, entity_type, entity_id, change_type, changed_at, folder_id, " +
+                                            "to_folder_id, tag_id) values (:id, :entityType, :entityId, " +
+                                            ":changeType, :changedAt, :folderId, :toFolderId, :tagId)")
+                                    .bind("id", id)
+                                    .bind("entityType", entityType.name())
+                                    .bind("entityId", entityId)
+                                    .bind("changeType", changeType.name())
+                                    .bind("changedAt", Rows.toColumn(now));
+                            spec = Rows.bindNullable(spec, "folderId", folderId);
+                            spec = Rows.bindNullable(spec, "toFolderId", toFolderId);
+                            return Rows.bindNullable(spec, "tagId", tagId).then();
+                        }))
+                .then();
+    }
+}
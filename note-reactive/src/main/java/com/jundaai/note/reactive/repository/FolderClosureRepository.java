@@ -0,0 +1,82 @@
+package com.jundaai.note.reactive.repository;
+
+import java.util.Collection;
+
+import com.jundaai.note.dto.FolderTreeNode;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+@Repository
+public class FolderClosureRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public FolderClosureRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<FolderTreeNode> findAncestorNodes(Long folderId) {
+        return databaseClient.sql("select f.id, f.name, f.parent_id, c.depth from folder_closure c " +
+                        "join folder f on f.id = c.ancestor_id where c.descendant_id = :folderId order by c.depth desc")
+                .bind("folderId", folderId)
+                .map(FolderClosureRepository::treeNode)
+                .all();
+    }
+
+    public Flux<FolderTreeNode> findDescendantNodes(Long folderId, int maxDepth) {
+        return databaseClient.sql("select f.id, f.name, f.parent_id, c.depth from folder_closure c " +
+                        "join folder f on f.id = c.descendant_id " +
+                        "where c.ancestor_id = :folderId and c.depth between 1 and :maxDepth " +
+                        "order by c.depth, f.name, f.id")
+                .bind("folderId", folderId)
+                .bind("maxDepth", maxDepth)
+                .map(FolderClosureRepository::treeNode)
+                .all();
+    }
+
+    public Flux<Long> findSubtreeIds(Long folderId) {
+        return databaseClient.sql("select descendant_id from folder_closure where ancestor_id = :folderId")
+                .bind("folderId", folderId)
+                .map(row -> row.get("descendant_id", Long.class))
+                .all();
+    }
+
+    public Mono<Void> insertSelf(Long folderId) {
+        return databaseClient.sql("insert into folder_closure (ancestor_id, descendant_id, depth) " +
+                        "values (:folderId, :folderId, 0)")
+                .bind("folderId", folderId)
+                .then();
+    }
+
+    public Mono<Void> insertSubtreeUnder(Long parentId, Long subtreeRootId) {
+        return databaseClient.sql("insert into folder_closure (ancestor_id, descendant_id, depth) " +
+                        "select a.ancestor_id, d.descendant_id, a.depth + d.depth + 1 " +
+                        "from folder_closure a, folder_closure d " +
+                        "where a.descendant_id = :parentId and d.ancestor_id = :subtreeRootId")
+                .bind("parentId", parentId)
+                .bind("subtreeRootId", subtreeRootId)
+                .then();
+    }
+
+    public Mono<Void> deleteOutsidePaths(Collection<Long> subtreeIds) {
+        return databaseClient.sql("delete from folder_closure " +
+                        "where descendant_id in (:subtreeIds) and ancestor_id not in (:subtreeIds)")
+                .bind("subtreeIds", subtreeIds)
+                .then();
+    }
+
+    public Mono<Void> deleteSubtreePaths(Collection<Long> subtreeIds) {
+        return databaseClient.sql("delete from folder_closure where descendant_id in (:subtreeIds)")
+                .bind("subtreeIds", subtreeIds)
+                .then();
+    }
+
+    private static FolderTreeNode treeNode(Readable row) {
+        return new FolderTreeNode(row.get("id", Long.class), row.get("name", String.class),
+                row.get("parent_id", Long.class), row.get("depth", Integer.class));
+    }
+}
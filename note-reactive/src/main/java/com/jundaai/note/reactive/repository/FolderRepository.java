@@ -0,0 +1,184 @@
+package com.jundaai.note.reactive.repository;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+
+import com.jundaai.note.dto.FolderSummary;
+import com.jundaai.note.dto.NoteSummary;
+import com.jundaai.note.reactive.model.Folder;
+import io.r2dbc.spi.Readable;
+import org.springframework.data.domain.Slice;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+@Repository
+public class FolderRepository {
+
+    private static final String SELECT_FOLDER = "select f.id, f.name, f.created_at, f.updated_at, " +
+            "p.id as p_id, p.name as p_name, p.created_at as p_created_at, p.updated_at as p_updated_at " +
+            "from folder f left join folder p on p.id = f.parent_id ";
+
+    private final DatabaseClient databaseClient;
+    private final SequenceAllocator sequenceAllocator;
+
+    public FolderRepository(DatabaseClient databaseClient, SequenceAllocator sequenceAllocator) {
+        this.databaseClient = databaseClient;
+        this.sequenceAllocator = sequenceAllocator;
+    }
+
+    public Mono<Folder> findWithParentById(Long folderId) {
+        return databaseClient.sql(SELECT_FOLDER + "where f.id = :id")
+                .bind("id", folderId)
+                .map(FolderRepository::folderWithParent)
+                .one();
+    }
+
+    public Mono<ZonedDateTime> findVersionById(Long folderId) {
+        return databaseClient.sql("select f.updated_at, p.updated_at as p_updated_at from folder f " +
+                        "left join folder p on p.id = f.parent_id where f.id = :id")
+                .bind("id", folderId)
+                .map(row -> {
+                    ZonedDateTime updatedAt = Rows.timestamp(row, "updated_at");
+                    ZonedDateTime parentUpdatedAt = Rows.timestamp(row, "p_updated_at");
+                    return parentUpdatedAt != null && parentUpdatedAt.isAfter(updatedAt) ? parentUpdatedAt : updatedAt;
+                })
+                .one();
+    }
+
+    public Mono<Slice<Folder>> findAllUpdatedBefore(ZonedDateTime updatedAt, Long id, int size) {
+        return Rows.slice(databaseClient.sql(SELECT_FOLDER +
+                        "where f.updated_at < :updatedAt or (f.updated_at = :updatedAt and f.id < :id) " +
+                        "order by f.updated_at desc, f.id desc limit :limit")
+                .bind("updatedAt", Rows.toColumn(updatedAt))
+                .bind("id", id)
+                .bind("limit", size + 1)
+                .map(FolderRepository::folderWithParent)
+                .all(), size);
+    }
+
+    public Mono<Slice<Folder>> findAllNamedAfter(String name, Long id, int size) {
+        return Rows.slice(databaseClient.sql(SELECT_FOLDER +
+                        "where f.name > :name or (f.name = :name and f.id > :id) order by f.name, f.id limit :limit")
+                .bind("name", name)
+                .bind("id", id)
+                .bind("limit", size + 1)
+                .map(FolderRepository::folderWithParent)
+                .all(), size);
+    }
+
+    public Mono<Slice<Folder>> findSubFoldersByParentIdUpdatedBefore(Long parentId, ZonedDateTime updatedAt, Long id,
+                                                                     int size) {
+        return Rows.slice(databaseClient.sql(SELECT_FOLDER +
+                        "where p.id = :parentId and (f.updated_at < :updatedAt or " +
+                        "(f.updated_at = :updatedAt and f.id < :id)) " +
+                        "order by f.updated_at desc, f.id desc limit :limit")
+                .bind("parentId", parentId)
+                .bind("updatedAt", Rows.toColumn(updatedAt))
+                .bind("id", id)
+                .bind("limit", size + 1)
+                .map(FolderRepository::folderWithParent)
+                .all(), size);
+    }
+
+    public Mono<Slice<Folder>> findSubFoldersByParentIdNamedAfter(Long parentId, String name, Long id, int size) {
+        return Rows.slice(databaseClient.sql(SELECT_FOLDER +
+                        "where p.id = :parentId and (f.name > :name or (f.name = :name and f.id > :id)) " +
+                        "order by f.name, f.id limit :limit")
+                .bind("parentId", parentId)
+                .bind("name", name)
+                .bind("id", id)
+                .bind("limit", size + 1)
+                .map(FolderRepository::folderWithParent)
+                .all(), size);
+    }
+
+    public Flux<FolderSummary> findSubFolderSummariesByParentId(Long parentId) {
+        return databaseClient.sql("select id, name from folder where parent_id = :parentId order by id")
+                .bind("parentId", parentId)
+                .map(row -> new FolderSummary(row.get("id", Long.class), row.get("name", String.class)))
+                .all();
+    }
+
+    public Flux<NoteSummary> findNoteSummariesByFolderId(Long folderId) {
+        return databaseClient.sql("select id, name from note where folder_id = :folderId order by id")
+                .bind("folderId", folderId)
+                .map(row -> new NoteSummary(row.get("id", Long.class), row.get("name", String.class)))
+                .all();
+    }
+
+    public Mono<Boolean> existsById(Long folderId) {
+        return databaseClient.sql("select count(*) from folder where id = :id")
+                .bind("id", folderId)
+                .map(row -> row.get(0, Long.class) > 0)
+                .one();
+    }
+
+    public Mono<Boolean> existsByNameWithSameParent(String name, Long parentId) {
+        DatabaseClient.GenericExecuteSpec spec = parentId == null
+                ? databaseClient.sql("select count(*) from folder where name = :name and parent_id is null")
+                : databaseClient.sql("select count(*) from folder where name = :name and parent_id = :parentId")
+                .bind("parentId", parentId);
+        return spec.bind("name", name)
+                .map(row -> row.get(0, Long.class) > 0)
+                .one();
+    }
+
+    public Flux<Long> findNoteIdsByFolderIds(Collection<Long> folderIds) {
+        return databaseClient.sql("select id from note where folder_id in (:folderIds)")
+                .bind("folderIds", folderIds)
+                .map(row -> row.get("id", Long.class))
+                .all();
+    }
+
+    public Mono<Folder> insert(Folder folder) {
+        return sequenceAllocator.nextId("folder_seq")
+                .flatMap(id -> databaseClient.sql("insert into folder (id, name, created_at, updated_at, parent_id) " +
+                                "values (:id, :name, :createdAt, :updatedAt, :parentId)")
+                        .bind("id", id)
+                        .bind("name", folder.getName())
+                        .bind("createdAt", Rows.toColumn(folder.getCreatedAt()))
+                        .bind("updatedAt", Rows.toColumn(folder.getUpdatedAt()))
+                        .bind("parentId", folder.getParentFolder().getId())
+                        .then()
+                        .then(Mono.fromSupplier(() -> {
+                            folder.setId(id);
+                            return folder;
+                        })));
+    }
+
+    public Mono<Void> update(Folder folder) {
+        return databaseClient.sql("update folder set name = :name, parent_id = :parentId, updated_at = :updatedAt " +
+                        "where id = :id")
+                .bind("name", folder.getName())
+                .bind("parentId", folder.getParentFolder().getId())
+                .bind("updatedAt", Rows.toColumn(folder.getUpdatedAt()))
+                .bind("id", folder.getId())
+                .then();
+    }
+
+    public Mono<Void> touch(Folder folder, ZonedDateTime updatedAt) {
+        folder.setUpdatedAt(updatedAt);
+        return databaseClient.sql("update folder set updated_at = :updatedAt where id = :id")
+                .bind("updatedAt", Rows.toColumn(updatedAt))
+                .bind("id", folder.getId())
+                .then();
+    }
+
+    public Mono<Void> deleteAllByIds(Collection<Long> folderIds) {
+        return databaseClient.sql("update folder set parent_id = null where id in (:ids)")
+                .bind("ids", folderIds)
+                .then()
+                .then(databaseClient.sql("delete from folder where id in (:ids)")
+                        .bind("ids", folderIds)
+                        .then());
+    }
+
+    private static Folder folderWithParent(Readable row) {
+        Folder folder = Rows.folder(row, "");
+        folder.setParentFolder(Rows.folder(row, "p_"));
+        return folder;
+    }
+}
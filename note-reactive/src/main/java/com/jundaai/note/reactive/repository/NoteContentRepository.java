@@ -0,0 +1,74 @@
+package com.jundaai.note.reactive.repository;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+
+@Repository
+public class NoteContentRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public NoteContentRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<String> findContentById(Long noteId) {
+        return databaseClient.sql("select content from note_content where note_id = :noteId")
+                .bind("noteId", noteId)
+                .map(row -> row.get("content", String.class))
+                .one();
+    }
+
+    public Mono<Long> findVersionById(Long noteId) {
+        return databaseClient.sql("select version from note_content where note_id = :noteId")
+                .bind("noteId", noteId)
+                .map(row -> row.get("version", Long.class))
+                .one();
+    }
+
+    public Mono<Void> insert(Long noteId, String content) {
+        return databaseClient.sql("insert into note_content (note_id, content, version) values (:noteId, :content, 0)")
+                .bind("noteId", noteId)
+                .bind("content", content)
+                .then();
+    }
+
+    public Mono<Void> updateContent(Long noteId, String content) {
+        return databaseClient.sql("update note_content set content = :content, version = version + 1 "
+                        + "where note_id = :noteId")
+                .bind("content", content)
+                .bind("noteId", noteId)
+                .then();
+    }
+
+    public Mono<Long> appendContent(Long noteId, String text) {
+        return databaseClient.sql("update note_content set content = content || :text, version = version + 1 "
+                        + "where note_id = :noteId")
+                .bind("text", text)
+                .bind("noteId", noteId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> appendContent(Long noteId, String text, Long baseVersion) {
+        return databaseClient.sql("update note_content set content = content || :text, version = version + 1 "
+                        + "where note_id = :noteId and version = :baseVersion")
+                .bind("text", text)
+                .bind("noteId", noteId)
+                .bind("baseVersion", baseVersion)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> updateContent(Long noteId, String content, Long baseVersion) {
+        return databaseClient.sql("update note_content set content = :content, version = version + 1 "
+                        + "where note_id = :noteId and version = :baseVersion")
+                .bind("content", content)
+                .bind("noteId", noteId)
+                .bind("baseVersion", baseVersion)
+                .fetch()
+                .rowsUpdated();
+    }
+}
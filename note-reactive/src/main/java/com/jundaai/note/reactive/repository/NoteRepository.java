@@ -0,0 +1,215 @@
+package com.jundaai.note.reactive.repository;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+
+import com.jundaai.note.dto.KeysetSort;
+import com.jundaai.note.reactive.model.Note;
+import io.r2dbc.spi.Readable;
+import org.springframework.data.domain.Slice;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+@Repository
+public class NoteRepository {
+
+    private static final String SELECT_NOTE = "select n.id, n.name, n.created_at, n.updated_at, " +
+            "f.id as f_id, f.name as f_name, f.created_at as f_created_at, f.updated_at as f_updated_at " +
+            "from note n join folder f on f.id = n.folder_id ";
+
+    private final DatabaseClient databaseClient;
+    private final SequenceAllocator sequenceAllocator;
+
+    public NoteRepository(DatabaseClient databaseClient, SequenceAllocator sequenceAllocator) {
+        this.databaseClient = databaseClient;
+        this.sequenceAllocator = sequenceAllocator;
+    }
+
+    public Mono<Note> findWithFolderById(Long noteId) {
+        return databaseClient.sql(SELECT_NOTE + "where n.id = :id")
+                .bind("id", noteId)
+                .map(NoteRepository::note)
+                .one();
+    }
+
+    public Mono<ZonedDateTime> findVersionById(Long noteId) {
+        return databaseClient.sql("select n.updated_at, f.updated_at as f_updated_at from note n " +
+                        "join folder f on f.id = n.folder_id where n.id = :id")
+                .bind("id", noteId)
+                .map(row -> {
+                    ZonedDateTime updatedAt = Rows.timestamp(row, "updated_at");
+                    ZonedDateTime folderUpdatedAt = Rows.timestamp(row, "f_updated_at");
+                    return folderUpdatedAt.isAfter(updatedAt) ? folderUpdatedAt : updatedAt;
+                })
+                .one();
+    }
+
+    public Mono<Boolean> existsByNameWithSameFolder(String noteName, Long folderId) {
+        return databaseClient.sql("select count(*) from note where name = :name and folder_id = :folderId")
+                .bind("name", noteName)
+                .bind("folderId", folderId)
+                .map(row -> row.get(0, Long.class) > 0)
+                .one();
+    }
+
+    public Mono<Slice<Note>> findAllUpdatedBefore(ZonedDateTime updatedAt, Long id, int size) {
+        return Rows.slice(databaseClient.sql(SELECT_NOTE +
+                        "where n.updated_at < :updatedAt or (n.updated_at = :updatedAt and n.id < :id) " +
+                        "order by n.updated_at desc, n.id desc limit :limit")
+                .bind("updatedAt", Rows.toColumn(updatedAt))
+                .bind("id", id)
+                .bind("limit", size + 1)
+                .map(NoteRepository::note)
+                .all(), size);
+    }
+
+    public Mono<Slice<Note>> findAllNamedAfter(String name, Long id, int size) {
+        return Rows.slice(databaseClient.sql(SELECT_NOTE +
+                        "where n.name > :name or (n.name = :name and n.id > :id) order by n.name, n.id limit :limit")
+                .bind("name", name)
+                .bind("id", id)
+                .bind("limit", size + 1)
+                .map(NoteRepository::note)
+                .all(), size);
+    }
+
+    public Mono<Slice<Note>> findAllByFolderIdUpdatedBefore(Long folderId, ZonedDateTime updatedAt, Long id,
+                                                            int size) {
+        return Rows.slice(databaseClient.sql(SELECT_NOTE +
+                        "where f.id = :folderId and (n.updated_at < :updatedAt or " +
+                        "(n.updated_at = :updatedAt and n.id < :id)) " +
+                        "order by n.updated_at desc, n.id desc limit :limit")
+                .bind("folderId", folderId)
+                .bind("updatedAt", Rows.toColumn(updatedAt))
+                .bind("id", id)
+                .bind("limit", size + 1)
+                .map(NoteRepository::note)
+                .all(), size);
+    }
+
+    public Mono<Slice<Note>> findAllByFolderIdNamedAfter(Long folderId, String name, Long id, int size) {
+        return Rows.slice(databaseClient.sql(SELECT_NOTE +
+                        "where f.id = :folderId and (n.name > :name or (n.name = :name and n.id > :id)) " +
+                        "order by n.name, n.id limit :limit")
+                .bind("folderId", folderId)
+                .bind("name", name)
+                .bind("id", id)
+                .bind("limit", size + 1)
+                .map(NoteRepository::note)
+                .all(), size);
+    }
+
+    public Mono<Slice<Note>> findAllByTagIdUpdatedBefore(Long tagId, ZonedDateTime updatedAt, Long id, int size) {
+        return Rows.slice(databaseClient.sql(SELECT_NOTE + "join note_tag nt on nt.note_id = n.id " +
+                        "where nt.tag_id = :tagId and (n.updated_at < :updatedAt or " +
+                        "(n.updated_at = :updatedAt and n.id < :id)) " +
+                        "order by n.updated_at desc, n.id desc limit :limit")
+                .bind("tagId", tagId)
+                .bind("updatedAt", Rows.toColumn(updatedAt))
+                .bind("id", id)
+                .bind("limit", size + 1)
+                .map(NoteRepository::note)
+                .all(), size);
+    }
+
+    public Mono<Slice<Note>> findAllByTagIdNamedAfter(Long tagId, String name, Long id, int size) {
+        return Rows.slice(databaseClient.sql(SELECT_NOTE + "join note_tag nt on nt.note_id = n.id " +
+                        "where nt.tag_id = :tagId and (n.name > :name or (n.name = :name and n.id > :id)) " +
+                        "order by n.name, n.id limit :limit")
+                .bind("tagId", tagId)
+                .bind("name", name)
+                .bind("id", id)
+                .bind("limit", size + 1)
+                .map(NoteRepository::note)
+                .all(), size);
+    }
+
+    public Flux<Note> streamAll(KeysetSort sort) {
+        return databaseClient.sql(SELECT_NOTE + orderBy(sort))
+                .map(NoteRepository::note)
+                .all();
+    }
+
+    public Flux<Note> streamAllByFolderId(Long folderId, KeysetSort sort) {
+        return databaseClient.sql(SELECT_NOTE + "where f.id = :folderId " + orderBy(sort))
+                .bind("folderId", folderId)
+                .map(NoteRepository::note)
+                .all();
+    }
+
+    public Flux<Note> streamAllByTagId(Long tagId, KeysetSort sort) {
+        return databaseClient.sql(SELECT_NOTE + "join note_tag nt on nt.note_id = n.id " +
+                        "where nt.tag_id = :tagId " + orderBy(sort))
+                .bind("tagId", tagId)
+                .map(NoteRepository::note)
+                .all();
+    }
+
+    public Mono<Boolean> existsById(Long noteId) {
+        return databaseClient.sql("select count(*) from note where id = :id")
+                .bind("id", noteId)
+                .map(row -> row.get(0, Long.class) > 0)
+                .one();
+    }
+
+    public Mono<Note> insert(Note note) {
+        return sequenceAllocator.nextId("note_seq")
+                .flatMap(id -> databaseClient.sql("insert into note (id, name, created_at, updated_at, folder_id) " +
+                                "values (:id, :name, :createdAt, :updatedAt, :folderId)")
+                        .bind("id", id)
+                        .bind("name", note.getName())
+                        .bind("createdAt", Rows.toColumn(note.getCreatedAt()))
+                        .bind("updatedAt", Rows.toColumn(note.getUpdatedAt()))
+                        .bind("folderId", note.getFolder().getId())
+                        .then()
+                        .then(Mono.fromSupplier(() -> {
+                            note.setId(id);
+                            return note;
+                        })));
+    }
+
+    public Mono<Void> update(Note note) {
+        return databaseClient.sql("update note set name = :name, folder_id = :folderId, updated_at = :updatedAt " +
+                        "where id = :id")
+                .bind("name", note.getName())
+                .bind("folderId", note.getFolder().getId())
+                .bind("updatedAt", Rows.toColumn(note.getUpdatedAt()))
+                .bind("id", note.getId())
+                .then();
+    }
+
+    public Mono<Void> deleteAllByIds(Collection<Long> noteIds) {
+        if (noteIds.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql("delete from note_tag where note_id in (:ids)")
+                .bind("ids", noteIds)
+                .then()
+                .then(databaseClient.sql("delete from note_content where note_id in (:ids)")
+                        .bind("ids", noteIds)
+                        .then())
+                .then(databaseClient.sql("delete from note where id in (:ids)")
+                        .bind("ids", noteIds)
+                        .then());
+    }
+
+    private static String orderBy(KeysetSort sort) {
+        return switch (sort) {
+            case UPDATED_AT -> "order by n.updated_at desc, n.id desc";
+            case NAME -> "order by n.name, n.id";
+        };
+    }
+
+    private static Note note(Readable row) {
+        return Note.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .createdAt(Rows.timestamp(row, "created_at"))
+                .updatedAt(Rows.timestamp(row, "updated_at"))
+                .folder(Rows.folder(row, "f_"))
+                .build();
+    }
+}
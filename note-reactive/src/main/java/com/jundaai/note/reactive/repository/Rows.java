@@ -0,0 +1,57 @@
+package com.jundaai.note.reactive.repository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import com.jundaai.note.reactive.model.Folder;
+import io.r2dbc.spi.Readable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+final class Rows {
+
+    private Rows() {
+    }
+
+    static LocalDateTime toColumn(ZonedDateTime timestamp) {
+        return timestamp.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+
+    static ZonedDateTime timestamp(Readable row, String column) {
+        LocalDateTime timestamp = row.get(column, LocalDateTime.class);
+        return timestamp == null ? null : timestamp.atZone(ZoneId.systemDefault());
+    }
+
+    static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name,
+                                                          Long value) {
+        return value == null ? spec.bindNull(name, Long.class) : spec.bind(name, value);
+    }
+
+    static Folder folder(Readable row, String prefix) {
+        Long id = row.get(prefix + "id", Long.class);
+        if (id == null) {
+            return null;
+        }
+        return Folder.builder()
+                .id(id)
+                .name(row.get(prefix + "name", String.class))
+                .createdAt(timestamp(row, prefix + "created_at"))
+                .updatedAt(timestamp(row, prefix + "updated_at"))
+                .build();
+    }
+
+    static <T> Mono<Slice<T>> slice(Flux<T> rows, int size) {
+        return rows.collectList().map(content -> {
+            boolean hasNext = content.size() > size;
+            List<T> pageContent = hasNext ? content.subList(0, size) : content;
+            return new SliceImpl<>(pageContent, PageRequest.ofSize(size), hasNext);
+        });
+    }
+}
@@ -0,0 +1,70 @@
+package com.jundaai.note.reactive.repository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.Mono;
+
+
+@Component
+public class SequenceAllocator {
+
+    static final long INITIAL_VALUE = 1;
+    static final long ALLOCATION_SIZE = 50;
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator requiresNew;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public SequenceAllocator(DatabaseClient databaseClient, ReactiveTransactionManager transactionManager) {
+        this.databaseClient = databaseClient;
+        this.requiresNew = TransactionalOperator.create(transactionManager,
+                new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    public Mono<Long> nextId(String sequence) {
+        Block block = blocks.get(sequence);
+        if (block != null) {
+            long id = block.next().getAndIncrement();
+            if (id <= block.hi()) {
+                return Mono.just(id);
+            }
+        }
+        return allocate(sequence).map(allocated -> {
+            blocks.put(sequence, allocated);
+            return allocated.next().getAndIncrement();
+        });
+    }
+
+    private Mono<Block> allocate(String sequence) {
+        return take(sequence).flatMap(value -> value == INITIAL_VALUE
+                ? take(sequence).map(hi -> new Block(new AtomicLong(INITIAL_VALUE), hi))
+                : Mono.just(new Block(new AtomicLong(value - ALLOCATION_SIZE + 1), value)));
+    }
+
+    private Mono<Long> take(String sequence) {
+        return databaseClient.sql("select next_val from " + sequence + " for update")
+                .map(row -> row.get("next_val", Long.class))
+                .one()
+                .flatMap(value -> databaseClient.sql("update " + sequence + " set next_val = :next "
+                                + "where next_val = :value")
+                        .bind("next", value + ALLOCATION_SIZE)
+                        .bind("value", value)
+                        .fetch()
+                        .rowsUpdated()
+                        .flatMap(updated -> updated == 1 ? Mono.just(value) : Mono.<Long>empty()))
+                .as(requiresNew::transactional)
+                .repeatWhenEmpty(attempts -> attempts);
+    }
+
+    private record Block(AtomicLong next, long hi) {
+
+    }
+}
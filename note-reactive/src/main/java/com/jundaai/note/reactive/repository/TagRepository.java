@@ -0,0 +1,162 @@
+package com.jundaai.note.reactive.repository;
+
+import java.time.ZonedDateTime;
+
+import com.jundaai.note.dto.TagSummary;
+import com.jundaai.note.reactive.model.Tag;
+import io.r2dbc.spi.Readable;
+import org.springframework.data.domain.Slice;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+@Repository
+public class TagRepository {
+
+    private static final String SELECT_TAG = "select t.id, t.name, t.created_at, t.updated_at from tag t ";
+    private static final String SELECT_SUMMARY = "select t.id, t.name, t.created_at, t.updated_at, " +
+            "(select count(*) from note_tag nt where nt.tag_id = t.id) as note_count from tag t ";
+
+    private final DatabaseClient databaseClient;
+    private final SequenceAllocator sequenceAllocator;
+
+    public TagRepository(DatabaseClient databaseClient, SequenceAllocator sequenceAllocator) {
+        this.databaseClient = databaseClient;
+        this.sequenceAllocator = sequenceAllocator;
+    }
+
+    public Mono<Slice<TagSummary>> findSummariesUpdatedBefore(ZonedDateTime updatedAt, Long id, int size) {
+        return Rows.slice(databaseClient.sql(SELECT_SUMMARY +
+                        "where t.updated_at < :updatedAt or (t.updated_at = :updatedAt and t.id < :id) " +
+                        "order by t.updated_at desc, t.id desc limit :limit")
+                .bind("updatedAt", Rows.toColumn(updatedAt))
+                .bind("id", id)
+                .bind("limit", size + 1)
+                .map(TagRepository::summary)
+                .all(), size);
+    }
+
+    public Mono<Slice<TagSummary>> findSummariesNamedAfter(String name, Long id, int size) {
+        return Rows.slice(databaseClient.sql(SELECT_SUMMARY +
+                        "where t.name > :name or (t.name = :name and t.id > :id) order by t.name, t.id limit :limit")
+                .bind("name", name)
+                .bind("id", id)
+                .bind("limit", size + 1)
+                .map(TagRepository::summary)
+                .all(), size);
+    }
+
+    public Mono<Tag> findById(Long tagId) {
+        return databaseClient.sql(SELECT_TAG + "where t.id = :id")
+                .bind("id", tagId)
+                .map(TagRepository::tag)
+                .one();
+    }
+
+    public Mono<Tag> findByName(String tagName) {
+        return databaseClient.sql(SELECT_TAG + "where t.name = :name")
+                .bind("name", tagName)
+                .map(TagRepository::tag)
+                .one();
+    }
+
+    public Mono<ZonedDateTime> findVersionById(Long tagId) {
+        return databaseClient.sql("select updated_at from tag where id = :id")
+                .bind("id", tagId)
+                .map(row -> Rows.timestamp(row, "updated_at"))
+                .one();
+    }
+
+    public Flux<Tag> findAllByNoteId(Long noteId) {
+        return databaseClient.sql(SELECT_TAG + "join note_tag nt on nt.tag_id = t.id where nt.note_id = :noteId " +
+                        "order by t.id")
+                .bind("noteId", noteId)
+                .map(TagRepository::tag)
+                .all();
+    }
+
+    public Mono<Boolean> existsById(Long tagId) {
+        return databaseClient.sql("select count(*) from tag where id = :id")
+                .bind("id", tagId)
+                .map(row -> row.get(0, Long.class) > 0)
+                .one();
+    }
+
+    public Mono<Boolean> existsByName(String name) {
+        return databaseClient.sql("select count(*) from tag where name = :name")
+                .bind("name", name)
+                .map(row -> row.get(0, Long.class) > 0)
+                .one();
+    }
+
+    public Mono<Boolean> existsByNoteIdAndTagId(Long noteId, Long tagId) {
+        return databaseClient.sql("select count(*) from note_tag where note_id = :noteId and tag_id = :tagId")
+                .bind("noteId", noteId)
+                .bind("tagId", tagId)
+                .map(row -> row.get(0, Long.class) > 0)
+                .one();
+    }
+
+    public Mono<Void> addNote(Long tagId, Long noteId) {
+        return databaseClient.sql("insert into note_tag (note_id, tag_id) values (:noteId, :tagId)")
+                .bind("noteId", noteId)
+                .bind("tagId", tagId)
+                .then();
+    }
+
+    public Mono<Void> removeNote(Long tagId, Long noteId) {
+        return databaseClient.sql("delete from note_tag where note_id = :noteId and tag_id = :tagId")
+                .bind("noteId", noteId)
+                .bind("tagId", tagId)
+                .then();
+    }
+
+    public Mono<Tag> insert(Tag tag) {
+        return sequenceAllocator.nextId("tag_seq")
+                .flatMap(id -> databaseClient.sql("insert into tag (id, name, created_at, updated_at) " +
+                                "values (:id, :name, :createdAt, :updatedAt)")
+                        .bind("id", id)
+                        .bind("name", tag.getName())
+                        .bind("createdAt", Rows.toColumn(tag.getCreatedAt()))
+                        .bind("updatedAt", Rows.toColumn(tag.getUpdatedAt()))
+                        .then()
+                        .then(Mono.fromSupplier(() -> {
+                            tag.setId(id);
+                            return tag;
+                        })));
+    }
+
+    public Mono<Void> update(Tag tag) {
+        return databaseClient.sql("update tag set name = :name, updated_at = :updatedAt where id = :id")
+                .bind("name", tag.getName())
+                .bind("updatedAt", Rows.toColumn(tag.getUpdatedAt()))
+                .bind("id", tag.getId())
+                .then();
+    }
+
+    public Mono<Void> deleteById(Long tagId) {
+        return databaseClient.sql("delete from note_tag where tag_id = :id")
+                .bind("id", tagId)
+                .then()
+                .then(databaseClient.sql("delete from tag where id = :id")
+                        .bind("id", tagId)
+                        .then());
+    }
+
+    private static Tag tag(Readable row) {
+        return Tag.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .createdAt(Rows.timestamp(row, "created_at"))
+                .updatedAt(Rows.timestamp(row, "updated_at"))
+                .build();
+    }
+
+    private static TagSummary summary(Readable row) {
+        return new TagSummary(row.get("id", Long.class), row.get("name", String.class),
+                Rows.timestamp(row, "created_at"), Rows.timestamp(row, "updated_at"),
+                row.get("note_count", Long.class).intValue());
+    }
+}
@@ -0,0 +1,266 @@
+package com.jundaai.note.reactive.service;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+
+import com.jundaai.note.dto.ChangeEntityType;
+import com.jundaai.note.dto.ChangeType;
+import com.jundaai.note.dto.FolderCreationForm;
+import com.jundaai.note.dto.FolderTreeNode;
+import com.jundaai.note.dto.FolderUpdateForm;
+import com.jundaai.note.dto.FolderUpdateType;
+import com.jundaai.note.dto.KeysetCursor;
+import com.jundaai.note.dto.KeysetPage;
+import com.jundaai.note.dto.KeysetSort;
+import com.jundaai.note.exception.FolderNameBlankException;
+import com.jundaai.note.exception.FolderNameConflictException;
+import com.jundaai.note.exception.FolderNotFoundException;
+import com.jundaai.note.exception.RootPreservationException;
+import com.jundaai.note.reactive.model.Folder;
+import com.jundaai.note.reactive.repository.ChangeLogRepository;
+import com.jundaai.note.reactive.repository.FolderClosureRepository;
+import com.jundaai.note.reactive.repository.FolderRepository;
+import com.jundaai.note.reactive.repository.NoteRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+
+@Service
+@Slf4j
+public class FolderService {
+
+    private final FolderRepository folderRepository;
+    private final FolderClosureRepository folderClosureRepository;
+    private final NoteRepository noteRepository;
+    private final ChangeLogRepository changeLogRepository;
+
+    public FolderService(FolderRepository folderRepository, FolderClosureRepository folderClosureRepository,
+                         NoteRepository noteRepository, ChangeLogRepository changeLogRepository) {
+        this.folderRepository = folderRepository;
+        this.folderClosureRepository = folderClosureRepository;
+        this.noteRepository = noteRepository;
+        this.changeLogRepository = changeLogRepository;
+    }
+
+    public Mono<KeysetPage<Folder>> getAllFolders(KeysetSort sort, String cursor, int size) {
+        log.info("Get all folders, sort: {}, cursor: {}, size: {}", sort, cursor, size);
+        return Mono.fromSupplier(() -> KeysetCursor.decode(cursor, sort))
+                .flatMap(after -> switch (sort) {
+                    case UPDATED_AT -> folderRepository.findAllUpdatedBefore(after.updatedAt(), after.id(), size);
+                    case NAME -> folderRepository.findAllNamedAfter(after.name(), after.id(), size);
+                })
+                .map(folders -> KeysetPage.of(folders, folder -> KeysetCursor.after(sort, folder.getUpdatedAt(),
+                        folder.getName(), folder.getId())));
+    }
+
+    public Mono<Folder> getFolderById(Long folderId) {
+        log.info("Get folder by id: {}", folderId);
+        return folderRepository.findWithParentById(folderId)
+                .switchIfEmpty(Mono.error(() -> new FolderNotFoundException(folderId)))
+                .flatMap(folder -> Mono.zip(folderRepository.findSubFolderSummariesByParentId(folderId).collectList(),
+                                folderRepository.findNoteSummariesByFolderId(folderId).collectList())
+                        .map(summaries -> {
+                            folder.setSubFolderSummaries(summaries.getT1());
+                            folder.setNoteSummaries(summaries.getT2());
+                            return folder;
+                        }));
+    }
+
+    public Mono<ZonedDateTime> getFolderVersionById(Long folderId) {
+        log.info("Get folder version by id: {}", folderId);
+        return folderRepository.findVersionById(folderId)
+                .switchIfEmpty(Mono.error(() -> new FolderNotFoundException(folderId)));
+    }
+
+    public Mono<KeysetPage<Folder>> getSubFoldersByParentId(Long parentId, KeysetSort sort, String cursor, int size) {
+        log.info("Get sub-folders by parent id: {}, sort: {}, cursor: {}, size: {}", parentId, sort, cursor, size);
+        return Mono.fromSupplier(() -> KeysetCursor.decode(cursor, sort))
+                .flatMap(after -> switch (sort) {
+                    case UPDATED_AT -> folderRepository.findSubFoldersByParentIdUpdatedBefore(parentId,
+                            after.updatedAt(), after.id(), size);
+                    case NAME -> folderRepository.findSubFoldersByParentIdNamedAfter(parentId, after.name(),
+                            after.id(), size);
+                })
+                .flatMap(subFolders -> requireFolderUnlessFound(subFolders, parentId))
+                .map(subFolders -> KeysetPage.of(subFolders, folder -> KeysetCursor.after(sort,
+                        folder.getUpdatedAt(), folder.getName(), folder.getId())));
+    }
+
+    public Mono<List<FolderTreeNode>> getAncestorsById(Long folderId) {
+        log.info("Get ancestors by folder id: {}", folderId);
+        return folderClosureRepository.findAncestorNodes(folderId)
+                .collectList()
+                .filter(ancestors -> !ancestors.isEmpty())
+                .switchIfEmpty(Mono.error(() -> new FolderNotFoundException(folderId)));
+    }
+
+    public Mono<List<FolderTreeNode>> getDescendantsById(Long folderId, int maxDepth) {
+        log.info("Get descendants by folder id: {}, max depth: {}", folderId, maxDepth);
+        return folderClosureRepository.findDescendantNodes(folderId, maxDepth)
+                .collectList()
+                .flatMap(descendants -> descendants.isEmpty()
+                        ? requireFolder(folderId).thenReturn(descendants)
+                        : Mono.just(descendants));
+    }
+
+    @Transactional
+    public Mono<Folder> createFolderByParentId(Long parentId, FolderCreationForm folderCreationForm) {
+        log.info("Create new folder: {}, parent folder id: {}", folderCreationForm, parentId);
+
+        String folderName = folderCreationForm.name();
+        if (folderName == null || folderName.isBlank()) {
+            return Mono.error(new FolderNameBlankException());
+        }
+        if (folderName.equals("root")) {
+            return Mono.error(new RootPreservationException("Create folder named 'root'"));
+        }
+
+        return folderRepository.findWithParentById(parentId)
+                .switchIfEmpty(Mono.error(() -> new FolderNotFoundException(parentId)))
+                .flatMap(parent -> folderRepository.existsByNameWithSameParent(folderName, parentId)
+                        .flatMap(exists -> {
+                            if (exists) {
+                                return Mono.error(new FolderNameConflictException(folderName));
+                            }
+                            ZonedDateTime now = ZonedDateTime.now().truncatedTo(ChronoUnit.MICROS);
+                            Folder folder = Folder.builder()
+                                    .name(folderName)
+                                    .createdAt(now)
+                                    .updatedAt(now)
+                                    .parentFolder(parent)
+                                    .build();
+                            return folderRepository.insert(folder)
+                                    .flatMap(saved -> folderClosureRepository.insertSelf(saved.getId())
+                                            .then(folderClosureRepository.insertSubtreeUnder(parentId, saved.getId()))
+                                            .then(folderRepository.touch(parent, now))
+                                            .then(changeLogRepository.insert(ChangeEntityType.FOLDER,
+                                                    ChangeType.CREATED, saved.getId(), saved.getId()))
+                                            .thenReturn(saved));
+                        }));
+    }
+
+    @Transactional
+    public Mono<Folder> updateFolderById(Long folderId, FolderUpdateForm updateForm) {
+        log.info("Update folder by id: {}, dto: {}", folderId, updateForm);
+        ZonedDateTime now = ZonedDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        return folderRepository.findWithParentById(folderId)
+                .switchIfEmpty(Mono.error(() -> new FolderNotFoundException(folderId)))
+                .flatMap(folder -> {
+                    if (folder.getName().equals("root")) {
+                        return Mono.error(new RootPreservationException(updateForm.updateType()));
+                    }
+
+                    FolderUpdateType updateType;
+                    try {
+                        updateType = FolderUpdateType.valueOf(updateForm.updateType());
+                    } catch (IllegalArgumentException illegalArgumentException) {
+                        return Mono.error(new UnsupportedOperationException(updateForm.updateType()));
+                    }
+                    Long fromParentId = folder.getParentFolder() == null ? null : folder.getParentFolder().getId();
+                    Mono<Boolean> updated = switch (updateType) {
+                        case RENAME_FOLDER -> renameFolder(folder, updateForm.newName(), now);
+                        case MOVE_FOLDER -> moveFolder(folder, updateForm.toParentId(), now);
+                    };
+                    return updated.flatMap(changed -> {
+                        if (!changed) {
+                            return Mono.just(folder);
+                        }
+                        folder.setUpdatedAt(now);
+                        boolean moved = updateType == FolderUpdateType.MOVE_FOLDER;
+                        return folderRepository.update(folder)
+                                .then(changeLogRepository.insert(ChangeEntityType.FOLDER, ChangeType.UPDATED,
+                                        folderId, moved ? fromParentId : folderId, moved ? folderId : null, null))
+                                .thenReturn(folder);
+                    });
+                });
+    }
+
+    @Transactional
+    public Mono<Void> deleteFolderById(Long folderId) {
+        log.info("Delete folder by id: {}", folderId);
+        return folderRepository.findWithParentById(folderId)
+                .switchIfEmpty(Mono.error(() -> new FolderNotFoundException(folderId)))
+                .flatMap(folder -> {
+                    if (Objects.equals(folder.getName(), "root")) {
+                        return Mono.error(new RootPreservationException("Delete root folder"));
+                    }
+                    Mono<Void> touchParent = folder.getParentFolder() == null
+                            ? Mono.empty()
+                            : folderRepository.touch(folder.getParentFolder(), ZonedDateTime.now());
+                    Long parentId = folder.getParentFolder() == null ? null : folder.getParentFolder().getId();
+                    return touchParent.then(folderClosureRepository.findSubtreeIds(folderId).collectList())
+                            .flatMap(subtreeIds -> folderRepository.findNoteIdsByFolderIds(subtreeIds)
+                                    .collectList()
+                                    .flatMap(noteIds -> noteRepository.deleteAllByIds(noteIds)
+                                            .then(changeLogRepository.insertAll(ChangeEntityType.NOTE,
+                                                    ChangeType.DELETED, noteIds, parentId)))
+                                    .then(folderClosureRepository.deleteSubtreePaths(subtreeIds))
+                                    .then(folderRepository.deleteAllByIds(subtreeIds))
+                                    .then(changeLogRepository.insertAll(ChangeEntityType.FOLDER,
+                                            ChangeType.DELETED, subtreeIds, parentId)));
+                });
+    }
+
+    private Mono<Boolean> renameFolder(Folder folder, String newName, ZonedDateTime now) {
+        if (newName == null || newName.isBlank()) {
+            return Mono.error(new FolderNameBlankException());
+        }
+        if (newName.equals("root")) {
+            return Mono.error(new RootPreservationException(FolderUpdateType.RENAME_FOLDER.name()));
+        }
+        Folder parent = folder.getParentFolder();
+        return folderRepository.existsByNameWithSameParent(newName, parent == null ? null : parent.getId())
+                .flatMap(exists -> {
+                    if (exists) {
+                        return Mono.error(new FolderNameConflictException(newName));
+                    }
+                    folder.setName(newName);
+                    Mono<Void> touchParent = parent == null ? Mono.empty() : folderRepository.touch(parent, now);
+                    return touchParent.thenReturn(true);
+                });
+    }
+
+    private Mono<Boolean> moveFolder(Folder folder, Long toParentId, ZonedDateTime now) {
+        return folderRepository.findWithParentById(toParentId)
+                .switchIfEmpty(Mono.error(() -> new FolderNotFoundException(toParentId)))
+                .flatMap(toParent -> {
+                    Folder fromParent = folder.getParentFolder();
+                    if (Objects.equals(toParent.getId(), folder.getId())) {
+                        log.error("Cannot move folder to self. Abort.");
+                        return Mono.just(false);
+                    }
+                    if (Objects.equals(toParent.getId(), fromParent.getId())) {
+                        log.error("Destination folder identical as current parent folder. Abort.");
+                        return Mono.just(false);
+                    }
+                    return folderClosureRepository.findSubtreeIds(folder.getId())
+                            .collectList()
+                            .flatMap(subtreeIds -> {
+                                if (subtreeIds.contains(toParentId)) {
+                                    log.error("Cannot move folder into its own sub-folder. Abort.");
+                                    return Mono.just(false);
+                                }
+                                folder.setParentFolder(toParent);
+                                return folderClosureRepository.deleteOutsidePaths(subtreeIds)
+                                        .then(folderClosureRepository.insertSubtreeUnder(toParentId, folder.getId()))
+                                        .then(folderRepository.touch(fromParent, now))
+                                        .then(folderRepository.touch(toParent, now))
+                                        .thenReturn(true);
+                            });
+                });
+    }
+
+    private Mono<Slice<Folder>> requireFolderUnlessFound(Slice<Folder> folders, Long folderId) {
+        return folders.hasContent() ? Mono.just(folders) : requireFolder(folderId).thenReturn(folders);
+    }
+
+    private Mono<Void> requireFolder(Long folderId) {
+        return folderRepository.existsById(folderId)
+                .flatMap(exists -> exists ? Mono.<Void>empty() : Mono.error(new FolderNotFoundException(folderId)));
+    }
+}
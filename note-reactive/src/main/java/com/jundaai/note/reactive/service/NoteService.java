@@ -0,0 +1,345 @@
+package com.jundaai.note.reactive.service;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.jundaai.note.dto.ChangeEntityType;
+import com.jundaai.note.dto.ChangeType;
+import com.jundaai.note.dto.ContentEdit;
+import com.jundaai.note.dto.KeysetCursor;
+import com.jundaai.note.dto.KeysetPage;
+import com.jundaai.note.dto.KeysetSort;
+import com.jundaai.note.dto.NoteCreationForm;
+import com.jundaai.note.dto.NoteUpdateForm;
+import com.jundaai.note.dto.NoteUpdateType;
+import com.jundaai.note.exception.BadRequestException;
+import com.jundaai.note.exception.FolderNotFoundException;
+import com.jundaai.note.exception.NoteContentConflictException;
+import com.jundaai.note.exception.NoteNameBlankException;
+import com.jundaai.note.exception.NoteNameConflictException;
+import com.jundaai.note.exception.NoteNotFoundException;
+import com.jundaai.note.exception.TagNotFoundException;
+import com.jundaai.note.reactive.model.Note;
+import com.jundaai.note.reactive.model.Tag;
+import com.jundaai.note.reactive.repository.ChangeLogRepository;
+import com.jundaai.note.reactive.repository.FolderRepository;
+import com.jundaai.note.reactive.repository.NoteContentRepository;
+import com.jundaai.note.reactive.repository.NoteRepository;
+import com.jundaai.note.reactive.repository.TagRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+@Service
+@Slf4j
+public class NoteService {
+
+    private final FolderRepository folderRepository;
+    private final NoteRepository noteRepository;
+    private final NoteContentRepository noteContentRepository;
+    private final TagRepository tagRepository;
+    private final ChangeLogRepository changeLogRepository;
+
+    public NoteService(FolderRepository folderRepository, NoteRepository noteRepository,
+                       NoteContentRepository noteContentRepository, TagRepository tagRepository,
+                       ChangeLogRepository changeLogRepository) {
+        this.folderRepository = folderRepository;
+        this.noteRepository = noteRepository;
+        this.noteContentRepository = noteContentRepository;
+        this.tagRepository = tagRepository;
+        this.changeLogRepository = changeLogRepository;
+    }
+
+    public Mono<KeysetPage<Note>> getAllNotes(KeysetSort sort, String cursor, int size) {
+        log.info("Get all notes, sort: {}, cursor: {}, size: {}", sort, cursor, size);
+        return Mono.fromSupplier(() -> KeysetCursor.decode(cursor, sort))
+                .flatMap(after -> switch (sort) {
+                    case UPDATED_AT -> noteRepository.findAllUpdatedBefore(after.updatedAt(), after.id(), size);
+                    case NAME -> noteRepository.findAllNamedAfter(after.name(), after.id(), size);
+                })
+                .map(notes -> KeysetPage.of(notes, note -> KeysetCursor.after(sort, note.getUpdatedAt(),
+                        note.getName(), note.getId())));
+    }
+
+    public Flux<Note> streamAllNotes(KeysetSort sort) {
+        log.info("Stream all notes, sort: {}", sort);
+        return noteRepository.streamAll(sort);
+    }
+
+    public Mono<KeysetPage<Note>> getAllNotesByFolderId(Long folderId, KeysetSort sort, String cursor, int size) {
+        log.info("Get all notes by folder id: {}, sort: {}, cursor: {}, size: {}", folderId, sort, cursor, size);
+        return Mono.fromSupplier(() -> KeysetCursor.decode(cursor, sort))
+                .flatMap(after -> switch (sort) {
+                    case UPDATED_AT -> noteRepository.findAllByFolderIdUpdatedBefore(folderId, after.updatedAt(),
+                            after.id(), size);
+                    case NAME -> noteRepository.findAllByFolderIdNamedAfter(folderId, after.name(), after.id(),
+                            size);
+                })
+                .flatMap(notes -> notes.hasContent() ? Mono.just(notes) : requireFolder(folderId).thenReturn(notes))
+                .map(notes -> KeysetPage.of(notes, note -> KeysetCursor.after(sort, note.getUpdatedAt(),
+                        note.getName(), note.getId())));
+    }
+
+    public Flux<Note> streamAllNotesByFolderId(Long folderId, KeysetSort sort) {
+        log.info("Stream all notes by folder id: {}, sort: {}", folderId, sort);
+        return requireFolder(folderId).thenMany(noteRepository.streamAllByFolderId(folderId, sort));
+    }
+
+    public Mono<KeysetPage<Note>> getAllNotesByTagId(Long tagId, KeysetSort sort, String cursor, int size) {
+        log.info("Get all notes by tag id: {}, sort: {}, cursor: {}, size: {}", tagId, sort, cursor, size);
+        return Mono.fromSupplier(() -> KeysetCursor.decode(cursor, sort))
+                .flatMap(after -> switch (sort) {
+                    case UPDATED_AT -> noteRepository.findAllByTagIdUpdatedBefore(tagId, after.updatedAt(),
+                            after.id(), size);
+                    case NAME -> noteRepository.findAllByTagIdNamedAfter(tagId, after.name(), after.id(), size);
+                })
+                .flatMap(notes -> notes.hasContent() ? Mono.just(notes) : requireTag(tagId).thenReturn(notes))
+                .map(notes -> KeysetPage.of(notes, note -> KeysetCursor.after(sort, note.getUpdatedAt(),
+                        note.getName(), note.getId())));
+    }
+
+    public Flux<Note> streamAllNotesByTagId(Long tagId, KeysetSort sort) {
+        log.info("Stream all notes by tag id: {}, sort: {}", tagId, sort);
+        return requireTag(tagId).thenMany(noteRepository.streamAllByTagId(tagId, sort));
+    }
+
+    public Mono<Note> getNoteById(Long noteId) {
+        log.info("Get note by id: {}", noteId);
+        return noteRepository.findWithFolderById(noteId)
+                .switchIfEmpty(Mono.error(() -> new NoteNotFoundException(noteId)))
+                .flatMap(note -> noteContentRepository.findContentById(noteId)
+                        .defaultIfEmpty("")
+                        .map(content -> {
+                            note.setContent(content);
+                            return note;
+                        }));
+    }
+
+    public Mono<ZonedDateTime> getNoteVersionById(Long noteId) {
+        log.info("Get note version by id: {}", noteId);
+        return noteRepository.findVersionById(noteId)
+                .switchIfEmpty(Mono.error(() -> new NoteNotFoundException(noteId)));
+    }
+
+    @Transactional
+    public Mono<Note> createNoteByFolderId(Long folderId, NoteCreationForm creationForm) {
+        log.info("Create new note: {}, folder id: {}", creationForm, folderId);
+        return folderRepository.findWithParentById(folderId)
+                .switchIfEmpty(Mono.error(() -> new FolderNotFoundException(folderId)))
+                .flatMap(folder -> {
+                    String noteName = creationForm.name();
+                    if (noteName == null || noteName.isBlank()) {
+                        return Mono.error(new NoteNameBlankException());
+                    }
+                    return noteRepository.existsByNameWithSameFolder(noteName, folderId)
+                            .flatMap(exists -> {
+                                if (exists) {
+                                    return Mono.error(new NoteNameConflictException(noteName));
+                                }
+                                ZonedDateTime now = ZonedDateTime.now().truncatedTo(ChronoUnit.MICROS);
+                                String content = Objects.requireNonNullElse(creationForm.content(), "");
+                                Note note = Note.builder()
+                                        .name(noteName)
+                                        .content(content)
+                                        .createdAt(now)
+                                        .updatedAt(now)
+                                        .folder(folder)
+                                        .build();
+                                return noteRepository.insert(note)
+                                        .flatMap(saved -> noteContentRepository.insert(saved.getId(), content)
+                                                .then(folderRepository.touch(folder, now))
+                                                .then(changeLogRepository.insert(ChangeEntityType.NOTE,
+                                                        ChangeType.CREATED, saved.getId(), folderId))
+                                                .thenReturn(saved));
+                            });
+                });
+    }
+
+    @Transactional
+    public Mono<Note> updateNoteById(Long noteId, NoteUpdateForm updateForm) {
+        log.info("Update note by id: {}, dto: {}", noteId, updateForm);
+        ZonedDateTime now = ZonedDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        return noteRepository.findWithFolderById(noteId)
+                .switchIfEmpty(Mono.error(() -> new NoteNotFoundException(noteId)))
+                .flatMap(note -> {
+                    NoteUpdateType updateType;
+                    try {
+                        updateType = NoteUpdateType.valueOf(updateForm.updateType());
+                    } catch (IllegalArgumentException illegalArgumentException) {
+                        return Mono.error(new UnsupportedOperationException(updateForm.updateType()));
+                    }
+                    Long fromFolderId = note.getFolder().getId();
+                    Mono<Boolean> updated = switch (updateType) {
+                        case RENAME_NOTE -> renameNote(note, updateForm.newName());
+                        case MODIFY_CONTENT -> modifyContent(note, updateForm.newContent());
+                        case APPEND_CONTENT -> appendContent(note, updateForm.newContent(),
+                                updateForm.baseVersion());
+                        case PATCH_CONTENT -> patchContent(note, updateForm.edits(), updateForm.baseVersion());
+                        case MOVE_NOTE -> moveNote(note, updateForm.toFolderId(), now);
+                        case ADD_TAG -> addTag(note, updateForm.tagName(), now);
+                        case REMOVE_TAG -> removeTag(note, updateForm.tagName(), now);
+                    };
+                    return updated.flatMap(changed -> {
+                        if (!changed) {
+                            return Mono.just(note);
+                        }
+                        note.setUpdatedAt(now);
+                        // the tag linked or unlinked scopes the change for subscribers of that tag
+                        Mono<Optional<Long>> changedTagId = updateType == NoteUpdateType.ADD_TAG
+                                || updateType == NoteUpdateType.REMOVE_TAG
+                                ? tagRepository.findByName(updateForm.tagName()).map(tag -> Optional.of(tag.getId()))
+                                : Mono.just(Optional.empty());
+                        return noteRepository.update(note)
+                                .then(folderRepository.touch(note.getFolder(), now))
+                                .then(changedTagId)
+                                .flatMap(tagId -> changeLogRepository.insert(ChangeEntityType.NOTE,
+                                        ChangeType.UPDATED, noteId, fromFolderId,
+                                        updateType == NoteUpdateType.MOVE_NOTE ? note.getFolder().getId() : null,
+                                        tagId.orElse(null)))
+                                .thenReturn(note);
+                    });
+                });
+    }
+
+    @Transactional
+    public Mono<Void> deleteNoteById(Long noteId) {
+        log.info("Delete note by id: {}", noteId);
+        return noteRepository.findWithFolderById(noteId)
+                .switchIfEmpty(Mono.error(() -> new NoteNotFoundException(noteId)))
+                .flatMap(note -> folderRepository.touch(note.getFolder(), ZonedDateTime.now())
+                        .then(noteRepository.deleteAllByIds(List.of(noteId)))
+                        .then(changeLogRepository.insert(ChangeEntityType.NOTE, ChangeType.DELETED, noteId,
+                                note.getFolder().getId())));
+    }
+
+    private Mono<Boolean> renameNote(Note note, String newName) {
+        if (newName == null || newName.isBlank()) {
+            return Mono.error(new NoteNameBlankException());
+        }
+        return noteRepository.existsByNameWithSameFolder(newName, note.getFolder().getId())
+                .flatMap(exists -> {
+                    if (exists) {
+                        return Mono.error(new NoteNameConflictException(newName));
+                    }
+                    note.setName(newName);
+                    return Mono.just(true);
+                });
+    }
+
+    private Mono<Boolean> modifyContent(Note note, String newContent) {
+        return noteContentRepository.findContentById(note.getId())
+                .switchIfEmpty(Mono.error(() -> new NoteNotFoundException(note.getId())))
+                .flatMap(content -> {
+                    if (newContent.equals(content)) {
+                        log.error("New Content identical to the old. Abort.");
+                        return Mono.just(false);
+                    }
+                    note.setContent(newContent);
+                    return noteContentRepository.updateContent(note.getId(), newContent).thenReturn(true);
+                });
+    }
+
+    private Mono<Boolean> appendContent(Note note, String text, Long baseVersion) {
+        if (text == null || text.isEmpty()) {
+            log.error("Nothing to append. Abort.");
+            return Mono.just(false);
+        }
+        Mono<Long> appended = baseVersion == null
+                ? noteContentRepository.appendContent(note.getId(), text)
+                : noteContentRepository.appendContent(note.getId(), text, baseVersion);
+        return appended.flatMap(updated -> updated > 0
+                ? Mono.just(true)
+                : Mono.error(baseVersion == null
+                        ? new NoteNotFoundException(note.getId())
+                        : new NoteContentConflictException(note.getId(), baseVersion)));
+    }
+
+    private Mono<Boolean> patchContent(Note note, List<ContentEdit> edits, Long baseVersion) {
+        if (baseVersion == null) {
+            return Mono.error(new BadRequestException("Content edits require a base version."));
+        }
+        return noteContentRepository.findVersionById(note.getId())
+                .switchIfEmpty(Mono.error(() -> new NoteNotFoundException(note.getId())))
+                .flatMap(version -> version.equals(baseVersion)
+                        ? noteContentRepository.findContentById(note.getId())
+                        : Mono.error(new NoteContentConflictException(note.getId(), baseVersion)))
+                .flatMap(content -> noteContentRepository.updateContent(note.getId(),
+                        ContentEdit.apply(content, edits), baseVersion))
+                .flatMap(updated -> updated > 0
+                        ? Mono.just(true)
+                        : Mono.error(new NoteContentConflictException(note.getId(), baseVersion)));
+    }
+
+    private Mono<Boolean> moveNote(Note note, Long toFolderId, ZonedDateTime now) {
+        return folderRepository.findWithParentById(toFolderId)
+                .switchIfEmpty(Mono.error(() -> new FolderNotFoundException(toFolderId)))
+                .flatMap(toFolder -> {
+                    if (Objects.equals(toFolder.getId(), note.getFolder().getId())) {
+                        log.error("Destination folder identical as current folder. Abort.");
+                        return Mono.just(false);
+                    }
+                    return folderRepository.touch(note.getFolder(), now)
+                            .then(Mono.fromRunnable(() -> note.setFolder(toFolder)))
+                            .thenReturn(true);
+                });
+    }
+
+    private Mono<Boolean> addTag(Note note, String tagName, ZonedDateTime now) {
+        return tagRepository.findByName(tagName)
+                .flatMap(tag -> tagRepository.existsByNoteIdAndTagId(note.getId(), tag.getId())
+                        .flatMap(exists -> {
+                            if (exists) {
+                                log.error("Note already contains tag to add. Abort.");
+                                return Mono.just(false);
+                            }
+                            return linkTag(note, tag, now, ChangeType.UPDATED);
+                        }))
+                .switchIfEmpty(Mono.defer(() -> tagRepository.insert(Tag.builder()
+                                .name(tagName)
+                                .createdAt(now)
+                                .updatedAt(now)
+                                .build())
+                        .flatMap(tag -> linkTag(note, tag, now, ChangeType.CREATED))));
+    }
+
+    private Mono<Boolean> linkTag(Note note, Tag tag, ZonedDateTime now, ChangeType tagChangeType) {
+        tag.setUpdatedAt(now);
+        return tagRepository.addNote(tag.getId(), note.getId())
+                .then(tagRepository.update(tag))
+                .then(changeLogRepository.insert(ChangeEntityType.TAG, tagChangeType, tag.getId(), null))
+                .thenReturn(true);
+    }
+
+    private Mono<Boolean> removeTag(Note note, String tagName, ZonedDateTime now) {
+        return tagRepository.findByName(tagName)
+                .switchIfEmpty(Mono.error(() -> new TagNotFoundException("name: " + tagName)))
+                .flatMap(tag -> tagRepository.existsByNoteIdAndTagId(note.getId(), tag.getId())
+                        .flatMap(exists -> {
+                            if (!exists) {
+                                return Mono.error(new BadRequestException("Note " + note + " has no tag " + tag));
+                            }
+                            tag.setUpdatedAt(now);
+                            return tagRepository.removeNote(tag.getId(), note.getId())
+                                    .then(tagRepository.update(tag))
+                                    .then(changeLogRepository.insert(ChangeEntityType.TAG, ChangeType.UPDATED,
+                                            tag.getId(), null))
+                                    .thenReturn(true);
+                        }));
+    }
+
+    private Mono<Void> requireFolder(Long folderId) {
+        return folderRepository.existsById(folderId)
+                .flatMap(exists -> exists ? Mono.<Void>empty() : Mono.error(new FolderNotFoundException(folderId)));
+    }
+
+    private Mono<Void> requireTag(Long tagId) {
+        return tagRepository.existsById(tagId)
+                .flatMap(exists -> exists ? Mono.<Void>empty() : Mono.error(new TagNotFoundException("id: " + tagId)));
+    }
+}
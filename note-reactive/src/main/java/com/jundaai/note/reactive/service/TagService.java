@@ -0,0 +1,130 @@
+package com.jundaai.note.reactive.service;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import com.jundaai.note.dto.ChangeEntityType;
+import com.jundaai.note.dto.ChangeType;
+import com.jundaai.note.dto.KeysetCursor;
+import com.jundaai.note.dto.KeysetPage;
+import com.jundaai.note.dto.KeysetSort;
+import com.jundaai.note.dto.TagOperationForm;
+import com.jundaai.note.dto.TagSummary;
+import com.jundaai.note.exception.NoteNotFoundException;
+import com.jundaai.note.exception.TagNameBlankException;
+import com.jundaai.note.exception.TagNameConflictException;
+import com.jundaai.note.exception.TagNotFoundException;
+import com.jundaai.note.reactive.model.Tag;
+import com.jundaai.note.reactive.repository.ChangeLogRepository;
+import com.jundaai.note.reactive.repository.NoteRepository;
+import com.jundaai.note.reactive.repository.TagRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+
+@Service
+@Slf4j
+public class TagService {
+
+    private final NoteRepository noteRepository;
+    private final TagRepository tagRepository;
+    private final ChangeLogRepository changeLogRepository;
+
+    public TagService(NoteRepository noteRepository, TagRepository tagRepository,
+                      ChangeLogRepository changeLogRepository) {
+        this.noteRepository = noteRepository;
+        this.tagRepository = tagRepository;
+        this.changeLogRepository = changeLogRepository;
+    }
+
+    public Mono<KeysetPage<TagSummary>> getAllTags(KeysetSort sort, String cursor, int size) {
+        log.info("Get all tags, sort: {}, cursor: {}, size: {}", sort, cursor, size);
+        return Mono.fromSupplier(() -> KeysetCursor.decode(cursor, sort))
+                .flatMap(after -> switch (sort) {
+                    case UPDATED_AT -> tagRepository.findSummariesUpdatedBefore(after.updatedAt(), after.id(), size);
+                    case NAME -> tagRepository.findSummariesNamedAfter(after.name(), after.id(), size);
+                })
+                .map(tags -> KeysetPage.of(tags, tag -> KeysetCursor.after(sort, tag.updatedAt(), tag.name(),
+                        tag.id())));
+    }
+
+    public Mono<List<Tag>> getAllTagsByNoteId(Long noteId) {
+        log.info("Get all tags by note id: {}", noteId);
+        return noteRepository.existsById(noteId)
+                .flatMap(exists -> exists
+                        ? tagRepository.findAllByNoteId(noteId).collectList()
+                        : Mono.error(new NoteNotFoundException(noteId)));
+    }
+
+    public Mono<Tag> getTagById(Long tagId) {
+        log.info("Get tag by id: {}", tagId);
+        return tagRepository.findById(tagId)
+                .switchIfEmpty(Mono.error(() -> new TagNotFoundException("id: " + tagId)));
+    }
+
+    public Mono<ZonedDateTime> getTagVersionById(Long tagId) {
+        log.info("Get tag version by id: {}", tagId);
+        return tagRepository.findVersionById(tagId)
+                .switchIfEmpty(Mono.error(() -> new TagNotFoundException("id: " + tagId)));
+    }
+
+    @Transactional
+    public Mono<Tag> createTag(TagOperationForm creationForm) {
+        log.info("Create new tag: {}", creationForm);
+        String name = creationForm.name();
+        if (name == null || name.isBlank()) {
+            return Mono.error(new TagNameBlankException());
+        }
+        return tagRepository.existsByName(name)
+                .flatMap(exists -> {
+                    if (exists) {
+                        return Mono.error(new TagNameConflictException(name));
+                    }
+                    ZonedDateTime now = ZonedDateTime.now().truncatedTo(ChronoUnit.MICROS);
+                    return tagRepository.insert(Tag.builder()
+                                    .name(name)
+                                    .createdAt(now)
+                                    .updatedAt(now)
+                                    .build())
+                            .flatMap(tag -> changeLogRepository.insert(ChangeEntityType.TAG, ChangeType.CREATED,
+                                    tag.getId(), null).thenReturn(tag));
+                });
+    }
+
+    @Transactional
+    public Mono<Tag> updateTagById(Long tagId, TagOperationForm updateForm) {
+        log.info("Update tag by id: {}, dto: {}", tagId, updateForm);
+        return tagRepository.findById(tagId)
+                .switchIfEmpty(Mono.error(() -> new TagNotFoundException("id: " + tagId)))
+                .flatMap(tag -> {
+                    String newName = updateForm.name();
+                    if (newName == null || newName.isBlank()) {
+                        return Mono.error(new TagNameBlankException());
+                    }
+                    return tagRepository.existsByName(newName)
+                            .flatMap(exists -> {
+                                if (exists) {
+                                    return Mono.error(new TagNameConflictException(newName));
+                                }
+                                tag.setName(newName);
+                                tag.setUpdatedAt(ZonedDateTime.now().truncatedTo(ChronoUnit.MICROS));
+                                return tagRepository.update(tag)
+                                        .then(changeLogRepository.insert(ChangeEntityType.TAG, ChangeType.UPDATED,
+                                                tagId, null))
+                                        .thenReturn(tag);
+                            });
+                });
+    }
+
+    @Transactional
+    public Mono<Void> deleteTagById(Long tagId) {
+        log.info("Delete tag by id: {}", tagId);
+        return tagRepository.findById(tagId)
+                .switchIfEmpty(Mono.error(() -> new TagNotFoundException("id: " + tagId)))
+                .flatMap(tag -> tagRepository.deleteById(tagId))
+                .then(changeLogRepository.insert(ChangeEntityType.TAG, ChangeType.DELETED, tagId, null));
+    }
+}
@@ -0,0 +1,191 @@
+package com.jundaai.note.reactive.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.Map;
+
+import com.jundaai.note.dto.FolderCreationForm;
+import com.jundaai.note.dto.FolderUpdateForm;
+import com.jundaai.note.dto.FolderUpdateType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class FolderControllerTest {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT =
+            new ParameterizedTypeReference<>() {
+            };
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    public void createFolderByParentId_ReturnsCreatedFolder() {
+        // when
+        Map<String, Object> created = createFolder(1L, "Reactive Created");
+
+        // then
+        assertNotNull(created.get("id"));
+        assertEquals("Reactive Created", created.get("name"));
+        webTestClient.get().uri("/api/v1/folders/{folderId}", created.get("id"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaTypes.HAL_JSON)
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Reactive Created")
+                .jsonPath("$.parentFolder.id").isEqualTo(1)
+                .jsonPath("$._links.self.href").exists()
+                .jsonPath("$._links.parent.href").exists();
+    }
+
+    @Test
+    public void createFolderByParentId_DuplicateName_Conflict() {
+        // given
+        createFolder(1L, "Reactive Duplicate");
+
+        // when, then
+        webTestClient.post().uri("/api/v1/folders/{folderId}/subFolders", 1L)
+                .bodyValue(new FolderCreationForm("Reactive Duplicate"))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    public void createFolderByParentId_BlankName_BadRequest() {
+        webTestClient.post().uri("/api/v1/folders/{folderId}/subFolders", 1L)
+                .bodyValue(new FolderCreationForm(" "))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Folder name cannot be blank (null or all whitespaces).");
+    }
+
+    @Test
+    public void getFolderById_NotFound() {
+        webTestClient.get().uri("/api/v1/folders/{folderId}", 404404L)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(String.class).isEqualTo("Folder by id: 404404 was not found.");
+    }
+
+    @Test
+    public void getFolderById_MatchingETag_NotModified() {
+        // given
+        Map<String, Object> created = createFolder(1L, "Reactive Cached");
+        String eTag = webTestClient.get().uri("/api/v1/folders/{folderId}", created.get("id"))
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+
+        // when, then
+        assertNotNull(eTag);
+        webTestClient.get().uri("/api/v1/folders/{folderId}", created.get("id"))
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    public void getSubFoldersByParentId_PagesWithNextLink() {
+        // given
+        Map<String, Object> parent = createFolder(1L, "Reactive Paged");
+        Object parentId = parent.get("id");
+        for (int i = 0; i < 3; i++) {
+            createFolder(((Number) parentId).longValue(), "Child " + i);
+        }
+
+        // when, then
+        webTestClient.get().uri("/api/v1/folders/{folderId}/subFolders?sort=NAME&size=2", parentId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$._embedded.folderList.length()").isEqualTo(2)
+                .jsonPath("$._embedded.folderList[0].name").isEqualTo("Child 0")
+                .jsonPath("$._embedded.folderList[1].name").isEqualTo("Child 1")
+                .jsonPath("$._links.next.href").exists();
+    }
+
+    @Test
+    public void getDescendantsById_ReturnsSubtree() {
+        // given
+        Map<String, Object> parent = createFolder(1L, "Reactive Tree");
+        long parentId = ((Number) parent.get("id")).longValue();
+        Map<String, Object> child = createFolder(parentId, "Branch");
+        createFolder(((Number) child.get("id")).longValue(), "Leaf");
+
+        // when, then
+        webTestClient.get().uri("/api/v1/folders/{folderId}/descendants", parentId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$._embedded.folderList.length()").isEqualTo(2);
+        webTestClient.get().uri("/api/v1/folders/{folderId}/descendants?maxDepth=1", parentId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$._embedded.folderList.length()").isEqualTo(1)
+                .jsonPath("$._embedded.folderList[0].name").isEqualTo("Branch");
+    }
+
+    @Test
+    public void moveFolder_ThenDelete_RemovesSubtree() {
+        // given
+        Map<String, Object> source = createFolder(1L, "Reactive Source");
+        Map<String, Object> target = createFolder(1L, "Reactive Target");
+        long sourceId = ((Number) source.get("id")).longValue();
+        Map<String, Object> child = createFolder(sourceId, "Moving");
+        FolderUpdateForm moveForm = FolderUpdateForm.builder()
+                .updateType(FolderUpdateType.MOVE_FOLDER.name())
+                .toParentId(((Number) target.get("id")).longValue())
+                .build();
+
+        // when
+        webTestClient.patch().uri("/api/v1/folders/{folderId}", child.get("id"))
+                .bodyValue(moveForm)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.parentFolder.id").isEqualTo(target.get("id"));
+        webTestClient.delete().uri("/api/v1/folders/{folderId}", target.get("id"))
+                .exchange()
+                .expectStatus().isNoContent();
+
+        // then
+        webTestClient.get().uri("/api/v1/folders/{folderId}", child.get("id"))
+                .exchange()
+                .expectStatus().isNotFound();
+        webTestClient.get().uri("/api/v1/folders/{folderId}/subFolders", sourceId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$._embedded").doesNotExist();
+    }
+
+    @Test
+    public void deleteRootFolder_BadRequest() {
+        webTestClient.delete().uri("/api/v1/folders/{folderId}", 1L)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    private Map<String, Object> createFolder(Long parentId, String name) {
+        return webTestClient.post().uri("/api/v1/folders/{folderId}/subFolders", parentId)
+                .bodyValue(new FolderCreationForm(name))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().exists(HttpHeaders.LOCATION)
+                .expectBody(JSON_OBJECT)
+                .returnResult()
+                .getResponseBody();
+    }
+}
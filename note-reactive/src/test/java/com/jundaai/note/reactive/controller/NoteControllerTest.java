@@ -0,0 +1,256 @@
+package com.jundaai.note.reactive.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.List;
+import java.util.Map;
+
+import com.jundaai.note.dto.FolderCreationForm;
+import com.jundaai.note.dto.NoteCreationForm;
+import com.jundaai.note.dto.NoteUpdateForm;
+import com.jundaai.note.dto.NoteUpdateType;
+import com.jundaai.note.dto.TagOperationForm;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class NoteControllerTest {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT =
+            new ParameterizedTypeReference<>() {
+            };
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Test
+    public void createNoteByFolderId_ReturnsNoteWithContent() {
+        // given
+        long folderId = createFolder("Reactive Notes");
+
+        // when
+        Map<String, Object> created = createNote(folderId, "Created", "hello");
+
+        // then
+        assertNotNull(created.get("id"));
+        webTestClient.get().uri("/api/v1/notes/{noteId}", created.get("id"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Created")
+                .jsonPath("$.content").isEqualTo("hello")
+                .jsonPath("$.folder.id").isEqualTo(folderId)
+                .jsonPath("$._links.folder.href").exists();
+    }
+
+    @Test
+    public void createNoteByFolderId_FolderNotFound() {
+        webTestClient.post().uri("/api/v1/folders/{folderId}/notes", 404404L)
+                .bodyValue(new NoteCreationForm("Orphan", null))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    public void updateNoteById_RenameAndModifyContent() {
+        // given
+        long folderId = createFolder("Reactive Updates");
+        Object noteId = createNote(folderId, "Draft", "first").get("id");
+
+        // when
+        webTestClient.patch().uri("/api/v1/notes/{noteId}", noteId)
+                .bodyValue(NoteUpdateForm.builder()
+                        .updateType(NoteUpdateType.RENAME_NOTE.name())
+                        .newName("Final")
+                        .build())
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.patch().uri("/api/v1/notes/{noteId}", noteId)
+                .bodyValue(NoteUpdateForm.builder()
+                        .updateType(NoteUpdateType.MODIFY_CONTENT.name())
+                        .newContent("second")
+                        .build())
+                .exchange()
+                .expectStatus().isOk();
+
+        // then
+        webTestClient.get().uri("/api/v1/notes/{noteId}", noteId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Final")
+                .jsonPath("$.content").isEqualTo("second");
+    }
+
+    @Test
+    public void getAllNotesByFolderId_PagesWithNextLink() {
+        // given
+        long folderId = createFolder("Reactive Pages");
+        for (int i = 0; i < 3; i++) {
+            createNote(folderId, "Page " + i, null);
+        }
+
+        // when, then
+        webTestClient.get().uri("/api/v1/folders/{folderId}/notes?sort=NAME&size=2", folderId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$._embedded.noteList.length()").isEqualTo(2)
+                .jsonPath("$._embedded.noteList[0].name").isEqualTo("Page 0")
+                .jsonPath("$._links.next.href").exists();
+    }
+
+    @Test
+    public void getAllNotesByTagId_PagedAndStreamed() {
+        // given
+        long folderId = createFolder("Reactive Tagged");
+        long tagId = createTag("fan-out");
+        for (int i = 0; i < 5; i++) {
+            Object noteId = createNote(folderId, "Tagged " + i, null).get("id");
+            webTestClient.patch().uri("/api/v1/notes/{noteId}", noteId)
+                    .bodyValue(NoteUpdateForm.builder()
+                            .updateType(NoteUpdateType.ADD_TAG.name())
+                            .tagName("fan-out")
+                            .build())
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+
+        // when
+        webTestClient.get().uri("/api/v1/tags/{tagId}/notes?sort=NAME&size=2", tagId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$._embedded.noteList.length()").isEqualTo(2)
+                .jsonPath("$._embedded.noteList[0].name").isEqualTo("Tagged 0")
+                .jsonPath("$._links.next.href").value(Matchers.containsString("cursor="));
+        Flux<Map<String, Object>> stream = webTestClient.get().uri("/api/v1/tags/{tagId}/notes", tagId)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(JSON_OBJECT)
+                .getResponseBody();
+
+        // then
+        StepVerifier.create(stream.map(note -> (String) note.get("name")).collectSortedList())
+                .expectNext(List.of("Tagged 0", "Tagged 1", "Tagged 2", "Tagged 3", "Tagged 4"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void streamAllNotesByFolderId_CarriesLinks() {
+        // given
+        long folderId = createFolder("Reactive Stream");
+        createNote(folderId, "Streamed", null);
+
+        // when
+        List<Map<String, Object>> notes = webTestClient.get().uri("/api/v1/folders/{folderId}/notes", folderId)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(JSON_OBJECT)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        // then
+        assertNotNull(notes);
+        assertEquals(1, notes.size());
+        assertEquals("Streamed", notes.get(0).get("name"));
+        assertNotNull(notes.get(0).get("_links"));
+    }
+
+    @Test
+    public void streamAllNotesByTagId_TagNotFound() {
+        webTestClient.get().uri("/api/v1/tags/{tagId}/notes", 404404L)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    public void deleteNoteById_NoteGone() {
+        // given
+        long folderId = createFolder("Reactive Deletes");
+        Object noteId = createNote(folderId, "Doomed", "bye").get("id");
+
+        // when
+        webTestClient.delete().uri("/api/v1/notes/{noteId}", noteId)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        // then
+        webTestClient.get().uri("/api/v1/notes/{noteId}", noteId)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    public void deleteNoteById_ChangesRecordedForSequencing() {
+        // given
+        long folderId = createFolder("Reactive Change Log");
+        long noteId = ((Number) createNote(folderId, "Logged", "logged").get("id")).longValue();
+
+        // when
+        webTestClient.delete().uri("/api/v1/notes/{noteId}", noteId)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        // then
+        List<String> changes = databaseClient.sql("select change_type, folder_id from change_log " +
+                        "where entity_type = 'NOTE' and entity_id = :noteId and sequence is null order by id")
+                .bind("noteId", noteId)
+                .map(row -> row.get("change_type", String.class) + ":" + row.get("folder_id", Long.class))
+                .all()
+                .collectList()
+                .block();
+        assertEquals(List.of("CREATED:" + folderId, "DELETED:" + folderId), changes);
+    }
+
+    private long createFolder(String name) {
+        Map<String, Object> folder = webTestClient.post().uri("/api/v1/folders/{folderId}/subFolders", 1L)
+                .bodyValue(new FolderCreationForm(name))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(JSON_OBJECT)
+                .returnResult()
+                .getResponseBody();
+        return ((Number) folder.get("id")).longValue();
+    }
+
+    private Map<String, Object> createNote(long folderId, String name, String content) {
+        return webTestClient.post().uri("/api/v1/folders/{folderId}/notes", folderId)
+                .bodyValue(new NoteCreationForm(name, content))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().exists(HttpHeaders.LOCATION)
+                .expectBody(JSON_OBJECT)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private long createTag(String name) {
+        Map<String, Object> tag = webTestClient.post().uri("/api/v1/tags")
+                .bodyValue(new TagOperationForm(name))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(JSON_OBJECT)
+                .returnResult()
+                .getResponseBody();
+        return ((Number) tag.get("id")).longValue();
+    }
+}
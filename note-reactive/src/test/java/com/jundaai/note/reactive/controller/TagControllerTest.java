@@ -0,0 +1,144 @@
+package com.jundaai.note.reactive.controller;
+
+import java.util.Map;
+
+import com.jundaai.note.dto.FolderCreationForm;
+import com.jundaai.note.dto.NoteCreationForm;
+import com.jundaai.note.dto.NoteUpdateForm;
+import com.jundaai.note.dto.NoteUpdateType;
+import com.jundaai.note.dto.TagOperationForm;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class TagControllerTest {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT =
+            new ParameterizedTypeReference<>() {
+            };
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    public void createTag_DuplicateName_Conflict() {
+        // given
+        createTag("reactive-duplicate");
+
+        // when, then
+        webTestClient.post().uri("/api/v1/tags")
+                .bodyValue(new TagOperationForm("reactive-duplicate"))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    public void createTag_BlankName_BadRequest() {
+        webTestClient.post().uri("/api/v1/tags")
+                .bodyValue(new TagOperationForm(""))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Tag name cannot be blank.");
+    }
+
+    @Test
+    public void getTagById_MatchingETag_NotModified() {
+        // given
+        long tagId = createTag("reactive-cached");
+        String eTag = webTestClient.get().uri("/api/v1/tags/{tagId}", tagId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+
+        // when, then
+        webTestClient.get().uri("/api/v1/tags/{tagId}", tagId)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    public void getAllTags_SummariesCarryNoteCounts() {
+        // given
+        long tagId = createTag("reactive-counted");
+        Object noteId = createNote("Reactive Counted", "counted").get("id");
+        webTestClient.patch().uri("/api/v1/notes/{noteId}", noteId)
+                .bodyValue(NoteUpdateForm.builder()
+                        .updateType(NoteUpdateType.ADD_TAG.name())
+                        .tagName("reactive-counted")
+                        .build())
+                .exchange()
+                .expectStatus().isOk();
+
+        // when, then
+        webTestClient.get().uri("/api/v1/tags?sort=NAME&size=100")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$._embedded.tagList[?(@.id == " + tagId + ")].noteCount").isEqualTo(1);
+        webTestClient.get().uri("/api/v1/notes/{noteId}/tags", noteId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$._embedded.tagList[0].name").isEqualTo("reactive-counted");
+    }
+
+    @Test
+    public void updateAndDeleteTag() {
+        // given
+        long tagId = createTag("reactive-renamed");
+
+        // when
+        webTestClient.patch().uri("/api/v1/tags/{tagId}", tagId)
+                .bodyValue(new TagOperationForm("reactive-renamed-again"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("reactive-renamed-again");
+        webTestClient.delete().uri("/api/v1/tags/{tagId}", tagId)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        // then
+        webTestClient.get().uri("/api/v1/tags/{tagId}", tagId)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private long createTag(String name) {
+        Map<String, Object> tag = webTestClient.post().uri("/api/v1/tags")
+                .bodyValue(new TagOperationForm(name))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(JSON_OBJECT)
+                .returnResult()
+                .getResponseBody();
+        return ((Number) tag.get("id")).longValue();
+    }
+
+    private Map<String, Object> createNote(String folderName, String noteName) {
+        Map<String, Object> folder = webTestClient.post().uri("/api/v1/folders/{folderId}/subFolders", 1L)
+                .bodyValue(new FolderCreationForm(folderName))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(JSON_OBJECT)
+                .returnResult()
+                .getResponseBody();
+        return webTestClient.post().uri("/api/v1/folders/{folderId}/notes", folder.get("id"))
+                .bodyValue(new NoteCreationForm(noteName, null))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(JSON_OBJECT)
+                .returnResult()
+                .getResponseBody();
+    }
+}
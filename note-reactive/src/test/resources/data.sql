@@ -0,0 +1,8 @@
+insert into folder (id, created_at, updated_at, name, parent_id)
+values (1, current_timestamp, current_timestamp, 'root', null);
+insert into folder_closure (ancestor_id, descendant_id, depth) values (1, 1, 0);
+
+insert into folder_seq values (51);
+insert into note_seq values (1);
+insert into tag_seq values (1);
+insert into change_log_seq values (1);
@@ -0,0 +1,68 @@
+create table folder (
+    id bigint not null,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    name varchar(255),
+    parent_id bigint,
+    primary key (id),
+    foreign key (parent_id) references folder (id)
+);
+
+create table folder_closure (
+    ancestor_id bigint not null,
+    descendant_id bigint not null,
+    depth integer not null,
+    primary key (ancestor_id, descendant_id)
+);
+
+create table note (
+    id bigint not null,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    name varchar(255),
+    folder_id bigint,
+    primary key (id),
+    foreign key (folder_id) references folder (id)
+);
+
+create table note_content (
+    note_id bigint not null,
+    content clob,
+    version bigint,
+    primary key (note_id),
+    foreign key (note_id) references note (id)
+);
+
+create table tag (
+    id bigint not null,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    name varchar(255) unique,
+    primary key (id)
+);
+
+create table note_tag (
+    note_id bigint not null,
+    tag_id bigint not null,
+    primary key (note_id, tag_id),
+    foreign key (note_id) references note (id),
+    foreign key (tag_id) references tag (id)
+);
+
+create table change_log (
+    id bigint not null,
+    entity_type varchar(255) not null,
+    entity_id bigint not null,
+    change_type varchar(255) not null,
+    changed_at timestamp(6) not null,
+    folder_id bigint,
+    to_folder_id bigint,
+    tag_id bigint,
+    sequence bigint unique,
+    primary key (id)
+);
+
+create table folder_seq (next_val bigint);
+create table note_seq (next_val bigint);
+create table tag_seq (next_val bigint);
+create table change_log_seq (next_val bigint);
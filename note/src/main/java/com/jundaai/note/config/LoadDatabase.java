@@ -6,14 +6,19 @@ import java.util.List;
 
 import com.jundaai.note.model.Folder;
 import com.jundaai.note.model.Note;
+import com.jundaai.note.model.NoteContent;
 import com.jundaai.note.model.Tag;
+import com.jundaai.note.repository.FolderClosureRepository;
 import com.jundaai.note.repository.FolderRepository;
+import com.jundaai.note.repository.NoteContentRepository;
 import com.jundaai.note.repository.NoteRepository;
 import com.jundaai.note.repository.TagRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 
 @Configuration
@@ -22,10 +27,13 @@ public class LoadDatabase {
 
     @Bean
     CommandLineRunner initDatabase(FolderRepository folderRepository,
+                                   FolderClosureRepository folderClosureRepository,
                                    NoteRepository noteRepository,
-                                   TagRepository tagRepository) {
+                                   NoteContentRepository noteContentRepository,
+                                   TagRepository tagRepository,
+                                   PlatformTransactionManager transactionManager) {
         log.info("Loading Database...");
-        return args -> {
+        return args -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
             ZonedDateTime now = ZonedDateTime.now();
             Folder root = folderRepository.save(Folder.builder()
                     .name("root")
@@ -35,6 +43,7 @@ public class LoadDatabase {
                     .subFolders(new ArrayList<>())
                     .notes(new ArrayList<>())
                     .build());
+            folderClosureRepository.insertSelf(root.getId());
             Folder java = folderRepository.save(Folder.builder()
                     .name("Java")
                     .createdAt(now)
@@ -43,7 +52,9 @@ public class LoadDatabase {
                     .subFolders(new ArrayList<>())
                     .notes(new ArrayList<>())
                     .build());
-            folderRepository.save(Folder.builder()
+            folderClosureRepository.insertSelf(java.getId());
+            folderClosureRepository.insertSubtreeUnder(root.getId(), java.getId());
+            Folder ios = folderRepository.save(Folder.builder()
                     .name("iOS")
                     .createdAt(now)
                     .updatedAt(now)
@@ -51,23 +62,31 @@ public class LoadDatabase {
                     .subFolders(new ArrayList<>())
                     .notes(new ArrayList<>())
                     .build());
-            noteRepository.save(Note.builder()
+            folderClosureRepository.insertSelf(ios.getId());
+            folderClosureRepository.insertSubtreeUnder(root.getId(), ios.getId());
+            Note summary = noteRepository.save(Note.builder()
                     .name("Summary")
-                    .content("This is a cloud note storage.")
                     .createdAt(now)
                     .updatedAt(now)
                     .folder(root)
                     .tags(new ArrayList<>())
                     .build());
+            noteContentRepository.save(NoteContent.builder()
+                    .note(summary)
+                    .content("This is a cloud note storage.")
+                    .build());
 
             Note jdbc = noteRepository.save(Note.builder()
                     .name("JDBC")
-                    .content("Java Database Connection API.")
                     .createdAt(now)
                     .updatedAt(now)
                     .folder(java)
                     .tags(new ArrayList<>())
                     .build());
+            noteContentRepository.save(NoteContent.builder()
+                    .note(jdbc)
+                    .content("Java Database Connection API.")
+                    .build());
             Tag pl = tagRepository.save(Tag.builder()
                     .name("Programming Language")
                     .createdAt(now)
@@ -81,6 +100,6 @@ public class LoadDatabase {
 
             noteRepository.save(jdbc);
             tagRepository.save(pl);
-        };
+        });
     }
 }
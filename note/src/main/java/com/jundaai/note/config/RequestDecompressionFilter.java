@@ -0,0 +1,213 @@
+package com.jundaai.note.config;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+
+@Component
+@Slf4j
+public class RequestDecompressionFilter extends OncePerRequestFilter {
+
+    public static final long MAX_INFLATED_BYTES = 16L * 1024 * 1024;
+    private static final String CREATE_NOTE_PATTERN = "/api/v1/folders/*/notes";
+    private static final String UPDATE_NOTE_PATTERN = "/api/v1/notes/*";
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (request.getHeader(HttpHeaders.CONTENT_ENCODING) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+        return !(HttpMethod.POST.matches(method) && pathMatcher.match(CREATE_NOTE_PATTERN, path))
+                && !(HttpMethod.PATCH.matches(method) && pathMatcher.match(UPDATE_NOTE_PATTERN, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING).trim().toLowerCase(Locale.ROOT);
+        InputStream inflated;
+        try {
+            inflated = switch (encoding) {
+                case "gzip", "x-gzip" -> new GZIPInputStream(request.getInputStream());
+                case "deflate" -> new InflaterInputStream(request.getInputStream());
+                case "identity" -> request.getInputStream();
+                default -> null;
+            };
+        } catch (IOException ioException) {
+            log.error("Malformed {} request body: {}", encoding, ioException.getMessage());
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Malformed " + encoding + " request body");
+            return;
+        }
+        if (inflated == null) {
+            log.error("Unsupported request content encoding: {}", encoding);
+            response.sendError(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE,
+                    "Unsupported content encoding: " + encoding);
+            return;
+        }
+        filterChain.doFilter(new InflatedRequest(request, new LimitedInputStream(inflated)), response);
+    }
+
+    private static final class InflatedRequest extends HttpServletRequestWrapper {
+
+        private final ServletInputStream inputStream;
+
+        private InflatedRequest(HttpServletRequest request, InputStream inflated) {
+            super(request);
+            this.inputStream = new ServletInputStream() {
+
+                private boolean finished;
+                private ReadListener readListener;
+
+                @Override
+                public int read() throws IOException {
+                    int b = inflated.read();
+                    finished = b < 0;
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int n = inflated.read(b, off, len);
+                    finished = n < 0;
+                    return n;
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return finished;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    if (readListener == null) {
+                        throw new NullPointerException("readListener");
+                    }
+                    if (this.readListener != null || !request.isAsyncStarted()) {
+                        throw new IllegalStateException("Read listener requires async processing and is set once");
+                    }
+                    this.readListener = readListener;
+                    // inflating reads block on the wrapped stream, so the body is always ready to be read
+                    try {
+                        if (!finished) {
+                            readListener.onDataAvailable();
+                        }
+                        if (finished) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException | RuntimeException exception) {
+                        readListener.onError(exception);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() == null
+                    ? StandardCharsets.UTF_8
+                    : Charset.forName(getCharacterEncoding());
+            return new BufferedReader(new InputStreamReader(inputStream, charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)
+                    || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                return null;
+            }
+            return super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)
+                    || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                return Collections.emptyEnumeration();
+            }
+            return super.getHeaders(name);
+        }
+    }
+
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private long remaining = MAX_INFLATED_BYTES;
+
+        private LimitedInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                consume(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                consume(n);
+            }
+            return n;
+        }
+
+        private void consume(int n) throws IOException {
+            remaining -= n;
+            if (remaining < 0) {
+                throw new IOException("Inflated request body exceeds " + MAX_INFLATED_BYTES + " bytes");
+            }
+        }
+    }
+}
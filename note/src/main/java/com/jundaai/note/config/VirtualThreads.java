@@ -0,0 +1,32 @@
+package com.jundaai.note.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+
+final class VirtualThreads {
+
+    static final int MIN_JAVA_VERSION = 21;
+
+    private VirtualThreads() {
+    }
+
+    static boolean isAvailable() {
+        return Runtime.version().feature() >= MIN_JAVA_VERSION;
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (!isAvailable()) {
+            throw new IllegalStateException("Virtual threads require Java " + MIN_JAVA_VERSION
+                    + " or newer, running on " + Runtime.version());
+        }
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException exception) {
+            throw new IllegalStateException("Unable to create a virtual thread executor", exception);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.jundaai.note.config;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.hateoas.mediatype.hal.HalMediaTypeConfiguration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+    private final HalMediaTypeConfiguration halMediaTypeConfiguration;
+
+    public WebConfig(Jackson2ObjectMapperBuilder objectMapperBuilder,
+                     HalMediaTypeConfiguration halMediaTypeConfiguration) {
+        this.objectMapperBuilder = objectMapperBuilder;
+        this.halMediaTypeConfiguration = halMediaTypeConfiguration;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        ObjectMapper cborMapper = halMediaTypeConfiguration.configureObjectMapper(
+                objectMapperBuilder.factory(new CBORFactory()).build());
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(cborMapper));
+    }
+}
@@ -0,0 +1,73 @@
+package com.jundaai.note.controller;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+import java.util.List;
+
+import com.jundaai.note.dto.ChangePage;
+import com.jundaai.note.model.assembler.ChangePageModelAssembler;
+import com.jundaai.note.service.ChangeFeedService;
+import com.jundaai.note.service.ChangePushService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+
+@Validated
+@RestController
+@RequestMapping(path = "/api/v1")
+@Slf4j
+public class ChangeController {
+
+    private final ChangeFeedService changeFeedService;
+    private final ChangePushService changePushService;
+    private final ChangePageModelAssembler changePageModelAssembler;
+
+    public ChangeController(ChangeFeedService changeFeedService, ChangePushService changePushService,
+                            ChangePageModelAssembler changePageModelAssembler) {
+        this.changeFeedService = changeFeedService;
+        this.changePushService = changePushService;
+        this.changePageModelAssembler = changePageModelAssembler;
+    }
+
+    @GetMapping(path = "changes")
+    public ResponseEntity<EntityModel<ChangePage>> getChanges(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "100") @Min(1) @Max(1000) Integer size) {
+        log.info("Request to get changes, cursor: {}, size: {}", cursor, size);
+        final ChangePage page = changeFeedService.getChanges(cursor, size);
+        return ResponseEntity.ok(changePageModelAssembler.toModel(page,
+                nextCursor -> methodOn(ChangeController.class).getChanges(nextCursor, size)));
+    }
+
+    @GetMapping(path = "changes/cursor")
+    public ResponseEntity<EntityModel<ChangePage>> getLatestCursor(
+            @RequestParam(name = "size", defaultValue = "100") @Min(1) @Max(1000) Integer size) {
+        log.info("Request to get latest change cursor");
+        final ChangePage page = new ChangePage(List.of(), changeFeedService.getLatestCursor(), false);
+        return ResponseEntity.ok(changePageModelAssembler.toModel(page,
+                nextCursor -> methodOn(ChangeController.class).getChanges(nextCursor, size)));
+    }
+
+    @GetMapping(path = "folders/{folderId}/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamFolderChanges(@PathVariable(name = "folderId") Long folderId) {
+        log.info("Request to stream changes under folder id: {}", folderId);
+        return changePushService.subscribeToFolder(folderId);
+    }
+
+    @GetMapping(path = "tags/{tagId}/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTagChanges(@PathVariable(name = "tagId") Long tagId) {
+        log.info("Request to stream changes of tag id: {}", tagId);
+        return changePushService.subscribeToTag(tagId);
+    }
+}
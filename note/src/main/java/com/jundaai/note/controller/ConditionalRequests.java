@@ -0,0 +1,27 @@
+package com.jundaai.note.controller;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    static boolean checkNotModified(Long id, ZonedDateTime version) {
+        ServletRequestAttributes attributes =
+                (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        ServletWebRequest request = new ServletWebRequest(attributes.getRequest(), attributes.getResponse());
+        return request.checkNotModified(eTag(id, version), version.toInstant().toEpochMilli());
+    }
+
+    static String eTag(Long id, ZonedDateTime version) {
+        Instant instant = version.toInstant();
+        return "W/\"" + id + "-" + instant.getEpochSecond() + "." + instant.getNano() + "\"";
+    }
+}
@@ -0,0 +1,68 @@
+package com.jundaai.note.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.jundaai.note.dto.ImportReport;
+import com.jundaai.note.service.AutosaveService;
+import com.jundaai.note.service.ExchangeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+
+@RestController
+@RequestMapping(path = "/api/v1")
+@Slf4j
+public class ExchangeController {
+
+    private final ExchangeService exchangeService;
+    private final AutosaveService autosaveService;
+
+    public ExchangeController(ExchangeService exchangeService, AutosaveService autosaveService) {
+        this.exchangeService = exchangeService;
+        this.autosaveService = autosaveService;
+    }
+
+    @GetMapping(path = "folders/{folderId}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportFolder(
+            @PathVariable(name = "folderId") Long folderId,
+            @RequestParam(name = "gzip", defaultValue = "false") boolean gzip) {
+        log.info("Request to export folder id: {}, gzip: {}", folderId, gzip);
+        autosaveService.flushAll();
+        final StreamingResponseBody export = exchangeService.exportFolder(folderId);
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("folder-" + folderId + ".ndjson")
+                        .build()
+                        .toString());
+        if (!gzip) {
+            return response.body(export);
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(outputStream -> {
+                    try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+                        export.writeTo(gzipOutputStream);
+                    }
+                });
+    }
+
+    @PostMapping(path = "folders/{folderId}/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportReport> importIntoFolder(@PathVariable(name = "folderId") Long folderId,
+                                                         InputStream body) throws IOException {
+        log.info("Request to import into folder id: {}", folderId);
+        final ImportReport report = exchangeService.importIntoFolder(folderId, body);
+        return ResponseEntity.ok(report);
+    }
+}
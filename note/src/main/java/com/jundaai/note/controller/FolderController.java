@@ -1,17 +1,26 @@
 package com.jundaai.note.controller;
 
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
 import java.net.URI;
 import java.util.List;
+import java.util.Objects;
 
 import com.jundaai.note.dto.FolderCreationForm;
+import com.jundaai.note.dto.FolderTreeNode;
 import com.jundaai.note.dto.FolderUpdateForm;
+import com.jundaai.note.dto.KeysetPage;
+import com.jundaai.note.dto.KeysetSort;
 import com.jundaai.note.model.Folder;
 import com.jundaai.note.model.assembler.FolderModelAssembler;
 import com.jundaai.note.service.FolderService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -21,6 +30,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.MvcUriComponentsBuilder;
 
@@ -40,25 +50,56 @@ public class FolderController {
     }
 
     @GetMapping
-    public ResponseEntity<CollectionModel<EntityModel<Folder>>> getAllFolders() {
-        log.info("Request to get all folders");
-        final List<Folder> folders = folderService.getAllFolders();
-        return ResponseEntity.ok(folderModelAssembler.toCollectionModel(folders));
+    public ResponseEntity<CollectionModel<EntityModel<Folder>>> getAllFolders(
+            @RequestParam(name = "sort", defaultValue = "UPDATED_AT") KeysetSort sort,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) Integer size) {
+        log.info("Request to get all folders, sort: {}, cursor: {}, size: {}", sort, cursor, size);
+        final KeysetPage<Folder> folders = folderService.getAllFolders(sort, cursor, size);
+        return ResponseEntity.ok(folderModelAssembler.toCollectionModel(folders,
+                nextCursor -> methodOn(FolderController.class).getAllFolders(sort, nextCursor, size)));
     }
 
     @GetMapping(path = "{folderId}")
     public ResponseEntity<EntityModel<Folder>> getFolderById(@PathVariable(name = "folderId") Long folderId) {
         log.info("Request to get folder by id: {}", folderId);
+        if (ConditionalRequests.checkNotModified(folderId, folderService.getFolderVersionById(folderId))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         final Folder folder = folderService.getFolderById(folderId);
         return ResponseEntity.ok(folderModelAssembler.toModel(folder));
     }
 
     @GetMapping(path = "{folderId}/subFolders")
     public ResponseEntity<CollectionModel<EntityModel<Folder>>> getSubFoldersByParentId(
-            @PathVariable(name = "folderId") Long parentId) {
-        log.info("Request to get sub-folders by parent id: {}", parentId);
-        final List<Folder> subFolders = folderService.getSubFoldersByParentId(parentId);
-        return ResponseEntity.ok(folderModelAssembler.toCollectionModel(subFolders));
+            @PathVariable(name = "folderId") Long parentId,
+            @RequestParam(name = "sort", defaultValue = "UPDATED_AT") KeysetSort sort,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) Integer size) {
+        log.info("Request to get sub-folders by parent id: {}, sort: {}, cursor: {}, size: {}", parentId, sort, cursor,
+                size);
+        final KeysetPage<Folder> subFolders = folderService.getSubFoldersByParentId(parentId, sort, cursor, size);
+        return ResponseEntity.ok(folderModelAssembler.toCollectionModel(subFolders,
+                nextCursor -> methodOn(FolderController.class).getSubFoldersByParentId(parentId, sort, nextCursor,
+                        size)));
+    }
+
+    @GetMapping(path = "{folderId}/ancestors")
+    public ResponseEntity<CollectionModel<EntityModel<FolderTreeNode>>> getAncestorsById(
+            @PathVariable(name = "folderId") Long folderId) {
+        log.info("Request to get ancestors by folder id: {}", folderId);
+        final List<FolderTreeNode> ancestors = folderService.getAncestorsById(folderId);
+        return ResponseEntity.ok(folderModelAssembler.toNodeCollectionModel(ancestors));
+    }
+
+    @GetMapping(path = "{folderId}/descendants")
+    public ResponseEntity<CollectionModel<EntityModel<FolderTreeNode>>> getDescendantsById(
+            @PathVariable(name = "folderId") Long folderId,
+            @RequestParam(name = "maxDepth", required = false) @Min(1) Integer maxDepth) {
+        log.info("Request to get descendants by folder id: {}, max depth: {}", folderId, maxDepth);
+        final List<FolderTreeNode> descendants = folderService.getDescendantsById(folderId,
+                Objects.requireNonNullElse(maxDepth, Integer.MAX_VALUE));
+        return ResponseEntity.ok(folderModelAssembler.toNodeCollectionModel(descendants));
     }
 
     @PostMapping(path = "{folderId}/subFolders")
@@ -1,14 +1,22 @@
 package com.jundaai.note.controller;
 
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
 import java.net.URI;
-import java.util.List;
 
+import com.jundaai.note.dto.AutosaveForm;
+import com.jundaai.note.dto.AutosaveReceipt;
+import com.jundaai.note.dto.KeysetPage;
+import com.jundaai.note.dto.KeysetSort;
 import com.jundaai.note.dto.NoteCreationForm;
 import com.jundaai.note.dto.NoteUpdateForm;
 import com.jundaai.note.model.Note;
 import com.jundaai.note.model.assembler.NoteModelAssembler;
+import com.jundaai.note.service.AutosaveService;
 import com.jundaai.note.service.NoteService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
@@ -20,8 +28,10 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.MvcUriComponentsBuilder;
@@ -35,38 +45,58 @@ public class NoteController {
 
     private final NoteService noteService;
     private final NoteModelAssembler noteModelAssembler;
+    private final AutosaveService autosaveService;
 
-    public NoteController(NoteService noteService, NoteModelAssembler noteModelAssembler) {
+    public NoteController(NoteService noteService, NoteModelAssembler noteModelAssembler,
+                          AutosaveService autosaveService) {
         this.noteService = noteService;
         this.noteModelAssembler = noteModelAssembler;
+        this.autosaveService = autosaveService;
     }
 
     @GetMapping(path = "notes")
-    public ResponseEntity<CollectionModel<EntityModel<Note>>> getAllNotes() {
-        log.info("Request to get all notes");
-        final List<Note> notes = noteService.getAllNotes();
-        return ResponseEntity.ok(noteModelAssembler.toCollectionModel(notes));
+    public ResponseEntity<CollectionModel<EntityModel<Note>>> getAllNotes(
+            @RequestParam(name = "sort", defaultValue = "UPDATED_AT") KeysetSort sort,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) Integer size) {
+        log.info("Request to get all notes, sort: {}, cursor: {}, size: {}", sort, cursor, size);
+        final KeysetPage<Note> notes = noteService.getAllNotes(sort, cursor, size);
+        return ResponseEntity.ok(noteModelAssembler.toCollectionModel(notes,
+                nextCursor -> methodOn(NoteController.class).getAllNotes(sort, nextCursor, size)));
     }
 
     @GetMapping(path = "folders/{folderId}/notes")
     public ResponseEntity<CollectionModel<EntityModel<Note>>> getAllNotesByFolderId(
-            @PathVariable(name = "folderId") Long folderId) {
-        log.info("Request to get all notes by folder id: {}", folderId);
-        final List<Note> notes = noteService.getAllNotesByFolderId(folderId);
-        return ResponseEntity.ok(noteModelAssembler.toCollectionModel(notes));
+            @PathVariable(name = "folderId") Long folderId,
+            @RequestParam(name = "sort", defaultValue = "UPDATED_AT") KeysetSort sort,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) Integer size) {
+        log.info("Request to get all notes by folder id: {}, sort: {}, cursor: {}, size: {}", folderId, sort, cursor,
+                size);
+        final KeysetPage<Note> notes = noteService.getAllNotesByFolderId(folderId, sort, cursor, size);
+        return ResponseEntity.ok(noteModelAssembler.toCollectionModel(notes,
+                nextCursor -> methodOn(NoteController.class).getAllNotesByFolderId(folderId, sort, nextCursor, size)));
     }
 
     @GetMapping(path = "tags/{tagId}/notes")
     public ResponseEntity<CollectionModel<EntityModel<Note>>> getAllNotesByTagId(
-            @PathVariable(name = "tagId") Long tagId) {
-        log.info("Request to get all notes by tag id: {}", tagId);
-        final List<Note> notes = noteService.getAllNotesByTagId(tagId);
-        return ResponseEntity.ok(noteModelAssembler.toCollectionModel(notes));
+            @PathVariable(name = "tagId") Long tagId,
+            @RequestParam(name = "sort", defaultValue = "UPDATED_AT") KeysetSort sort,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) Integer size) {
+        log.info("Request to get all notes by tag id: {}, sort: {}, cursor: {}, size: {}", tagId, sort, cursor, size);
+        final KeysetPage<Note> notes = noteService.getAllNotesByTagId(tagId, sort, cursor, size);
+        return ResponseEntity.ok(noteModelAssembler.toCollectionModel(notes,
+                nextCursor -> methodOn(NoteController.class).getAllNotesByTagId(tagId, sort, nextCursor, size)));
     }
 
     @GetMapping(path = "notes/{noteId}")
     public ResponseEntity<EntityModel<Note>> getNoteById(@PathVariable(name = "noteId") Long noteId) {
         log.info("Request to get note by note id: {}", noteId);
+        autosaveService.flush(noteId);
+        if (ConditionalRequests.checkNotModified(noteId, noteService.getNoteVersionById(noteId))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         final Note note = noteService.getNoteById(noteId);
         return ResponseEntity.ok(noteModelAssembler.toModel(note));
     }
@@ -87,13 +117,23 @@ public class NoteController {
     public ResponseEntity<EntityModel<Note>> updateNoteById(@PathVariable(name = "noteId") Long noteId,
                                                             @Valid @RequestBody NoteUpdateForm updateForm) {
         log.info("Request to update note by id: {}, dto: {}", noteId, updateForm);
+        autosaveService.flush(noteId);
         final Note note = noteService.updateNoteById(noteId, updateForm);
         return ResponseEntity.ok(noteModelAssembler.toModel(note));
     }
 
+    @PutMapping(path = "notes/{noteId}/autosave")
+    public ResponseEntity<AutosaveReceipt> autosaveNoteById(@PathVariable(name = "noteId") Long noteId,
+                                                            @Valid @RequestBody AutosaveForm autosaveForm) {
+        log.info("Request to autosave note by id: {}", noteId);
+        final AutosaveReceipt receipt = autosaveService.autosave(noteId, autosaveForm.content());
+        return ResponseEntity.accepted().body(receipt);
+    }
+
     @DeleteMapping("notes/{noteId}")
     public ResponseEntity<?> deleteNoteById(@PathVariable(name = "noteId") Long noteId) {
         log.info("Request to delete note by id: {}", noteId);
+        autosaveService.discard(noteId);
         noteService.deleteNoteById(noteId);
         return ResponseEntity.noContent().build();
     }
@@ -0,0 +1,44 @@
+package com.jundaai.note.controller;
+
+import java.util.List;
+
+import com.jundaai.note.dto.SearchHit;
+import com.jundaai.note.model.assembler.SearchHitModelAssembler;
+import com.jundaai.note.service.SearchService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+
+@Validated
+@RestController
+@RequestMapping(path = "/api/v1")
+@Slf4j
+public class SearchController {
+
+    private final SearchService searchService;
+    private final SearchHitModelAssembler searchHitModelAssembler;
+
+    public SearchController(SearchService searchService, SearchHitModelAssembler searchHitModelAssembler) {
+        this.searchService = searchService;
+        this.searchHitModelAssembler = searchHitModelAssembler;
+    }
+
+    @GetMapping(path = "search/notes")
+    public ResponseEntity<CollectionModel<EntityModel<SearchHit>>> searchNotes(
+            @RequestParam(name = "q") @NotBlank String query,
+            @RequestParam(name = "size", defaultValue = "10") @Min(1) @Max(100) Integer size) {
+        log.info("Request to search notes, query: {}, size: {}", query, size);
+        final List<SearchHit> hits = searchService.searchNotes(query, size);
+        return ResponseEntity.ok(searchHitModelAssembler.toCollectionModel(hits));
+    }
+}
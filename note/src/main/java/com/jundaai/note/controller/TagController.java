@@ -1,16 +1,24 @@
 package com.jundaai.note.controller;
 
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
 import java.net.URI;
 import java.util.List;
 
+import com.jundaai.note.dto.KeysetPage;
+import com.jundaai.note.dto.KeysetSort;
 import com.jundaai.note.dto.TagOperationForm;
+import com.jundaai.note.dto.TagSummary;
 import com.jundaai.note.model.Tag;
 import com.jundaai.note.model.assembler.TagModelAssembler;
 import com.jundaai.note.service.TagService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -20,6 +28,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.MvcUriComponentsBuilder;
 
@@ -39,10 +48,14 @@ public class TagController {
     }
 
     @GetMapping(path = "tags")
-    public ResponseEntity<CollectionModel<EntityModel<Tag>>> getAllTags() {
-        log.info("Request to get all tags");
-        final List<Tag> tags = tagService.getAllTags();
-        return ResponseEntity.ok(tagModelAssembler.toCollectionModel(tags));
+    public ResponseEntity<CollectionModel<EntityModel<TagSummary>>> getAllTags(
+            @RequestParam(name = "sort", defaultValue = "UPDATED_AT") KeysetSort sort,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) Integer size) {
+        log.info("Request to get all tags, sort: {}, cursor: {}, size: {}", sort, cursor, size);
+        final KeysetPage<TagSummary> tags = tagService.getAllTags(sort, cursor, size);
+        return ResponseEntity.ok(tagModelAssembler.toSummaryCollectionModel(tags,
+                nextCursor -> methodOn(TagController.class).getAllTags(sort, nextCursor, size)));
     }
 
     @GetMapping(path = "notes/{noteId}/tags")
@@ -56,6 +69,9 @@ public class TagController {
     @GetMapping(path = "tags/{tagId}")
     public ResponseEntity<EntityModel<Tag>> getTagById(@PathVariable(name = "tagId") Long tagId) {
         log.info("Request to get tag by id: {}", tagId);
+        if (ConditionalRequests.checkNotModified(tagId, tagService.getTagVersionById(tagId))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         final Tag tag = tagService.getTagById(tagId);
         return ResponseEntity.ok(tagModelAssembler.toModel(tag));
     }
@@ -1,6 +0,0 @@
-package com.jundaai.note.dto;
-
-public enum NoteUpdateType {
-
-    RENAME_NOTE, MODIFY_CONTENT, MOVE_NOTE, ADD_TAG, REMOVE_TAG,
-}
@@ -0,0 +1,6 @@
+package com.jundaai.note.event;
+
+
+public record ChangesSequencedEvent(long lastSequence) {
+
+}
@@ -0,0 +1,29 @@
+package com.jundaai.note.event;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.jundaai.note.dto.ChangeEntityType;
+import com.jundaai.note.dto.ChangeType;
+
+
+public record EntitiesChangedEvent(ChangeEntityType entityType, ChangeType changeType, List<Long> ids,
+                                   List<Long> folderIds, List<Long> tagIds) {
+
+    public EntitiesChangedEvent(ChangeEntityType entityType, ChangeType changeType, List<Long> ids) {
+        this(entityType, changeType, ids, List.of(), List.of());
+    }
+
+    public static EntitiesChangedEvent of(ChangeEntityType entityType, ChangeType changeType, Long id) {
+        return new EntitiesChangedEvent(entityType, changeType, Collections.singletonList(id));
+    }
+
+    public EntitiesChangedEvent inFolders(Long... folderIds) {
+        return new EntitiesChangedEvent(entityType, changeType, ids, Arrays.asList(folderIds), tagIds);
+    }
+
+    public EntitiesChangedEvent withTags(Long... tagIds) {
+        return new EntitiesChangedEvent(entityType, changeType, ids, folderIds, Arrays.asList(tagIds));
+    }
+}
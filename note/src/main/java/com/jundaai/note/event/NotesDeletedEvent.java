@@ -0,0 +1,8 @@
+package com.jundaai.note.event;
+
+import java.util.List;
+
+
+public record NotesDeletedEvent(List<Long> noteIds) {
+
+}
@@ -0,0 +1,10 @@
+package com.jundaai.note.event;
+
+import java.util.List;
+
+import com.jundaai.note.dto.NoteText;
+
+
+public record NotesSavedEvent(List<NoteText> notes) {
+
+}
@@ -3,6 +3,7 @@ package com.jundaai.note.exception.advice;
 import java.util.HashMap;
 import java.util.Map;
 
+import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -22,4 +23,13 @@ public class ValidationExceptionHandler {
                 .forEach(error -> errorMap.put(error.getField(), error.getDefaultMessage()));
         return errorMap;
     }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(ConstraintViolationException.class)
+    public Map<String, String> handleConstraintViolations(ConstraintViolationException constraintViolationException) {
+        var errorMap = new HashMap<String, String>();
+        constraintViolationException.getConstraintViolations()
+                .forEach(violation -> errorMap.put(violation.getPropertyPath().toString(), violation.getMessage()));
+        return errorMap;
+    }
 }
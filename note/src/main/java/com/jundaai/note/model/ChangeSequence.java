@@ -0,0 +1,26 @@
+package com.jundaai.note.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+
+@Entity
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeSequence {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long lastSequence;
+}
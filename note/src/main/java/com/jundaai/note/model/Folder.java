@@ -3,7 +3,12 @@ package com.jundaai.note.model;
 import java.time.ZonedDateTime;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.jundaai.note.dto.FolderSummary;
+import com.jundaai.note.dto.NoteSummary;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -11,9 +16,13 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -21,9 +30,18 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_folder_updated_at_id", columnList = "updatedAt, id"),
+        @Index(name = "idx_folder_name_id", columnList = "name, id"),
+        @Index(name = "idx_folder_parent_updated_at_id", columnList = "parent_id, updatedAt, id"),
+        @Index(name = "idx_folder_parent_name_id", columnList = "parent_id, name, id")})
+@JsonIgnoreProperties(value = {"hibernateLazyInitializer", "handler"})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "folder")
 @Builder
 @Getter
 @Setter
@@ -33,7 +51,8 @@ import lombok.ToString;
 public class Folder {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "folder_seq")
+    @SequenceGenerator(name = "folder_seq", sequenceName = "folder_seq", allocationSize = 50)
     @Setter(AccessLevel.NONE)
     private Long id;
 
@@ -47,19 +66,32 @@ public class Folder {
     @Column(nullable = false)
     private ZonedDateTime updatedAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "parent_id", referencedColumnName = "id")
     @ToString.Exclude
     @JsonIgnoreProperties(value = {"parentFolder", "subFolders", "notes"})
     private Folder parentFolder;
 
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER, mappedBy = "parentFolder", orphanRemoval = true)
+    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, mappedBy = "parentFolder")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "folder-sub-folders")
     @ToString.Exclude
-    @JsonIgnoreProperties(value = {"parentFolder", "subFolders", "notes"})
+    @JsonIgnore
     private List<Folder> subFolders;
 
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER, mappedBy = "folder", orphanRemoval = true)
+    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, mappedBy = "folder")
     @ToString.Exclude
-    @JsonIgnoreProperties(value = {"content", "folder"})
+    @JsonIgnore
     private List<Note> notes;
+
+    @Transient
+    @JsonProperty("subFolders")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @ToString.Exclude
+    private List<FolderSummary> subFolderSummaries;
+
+    @Transient
+    @JsonProperty("notes")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @ToString.Exclude
+    private List<NoteSummary> noteSummaries;
 }
@@ -0,0 +1,36 @@
+package com.jundaai.note.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+
+@Entity
+@IdClass(FolderClosureId.class)
+@Table(indexes = {@Index(name = "idx_folder_closure_descendant_depth", columnList = "descendantId, depth")})
+@Builder
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class FolderClosure {
+
+    @Id
+    @Column(nullable = false)
+    private Long ancestorId;
+
+    @Id
+    @Column(nullable = false)
+    private Long descendantId;
+
+    @Column(nullable = false)
+    private Integer depth;
+}
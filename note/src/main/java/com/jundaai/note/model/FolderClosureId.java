@@ -0,0 +1,19 @@
+package com.jundaai.note.model;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class FolderClosureId implements Serializable {
+
+    private Long ancestorId;
+    private Long descendantId;
+}
@@ -3,7 +3,9 @@ package com.jundaai.note.model;
 import java.time.ZonedDateTime;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -11,10 +13,14 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -22,10 +28,16 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
-import net.minidev.json.annotate.JsonIgnore;
+import org.hibernate.annotations.DynamicUpdate;
 
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_note_updated_at_id", columnList = "updatedAt, id"),
+        @Index(name = "idx_note_name_id", columnList = "name, id"),
+        @Index(name = "idx_note_folder_updated_at_id", columnList = "folder_id, updatedAt, id"),
+        @Index(name = "idx_note_folder_name_id", columnList = "folder_id, name, id")})
+@DynamicUpdate
 @Builder
 @Getter
 @Setter
@@ -35,16 +47,23 @@ import net.minidev.json.annotate.JsonIgnore;
 public class Note {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "note_seq")
+    @SequenceGenerator(name = "note_seq", sequenceName = "note_seq", allocationSize = 50)
     @Setter(AccessLevel.NONE)
     private Long id;
 
     @Column(nullable = false)
     private String name;
 
-    @Column(nullable = false, columnDefinition = "TEXT")
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @ToString.Exclude
     private String content;
 
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long contentVersion;
+
     @Column(nullable = false)
     @Setter(AccessLevel.NONE)
     private ZonedDateTime createdAt;
@@ -57,7 +76,7 @@ public class Note {
     @JsonIgnoreProperties(value = {"parentFolder", "subFolders", "notes"})
     private Folder folder;
 
-    @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE}, fetch = FetchType.EAGER)
+    @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE}, fetch = FetchType.LAZY)
     @JoinTable(name = "note_tag",
             joinColumns = @JoinColumn(name = "note_id", referencedColumnName = "id"),
             inverseJoinColumns = @JoinColumn(name = "tag_id", referencedColumnName = "id"))
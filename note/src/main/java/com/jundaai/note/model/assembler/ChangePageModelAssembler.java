@@ -0,0 +1,19 @@
+package com.jundaai.note.model.assembler;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+import java.util.function.Function;
+
+import com.jundaai.note.dto.ChangePage;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.stereotype.Component;
+
+
+@Component
+public class ChangePageModelAssembler {
+
+    public EntityModel<ChangePage> toModel(ChangePage page, Function<String, Object> nextPageInvocation) {
+        return EntityModel.of(page, linkTo(nextPageInvocation.apply(page.cursor())).withRel(IanaLinkRelations.NEXT));
+    }
+}
@@ -3,10 +3,17 @@ package com.jundaai.note.model.assembler;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
 import com.jundaai.note.controller.FolderController;
+import com.jundaai.note.dto.FolderTreeNode;
+import com.jundaai.note.dto.KeysetPage;
 import com.jundaai.note.model.Folder;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
@@ -22,7 +29,8 @@ public class FolderModelAssembler implements RepresentationModelAssembler<Folder
             entityModel.add(linkTo(methodOn(FolderController.class).getFolderById(entity.getParentFolder().getId()))
                     .withRel("parent"));
         }
-        entityModel.add(linkTo(methodOn(FolderController.class).getAllFolders()).withRel("all folders"));
+        entityModel.add(linkTo(methodOn(FolderController.class).getAllFolders(null, null, null))
+                .withRel("all folders"));
         return entityModel;
     }
 
@@ -30,4 +38,29 @@ public class FolderModelAssembler implements RepresentationModelAssembler<Folder
     public CollectionModel<EntityModel<Folder>> toCollectionModel(Iterable<? extends Folder> entities) {
         return RepresentationModelAssembler.super.toCollectionModel(entities);
     }
+
+    public CollectionModel<EntityModel<Folder>> toCollectionModel(KeysetPage<? extends Folder> page,
+                                                                  Function<String, Object> nextPageInvocation) {
+        CollectionModel<EntityModel<Folder>> collectionModel = toCollectionModel(page.content());
+        if (page.hasNext()) {
+            collectionModel.add(linkTo(nextPageInvocation.apply(page.nextCursor())).withRel(IanaLinkRelations.NEXT));
+        }
+        return collectionModel;
+    }
+
+    public EntityModel<FolderTreeNode> toNodeModel(FolderTreeNode node) {
+        EntityModel<FolderTreeNode> entityModel = EntityModel.of(node,
+                linkTo(methodOn(FolderController.class).getFolderById(node.id())).withSelfRel());
+        if (node.parentId() != null) {
+            entityModel.add(linkTo(methodOn(FolderController.class).getFolderById(node.parentId())).withRel("parent"));
+        }
+        return entityModel;
+    }
+
+    public CollectionModel<EntityModel<FolderTreeNode>> toNodeCollectionModel(
+            Iterable<? extends FolderTreeNode> nodes) {
+        List<EntityModel<FolderTreeNode>> nodeModels = new ArrayList<>();
+        nodes.forEach(node -> nodeModels.add(toNodeModel(node)));
+        return CollectionModel.of(nodeModels);
+    }
 }
@@ -3,11 +3,15 @@ package com.jundaai.note.model.assembler;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
+import java.util.function.Function;
+
 import com.jundaai.note.controller.FolderController;
 import com.jundaai.note.controller.NoteController;
+import com.jundaai.note.dto.KeysetPage;
 import com.jundaai.note.model.Note;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
@@ -20,11 +24,20 @@ public class NoteModelAssembler implements RepresentationModelAssembler<Note, En
         return EntityModel.of(entity,
                 linkTo(methodOn(NoteController.class).getNoteById(entity.getId())).withSelfRel(),
                 linkTo(methodOn(FolderController.class).getFolderById(entity.getFolder().getId())).withRel("folder"),
-                linkTo(methodOn(NoteController.class).getAllNotes()).withRel("all notes"));
+                linkTo(methodOn(NoteController.class).getAllNotes(null, null, null)).withRel("all notes"));
     }
 
     @Override
     public CollectionModel<EntityModel<Note>> toCollectionModel(Iterable<? extends Note> entities) {
         return RepresentationModelAssembler.super.toCollectionModel(entities);
     }
+
+    public CollectionModel<EntityModel<Note>> toCollectionModel(KeysetPage<? extends Note> page,
+                                                                Function<String, Object> nextPageInvocation) {
+        CollectionModel<EntityModel<Note>> collectionModel = toCollectionModel(page.content());
+        if (page.hasNext()) {
+            collectionModel.add(linkTo(nextPageInvocation.apply(page.nextCursor())).withRel(IanaLinkRelations.NEXT));
+        }
+        return collectionModel;
+    }
 }
@@ -0,0 +1,29 @@
+package com.jundaai.note.model.assembler;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+import com.jundaai.note.controller.FolderController;
+import com.jundaai.note.controller.NoteController;
+import com.jundaai.note.dto.SearchHit;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.server.RepresentationModelAssembler;
+import org.springframework.stereotype.Component;
+
+
+@Component
+public class SearchHitModelAssembler implements RepresentationModelAssembler<SearchHit, EntityModel<SearchHit>> {
+
+    @Override
+    public EntityModel<SearchHit> toModel(SearchHit hit) {
+        return EntityModel.of(hit,
+                linkTo(methodOn(NoteController.class).getNoteById(hit.id())).withRel("note"),
+                linkTo(methodOn(FolderController.class).getFolderById(hit.folderId())).withRel("folder"));
+    }
+
+    @Override
+    public CollectionModel<EntityModel<SearchHit>> toCollectionModel(Iterable<? extends SearchHit> hits) {
+        return RepresentationModelAssembler.super.toCollectionModel(hits);
+    }
+}
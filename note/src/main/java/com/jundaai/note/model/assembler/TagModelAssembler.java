@@ -3,10 +3,17 @@ package com.jundaai.note.model.assembler;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
 import com.jundaai.note.controller.TagController;
+import com.jundaai.note.dto.KeysetPage;
+import com.jundaai.note.dto.TagSummary;
 import com.jundaai.note.model.Tag;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
@@ -18,11 +25,32 @@ public class TagModelAssembler implements RepresentationModelAssembler<Tag, Enti
     public EntityModel<Tag> toModel(Tag entity) {
         return EntityModel.of(entity,
                 linkTo(methodOn(TagController.class).getTagById(entity.getId())).withSelfRel(),
-                linkTo(methodOn(TagController.class).getAllTags()).withRel("all tags"));
+                linkTo(methodOn(TagController.class).getAllTags(null, null, null)).withRel("all tags"));
     }
 
     @Override
     public CollectionModel<EntityModel<Tag>> toCollectionModel(Iterable<? extends Tag> entities) {
         return RepresentationModelAssembler.super.toCollectionModel(entities);
     }
+
+    public EntityModel<TagSummary> toSummaryModel(TagSummary summary) {
+        return EntityModel.of(summary,
+                linkTo(methodOn(TagController.class).getTagById(summary.id())).withSelfRel(),
+                linkTo(methodOn(TagController.class).getAllTags(null, null, null)).withRel("all tags"));
+    }
+
+    public CollectionModel<EntityModel<TagSummary>> toSummaryCollectionModel(Iterable<? extends TagSummary> summaries) {
+        List<EntityModel<TagSummary>> summaryModels = new ArrayList<>();
+        summaries.forEach(summary -> summaryModels.add(toSummaryModel(summary)));
+        return CollectionModel.of(summaryModels);
+    }
+
+    public CollectionModel<EntityModel<TagSummary>> toSummaryCollectionModel(
+            KeysetPage<? extends TagSummary> page, Function<String, Object> nextPageInvocation) {
+        CollectionModel<EntityModel<TagSummary>> collectionModel = toSummaryCollectionModel(page.content());
+        if (page.hasNext()) {
+            collectionModel.add(linkTo(nextPageInvocation.apply(page.nextCursor())).withRel(IanaLinkRelations.NEXT));
+        }
+        return collectionModel;
+    }
 }
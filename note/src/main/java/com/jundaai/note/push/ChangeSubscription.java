@@ -0,0 +1,162 @@
+package com.jundaai.note.push;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.jundaai.note.dto.EntityChange;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+
+public final class ChangeSubscription {
+
+    public static final String CURSOR_EVENT = "cursor";
+    public static final String CHANGE_EVENT = "change";
+    public static final String OVERFLOW_EVENT = "overflow";
+
+    private final Scope scope;
+    private final Long scopeId;
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final Deque<EntityChange> buffer;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private boolean heartbeatDue;
+    private boolean overflowed;
+    private boolean stalled;
+    // System.nanoTime() of the send in progress, 0 between sends
+    private long sendStartedAt;
+    private volatile boolean closed;
+
+    public ChangeSubscription(Scope scope, Long scopeId, SseEmitter emitter, int capacity) {
+        this.scope = scope;
+        this.scopeId = scopeId;
+        this.emitter = emitter;
+        this.capacity = capacity;
+        this.buffer = new ArrayDeque<>(capacity);
+    }
+
+    public Scope scope() {
+        return scope;
+    }
+
+    public Long scopeId() {
+        return scopeId;
+    }
+
+    public SseEmitter emitter() {
+        return emitter;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public synchronized boolean isStalled() {
+        return stalled;
+    }
+
+    public synchronized boolean isSending() {
+        return sendStartedAt != 0;
+    }
+
+    public synchronized boolean isOverflowed() {
+        return overflowed;
+    }
+
+    public synchronized boolean offer(EntityChange change) {
+        if (closed || overflowed) {
+            return false;
+        }
+        // a full buffer is dropped, the next drain tells the client to resync from the change feed and ends the stream
+        if (buffer.size() == capacity) {
+            buffer.clear();
+            overflowed = true;
+            return false;
+        }
+        buffer.add(change);
+        return true;
+    }
+
+    public synchronized void requestHeartbeat() {
+        heartbeatDue = true;
+    }
+
+    public synchronized boolean hasPending() {
+        return !closed && (heartbeatDue || overflowed || !buffer.isEmpty());
+    }
+
+    public boolean startDraining() {
+        return draining.compareAndSet(false, true);
+    }
+
+    public void finishDraining() {
+        draining.set(false);
+    }
+
+    public void drain() throws IOException {
+        EntityChange change;
+        while ((change = poll()) != null) {
+            send(SseEmitter.event().name(CHANGE_EVENT).data(change, MediaType.APPLICATION_JSON));
+        }
+        if (takeHeartbeat()) {
+            send(SseEmitter.event().comment(""));
+        }
+        if (takeOverflow()) {
+            send(SseEmitter.event().name(OVERFLOW_EVENT).data("resync"));
+            close();
+            emitter.complete();
+        }
+    }
+
+    // a send blocked past the timeout closes the subscription, the emitter is completed once the send returns
+    public synchronized boolean stallIfSendingLongerThan(long timeoutNanos) {
+        if (sendStartedAt == 0 || System.nanoTime() - sendStartedAt <= timeoutNanos) {
+            return false;
+        }
+        stalled = true;
+        closed = true;
+        buffer.clear();
+        return true;
+    }
+
+    public void close() {
+        closed = true;
+        synchronized (this) {
+            buffer.clear();
+        }
+    }
+
+    private void send(SseEmitter.SseEventBuilder event) throws IOException {
+        synchronized (this) {
+            sendStartedAt = System.nanoTime();
+        }
+        try {
+            emitter.send(event);
+        } finally {
+            synchronized (this) {
+                sendStartedAt = 0;
+            }
+        }
+    }
+
+    private synchronized EntityChange poll() {
+        return closed ? null : buffer.poll();
+    }
+
+    private synchronized boolean takeHeartbeat() {
+        boolean due = heartbeatDue && !closed;
+        heartbeatDue = false;
+        return due;
+    }
+
+    private synchronized boolean takeOverflow() {
+        return overflowed && !closed;
+    }
+
+    public enum Scope {
+
+        FOLDER, TAG,
+    }
+}
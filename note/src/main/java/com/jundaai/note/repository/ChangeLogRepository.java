@@ -0,0 +1,28 @@
+package com.jundaai.note.repository;
+
+import java.util.List;
+
+import com.jundaai.note.model.ChangeLog;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+
+public interface ChangeLogRepository extends JpaRepository<ChangeLog, Long> {
+
+    @Query(value = "select c from ChangeLog c where c.sequence > ?1 order by c.sequence")
+    Slice<ChangeLog> findAllAfter(Long after, Pageable pageable);
+
+    @Query(value = "select coalesce(max(c.sequence), 0) from ChangeLog c")
+    Long findLatestSequence();
+
+    boolean existsBySequenceIsNull();
+
+    // a locking read sees every committed entry, whatever snapshot the transaction started from
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = "select c from ChangeLog c where c.sequence is null order by c.id")
+    List<ChangeLog> findUnsequenced(Pageable pageable);
+}
@@ -0,0 +1,17 @@
+package com.jundaai.note.repository;
+
+import java.util.Optional;
+
+import com.jundaai.note.model.ChangeSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+
+public interface ChangeSequenceRepository extends JpaRepository<ChangeSequence, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = "select s from ChangeSequence s where s.id = ?1")
+    Optional<ChangeSequence> findForUpdateById(Long id);
+}
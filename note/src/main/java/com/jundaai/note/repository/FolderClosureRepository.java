@@ -0,0 +1,49 @@
+package com.jundaai.note.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.jundaai.note.dto.FolderTreeNode;
+import com.jundaai.note.model.FolderClosure;
+import com.jundaai.note.model.FolderClosureId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+
+public interface FolderClosureRepository extends JpaRepository<FolderClosure, FolderClosureId> {
+
+    @Query(value = "select new com.jundaai.note.dto.FolderTreeNode(f.id, f.name, f.parentFolder.id, c.depth) " +
+            "from FolderClosure c join Folder f on f.id = c.ancestorId where c.descendantId = ?1 " +
+            "order by c.depth desc")
+    List<FolderTreeNode> findAncestorNodes(Long folderId);
+
+    @Query(value = "select new com.jundaai.note.dto.FolderTreeNode(f.id, f.name, f.parentFolder.id, c.depth) " +
+            "from FolderClosure c join Folder f on f.id = c.descendantId " +
+            "where c.ancestorId = ?1 and c.depth between 1 and ?2 order by c.depth, f.name, f.id")
+    List<FolderTreeNode> findDescendantNodes(Long folderId, int maxDepth);
+
+    @Query(value = "select c.descendantId from FolderClosure c where c.ancestorId = ?1")
+    List<Long> findSubtreeIds(Long folderId);
+
+    @Query(value = "select c from FolderClosure c where c.descendantId in ?1")
+    List<FolderClosure> findAllByDescendantIds(Collection<Long> folderIds);
+
+    @Modifying
+    @Query(value = "insert into FolderClosure (ancestorId, descendantId, depth) values (?1, ?1, 0)")
+    int insertSelf(Long folderId);
+
+    @Modifying
+    @Query(value = "insert into FolderClosure (ancestorId, descendantId, depth) " +
+            "select a.ancestorId, d.descendantId, a.depth + d.depth + 1 from FolderClosure a, FolderClosure d " +
+            "where a.descendantId = ?1 and d.ancestorId = ?2")
+    int insertSubtreeUnder(Long parentId, Long subtreeRootId);
+
+    @Modifying
+    @Query(value = "delete from FolderClosure c where c.descendantId in ?1 and c.ancestorId not in ?1")
+    int deleteOutsidePaths(Collection<Long> subtreeIds);
+
+    @Modifying
+    @Query(value = "delete from FolderClosure c where c.descendantId in ?1")
+    int deleteSubtreePaths(Collection<Long> subtreeIds);
+}
@@ -1,18 +1,83 @@
 package com.jundaai.note.repository;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import com.jundaai.note.dto.FolderSummary;
+import com.jundaai.note.dto.NoteSummary;
 import com.jundaai.note.model.Folder;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 
 public interface FolderRepository extends JpaRepository<Folder, Long> {
 
-    @Query(value = "select f.subFolders from Folder f where f.id = ?1")
-    Optional<List<Folder>> findSubFoldersByParentId(Long parentId);
+    @Query(value = "select f from Folder f left join fetch f.parentFolder where f.id = ?1")
+    Optional<Folder> findWithParentById(Long folderId);
+
+    @Query(value = "select greatest(f.updatedAt, coalesce(p.updatedAt, f.updatedAt)) from Folder f " +
+            "left join f.parentFolder p where f.id = ?1")
+    Optional<ZonedDateTime> findVersionById(Long folderId);
+
+    @Query(value = "select f from Folder f left join fetch f.parentFolder " +
+            "where f.updatedAt < ?1 or (f.updatedAt = ?1 and f.id < ?2) order by f.updatedAt desc, f.id desc")
+    Slice<Folder> findAllUpdatedBefore(ZonedDateTime updatedAt, Long id, Pageable pageable);
+
+    @Query(value = "select f from Folder f left join fetch f.parentFolder " +
+            "where f.name > ?1 or (f.name = ?1 and f.id > ?2) order by f.name, f.id")
+    Slice<Folder> findAllNamedAfter(String name, Long id, Pageable pageable);
+
+    @Query(value = "select f from Folder f join fetch f.parentFolder p " +
+            "where p.id = ?1 and (f.updatedAt < ?2 or (f.updatedAt = ?2 and f.id < ?3)) " +
+            "order by f.updatedAt desc, f.id desc")
+    Slice<Folder> findSubFoldersByParentIdUpdatedBefore(Long parentId, ZonedDateTime updatedAt, Long id,
+                                                        Pageable pageable);
+
+    @Query(value = "select f from Folder f join fetch f.parentFolder p " +
+            "where p.id = ?1 and (f.name > ?2 or (f.name = ?2 and f.id > ?3)) order by f.name, f.id")
+    Slice<Folder> findSubFoldersByParentIdNamedAfter(Long parentId, String name, Long id, Pageable pageable);
+
+    @Query(value = "select new com.jundaai.note.dto.FolderSummary(f.id, f.name) from Folder f " +
+            "where f.parentFolder.id = ?1 order by f.id")
+    List<FolderSummary> findSubFolderSummariesByParentId(Long parentId);
+
+    @Query(value = "select new com.jundaai.note.dto.NoteSummary(n.id, n.name) from Note n " +
+            "where n.folder.id = ?1 order by n.id")
+    List<NoteSummary> findNoteSummariesByFolderId(Long folderId);
 
     @Query(value = "select count(f) > 0 from Folder f where f.name = ?1 and f.parentFolder = ?2")
     boolean existsByNameWithSameParent(String name, Folder parent);
+
+    @Query(value = "select f from FolderClosure c join Folder f on f.id = c.descendantId " +
+            "where c.ancestorId = ?1 and c.depth > 0 order by c.depth, f.id")
+    @QueryHints(value = {@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Folder> streamDescendantsByRootId(Long folderId);
+
+    @Query(value = "select n.id from Note n where n.folder.id in ?1")
+    List<Long> findNoteIdsByFolderIds(Collection<Long> folderIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = "select f from Folder f where f.id in ?1 order by f.id")
+    List<Folder> findAllForUpdateByIds(Collection<Long> folderIds);
+
+    // rows of one statement are checked against the parent key one by one, so the links go first
+    @Modifying
+    @Query(value = "update Folder f set f.parentFolder = null where f.id in ?1")
+    int detachAllByIds(Collection<Long> folderIds);
+
+    @Modifying
+    @Query(value = "delete from Folder f where f.id in ?1")
+    int deleteAllByIds(Collection<Long> folderIds);
 }
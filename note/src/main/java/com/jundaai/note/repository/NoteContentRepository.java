@@ -0,0 +1,57 @@
+package com.jundaai.note.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import com.jundaai.note.model.NoteContent;
+import jakarta.persistence.LockModeType;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+
+public interface NoteContentRepository extends JpaRepository<NoteContent, Long> {
+
+    @Query(value = "select c.content from NoteContent c where c.id = ?1")
+    Optional<String> findContentById(Long noteId);
+
+    @Query(value = "select c from NoteContent c where c.id in ?1")
+    List<NoteContent> findAllByNoteIds(Collection<Long> noteIds);
+
+    @Query(value = "select c.version from NoteContent c where c.id = ?1")
+    Optional<Long> findVersionById(Long noteId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = "select c.version from NoteContent c where c.id = ?1")
+    Optional<Long> findVersionForUpdateById(Long noteId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "update NoteContent c set c.content = concat(c.content, ?2), c.version = c.version + 1 " +
+            "where c.id = ?1")
+    int appendContent(Long noteId, String text);
+
+    @Transactional
+    @Modifying
+    @Query(value = "update NoteContent c set c.content = concat(c.content, ?2), c.version = c.version + 1 " +
+            "where c.id = ?1 and c.version = ?3")
+    int appendContent(Long noteId, String text, Long baseVersion);
+
+    @Transactional
+    @Modifying
+    @Query(value = "update NoteContent c set c.content = ?2, c.version = c.version + 1 where c.id = ?1")
+    int updateContent(Long noteId, String content);
+
+    @Transactional
+    @Modifying
+    @Query(value = "update NoteContent c set c.content = ?2, c.version = c.version + 1 " +
+            "where c.id = ?1 and c.version = ?3")
+    int updateContent(Long noteId, String content, Long baseVersion);
+
+    @Modifying
+    @Query(value = "delete from NoteContent c where c.id in (select n.id from Note n where n.folder.id in ?1)")
+    int deleteAllByFolderIds(Collection<Long> folderIds);
+}
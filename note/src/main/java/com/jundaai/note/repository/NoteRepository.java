@@ -1,20 +1,81 @@
 package com.jundaai.note.repository;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import com.jundaai.note.dto.NoteTagLink;
+import com.jundaai.note.dto.NoteText;
 import com.jundaai.note.model.Folder;
 import com.jundaai.note.model.Note;
 import com.jundaai.note.model.Tag;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 
 public interface NoteRepository extends JpaRepository<Note, Long> {
 
+    @Query(value = "select greatest(n.updatedAt, f.updatedAt) from Note n join n.folder f where n.id = ?1")
+    Optional<ZonedDateTime> findVersionById(Long noteId);
+
     @Query(value = "select count(n) > 0 from Note n where n.name = ?1 and n.folder = ?2")
     boolean existsByNameWithSameFolder(String noteName, Folder folder);
 
+    @Query(value = "select n from Note n join fetch n.folder " +
+            "where n.updatedAt < ?1 or (n.updatedAt = ?1 and n.id < ?2) order by n.updatedAt desc, n.id desc")
+    Slice<Note> findAllUpdatedBefore(ZonedDateTime updatedAt, Long id, Pageable pageable);
+
+    @Query(value = "select n from Note n join fetch n.folder " +
+            "where n.name > ?1 or (n.name = ?1 and n.id > ?2) order by n.name, n.id")
+    Slice<Note> findAllNamedAfter(String name, Long id, Pageable pageable);
+
+    @Query(value = "select n from Note n join fetch n.folder f " +
+            "where f.id = ?1 and (n.updatedAt < ?2 or (n.updatedAt = ?2 and n.id < ?3)) " +
+            "order by n.updatedAt desc, n.id desc")
+    Slice<Note> findAllByFolderIdUpdatedBefore(Long folderId, ZonedDateTime updatedAt, Long id, Pageable pageable);
+
+    @Query(value = "select n from Note n join fetch n.folder f " +
+            "where f.id = ?1 and (n.name > ?2 or (n.name = ?2 and n.id > ?3)) order by n.name, n.id")
+    Slice<Note> findAllByFolderIdNamedAfter(Long folderId, String name, Long id, Pageable pageable);
+
+    @Query(value = "select n from Note n join fetch n.folder join n.tags t " +
+            "where t.id = ?1 and (n.updatedAt < ?2 or (n.updatedAt = ?2 and n.id < ?3)) " +
+            "order by n.updatedAt desc, n.id desc")
+    Slice<Note> findAllByTagIdUpdatedBefore(Long tagId, ZonedDateTime updatedAt, Long id, Pageable pageable);
+
+    @Query(value = "select n from Note n join fetch n.folder join n.tags t " +
+            "where t.id = ?1 and (n.name > ?2 or (n.name = ?2 and n.id > ?3)) order by n.name, n.id")
+    Slice<Note> findAllByTagIdNamedAfter(Long tagId, String name, Long id, Pageable pageable);
+
     @Query(value = "select n.tags from Note n where n.id = ?1")
     Optional<List<Tag>> findAllTagsById(Long noteId);
+
+    @Query(value = "select n from Note n join fetch n.folder " +
+            "where n.folder.id in (select c.descendantId from FolderClosure c where c.ancestorId = ?1) order by n.id")
+    @QueryHints(value = {@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Note> streamAllBySubtreeRootId(Long folderId);
+
+    @Query(value = "select new com.jundaai.note.dto.NoteText(n.id, n.folder.id, n.name, c.content) " +
+            "from Note n join NoteContent c on c.id = n.id order by n.id")
+    @QueryHints(value = {@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<NoteText> streamAllTexts();
+
+    @Query(value = "select new com.jundaai.note.dto.NoteTagLink(n.id, t.id, t.name) from Note n join n.tags t " +
+            "where n.id in ?1")
+    List<NoteTagLink> findTagLinksByNoteIds(Collection<Long> noteIds);
+
+    // the tag links of the notes are deleted by the same bulk delete
+    @Modifying
+    @Query(value = "delete from Note n where n.folder.id in ?1")
+    int deleteAllByFolderIds(Collection<Long> folderIds);
 }
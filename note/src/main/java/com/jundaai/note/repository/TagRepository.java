@@ -1,14 +1,30 @@
 package com.jundaai.note.repository;
 
+import java.time.ZonedDateTime;
 import java.util.Optional;
 
+import com.jundaai.note.dto.TagSummary;
 import com.jundaai.note.model.Tag;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 
 public interface TagRepository extends JpaRepository<Tag, Long> {
 
+    @Query(value = "select new com.jundaai.note.dto.TagSummary(t.id, t.name, t.createdAt, t.updatedAt, " +
+            "size(t.notes)) from Tag t where t.updatedAt < ?1 or (t.updatedAt = ?1 and t.id < ?2) " +
+            "order by t.updatedAt desc, t.id desc")
+    Slice<TagSummary> findSummariesUpdatedBefore(ZonedDateTime updatedAt, Long id, Pageable pageable);
+
+    @Query(value = "select new com.jundaai.note.dto.TagSummary(t.id, t.name, t.createdAt, t.updatedAt, " +
+            "size(t.notes)) from Tag t where t.name > ?1 or (t.name = ?1 and t.id > ?2) order by t.name, t.id")
+    Slice<TagSummary> findSummariesNamedAfter(String name, Long id, Pageable pageable);
+
+    @Query(value = "select t.updatedAt from Tag t where t.id = ?1")
+    Optional<ZonedDateTime> findVersionById(Long tagId);
+
     @Query(value = "select count(t) > 0 from Tag t where t.name = ?1")
     boolean existsByName(String name);
 
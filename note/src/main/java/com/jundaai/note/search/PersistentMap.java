@@ -0,0 +1,263 @@
+package com.jundaai.note.search;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+
+final class PersistentMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(BitmapNode.empty(), 0);
+
+    private final Node<K, V> root;
+    private final int size;
+
+    private PersistentMap(Node<K, V> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    V get(K key) {
+        return root.get(key, hash(key), 0);
+    }
+
+    // a new version shares every node off the path to the key, an update copies at most one node per level
+    PersistentMap<K, V> with(K key, V value) {
+        Objects.requireNonNull(value);
+        int hash = hash(key);
+        V previous = root.get(key, hash, 0);
+        if (value.equals(previous)) {
+            return this;
+        }
+        return new PersistentMap<>(root.with(new Entry<>(key, value, hash), 0), previous == null ? size + 1 : size);
+    }
+
+    PersistentMap<K, V> without(K key) {
+        int hash = hash(key);
+        if (root.get(key, hash, 0) == null) {
+            return this;
+        }
+        return size == 1 ? empty() : new PersistentMap<>(root.without(key, hash, 0), size - 1);
+    }
+
+    void forEach(BiConsumer<? super K, ? super V> action) {
+        root.forEach(action);
+    }
+
+    private static int hash(Object key) {
+        int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private record Entry<K, V>(K key, V value, int hash) {
+
+    }
+
+    private interface Node<K, V> {
+
+        V get(K key, int hash, int shift);
+
+        Node<K, V> with(Entry<K, V> entry, int shift);
+
+        Node<K, V> without(K key, int hash, int shift);
+
+        // the only entry of a node left with one, so the parent can inline it
+        Entry<K, V> single();
+
+        void forEach(BiConsumer<? super K, ? super V> action);
+    }
+
+    private static final class BitmapNode<K, V> implements Node<K, V> {
+
+        private static final BitmapNode<?, ?> EMPTY = new BitmapNode<>(0, new Object[0]);
+
+        private final int bitmap;
+        // each slot holds an Entry or a child Node
+        private final Object[] slots;
+
+        private BitmapNode(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <K, V> BitmapNode<K, V> empty() {
+            return (BitmapNode<K, V>) EMPTY;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(K key, int hash, int shift) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            Object slot = slots[index(bit)];
+            if (slot instanceof Entry<?, ?> entry) {
+                return entry.key().equals(key) ? (V) entry.value() : null;
+            }
+            return ((Node<K, V>) slot).get(key, hash, shift + BITS);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Node<K, V> with(Entry<K, V> entry, int shift) {
+            int bit = bit(entry.hash(), shift);
+            int index = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] inserted = new Object[slots.length + 1];
+                System.arraycopy(slots, 0, inserted, 0, index);
+                inserted[index] = entry;
+                System.arraycopy(slots, index, inserted, index + 1, slots.length - index);
+                return new BitmapNode<>(bitmap | bit, inserted);
+            }
+            Object slot = slots[index];
+            if (slot instanceof Entry<?, ?> existing) {
+                Entry<K, V> current = (Entry<K, V>) existing;
+                return replace(index, current.key().equals(entry.key())
+                        ? entry
+                        : merge(current, entry, shift + BITS));
+            }
+            return replace(index, ((Node<K, V>) slot).with(entry, shift + BITS));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Node<K, V> without(K key, int hash, int shift) {
+            int bit = bit(hash, shift);
+            int index = index(bit);
+            Object slot = slots[index];
+            if (slot instanceof Entry<?, ?>) {
+                return remove(bit, index);
+            }
+            Node<K, V> child = ((Node<K, V>) slot).without(key, hash, shift + BITS);
+            Entry<K, V> single = child.single();
+            return replace(index, single == null ? child : single);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> single() {
+            return slots.length == 1 && slots[0] instanceof Entry<?, ?> entry ? (Entry<K, V>) entry : null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEach(BiConsumer<? super K, ? super V> action) {
+            for (Object slot : slots) {
+                if (slot instanceof Entry<?, ?> entry) {
+                    action.accept((K) entry.key(), (V) entry.value());
+                } else {
+                    ((Node<K, V>) slot).forEach(action);
+                }
+            }
+        }
+
+        private BitmapNode<K, V> replace(int index, Object slot) {
+            Object[] replaced = slots.clone();
+            replaced[index] = slot;
+            return new BitmapNode<>(bitmap, replaced);
+        }
+
+        private BitmapNode<K, V> remove(int bit, int index) {
+            Object[] removed = new Object[slots.length - 1];
+            System.arraycopy(slots, 0, removed, 0, index);
+            System.arraycopy(slots, index + 1, removed, index, removed.length - index);
+            return new BitmapNode<>(bitmap & ~bit, removed);
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        private static int bit(int hash, int shift) {
+            return 1 << ((hash >>> shift) & MASK);
+        }
+
+        private static <K, V> Node<K, V> merge(Entry<K, V> first, Entry<K, V> second, int shift) {
+            if (shift >= Integer.SIZE) {
+                return new CollisionNode<>(first, second);
+            }
+            int firstBit = bit(first.hash(), shift);
+            int secondBit = bit(second.hash(), shift);
+            if (firstBit == secondBit) {
+                return new BitmapNode<>(firstBit, new Object[]{merge(first, second, shift + BITS)});
+            }
+            Object[] slots = Integer.compareUnsigned(firstBit, secondBit) < 0
+                    ? new Object[]{first, second}
+                    : new Object[]{second, first};
+            return new BitmapNode<>(firstBit | secondBit, slots);
+        }
+    }
+
+    // every bit of the hash is used up, keys sharing it are kept in a list
+    private static final class CollisionNode<K, V> implements Node<K, V> {
+
+        private final Entry<K, V>[] entries;
+
+        @SafeVarargs
+        private CollisionNode(Entry<K, V>... entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public V get(K key, int hash, int shift) {
+            int index = indexOf(key);
+            return index < 0 ? null : entries[index].value();
+        }
+
+        @Override
+        public Node<K, V> with(Entry<K, V> entry, int shift) {
+            int index = indexOf(entry.key());
+            Entry<K, V>[] updated = Arrays.copyOf(entries, index < 0 ? entries.length + 1 : entries.length);
+            updated[index < 0 ? entries.length : index] = entry;
+            return new CollisionNode<>(updated);
+        }
+
+        @Override
+        public Node<K, V> without(K key, int hash, int shift) {
+            int index = indexOf(key);
+            Entry<K, V>[] removed = Arrays.copyOf(entries, entries.length - 1);
+            if (index < removed.length) {
+                removed[index] = entries[entries.length - 1];
+            }
+            return new CollisionNode<>(removed);
+        }
+
+        @Override
+        public Entry<K, V> single() {
+            return entries.length == 1 ? entries[0] : null;
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super K, ? super V> action) {
+            for (Entry<K, V> entry : entries) {
+                action.accept(entry.key(), entry.value());
+            }
+        }
+
+        private int indexOf(K key) {
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i].key().equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
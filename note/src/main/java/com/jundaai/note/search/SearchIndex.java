@@ -0,0 +1,218 @@
+package com.jundaai.note.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import com.jundaai.note.dto.SearchHit;
+
+
+public final class SearchIndex {
+
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+    static final int NAME_WEIGHT = 2;
+    private static final SearchIndex EMPTY = new SearchIndex(PersistentMap.empty(), PersistentMap.empty(), 0, 0);
+
+    // versions share all postings and documents a write did not touch
+    private final PersistentMap<String, PersistentMap<Long, Integer>> postings;
+    private final PersistentMap<Long, Document> documents;
+    private final int documentCount;
+    private final long totalLength;
+
+    private SearchIndex(PersistentMap<String, PersistentMap<Long, Integer>> postings,
+                        PersistentMap<Long, Document> documents, int documentCount, long totalLength) {
+        this.postings = postings;
+        this.documents = documents;
+        this.documentCount = documentCount;
+        this.totalLength = totalLength;
+    }
+
+    public static SearchIndex empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return documentCount;
+    }
+
+    public Writer writer() {
+        return new Writer(this);
+    }
+
+    public List<SearchHit> search(String query, int size) {
+        if (documentCount == 0 || size <= 0) {
+            return List.of();
+        }
+        double averageLength = (double) totalLength / documentCount;
+        Map<Long, Double> scores = new HashMap<>();
+        for (String term : new LinkedHashSet<>(Tokenizer.tokenize(query))) {
+            PersistentMap<Long, Integer> termPostings = postings.get(term);
+            if (termPostings == null) {
+                continue;
+            }
+            int documentFrequency = termPostings.size();
+            double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            termPostings.forEach((documentId, termFrequency) -> {
+                int length = documents.get(documentId).length();
+                double score = idf * termFrequency * (K1 + 1)
+                        / (termFrequency + K1 * (1 - B + B * length / averageLength));
+                scores.merge(documentId, score, Double::sum);
+            });
+        }
+
+        Comparator<Map.Entry<Long, Double>> ranking = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed());
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(size + 1, ranking);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            if (top.size() < size) {
+                top.add(entry);
+            } else if (ranking.compare(entry, top.peek()) > 0) {
+                top.poll();
+                top.add(entry);
+            }
+        }
+        List<SearchHit> hits = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            Map.Entry<Long, Double> entry = top.poll();
+            Document document = documents.get(entry.getKey());
+            hits.add(new SearchHit(entry.getKey(), document.folderId(), document.name(), entry.getValue()));
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    private record Document(Long folderId, String name, Map<String, Integer> nameTerms,
+                            Map<String, Integer> contentTerms, int length) {
+
+        private static Document of(Long folderId, String name, Map<String, Integer> nameTerms,
+                                   Map<String, Integer> contentTerms) {
+            int length = 0;
+            for (int frequency : nameTerms.values()) {
+                length += NAME_WEIGHT * frequency;
+            }
+            for (int frequency : contentTerms.values()) {
+                length += frequency;
+            }
+            return new Document(folderId, name, nameTerms, contentTerms, length);
+        }
+
+        private Map<String, Integer> termFrequencies() {
+            Map<String, Integer> frequencies = new HashMap<>(contentTerms);
+            nameTerms.forEach((term, frequency) -> frequencies.merge(term, NAME_WEIGHT * frequency, Integer::sum));
+            return frequencies;
+        }
+    }
+
+    public static final class Writer {
+
+        private final SearchIndex base;
+        private final Map<Long, Document> documentChanges = new HashMap<>();
+        private final Map<String, Map<Long, Integer>> postingChanges = new HashMap<>();
+        private int documentCount;
+        private long totalLength;
+
+        private Writer(SearchIndex base) {
+            this.base = base;
+            this.documentCount = base.documentCount;
+            this.totalLength = base.totalLength;
+        }
+
+        public Writer save(Long noteId, Long folderId, String name, String content) {
+            Document previous = document(noteId);
+            Map<String, Integer> nameTerms = name == null && previous != null
+                    ? previous.nameTerms()
+                    : countTerms(name);
+            Map<String, Integer> contentTerms = content == null && previous != null
+                    ? previous.contentTerms()
+                    : countTerms(content);
+            Document document = Document.of(folderId, name == null && previous != null ? previous.name() : name,
+                    nameTerms, contentTerms);
+            return replace(noteId, previous, document);
+        }
+
+        public Writer append(Long noteId, Long folderId, String name, String appendedContent) {
+            Document previous = document(noteId);
+            if (previous == null) {
+                return save(noteId, folderId, name, appendedContent);
+            }
+            // only the appended text is tokenized, a word split across the seam is indexed as two
+            Map<String, Integer> contentTerms = new HashMap<>(previous.contentTerms());
+            countTerms(appendedContent).forEach((term, frequency) ->
+                    contentTerms.merge(term, frequency, Integer::sum));
+            Document document = Document.of(folderId, previous.name(), previous.nameTerms(),
+                    Map.copyOf(contentTerms));
+            return replace(noteId, previous, document);
+        }
+
+        public Writer delete(Long noteId) {
+            Document previous = document(noteId);
+            if (previous != null) {
+                remove(noteId, previous);
+                documentChanges.put(noteId, null);
+            }
+            return this;
+        }
+
+        public SearchIndex build() {
+            // only the touched terms and documents are copied, along their path in the maps
+            PersistentMap<String, PersistentMap<Long, Integer>> postings = base.postings;
+            for (Map.Entry<String, Map<Long, Integer>> termChanges : postingChanges.entrySet()) {
+                PersistentMap<Long, Integer> termPostings = postings.get(termChanges.getKey());
+                if (termPostings == null) {
+                    termPostings = PersistentMap.empty();
+                }
+                for (Map.Entry<Long, Integer> change : termChanges.getValue().entrySet()) {
+                    termPostings = change.getValue() == 0
+                            ? termPostings.without(change.getKey())
+                            : termPostings.with(change.getKey(), change.getValue());
+                }
+                postings = termPostings.isEmpty()
+                        ? postings.without(termChanges.getKey())
+                        : postings.with(termChanges.getKey(), termPostings);
+            }
+            PersistentMap<Long, Document> documents = base.documents;
+            for (Map.Entry<Long, Document> change : documentChanges.entrySet()) {
+                documents = change.getValue() == null
+                        ? documents.without(change.getKey())
+                        : documents.with(change.getKey(), change.getValue());
+            }
+            return new SearchIndex(postings, documents, documentCount, totalLength);
+        }
+
+        private Document document(Long noteId) {
+            return documentChanges.containsKey(noteId) ? documentChanges.get(noteId) : base.documents.get(noteId);
+        }
+
+        private Writer replace(Long noteId, Document previous, Document document) {
+            remove(noteId, previous);
+            documentChanges.put(noteId, document);
+            document.termFrequencies().forEach((term, frequency) ->
+                    postingChanges.computeIfAbsent(term, t -> new HashMap<>()).put(noteId, frequency));
+            documentCount++;
+            totalLength += document.length();
+            return this;
+        }
+
+        private void remove(Long noteId, Document previous) {
+            if (previous == null) {
+                return;
+            }
+            previous.termFrequencies().keySet().forEach(term ->
+                    postingChanges.computeIfAbsent(term, t -> new HashMap<>()).put(noteId, 0));
+            documentCount--;
+            totalLength -= previous.length();
+        }
+
+        private static Map<String, Integer> countTerms(String text) {
+            Map<String, Integer> frequencies = new HashMap<>();
+            Tokenizer.tokenize(text).forEach(token -> frequencies.merge(token, 1, Integer::sum));
+            return Map.copyOf(frequencies);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.jundaai.note.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.jundaai.note.dto.AutosaveReceipt;
+import com.jundaai.note.exception.NoteNotFoundException;
+import com.jundaai.note.repository.NoteContentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+
+@Service
+@Slf4j
+public class AutosaveService implements SmartLifecycle {
+
+    public static final long FLUSH_INTERVAL_MILLIS = 2_000;
+    public static final int MAX_PENDING_NOTES = 10_000;
+    public static final long MAX_PENDING_BYTES = 64L * 1024 * 1024;
+    public static final String ACCEPTED_COUNTER = "note.autosave.accepted";
+    public static final String FLUSHED_COUNTER = "note.autosave.flushed";
+    public static final String PENDING_GAUGE = "note.autosave.pending";
+    public static final String PENDING_BYTES_GAUGE = "note.autosave.pending.bytes";
+    public static final String COALESCING_GAUGE = "note.autosave.coalescing.ratio";
+
+    private final NoteService noteService;
+    private final NoteContentRepository noteContentRepository;
+    private final Map<Long, PendingContent> pending = new ConcurrentHashMap<>();
+    private final Map<Long, ReentrantLock> noteLocks = new ConcurrentHashMap<>();
+    private final AtomicLong pendingBytes = new AtomicLong();
+    private final Counter acceptedCounter;
+    private final Counter flushedCounter;
+    private final MeterRegistry meterRegistry;
+    private volatile ScheduledExecutorService flusher;
+
+    public AutosaveService(NoteService noteService, NoteContentRepository noteContentRepository,
+                           MeterRegistry meterRegistry) {
+        this.noteService = noteService;
+        this.noteContentRepository = noteContentRepository;
+        this.acceptedCounter = meterRegistry.counter(ACCEPTED_COUNTER);
+        this.flushedCounter = meterRegistry.counter(FLUSHED_COUNTER);
+        meterRegistry.gauge(PENDING_GAUGE, pending, Map::size);
+        meterRegistry.gauge(PENDING_BYTES_GAUGE, pendingBytes);
+        meterRegistry.gauge(COALESCING_GAUGE, this, AutosaveService::getCoalescingRatio);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void start() {
+        flusher = BackgroundTasks.newScheduler("autosave-flusher", meterRegistry);
+        flusher.scheduleWithFixedDelay(this::flushAll, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (flusher != null) {
+            BackgroundTasks.shutdown(flusher, FLUSH_INTERVAL_MILLIS);
+        }
+        log.info("Flushing {} pending autosaves", pending.size());
+        flushAll();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return flusher != null && !flusher.isShutdown();
+    }
+
+    @Override
+    public int getPhase() {
+        return BackgroundTasks.PHASE;
+    }
+
+    public AutosaveReceipt autosave(Long noteId, String content) {
+        log.info("Autosave note id: {}, content length: {}", noteId, content.length());
+        PendingContent buffered = buffer(noteId, content);
+        acceptedCounter.increment();
+        if (pendingBytes.get() > MAX_PENDING_BYTES || pending.size() > MAX_PENDING_NOTES) {
+            // past either bound the save is written through instead of growing the buffer
+            flush(noteId);
+        }
+        return new AutosaveReceipt(noteId, buffered.version());
+    }
+
+    public void flush(Long noteId) {
+        if (!pending.containsKey(noteId)) {
+            return;
+        }
+        ReentrantLock lock = lockNote(noteId);
+        try {
+            PendingContent flushing = pending.computeIfPresent(noteId, (id, content) -> content.flushing());
+            if (flushing != null) {
+                write(noteId, flushing);
+            }
+        } finally {
+            unlockNote(noteId, lock);
+        }
+    }
+
+    public void flushAll() {
+        for (Long noteId : pending.keySet()) {
+            try {
+                flush(noteId);
+            } catch (RuntimeException runtimeException) {
+                log.error("Failed to flush autosave of note id: {}", noteId, runtimeException);
+            }
+        }
+    }
+
+    public void discard(Long noteId) {
+        PendingContent discarded = pending.remove(noteId);
+        if (discarded != null) {
+            pendingBytes.addAndGet(-discarded.bytes());
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public long getPendingBytes() {
+        return pendingBytes.get();
+    }
+
+    public double getCoalescingRatio() {
+        double flushed = flushedCounter.count();
+        return flushed == 0 ? 0 : acceptedCounter.count() / flushed;
+    }
+
+    private PendingContent buffer(Long noteId, String content) {
+        // a save landing on a pending entry joins its burst without touching the database
+        PendingContent joined = pending.computeIfPresent(noteId, (id, older) -> replace(older, older.next(content)));
+        if (joined != null) {
+            return joined;
+        }
+        ReentrantLock lock = lockNote(noteId);
+        try {
+            // the first save of a burst reads the content version its write will advance, no flush runs meanwhile
+            long version = noteContentRepository.findVersionById(noteId)
+                    .orElseThrow(() -> new NoteNotFoundException(noteId));
+            return pending.compute(noteId, (id, older) -> replace(older, older == null
+                    ? new PendingContent(content, version + 1, false)
+                    : older.next(content)));
+        } finally {
+            unlockNote(noteId, lock);
+        }
+    }
+
+    private void write(Long noteId, PendingContent content) {
+        try {
+            noteService.autosaveNoteById(noteId, content.content());
+            flushedCounter.increment();
+            removeWritten(noteId, content);
+        } catch (NoteNotFoundException noteNotFoundException) {
+            log.info("Dropping autosave version: {} of deleted note id: {}", content.version(), noteId);
+            removeWritten(noteId, content);
+        } catch (RuntimeException runtimeException) {
+            // keep the content for the next flush, a newer save takes over the version this write did not use
+            pending.computeIfPresent(noteId, (id, current) -> current.equals(content)
+                    ? content.retry()
+                    : new PendingContent(current.content(), content.version(), false));
+            throw runtimeException;
+        }
+    }
+
+    private void removeWritten(Long noteId, PendingContent content) {
+        // a save that arrived during the write stays pending for the next flush
+        if (pending.remove(noteId, content)) {
+            pendingBytes.addAndGet(-content.bytes());
+        }
+    }
+
+    private PendingContent replace(PendingContent older, PendingContent newer) {
+        pendingBytes.addAndGet(newer.bytes() - (older == null ? 0 : older.bytes()));
+        return newer;
+    }
+
+    private ReentrantLock lockNote(Long noteId) {
+        while (true) {
+            ReentrantLock lock = noteLocks.computeIfAbsent(noteId, id -> new ReentrantLock());
+            lock.lock();
+            // a lock dropped by unlockNote while this thread waited is retried on the current one
+            if (noteLocks.get(noteId) == lock) {
+                return lock;
+            }
+            lock.unlock();
+        }
+    }
+
+    private void unlockNote(Long noteId, ReentrantLock lock) {
+        if (!pending.containsKey(noteId) && !lock.hasQueuedThreads()) {
+            noteLocks.remove(noteId, lock);
+        }
+        lock.unlock();
+    }
+
+    private record PendingContent(String content, long version, boolean inFlight) {
+
+        private PendingContent flushing() {
+            return new PendingContent(content, version, true);
+        }
+
+        private PendingContent retry() {
+            return new PendingContent(content, version, false);
+        }
+
+        private PendingContent next(String newer) {
+            // content arriving while a write is in flight needs a write, and a version, of its own
+            return new PendingContent(newer, inFlight ? version + 1 : version, false);
+        }
+
+        private long bytes() {
+            // UTF-16 upper bound, compact strings may take half of it
+            return 2L * content.length();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.jundaai.note.service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+
+final class BackgroundTasks {
+
+    // below the web server's phases: started before it takes requests, stopped once it no longer does
+    static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 2048;
+
+    private BackgroundTasks() {
+    }
+
+    static ScheduledExecutorService newScheduler(String name, MeterRegistry meterRegistry) {
+        return ExecutorServiceMetrics.monitor(meterRegistry,
+                new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory(name + "-")), name);
+    }
+
+    // a thread per running task, idle threads end after a minute
+    static ExecutorService newCachedPool(String name, MeterRegistry meterRegistry) {
+        return ExecutorServiceMetrics.monitor(meterRegistry, new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60,
+                TimeUnit.SECONDS, new SynchronousQueue<>(), new CustomizableThreadFactory(name + "-")), name);
+    }
+
+    static void shutdown(ExecutorService executor, long timeoutMillis) {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
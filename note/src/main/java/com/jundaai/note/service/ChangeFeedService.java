@@ -0,0 +1,174 @@
+package com.jundaai.note.service;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.jundaai.note.config.MetricsConfig;
+import com.jundaai.note.dto.ChangeCursor;
+import com.jundaai.note.dto.ChangeEntityType;
+import com.jundaai.note.dto.ChangePage;
+import com.jundaai.note.dto.ChangeType;
+import com.jundaai.note.dto.EntityChange;
+import com.jundaai.note.event.EntitiesChangedEvent;
+import com.jundaai.note.model.ChangeLog;
+import com.jundaai.note.model.Folder;
+import com.jundaai.note.model.Note;
+import com.jundaai.note.model.Tag;
+import com.jundaai.note.repository.ChangeLogRepository;
+import com.jundaai.note.repository.FolderRepository;
+import com.jundaai.note.repository.NoteRepository;
+import com.jundaai.note.repository.TagRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+@Slf4j
+public class ChangeFeedService {
+
+    private final ChangeLogRepository changeLogRepository;
+    private final FolderRepository folderRepository;
+    private final NoteRepository noteRepository;
+    private final TagRepository tagRepository;
+    private final ChangeSequencer changeSequencer;
+
+    public ChangeFeedService(ChangeLogRepository changeLogRepository, FolderRepository folderRepository,
+                             NoteRepository noteRepository, TagRepository tagRepository,
+                             ChangeSequencer changeSequencer) {
+        this.changeLogRepository = changeLogRepository;
+        this.folderRepository = folderRepository;
+        this.noteRepository = noteRepository;
+        this.tagRepository = tagRepository;
+        this.changeSequencer = changeSequencer;
+    }
+
+    @EventListener
+    public void onEntitiesChanged(EntitiesChangedEvent event) {
+        if (event.ids().isEmpty()) {
+            return;
+        }
+        ZonedDateTime now = ZonedDateTime.now();
+        List<Long> folderIds = event.folderIds();
+        Long folderId = folderIds.isEmpty() ? null : folderIds.get(0);
+        Long toFolderId = folderIds.size() < 2 ? null : folderIds.get(1);
+        Long tagId = event.tagIds().isEmpty() ? null : event.tagIds().get(0);
+        changeLogRepository.saveAll(event.ids().stream()
+                .map(entityId -> ChangeLog.builder()
+                        .entityType(event.entityType())
+                        .entityId(entityId)
+                        .changeType(event.changeType())
+                        .changedAt(now)
+                        .folderId(folderId)
+                        .toFolderId(toFolderId)
+                        .tagId(tagId)
+                        .build())
+                .toList());
+        // entries become visible to readers once sequenced, which only happens after they commit
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changeSequencer.request();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                changeSequencer.request();
+            }
+        });
+    }
+
+    public String getLatestCursor() {
+        log.info("Get latest change cursor");
+        changeSequencer.sequencePending();
+        return new ChangeCursor(changeLogRepository.findLatestSequence()).encode();
+    }
+
+    public ChangePage getChanges(String cursor, int size) {
+        log.info("Get changes, cursor: {}, size: {}", cursor, size);
+        long after = ChangeCursor.decode(cursor).sequence();
+        // entries committed just before this read are sequenced now rather than on the next pass
+        changeSequencer.sequencePending();
+        Slice<ChangeLog> entries = changeLogRepository.findAllAfter(after, PageRequest.ofSize(size));
+        if (!entries.hasContent()) {
+            return new ChangePage(List.of(), new ChangeCursor(after).encode(), false);
+        }
+
+        Map<String, ChangeLog> latest = new LinkedHashMap<>();
+        Set<String> created = new HashSet<>();
+        for (ChangeLog entry : entries) {
+            String key = entry.getEntityType() + ":" + entry.getEntityId();
+            if (entry.getChangeType() == ChangeType.CREATED) {
+                created.add(key);
+            }
+            latest.remove(key);
+            latest.put(key, entry);
+        }
+
+        Map<Long, Folder> folders = load(latest.values(), ChangeEntityType.FOLDER, folderRepository::findAllById,
+                Folder::getId);
+        Map<Long, Note> notes = load(latest.values(), ChangeEntityType.NOTE, noteRepository::findAllById,
+                Note::getId);
+        Map<Long, Tag> tags = load(latest.values(), ChangeEntityType.TAG, tagRepository::findAllById, Tag::getId);
+        List<EntityChange> changes = latest.entrySet().stream()
+                .map(latestEntry -> {
+                    ChangeLog entry = latestEntry.getValue();
+                    ChangeType changeType = entry.getChangeType() == ChangeType.UPDATED
+                            && created.contains(latestEntry.getKey()) ? ChangeType.CREATED : entry.getChangeType();
+                    return switch (entry.getEntityType()) {
+                        case FOLDER -> toChange(entry, changeType, folders.get(entry.getEntityId()),
+                                Folder::getName,
+                                folder -> folder.getParentFolder() == null ? null : folder.getParentFolder().getId(),
+                                Folder::getUpdatedAt);
+                        case NOTE -> toChange(entry, changeType, notes.get(entry.getEntityId()), Note::getName,
+                                note -> note.getFolder().getId(), Note::getUpdatedAt);
+                        case TAG -> toChange(entry, changeType, tags.get(entry.getEntityId()), Tag::getName,
+                                tag -> null, Tag::getUpdatedAt);
+                    };
+                })
+                .toList();
+        Long last = entries.getContent().get(entries.getNumberOfElements() - 1).getSequence();
+        return new ChangePage(changes, new ChangeCursor(last).encode(), entries.hasNext());
+    }
+
+    private static <T> Map<Long, T> load(Collection<ChangeLog> entries, ChangeEntityType entityType,
+                                         Function<List<Long>, List<T>> finder, Function<T, Long> idOf) {
+        List<Long> ids = entries.stream()
+                .filter(entry -> entry.getEntityType() == entityType && entry.getChangeType() != ChangeType.DELETED)
+                .map(ChangeLog::getEntityId)
+                .toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return finder.apply(ids).stream().collect(Collectors.toMap(idOf, Function.identity()));
+    }
+
+    private static <T> EntityChange toChange(ChangeLog entry, ChangeType changeType, T entity,
+                                             Function<T, String> nameOf, Function<T, Long> parentIdOf,
+                                             Function<T, ZonedDateTime> updatedAtOf) {
+        EntityChange.EntityChangeBuilder change = EntityChange.builder()
+                .sequence(entry.getSequence())
+                .entityType(entry.getEntityType())
+                .id(entry.getEntityId());
+        if (entity == null) {
+            return change.changeType(ChangeType.DELETED).build();
+        }
+        return change.changeType(changeType)
+                .name(nameOf.apply(entity))
+                .parentId(parentIdOf.apply(entity))
+                .updatedAt(updatedAtOf.apply(entity))
+                .build();
+    }
+}
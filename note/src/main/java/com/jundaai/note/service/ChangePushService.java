@@ -0,0 +1,441 @@
+package com.jundaai.note.service;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import com.jundaai.note.dto.ChangeCursor;
+import com.jundaai.note.dto.ChangeEntityType;
+import com.jundaai.note.dto.ChangeType;
+import com.jundaai.note.dto.EntityChange;
+import com.jundaai.note.dto.NoteTagLink;
+import com.jundaai.note.event.ChangesSequencedEvent;
+import com.jundaai.note.exception.FolderNotFoundException;
+import com.jundaai.note.exception.TagNotFoundException;
+import com.jundaai.note.model.ChangeLog;
+import com.jundaai.note.model.FolderClosure;
+import com.jundaai.note.push.ChangeSubscription;
+import com.jundaai.note.repository.ChangeLogRepository;
+import com.jundaai.note.repository.FolderClosureRepository;
+import com.jundaai.note.repository.FolderRepository;
+import com.jundaai.note.repository.NoteRepository;
+import com.jundaai.note.repository.TagRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+
+@Service
+@Slf4j
+public class ChangePushService implements SmartLifecycle {
+
+    public static final int BUFFER_CAPACITY = 256;
+    public static final long HEARTBEAT_SECONDS = 30;
+    public static final long TAIL_INTERVAL_MILLIS = 1_000;
+    public static final int TAIL_BATCH_SIZE = 500;
+    // clients reconnect with their last cursor, so a stream is not kept open forever
+    public static final long SUBSCRIPTION_TIMEOUT_MILLIS = 30 * 60 * 1_000;
+    public static final long SEND_TIMEOUT_MILLIS = 5_000;
+    public static final long STALL_CHECK_INTERVAL_MILLIS = 1_000;
+    public static final String SUBSCRIBERS_GAUGE = "note.push.subscribers";
+    public static final String OVERFLOW_COUNTER = "note.push.overflows";
+    public static final String STALLED_COUNTER = "note.push.stalled";
+
+    private final FolderRepository folderRepository;
+    private final FolderClosureRepository folderClosureRepository;
+    private final NoteRepository noteRepository;
+    private final TagRepository tagRepository;
+    private final ChangeFeedService changeFeedService;
+    private final ChangeLogRepository changeLogRepository;
+    private final Map<Long, Set<ChangeSubscription>> folderSubscriptions = new ConcurrentHashMap<>();
+    private final Map<Long, Set<ChangeSubscription>> tagSubscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong pushedSequence = new AtomicLong();
+    private final AtomicLong latestSequence = new AtomicLong();
+    private final AtomicBoolean tailRequested = new AtomicBoolean();
+    private final AtomicBoolean tailing = new AtomicBoolean();
+    private final Counter overflowCounter;
+    private final Counter stalledCounter;
+    private final MeterRegistry meterRegistry;
+    private volatile ScheduledExecutorService scheduler;
+    private volatile ExecutorService writers;
+
+    public ChangePushService(FolderRepository folderRepository, FolderClosureRepository folderClosureRepository,
+                             NoteRepository noteRepository, TagRepository tagRepository,
+                             ChangeFeedService changeFeedService, ChangeLogRepository changeLogRepository,
+                             MeterRegistry meterRegistry) {
+        this.folderRepository = folderRepository;
+        this.folderClosureRepository = folderClosureRepository;
+        this.noteRepository = noteRepository;
+        this.tagRepository = tagRepository;
+        this.changeFeedService = changeFeedService;
+        this.changeLogRepository = changeLogRepository;
+        meterRegistry.gauge(SUBSCRIBERS_GAUGE, subscriberCount);
+        this.overflowCounter = meterRegistry.counter(OVERFLOW_COUNTER);
+        this.stalledCounter = meterRegistry.counter(STALLED_COUNTER);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void start() {
+        // idle subscriptions hold no thread, a subscription with buffered changes is drained on a writer of its own,
+        // so a client that stops reading blocks only its own send
+        writers = BackgroundTasks.newCachedPool("change-push-writer", meterRegistry);
+        scheduler = BackgroundTasks.newScheduler("change-push", meterRegistry);
+        scheduler.scheduleAtFixedRate(this::sendHeartbeats, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+        // changes sequenced by other instances raise no event here, subscribers still get them from the poll
+        scheduler.scheduleWithFixedDelay(this::pollTail, TAIL_INTERVAL_MILLIS, TAIL_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::dropStalled, STALL_CHECK_INTERVAL_MILLIS,
+                STALL_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            writers.shutdownNow();
+        }
+        forEachSubscription(this::complete);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null && !scheduler.isShutdown();
+    }
+
+    @Override
+    public int getPhase() {
+        return BackgroundTasks.PHASE;
+    }
+
+    public SseEmitter subscribeToFolder(Long folderId) {
+        log.info("Subscribe to changes under folder id: {}", folderId);
+        if (!folderRepository.existsById(folderId)) {
+            throw new FolderNotFoundException(folderId);
+        }
+        return subscribe(ChangeSubscription.Scope.FOLDER, folderId, folderSubscriptions);
+    }
+
+    public SseEmitter subscribeToTag(Long tagId) {
+        log.info("Subscribe to changes of tag id: {}", tagId);
+        if (!tagRepository.existsById(tagId)) {
+            throw new TagNotFoundException("id: " + tagId);
+        }
+        return subscribe(ChangeSubscription.Scope.TAG, tagId, tagSubscriptions);
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @EventListener
+    public void onChangesSequenced(ChangesSequencedEvent event) {
+        latestSequence.accumulateAndGet(event.lastSequence(), Math::max);
+        requestTail();
+    }
+
+    private SseEmitter subscribe(ChangeSubscription.Scope scope, Long scopeId,
+                                 Map<Long, Set<ChangeSubscription>> registry) {
+        String cursor = changeFeedService.getLatestCursor();
+        if (subscriberCount.get() == 0) {
+            // the first subscriber starts the tail at its cursor, later ones join wherever the tail is
+            pushedSequence.accumulateAndGet(ChangeCursor.decode(cursor).sequence(), Math::max);
+        }
+        SseEmitter emitter = newEmitter();
+        ChangeSubscription subscription = new ChangeSubscription(scope, scopeId, emitter, BUFFER_CAPACITY);
+        registry.compute(scopeId, (id, subscriptions) -> {
+            Set<ChangeSubscription> registered = subscriptions == null ? ConcurrentHashMap.newKeySet()
+                    : subscriptions;
+            registered.add(subscription);
+            return registered;
+        });
+        subscriberCount.incrementAndGet();
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(throwable -> unsubscribe(subscription));
+        try {
+            // clients resume from this cursor on the change feed after a disconnect or an overflow
+            emitter.send(SseEmitter.event()
+                    .name(ChangeSubscription.CURSOR_EVENT)
+                    .data(cursor));
+        } catch (IOException ioException) {
+            unsubscribe(subscription);
+            emitter.completeWithError(ioException);
+        }
+        return emitter;
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(SUBSCRIPTION_TIMEOUT_MILLIS);
+    }
+
+    private void unsubscribe(ChangeSubscription subscription) {
+        subscription.close();
+        Map<Long, Set<ChangeSubscription>> registry = subscription.scope() == ChangeSubscription.Scope.FOLDER
+                ? folderSubscriptions : tagSubscriptions;
+        registry.computeIfPresent(subscription.scopeId(), (id, subscriptions) -> {
+            if (subscriptions.remove(subscription)) {
+                subscriberCount.decrementAndGet();
+            }
+            return subscriptions.isEmpty() ? null : subscriptions;
+        });
+    }
+
+    private void pollTail() {
+        if (subscriberCount.get() > 0) {
+            requestTail();
+        }
+    }
+
+    private void requestTail() {
+        tailRequested.set(true);
+        ScheduledExecutorService scheduler = this.scheduler;
+        if (scheduler == null || !tailing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            scheduler.execute(this::tail);
+        } catch (RejectedExecutionException rejectedExecutionException) {
+            tailing.set(false);
+        }
+    }
+
+    private void tail() {
+        try {
+            while (tailRequested.getAndSet(false)) {
+                pushSequenced();
+            }
+        } catch (RuntimeException runtimeException) {
+            log.error("Failed to push changes after sequence: {}", pushedSequence.get(), runtimeException);
+        } finally {
+            tailing.set(false);
+        }
+        if (tailRequested.get()) {
+            requestTail();
+        }
+    }
+
+    private void pushSequenced() {
+        if (subscriberCount.get() == 0) {
+            pushedSequence.accumulateAndGet(latestSequence.get(), Math::max);
+            return;
+        }
+        // the sequenced log is the only source, so writes of every instance and of the reactive service are pushed
+        Slice<ChangeLog> entries;
+        do {
+            entries = changeLogRepository.findAllAfter(pushedSequence.get(), PageRequest.ofSize(TAIL_BATCH_SIZE));
+            if (!entries.hasContent()) {
+                return;
+            }
+            push(entries.getContent());
+            pushedSequence.accumulateAndGet(entries.getContent().get(entries.getNumberOfElements() - 1)
+                    .getSequence(), Math::max);
+        } while (entries.hasNext());
+    }
+
+    private void push(List<ChangeLog> entries) {
+        Map<Long, Set<Long>> ancestors = folderSubscriptions.isEmpty() ? Map.of() : ancestorsOf(entries);
+        Map<Long, Set<Long>> noteTags = tagSubscriptions.isEmpty() ? Map.of() : tagsOf(entries);
+        Set<ChangeSubscription> delivered = new HashSet<>();
+        for (ChangeLog entry : entries) {
+            Set<ChangeSubscription> targets = new HashSet<>();
+            if (!folderSubscriptions.isEmpty()) {
+                collectFolderTargets(entry, ancestors, targets);
+            }
+            if (!tagSubscriptions.isEmpty()) {
+                collectTagTargets(entry, noteTags, targets);
+            }
+            if (targets.isEmpty()) {
+                continue;
+            }
+            EntityChange change = EntityChange.builder()
+                    .sequence(entry.getSequence())
+                    .entityType(entry.getEntityType())
+                    .id(entry.getEntityId())
+                    .changeType(entry.getChangeType())
+                    .build();
+            targets.forEach(subscription -> offer(subscription, change));
+            delivered.addAll(targets);
+        }
+        delivered.forEach(this::schedule);
+    }
+
+    private Map<Long, Set<Long>> ancestorsOf(List<ChangeLog> entries) {
+        Set<Long> folderIds = entries.stream()
+                .flatMap(entry -> Arrays.asList(entry.getFolderId(), entry.getToFolderId()).stream())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (folderIds.isEmpty()) {
+            return Map.of();
+        }
+        return folderClosureRepository.findAllByDescendantIds(folderIds).stream()
+                .collect(Collectors.groupingBy(FolderClosure::getDescendantId,
+                        Collectors.mapping(FolderClosure::getAncestorId, Collectors.toSet())));
+    }
+
+    private Map<Long, Set<Long>> tagsOf(List<ChangeLog> entries) {
+        Set<Long> noteIds = entries.stream()
+                .filter(entry -> entry.getEntityType() == ChangeEntityType.NOTE
+                        && entry.getChangeType() == ChangeType.UPDATED)
+                .map(ChangeLog::getEntityId)
+                .collect(Collectors.toSet());
+        if (noteIds.isEmpty()) {
+            return Map.of();
+        }
+        return noteRepository.findTagLinksByNoteIds(noteIds).stream()
+                .collect(Collectors.groupingBy(NoteTagLink::noteId,
+                        Collectors.mapping(NoteTagLink::tagId, Collectors.toSet())));
+    }
+
+    private void collectFolderTargets(ChangeLog entry, Map<Long, Set<Long>> ancestors,
+                                      Set<ChangeSubscription> targets) {
+        Set<Long> scopes = new HashSet<>();
+        if (entry.getEntityType() == ChangeEntityType.FOLDER) {
+            scopes.add(entry.getEntityId());
+        }
+        for (Long folderId : Arrays.asList(entry.getFolderId(), entry.getToFolderId())) {
+            if (folderId == null) {
+                continue;
+            }
+            Set<Long> folderAncestors = ancestors.get(folderId);
+            if (folderAncestors == null) {
+                // the folder was deleted before the change got pushed, every folder subscriber gets it
+                folderSubscriptions.values().forEach(targets::addAll);
+                return;
+            }
+            scopes.addAll(folderAncestors);
+        }
+        collect(folderSubscriptions, scopes, targets);
+    }
+
+    private void collectTagTargets(ChangeLog entry, Map<Long, Set<Long>> noteTags,
+                                   Set<ChangeSubscription> targets) {
+        Set<Long> scopes = new HashSet<>();
+        switch (entry.getEntityType()) {
+        case TAG -> scopes.add(entry.getEntityId());
+        case NOTE -> {
+            if (entry.getChangeType() == ChangeType.DELETED) {
+                // tag links of deleted notes are gone by now, every tag subscriber gets the tombstones
+                tagSubscriptions.values().forEach(targets::addAll);
+                return;
+            }
+            if (entry.getTagId() != null) {
+                scopes.add(entry.getTagId());
+            }
+            scopes.addAll(noteTags.getOrDefault(entry.getEntityId(), Set.of()));
+        }
+        case FOLDER -> {
+        }
+        }
+        collect(tagSubscriptions, scopes, targets);
+    }
+
+    private static void collect(Map<Long, Set<ChangeSubscription>> registry, Collection<Long> scopes,
+                                Set<ChangeSubscription> targets) {
+        for (Long scope : scopes) {
+            Set<ChangeSubscription> subscriptions = registry.get(scope);
+            if (subscriptions != null) {
+                targets.addAll(subscriptions);
+            }
+        }
+    }
+
+    private void offer(ChangeSubscription subscription, EntityChange change) {
+        boolean overflowed = subscription.isOverflowed();
+        if (!subscription.offer(change) && !overflowed && subscription.isOverflowed()) {
+            log.warn("Change buffer of {} subscription to id: {} overflowed", subscription.scope(),
+                    subscription.scopeId());
+            overflowCounter.increment();
+        }
+    }
+
+    private void sendHeartbeats() {
+        forEachSubscription(this::heartbeat);
+    }
+
+    private void dropStalled() {
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(SEND_TIMEOUT_MILLIS);
+        forEachSubscription(subscription -> {
+            if (subscription.stallIfSendingLongerThan(timeoutNanos)) {
+                log.warn("Dropping {} subscription to id: {}, a send blocked for over {} ms", subscription.scope(),
+                        subscription.scopeId(), SEND_TIMEOUT_MILLIS);
+                stalledCounter.increment();
+                unsubscribe(subscription);
+            }
+        });
+    }
+
+    private void forEachSubscription(Consumer<ChangeSubscription> action) {
+        folderSubscriptions.values().forEach(subscriptions -> subscriptions.forEach(action));
+        tagSubscriptions.values().forEach(subscriptions -> subscriptions.forEach(action));
+    }
+
+    private void heartbeat(ChangeSubscription subscription) {
+        subscription.requestHeartbeat();
+        schedule(subscription);
+    }
+
+    private void schedule(ChangeSubscription subscription) {
+        ExecutorService writers = this.writers;
+        if (writers == null || !subscription.hasPending() || !subscription.startDraining()) {
+            return;
+        }
+        try {
+            writers.execute(() -> drain(subscription));
+        } catch (RejectedExecutionException rejectedExecutionException) {
+            subscription.finishDraining();
+        }
+    }
+
+    private void drain(ChangeSubscription subscription) {
+        try {
+            subscription.drain();
+        } catch (IOException | IllegalStateException exception) {
+            log.info("Dropping {} subscription to id: {}, {}", subscription.scope(), subscription.scopeId(),
+                    exception.getMessage());
+            unsubscribe(subscription);
+            subscription.emitter().completeWithError(exception);
+            return;
+        } finally {
+            subscription.finishDraining();
+        }
+        if (subscription.isStalled()) {
+            // the emitter could not be completed while the stalled send held it
+            subscription.emitter().complete();
+        } else if (subscription.isClosed()) {
+            unsubscribe(subscription);
+        } else {
+            schedule(subscription);
+        }
+    }
+
+    private void complete(ChangeSubscription subscription) {
+        subscription.close();
+        // a send still blocked holds the emitter, its connection goes with the server
+        if (!subscription.isSending()) {
+            subscription.emitter().complete();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.jundaai.note.service;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.jundaai.note.event.ChangesSequencedEvent;
+import com.jundaai.note.model.ChangeLog;
+import com.jundaai.note.model.ChangeSequence;
+import com.jundaai.note.repository.ChangeLogRepository;
+import com.jundaai.note.repository.ChangeSequenceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+
+@Component
+@Slf4j
+public class ChangeSequencer implements SmartLifecycle {
+
+    public static final long SEQUENCE_INTERVAL_MILLIS = 200;
+    public static final int BATCH_SIZE = 500;
+    public static final String SEQUENCED_COUNTER = "change.log.sequenced";
+    static final long COUNTER_ID = 1L;
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ChangeSequenceRepository changeSequenceRepository;
+    private final TransactionTemplate requiresNew;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter sequencedCounter;
+    private final AtomicBoolean requested = new AtomicBoolean();
+    private final MeterRegistry meterRegistry;
+    private volatile ScheduledExecutorService sequencer;
+
+    public ChangeSequencer(ChangeLogRepository changeLogRepository, ChangeSequenceRepository changeSequenceRepository,
+                           PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+                           MeterRegistry meterRegistry) {
+        this.changeLogRepository = changeLogRepository;
+        this.changeSequenceRepository = changeSequenceRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+        this.sequencedCounter = meterRegistry.counter(SEQUENCED_COUNTER);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void start() {
+        sequencer = BackgroundTasks.newScheduler("change-sequencer", meterRegistry);
+        // entries written by other processes, the reactive service included, are picked up by polling
+        sequencer.scheduleWithFixedDelay(this::sequencePending, SEQUENCE_INTERVAL_MILLIS,
+                SEQUENCE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (sequencer != null) {
+            BackgroundTasks.shutdown(sequencer, SEQUENCE_INTERVAL_MILLIS);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return sequencer != null && !sequencer.isShutdown();
+    }
+
+    @Override
+    public int getPhase() {
+        return BackgroundTasks.PHASE;
+    }
+
+    public void request() {
+        // before start or after stop the entries wait for the next polling pass
+        if (!isRunning() || !requested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sequencer.execute(() -> {
+                requested.set(false);
+                sequencePending();
+            });
+        } catch (RejectedExecutionException rejectedExecutionException) {
+            requested.set(false);
+        }
+    }
+
+    public int sequencePending() {
+        try {
+            if (!changeLogRepository.existsBySequenceIsNull()) {
+                return 0;
+            }
+            int sequenced = 0;
+            Batch batch;
+            do {
+                batch = requiresNew.execute(status -> sequenceBatch());
+                if (batch == null || batch.size() == 0) {
+                    break;
+                }
+                sequenced += batch.size();
+                // listeners run on this thread, once the sequences are committed
+                eventPublisher.publishEvent(new ChangesSequencedEvent(batch.lastSequence()));
+            } while (batch.size() == BATCH_SIZE);
+            sequencedCounter.increment(sequenced);
+            return sequenced;
+        } catch (RuntimeException runtimeException) {
+            // unsequenced entries stay invisible until a later pass gets them
+            log.error("Failed to sequence change log", runtimeException);
+            return 0;
+        }
+    }
+
+    private Batch sequenceBatch() {
+        // the counter row lock orders sequencing across processes, entries get their sequence in commit order
+        ChangeSequence counter = changeSequenceRepository.findForUpdateById(COUNTER_ID)
+                .orElseGet(() -> changeSequenceRepository.save(new ChangeSequence(COUNTER_ID,
+                        changeLogRepository.findLatestSequence())));
+        List<ChangeLog> entries = changeLogRepository.findUnsequenced(PageRequest.ofSize(BATCH_SIZE));
+        long sequence = counter.getLastSequence();
+        for (ChangeLog entry : entries) {
+            entry.setSequence(++sequence);
+        }
+        counter.setLastSequence(sequence);
+        return new Batch(entries.size(), sequence);
+    }
+
+    private record Batch(int size, long lastSequence) {
+
+    }
+}
@@ -0,0 +1,504 @@
+package com.jundaai.note.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.jundaai.note.dto.ChangeEntityType;
+import com.jundaai.note.dto.ChangeType;
+import com.jundaai.note.dto.ExchangeRecord;
+import com.jundaai.note.dto.FolderSummary;
+import com.jundaai.note.dto.FolderTreeNode;
+import com.jundaai.note.dto.ImportReport;
+import com.jundaai.note.dto.NoteSummary;
+import com.jundaai.note.dto.NoteTagLink;
+import com.jundaai.note.dto.NoteText;
+import com.jundaai.note.event.EntitiesChangedEvent;
+import com.jundaai.note.event.NotesSavedEvent;
+import com.jundaai.note.exception.BadRequestException;
+import com.jundaai.note.exception.FolderNameBlankException;
+import com.jundaai.note.exception.FolderNameConflictException;
+import com.jundaai.note.exception.FolderNotFoundException;
+import com.jundaai.note.exception.NoteNameBlankException;
+import com.jundaai.note.exception.NoteNameConflictException;
+import com.jundaai.note.exception.RootPreservationException;
+import com.jundaai.note.exception.TagNameBlankException;
+import com.jundaai.note.model.Folder;
+import com.jundaai.note.model.FolderClosure;
+import com.jundaai.note.model.Note;
+import com.jundaai.note.model.NoteContent;
+import com.jundaai.note.model.Tag;
+import com.jundaai.note.repository.FolderClosureRepository;
+import com.jundaai.note.repository.FolderRepository;
+import com.jundaai.note.repository.NoteContentRepository;
+import com.jundaai.note.repository.NoteRepository;
+import com.jundaai.note.repository.TagRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+
+@Service
+@Slf4j
+public class ExchangeService {
+
+    public static final int IMPORT_CHUNK_SIZE = 500;
+    public static final int EXPORT_BATCH_SIZE = 500;
+
+    private final FolderRepository folderRepository;
+    private final FolderClosureRepository folderClosureRepository;
+    private final NoteRepository noteRepository;
+    private final NoteContentRepository noteContentRepository;
+    private final TagRepository tagRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    public ExchangeService(FolderRepository folderRepository, FolderClosureRepository folderClosureRepository,
+                           NoteRepository noteRepository, NoteContentRepository noteContentRepository,
+                           TagRepository tagRepository, EntityManager entityManager, ObjectMapper objectMapper,
+                           ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
+        this.folderRepository = folderRepository;
+        this.folderClosureRepository = folderClosureRepository;
+        this.noteRepository = noteRepository;
+        this.noteContentRepository = noteContentRepository;
+        this.tagRepository = tagRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    public StreamingResponseBody exportFolder(Long folderId) {
+        log.info("Export folder id: {}", folderId);
+        if (!folderRepository.existsById(folderId)) {
+            throw new FolderNotFoundException(folderId);
+        }
+        return outputStream -> {
+            try {
+                readOnlyTransactionTemplate.executeWithoutResult(status -> writeExport(folderId, outputStream));
+            } catch (UncheckedIOException uncheckedIOException) {
+                throw uncheckedIOException.getCause();
+            }
+        };
+    }
+
+    public ImportReport importIntoFolder(Long folderId, InputStream body) throws IOException {
+        log.info("Import into folder id: {}", folderId);
+        List<FolderTreeNode> ancestors = folderClosureRepository.findAncestorNodes(folderId);
+        if (ancestors.isEmpty()) {
+            throw new FolderNotFoundException(folderId);
+        }
+        List<Long> targetPath = new ArrayList<>(ancestors.stream().map(FolderTreeNode::id).toList());
+        Collections.reverse(targetPath);
+        ImportSession session = new ImportSession(folderId, targetPath);
+        folderRepository.findSubFolderSummariesByParentId(folderId).stream()
+                .map(FolderSummary::name)
+                .forEach(session.folderNamesOf(folderId)::add);
+        folderRepository.findNoteSummariesByFolderId(folderId).stream()
+                .map(NoteSummary::name)
+                .forEach(session.noteNamesOf(folderId)::add);
+
+        long lineNumber = 0;
+        List<ImportLine> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                lineNumber++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    chunk.add(new ImportLine(lineNumber, objectMapper.readValue(text, ExchangeRecord.class)));
+                } catch (JsonProcessingException jsonProcessingException) {
+                    session.errors.add(new ImportReport.LineError(lineNumber,
+                            "Malformed line: " + jsonProcessingException.getOriginalMessage()));
+                }
+                if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                    importChunk(session, chunk);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(session, chunk);
+        }
+
+        if (session.folders + session.notes > 0) {
+            ZonedDateTime now = ZonedDateTime.now();
+            transactionTemplate.executeWithoutResult(status -> folderRepository.findById(folderId)
+                    .ifPresent(folder -> folder.setUpdatedAt(now)));
+        }
+        session.errors.sort((a, b) -> Long.compare(a.line(), b.line()));
+        log.info("Imported {} lines into folder id: {}, folders: {}, notes: {}, tags: {}, errors: {}", lineNumber,
+                folderId, session.folders, session.notes, session.tags, session.errors.size());
+        return new ImportReport(lineNumber, session.folders, session.notes, session.tags, session.errors);
+    }
+
+    private void writeExport(Long folderId, OutputStream outputStream) {
+        ObjectWriter writer = objectMapper.writerFor(ExchangeRecord.class);
+        int folders = 0;
+        try (Stream<Folder> folderStream = folderRepository.streamDescendantsByRootId(folderId)) {
+            Iterator<Folder> iterator = folderStream.iterator();
+            while (iterator.hasNext()) {
+                Folder folder = iterator.next();
+                writeLine(writer, outputStream, new ExchangeRecord.FolderRecord(folder.getId(),
+                        sourceFolderId(folderId, folder.getParentFolder().getId()), folder.getName(),
+                        folder.getCreatedAt(), folder.getUpdatedAt()));
+                if (++folders % EXPORT_BATCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        entityManager.clear();
+
+        int notes = 0;
+        List<Note> batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+        try (Stream<Note> noteStream = noteRepository.streamAllBySubtreeRootId(folderId)) {
+            Iterator<Note> iterator = noteStream.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == EXPORT_BATCH_SIZE) {
+                    notes += writeNotes(writer, outputStream, folderId, batch);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            notes += writeNotes(writer, outputStream, folderId, batch);
+        }
+        try {
+            outputStream.flush();
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+        log.info("Exported folder id: {}, folders: {}, notes: {}", folderId, folders, notes);
+    }
+
+    private int writeNotes(ObjectWriter writer, OutputStream outputStream, Long rootId, List<Note> batch) {
+        List<Long> noteIds = batch.stream().map(Note::getId).toList();
+        Map<Long, String> contents = noteContentRepository.findAllByNoteIds(noteIds).stream()
+                .collect(Collectors.toMap(NoteContent::getId, NoteContent::getContent));
+        Map<Long, List<String>> tagNames = noteRepository.findTagLinksByNoteIds(noteIds).stream()
+                .collect(Collectors.groupingBy(NoteTagLink::noteId,
+                        Collectors.mapping(NoteTagLink::tagName, Collectors.toList())));
+        for (Note note : batch) {
+            writeLine(writer, outputStream, new ExchangeRecord.NoteRecord(note.getId(),
+                    sourceFolderId(rootId, note.getFolder().getId()), note.getName(), contents.get(note.getId()), tagNames.get(note.getId()), note.getCreatedAt(),
+                    note.getUpdatedAt()));
+        }
+        int written = batch.size();
+        batch.clear();
+        entityManager.clear();
+        return written;
+    }
+
+    private static Long sourceFolderId(Long rootId, Long folderId) {
+        // the exported folder itself is not a record, its direct children carry no reference
+        return rootId.equals(folderId) ? null : folderId;
+    }
+
+    private void writeLine(ObjectWriter writer, OutputStream outputStream, ExchangeRecord record) {
+        try {
+            outputStream.write(writer.writeValueAsBytes(record));
+            outputStream.write('\n');
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+
+    private void importChunk(ImportSession session, List<ImportLine> chunk) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                chunk.forEach(line -> importLine(session, line));
+                if (!session.pendingTexts.isEmpty()) {
+                    eventPublisher.publishEvent(new NotesSavedEvent(List.copyOf(session.pendingTexts)));
+                }
+                publishCreated(session, ChangeEntityType.TAG, session.pendingTagIds);
+                publishCreated(session, ChangeEntityType.FOLDER, session.pendingFolderIds);
+                publishCreated(session, ChangeEntityType.NOTE,
+                        session.pendingTexts.stream().map(NoteText::id).toList());
+            });
+            session.commit();
+        } catch (DataAccessException | TransactionException | PersistenceException exception) {
+            session.rollback();
+            if (chunk.size() == 1) {
+                log.error("Import of line {} rolled back", chunk.get(0).number(), exception);
+                session.errors.add(new ImportReport.LineError(chunk.get(0).number(),
+                        "Rolled back: " + exception.getMessage()));
+                return;
+            }
+            log.error("Import chunk of {} lines rolled back, retrying line by line", chunk.size(), exception);
+            chunk.forEach(line -> importChunk(session, List.of(line)));
+        }
+    }
+
+    private void publishCreated(ImportSession session, ChangeEntityType entityType, List<Long> ids) {
+        if (!ids.isEmpty()) {
+            eventPublisher.publishEvent(new EntitiesChangedEvent(entityType, ChangeType.CREATED, List.copyOf(ids))
+                    .inFolders(session.targetId));
+        }
+    }
+
+    private void importLine(ImportSession session, ImportLine line) {
+        try {
+            if (line.record() instanceof ExchangeRecord.FolderRecord folderRecord) {
+                importFolder(session, folderRecord);
+            } else if (line.record() instanceof ExchangeRecord.NoteRecord noteRecord) {
+                importNote(session, noteRecord);
+            } else if (line.record() instanceof ExchangeRecord.TagRecord tagRecord) {
+                importTag(session, tagRecord.name(), tagRecord.createdAt(), tagRecord.updatedAt());
+            }
+        } catch (BadRequestException | FolderNameBlankException | FolderNameConflictException
+                 | NoteNameBlankException | NoteNameConflictException | RootPreservationException
+                 | TagNameBlankException rejection) {
+            session.reject(line, rejection.getMessage());
+        }
+    }
+
+    private void importFolder(ImportSession session, ExchangeRecord.FolderRecord folderRecord) {
+        String folderName = folderRecord.name();
+        if (folderName == null || folderName.isBlank()) {
+            throw new FolderNameBlankException();
+        }
+        if (folderName.equals("root")) {
+            throw new RootPreservationException("Import folder named 'root'");
+        }
+        if (folderRecord.id() != null && session.folderIds.containsKey(folderRecord.id())) {
+            throw new BadRequestException("Folder id: " + folderRecord.id() + " was already imported.");
+        }
+        Long parentId = session.resolveFolderId(folderRecord.parentId());
+        if (!session.addName(session.folderNamesOf(parentId), folderName)) {
+            throw new FolderNameConflictException(folderName);
+        }
+
+        ZonedDateTime now = ZonedDateTime.now();
+        Folder folder = Folder.builder()
+                .name(folderName)
+                .createdAt(Objects.requireNonNullElse(folderRecord.createdAt(), now))
+                .updatedAt(Objects.requireNonNullElse(folderRecord.updatedAt(), now))
+                .parentFolder(entityManager.getReference(Folder.class, parentId))
+                .subFolders(new ArrayList<>())
+                .notes(new ArrayList<>())
+                .build();
+        entityManager.persist(folder);
+
+        List<Long> path = new ArrayList<>();
+        path.add(folder.getId());
+        path.addAll(session.paths.get(parentId));
+        for (int depth = 0; depth < path.size(); depth++) {
+            entityManager.persist(FolderClosure.builder()
+                    .ancestorId(path.get(depth))
+                    .descendantId(folder.getId())
+                    .depth(depth)
+                    .build());
+        }
+        session.addFolder(folderRecord.id(), folder.getId(), path);
+    }
+
+    private void importNote(ImportSession session, ExchangeRecord.NoteRecord noteRecord) {
+        String noteName = noteRecord.name();
+        if (noteName == null || noteName.isBlank()) {
+            throw new NoteNameBlankException();
+        }
+        Set<String> tagNames = noteRecord.tags() == null ? Set.of() : new HashSet<>(noteRecord.tags());
+        if (tagNames.stream().anyMatch(tagName -> tagName == null || tagName.isBlank())) {
+            throw new TagNameBlankException();
+        }
+        Long folderId = session.resolveFolderId(noteRecord.folderId());
+        if (!session.addName(session.noteNamesOf(folderId), noteName)) {
+            throw new NoteNameConflictException(noteName);
+        }
+
+        ZonedDateTime now = ZonedDateTime.now();
+        List<Tag> tags = new ArrayList<>();
+        for (String tagName : tagNames) {
+            tags.add(entityManager.getReference(Tag.class, importTag(session, tagName, now, now)));
+        }
+        String content = Objects.requireNonNullElse(noteRecord.content(), "");
+        Note note = Note.builder()
+                .name(noteName)
+                .content(content)
+                .createdAt(Objects.requireNonNullElse(noteRecord.createdAt(), now))
+                .updatedAt(Objects.requireNonNullElse(noteRecord.updatedAt(), now))
+                .folder(entityManager.getReference(Folder.class, folderId))
+                .tags(tags)
+                .build();
+        entityManager.persist(note);
+        entityManager.persist(NoteContent.builder()
+                .note(note)
+                .content(content)
+                .build());
+        session.pendingNotes++;
+        session.pendingTexts.add(new NoteText(note.getId(), folderId, noteName, content));
+    }
+
+    private Long importTag(ImportSession session, String tagName, ZonedDateTime createdAt,
+                           ZonedDateTime updatedAt) {
+        if (tagName == null || tagName.isBlank()) {
+            throw new TagNameBlankException();
+        }
+        Long tagId = session.tagIds.get(tagName);
+        if (tagId != null) {
+            return tagId;
+        }
+        Tag tag = tagRepository.findByName(tagName).orElse(null);
+        if (tag == null) {
+            ZonedDateTime now = ZonedDateTime.now();
+            tag = Tag.builder()
+                    .name(tagName)
+                    .createdAt(Objects.requireNonNullElse(createdAt, now))
+                    .updatedAt(Objects.requireNonNullElse(updatedAt, now))
+                    .notes(new ArrayList<>())
+                    .build();
+            entityManager.persist(tag);
+            session.pendingTags++;
+            session.pendingTagIds.add(tag.getId());
+        }
+        session.addTag(tagName, tag.getId());
+        return tag.getId();
+    }
+
+    private record ImportLine(long number, ExchangeRecord record) {
+
+    }
+
+    private static class ImportSession {
+
+        private final Long targetId;
+        private final Map<Long, Long> folderIds = new HashMap<>();
+        private final Map<Long, List<Long>> paths = new HashMap<>();
+        private final Set<Long> rejectedFolderIds = new HashSet<>();
+        private final Map<Long, Set<String>> folderNames = new HashMap<>();
+        private final Map<Long, Set<String>> noteNames = new HashMap<>();
+        private final Map<String, Long> tagIds = new HashMap<>();
+        private final List<ImportReport.LineError> errors = new ArrayList<>();
+        private final List<ImportReport.LineError> pendingErrors = new ArrayList<>();
+        private final List<NoteText> pendingTexts = new ArrayList<>();
+        private final List<Long> pendingFolderIds = new ArrayList<>();
+        private final List<Long> pendingTagIds = new ArrayList<>();
+        private final Deque<Runnable> undoLog = new ArrayDeque<>();
+        private int folders;
+        private int notes;
+        private int tags;
+        private int pendingFolders;
+        private int pendingNotes;
+        private int pendingTags;
+
+        private ImportSession(Long targetId, List<Long> targetPath) {
+            this.targetId = targetId;
+            this.paths.put(targetId, targetPath);
+        }
+
+        private Set<String> folderNamesOf(Long folderId) {
+            return folderNames.computeIfAbsent(folderId, id -> new HashSet<>());
+        }
+
+        private Set<String> noteNamesOf(Long folderId) {
+            return noteNames.computeIfAbsent(folderId, id -> new HashSet<>());
+        }
+
+        private Long resolveFolderId(Long sourceId) {
+            if (sourceId != null && rejectedFolderIds.contains(sourceId)) {
+                throw new BadRequestException("Folder id: " + sourceId + " was not imported.");
+            }
+            if (sourceId == null) {
+                return targetId;
+            }
+            Long folderId = folderIds.get(sourceId);
+            if (folderId == null) {
+                throw new BadRequestException("Folder id: " + sourceId + " is not defined by an earlier line.");
+            }
+            return folderId;
+        }
+
+        private boolean addName(Set<String> names, String name) {
+            if (!names.add(name)) {
+                return false;
+            }
+            undoLog.push(() -> names.remove(name));
+            return true;
+        }
+
+        private void addFolder(Long sourceId, Long folderId, List<Long> path) {
+            if (sourceId != null) {
+                folderIds.put(sourceId, folderId);
+                undoLog.push(() -> folderIds.remove(sourceId));
+            }
+            paths.put(folderId, path);
+            undoLog.push(() -> paths.remove(folderId));
+            pendingFolders++;
+            pendingFolderIds.add(folderId);
+        }
+
+        private void addTag(String tagName, Long tagId) {
+            tagIds.put(tagName, tagId);
+            undoLog.push(() -> tagIds.remove(tagName));
+        }
+
+        private void reject(ImportLine line, String message) {
+            if (line.record() instanceof ExchangeRecord.FolderRecord folderRecord && folderRecord.id() != null
+                    && rejectedFolderIds.add(folderRecord.id())) {
+                undoLog.push(() -> rejectedFolderIds.remove(folderRecord.id()));
+            }
+            pendingErrors.add(new ImportReport.LineError(line.number(), message));
+        }
+
+        private void commit() {
+            errors.addAll(pendingErrors);
+            folders += pendingFolders;
+            notes += pendingNotes;
+            tags += pendingTags;
+            clearPending();
+        }
+
+        private void rollback() {
+            while (!undoLog.isEmpty()) {
+                undoLog.pop().run();
+            }
+            clearPending();
+        }
+
+        private void clearPending() {
+            undoLog.clear();
+            pendingErrors.clear();
+            pendingTexts.clear();
+            pendingFolderIds.clear();
+            pendingTagIds.clear();
+            pendingFolders = 0;
+            pendingNotes = 0;
+            pendingTags = 0;
+        }
+    }
+}
@@ -2,48 +2,138 @@ package com.jundaai.note.service;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
+import com.jundaai.note.config.MetricsConfig;
 import com.jundaai.note.exception.FolderNameBlankException;
 import com.jundaai.note.exception.FolderNameConflictException;
 import com.jundaai.note.exception.FolderNotFoundException;
 import com.jundaai.note.exception.RootPreservationException;
+import com.jundaai.note.dto.ChangeEntityType;
+import com.jundaai.note.dto.ChangeType;
 import com.jundaai.note.dto.FolderCreationForm;
+import com.jundaai.note.dto.FolderTreeNode;
 import com.jundaai.note.dto.FolderUpdateForm;
 import com.jundaai.note.dto.FolderUpdateType;
+import com.jundaai.note.dto.KeysetCursor;
+import com.jundaai.note.dto.KeysetPage;
+import com.jundaai.note.dto.KeysetSort;
+import com.jundaai.note.event.EntitiesChangedEvent;
+import com.jundaai.note.event.NotesDeletedEvent;
 import com.jundaai.note.model.Folder;
+import com.jundaai.note.repository.FolderClosureRepository;
 import com.jundaai.note.repository.FolderRepository;
+import com.jundaai.note.repository.NoteContentRepository;
+import com.jundaai.note.repository.NoteRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 @Slf4j
 public class FolderService {
 
+    public static final String UPDATE_TIMER = "folder.update";
+
     private final FolderRepository folderRepository;
+    private final FolderClosureRepository folderClosureRepository;
+    private final NoteRepository noteRepository;
+    private final NoteContentRepository noteContentRepository;
+    private final FolderTimestamps folderTimestamps;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<FolderUpdateType, Timer> updateTimers = new EnumMap<>(FolderUpdateType.class);
 
-    public FolderService(FolderRepository folderRepository) {
+    public FolderService(FolderRepository folderRepository, FolderClosureRepository folderClosureRepository,
+                         NoteRepository noteRepository, NoteContentRepository noteContentRepository,
+                         FolderTimestamps folderTimestamps, ApplicationEventPublisher eventPublisher,
+                         MeterRegistry meterRegistry) {
         this.folderRepository = folderRepository;
+        this.folderClosureRepository = folderClosureRepository;
+        this.noteRepository = noteRepository;
+        this.noteContentRepository = noteContentRepository;
+        this.folderTimestamps = folderTimestamps;
+        this.eventPublisher = eventPublisher;
+        for (FolderUpdateType updateType : FolderUpdateType.values()) {
+            updateTimers.put(updateType, Timer.builder(UPDATE_TIMER)
+                    .tag("type", updateType.name())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
     }
 
-    public List<Folder> getAllFolders() {
-        log.info("Get all folders");
-        return folderRepository.findAll();
+    public KeysetPage<Folder> getAllFolders(KeysetSort sort, String cursor, int size) {
+        log.info("Get all folders, sort: {}, cursor: {}, size: {}", sort, cursor, size);
+        KeysetCursor after = KeysetCursor.decode(cursor, sort);
+        Slice<Folder> folders = switch (sort) {
+            case UPDATED_AT -> folderRepository.findAllUpdatedBefore(after.updatedAt(), after.id(),
+                    PageRequest.ofSize(size));
+            case NAME -> folderRepository.findAllNamedAfter(after.name(), after.id(), PageRequest.ofSize(size));
+        };
+        return KeysetPage.of(folders, folder -> KeysetCursor.after(sort, folder.getUpdatedAt(), folder.getName(),
+                folder.getId()));
     }
 
     public Folder getFolderById(Long folderId) {
         log.info("Get folder by id: {}", folderId);
-        return folderRepository.findById(folderId)
+        Folder folder = folderRepository.findWithParentById(folderId)
                 .orElseThrow(() -> new FolderNotFoundException(folderId));
+        folder.setUpdatedAt(folderTimestamps.latest(folderId, folder.getUpdatedAt()));
+        folder.setSubFolderSummaries(folderRepository.findSubFolderSummariesByParentId(folderId));
+        folder.setNoteSummaries(folderRepository.findNoteSummariesByFolderId(folderId));
+        return folder;
     }
 
-    public List<Folder> getSubFoldersByParentId(Long parentId) {
-        log.info("Get sub-folders by parent id: {}", parentId);
-        return folderRepository.findSubFoldersByParentId(parentId)
-                .orElseThrow(() -> new FolderNotFoundException(parentId));
+    public ZonedDateTime getFolderVersionById(Long folderId) {
+        log.info("Get folder version by id: {}", folderId);
+        return folderRepository.findVersionById(folderId)
+                .map(version -> folderTimestamps.latest(folderId, version))
+                .orElseThrow(() -> new FolderNotFoundException(folderId));
+    }
+
+    public KeysetPage<Folder> getSubFoldersByParentId(Long parentId, KeysetSort sort, String cursor, int size) {
+        log.info("Get sub-folders by parent id: {}, sort: {}, cursor: {}, size: {}", parentId, sort, cursor, size);
+        KeysetCursor after = KeysetCursor.decode(cursor, sort);
+        Slice<Folder> subFolders = switch (sort) {
+            case UPDATED_AT -> folderRepository.findSubFoldersByParentIdUpdatedBefore(parentId, after.updatedAt(),
+                    after.id(), PageRequest.ofSize(size));
+            case NAME -> folderRepository.findSubFoldersByParentIdNamedAfter(parentId, after.name(), after.id(),
+                    PageRequest.ofSize(size));
+        };
+        if (!subFolders.hasContent() && !folderRepository.existsById(parentId)) {
+            throw new FolderNotFoundException(parentId);
+        }
+        return KeysetPage.of(subFolders, folder -> KeysetCursor.after(sort, folder.getUpdatedAt(),
+                folder.getName(), folder.getId()));
+    }
+
+    public List<FolderTreeNode> getAncestorsById(Long folderId) {
+        log.info("Get ancestors by folder id: {}", folderId);
+        List<FolderTreeNode> ancestors = folderClosureRepository.findAncestorNodes(folderId);
+        if (ancestors.isEmpty()) {
+            throw new FolderNotFoundException(folderId);
+        }
+        return ancestors;
+    }
+
+    public List<FolderTreeNode> getDescendantsById(Long folderId, int maxDepth) {
+        log.info("Get descendants by folder id: {}, max depth: {}", folderId, maxDepth);
+        List<FolderTreeNode> descendants = folderClosureRepository.findDescendantNodes(folderId, maxDepth);
+        if (descendants.isEmpty() && !folderRepository.existsById(folderId)) {
+            throw new FolderNotFoundException(folderId);
+        }
+        return descendants;
     }
 
     @Transactional
@@ -74,13 +164,16 @@ public class FolderService {
                 .notes(new ArrayList<>())
                 .build();
         folder = folderRepository.save(folder);
+        folderClosureRepository.insertSelf(folder.getId());
+        folderClosureRepository.insertSubtreeUnder(parentId, folder.getId());
 
         List<Folder> parentSubFolders = parent.getSubFolders();
         parentSubFolders.add(folder);
         parent.setSubFolders(parentSubFolders);
-        parent.setUpdatedAt(now);
-        folderRepository.save(parent);
+        folderTimestamps.touch(parentId, now);
 
+        eventPublisher.publishEvent(EntitiesChangedEvent.of(ChangeEntityType.FOLDER, ChangeType.CREATED,
+                folder.getId()).inFolders(folder.getId()));
         return folder;
     }
 
@@ -100,6 +193,13 @@ public class FolderService {
         } catch (IllegalArgumentException illegalArgumentException) {
             throw new UnsupportedOperationException(updateForm.updateType());
         }
+        return updateTimers.get(updateType).record(() -> applyUpdate(folder, updateType, updateForm, now));
+    }
+
+    private Folder applyUpdate(Folder folder, FolderUpdateType updateType, FolderUpdateForm updateForm,
+                               ZonedDateTime now) {
+        Long folderId = folder.getId();
+        Long fromParentId = folder.getParentFolder() == null ? null : folder.getParentFolder().getId();
         switch (updateType) {
         case RENAME_FOLDER -> {
             String newName = updateForm.newName();
@@ -113,6 +213,7 @@ public class FolderService {
                 throw new FolderNameConflictException(newName);
             }
             folder.setName(newName);
+            folderTimestamps.touch(fromParentId, now);
         }
         case MOVE_FOLDER -> {
             Long toParentId = updateForm.toParentId();
@@ -128,23 +229,33 @@ public class FolderService {
                 log.error("Destination folder identical as current parent folder. Abort.");
                 return folder;
             }
+            List<Long> subtreeIds = folderClosureRepository.findSubtreeIds(folderId);
+            if (subtreeIds.contains(toParentId)) {
+                log.error("Cannot move folder into its own sub-folder. Abort.");
+                return folder;
+            }
 
             folder.setParentFolder(toParent);
+            folderClosureRepository.deleteOutsidePaths(subtreeIds);
+            folderClosureRepository.insertSubtreeUnder(toParentId, folderId);
 
-            List<Folder> fromParentSubFolders = fromParent.getSubFolders();
-            fromParentSubFolders.remove(folder);
-            fromParent.setSubFolders(fromParentSubFolders);
-            fromParent.setUpdatedAt(now);
-            folderRepository.save(fromParent);
-
-            List<Folder> toParentSubFolders = toParent.getSubFolders();
-            toParentSubFolders.add(folder);
-            toParent.setSubFolders(toParentSubFolders);
-            toParent.setUpdatedAt(now);
-            folderRepository.save(toParent);
+            // the child owns the link, the parents' sub-folders are kept in step only once loaded
+            if (Hibernate.isInitialized(fromParent.getSubFolders())) {
+                fromParent.getSubFolders().remove(folder);
+            }
+            if (Hibernate.isInitialized(toParent.getSubFolders())) {
+                toParent.getSubFolders().add(folder);
+            }
+            folderTimestamps.touch(fromParentId, now);
+            folderTimestamps.touch(toParentId, now);
         }
         }
         folder.setUpdatedAt(now);
+        Hibernate.initialize(folder.getParentFolder());
+        eventPublisher.publishEvent(EntitiesChangedEvent.of(ChangeEntityType.FOLDER, ChangeType.UPDATED, folderId)
+                .inFolders(updateType == FolderUpdateType.MOVE_FOLDER
+                        ? new Long[]{fromParentId, folderId}
+                        : new Long[]{folderId}));
         return folderRepository.save(folder);
     }
 
@@ -156,6 +267,27 @@ public class FolderService {
         if (Objects.equals(folder.getName(), "root")) {
             throw new RootPreservationException("Delete root folder");
         }
-        folderRepository.deleteById(folderId);
+        Long parentId = null;
+        if (folder.getParentFolder() != null) {
+            parentId = folder.getParentFolder().getId();
+            folderTimestamps.touch(parentId, ZonedDateTime.now());
+        }
+        List<Long> subtreeIds = folderClosureRepository.findSubtreeIds(folderId);
+        List<Long> noteIds = folderRepository.findNoteIdsByFolderIds(subtreeIds);
+        // a fixed number of statements keyed on the subtree, whatever its size, instead of cascading row by row
+        folderClosureRepository.deleteSubtreePaths(subtreeIds);
+        if (!noteIds.isEmpty()) {
+            noteContentRepository.deleteAllByFolderIds(subtreeIds);
+            noteRepository.deleteAllByFolderIds(subtreeIds);
+        }
+        folderRepository.detachAllByIds(subtreeIds);
+        folderRepository.deleteAllByIds(subtreeIds);
+        if (!noteIds.isEmpty()) {
+            eventPublisher.publishEvent(new NotesDeletedEvent(noteIds));
+            eventPublisher.publishEvent(new EntitiesChangedEvent(ChangeEntityType.NOTE, ChangeType.DELETED, noteIds)
+                    .inFolders(parentId));
+        }
+        eventPublisher.publishEvent(new EntitiesChangedEvent(ChangeEntityType.FOLDER, ChangeType.DELETED,
+                subtreeIds).inFolders(parentId));
     }
 }
@@ -0,0 +1,134 @@
+package com.jundaai.note.service;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.jundaai.note.model.Folder;
+import com.jundaai.note.repository.FolderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+
+@Component
+@Slf4j
+public class FolderTimestamps implements SmartLifecycle {
+
+    public static final long FLUSH_INTERVAL_MILLIS = 1_000;
+    public static final int FLUSH_BATCH_SIZE = 100;
+    public static final String TOUCHES_COUNTER = "folder.timestamps.touches";
+    public static final String WRITES_COUNTER = "folder.timestamps.writes";
+    public static final String PENDING_GAUGE = "folder.timestamps.pending";
+
+    private final FolderRepository folderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, ZonedDateTime> pending = new ConcurrentHashMap<>();
+    private final Counter touchesCounter;
+    private final Counter writesCounter;
+    private final MeterRegistry meterRegistry;
+    private volatile ScheduledExecutorService flusher;
+
+    public FolderTimestamps(FolderRepository folderRepository, PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry) {
+        this.folderRepository = folderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.touchesCounter = meterRegistry.counter(TOUCHES_COUNTER);
+        this.writesCounter = meterRegistry.counter(WRITES_COUNTER);
+        meterRegistry.gauge(PENDING_GAUGE, pending, Map::size);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void start() {
+        flusher = BackgroundTasks.newScheduler("folder-timestamps", meterRegistry);
+        flusher.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (flusher != null) {
+            BackgroundTasks.shutdown(flusher, FLUSH_INTERVAL_MILLIS);
+        }
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return flusher != null && !flusher.isShutdown();
+    }
+
+    @Override
+    public int getPhase() {
+        return BackgroundTasks.PHASE;
+    }
+
+    public void touch(Long folderId, ZonedDateTime updatedAt) {
+        if (folderId == null) {
+            return;
+        }
+        // child writes no longer lock the folder row, its updatedAt catches up once they commit
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(folderId, updatedAt);
+                }
+            });
+        } else {
+            record(folderId, updatedAt);
+        }
+    }
+
+    public ZonedDateTime latest(Long folderId, ZonedDateTime stored) {
+        ZonedDateTime touched = pending.get(folderId);
+        return touched != null && (stored == null || touched.isAfter(stored)) ? touched : stored;
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public void flush() {
+        Map<Long, ZonedDateTime> touched = Map.copyOf(pending);
+        List<Long> folderIds = new ArrayList<>(touched.keySet());
+        folderIds.sort(null);
+        for (int from = 0; from < folderIds.size(); from += FLUSH_BATCH_SIZE) {
+            List<Long> batch = folderIds.subList(from, Math.min(from + FLUSH_BATCH_SIZE, folderIds.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeBatch(batch, touched));
+                writesCounter.increment(batch.size());
+                // a newer touch that arrived during the write stays for the next flush
+                batch.forEach(folderId -> pending.remove(folderId, touched.get(folderId)));
+            } catch (RuntimeException runtimeException) {
+                log.error("Failed to propagate updatedAt of folder ids: {}", batch, runtimeException);
+            }
+        }
+    }
+
+    private void writeBatch(List<Long> folderIds, Map<Long, ZonedDateTime> touched) {
+        // dirty checking refreshes only these folders' cache entries, a bulk update would evict the whole region
+        for (Folder folder : folderRepository.findAllForUpdateByIds(folderIds)) {
+            ZonedDateTime updatedAt = touched.get(folder.getId());
+            if (folder.getUpdatedAt().isBefore(updatedAt)) {
+                folder.setUpdatedAt(updatedAt);
+            }
+        }
+    }
+
+    private void record(Long folderId, ZonedDateTime updatedAt) {
+        touchesCounter.increment();
+        pending.merge(folderId, updatedAt, (older, newer) -> newer.isAfter(older) ? newer : older);
+    }
+}
@@ -2,65 +2,146 @@ package com.jundaai.note.service;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
+import com.jundaai.note.config.MetricsConfig;
 import com.jundaai.note.exception.BadRequestException;
 import com.jundaai.note.exception.FolderNotFoundException;
+import com.jundaai.note.exception.NoteContentConflictException;
 import com.jundaai.note.exception.NoteNameBlankException;
 import com.jundaai.note.exception.NoteNameConflictException;
 import com.jundaai.note.exception.NoteNotFoundException;
 import com.jundaai.note.exception.TagNotFoundException;
+import com.jundaai.note.dto.ChangeEntityType;
+import com.jundaai.note.dto.ChangeType;
+import com.jundaai.note.dto.ContentEdit;
+import com.jundaai.note.dto.KeysetCursor;
+import com.jundaai.note.dto.KeysetPage;
+import com.jundaai.note.dto.KeysetSort;
 import com.jundaai.note.dto.NoteCreationForm;
+import com.jundaai.note.dto.NoteText;
 import com.jundaai.note.dto.NoteUpdateForm;
 import com.jundaai.note.dto.NoteUpdateType;
+import com.jundaai.note.event.EntitiesChangedEvent;
+import com.jundaai.note.event.NotesAppendedEvent;
+import com.jundaai.note.event.NotesDeletedEvent;
+import com.jundaai.note.event.NotesSavedEvent;
 import com.jundaai.note.model.Folder;
 import com.jundaai.note.model.Note;
+import com.jundaai.note.model.NoteContent;
 import com.jundaai.note.model.Tag;
 import com.jundaai.note.repository.FolderRepository;
+import com.jundaai.note.repository.NoteContentRepository;
 import com.jundaai.note.repository.NoteRepository;
 import com.jundaai.note.repository.TagRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 @Slf4j
 public class NoteService {
 
+    public static final String UPDATE_TIMER = "note.update";
+
     private final FolderRepository folderRepository;
     private final NoteRepository noteRepository;
+    private final NoteContentRepository noteContentRepository;
     private final TagRepository tagRepository;
+    private final TagNameCache tagNameCache;
+    private final FolderTimestamps folderTimestamps;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<NoteUpdateType, Timer> updateTimers = new EnumMap<>(NoteUpdateType.class);
 
-    public NoteService(FolderRepository folderRepository, NoteRepository noteRepository, TagRepository tagRepository) {
+    public NoteService(FolderRepository folderRepository, NoteRepository noteRepository,
+                       NoteContentRepository noteContentRepository, TagRepository tagRepository,
+                       TagNameCache tagNameCache, FolderTimestamps folderTimestamps,
+                       ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
         this.folderRepository = folderRepository;
         this.noteRepository = noteRepository;
+        this.noteContentRepository = noteContentRepository;
         this.tagRepository = tagRepository;
+        this.tagNameCache = tagNameCache;
+        this.folderTimestamps = folderTimestamps;
+        this.eventPublisher = eventPublisher;
+        for (NoteUpdateType updateType : NoteUpdateType.values()) {
+            updateTimers.put(updateType, Timer.builder(UPDATE_TIMER)
+                    .tag("type", updateType.name())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
     }
 
-    public List<Note> getAllNotes() {
-        log.info("Get all notes");
-        return noteRepository.findAll();
+    public KeysetPage<Note> getAllNotes(KeysetSort sort, String cursor, int size) {
+        log.info("Get all notes, sort: {}, cursor: {}, size: {}", sort, cursor, size);
+        KeysetCursor after = KeysetCursor.decode(cursor, sort);
+        Slice<Note> notes = switch (sort) {
+            case UPDATED_AT -> noteRepository.findAllUpdatedBefore(after.updatedAt(), after.id(),
+                    PageRequest.ofSize(size));
+            case NAME -> noteRepository.findAllNamedAfter(after.name(), after.id(), PageRequest.ofSize(size));
+        };
+        return KeysetPage.of(notes, note -> KeysetCursor.after(sort, note.getUpdatedAt(), note.getName(),
+                note.getId()));
     }
 
-    public List<Note> getAllNotesByFolderId(Long folderId) {
-        log.info("Get all notes by folder id: {}", folderId);
-        Folder folder = folderRepository.findById(folderId)
-                .orElseThrow(() -> new FolderNotFoundException(folderId));
-        return folder.getNotes();
+    public KeysetPage<Note> getAllNotesByFolderId(Long folderId, KeysetSort sort, String cursor, int size) {
+        log.info("Get all notes by folder id: {}, sort: {}, cursor: {}, size: {}", folderId, sort, cursor, size);
+        KeysetCursor after = KeysetCursor.decode(cursor, sort);
+        Slice<Note> notes = switch (sort) {
+            case UPDATED_AT -> noteRepository.findAllByFolderIdUpdatedBefore(folderId, after.updatedAt(), after.id(),
+                    PageRequest.ofSize(size));
+            case NAME -> noteRepository.findAllByFolderIdNamedAfter(folderId, after.name(), after.id(),
+                    PageRequest.ofSize(size));
+        };
+        if (!notes.hasContent() && !folderRepository.existsById(folderId)) {
+            throw new FolderNotFoundException(folderId);
+        }
+        return KeysetPage.of(notes, note -> KeysetCursor.after(sort, note.getUpdatedAt(), note.getName(),
+                note.getId()));
     }
 
-    public List<Note> getAllNotesByTagId(Long tagId) {
-        log.info("Get all notes by tag id: {}", tagId);
-        Tag tag = tagRepository.findById(tagId)
-                .orElseThrow(() -> new TagNotFoundException("id: " + tagId));
-        return tag.getNotes();
+    public KeysetPage<Note> getAllNotesByTagId(Long tagId, KeysetSort sort, String cursor, int size) {
+        log.info("Get all notes by tag id: {}, sort: {}, cursor: {}, size: {}", tagId, sort, cursor, size);
+        KeysetCursor after = KeysetCursor.decode(cursor, sort);
+        Slice<Note> notes = switch (sort) {
+            case UPDATED_AT -> noteRepository.findAllByTagIdUpdatedBefore(tagId, after.updatedAt(), after.id(),
+                    PageRequest.ofSize(size));
+            case NAME -> noteRepository.findAllByTagIdNamedAfter(tagId, after.name(), after.id(),
+                    PageRequest.ofSize(size));
+        };
+        if (!notes.hasContent() && !tagRepository.existsById(tagId)) {
+            throw new TagNotFoundException("id: " + tagId);
+        }
+        return KeysetPage.of(notes, note -> KeysetCursor.after(sort, note.getUpdatedAt(), note.getName(),
+                note.getId()));
     }
 
     public Note getNoteById(Long noteId) {
         log.info("Get note by id: {}", noteId);
-        return noteRepository.findById(noteId)
+        Note note = noteRepository.findById(noteId)
+                .orElseThrow(() -> new NoteNotFoundException(noteId));
+        noteContentRepository.findById(noteId).ifPresentOrElse(noteContent -> {
+            note.setContent(noteContent.getContent());
+            note.setContentVersion(noteContent.getVersion());
+        }, () -> note.setContent(""));
+        return note;
+    }
+
+    public ZonedDateTime getNoteVersionById(Long noteId) {
+        log.info("Get note version by id: {}", noteId);
+        return noteRepository.findVersionById(noteId)
                 .orElseThrow(() -> new NoteNotFoundException(noteId));
     }
 
@@ -78,28 +159,50 @@ public class NoteService {
         }
 
         ZonedDateTime now = ZonedDateTime.now();
+        String content = Objects.requireNonNullElse(creationForm.content(), "");
         Note note = Note.builder()
                 .name(noteName)
-                .content(creationForm.content())
+                .content(content)
                 .createdAt(now)
                 .updatedAt(now)
                 .folder(folder)
                 .tags(new ArrayList<>())
                 .build();
         note = noteRepository.save(note);
+        noteContentRepository.save(NoteContent.builder()
+                .note(note)
+                .content(content)
+                .build());
 
         List<Note> folderNotes = folder.getNotes();
         folderNotes.add(note);
         folder.setNotes(folderNotes);
-        folder.setUpdatedAt(now);
-        folderRepository.save(folder);
+        folderTimestamps.touch(folderId, now);
 
+        eventPublisher.publishEvent(new NotesSavedEvent(List.of(new NoteText(note.getId(), folderId, noteName,
+                content))));
+        eventPublisher.publishEvent(EntitiesChangedEvent.of(ChangeEntityType.NOTE, ChangeType.CREATED,
+                note.getId()).inFolders(folderId));
         return note;
     }
 
     @Transactional
     public Note updateNoteById(Long noteId, NoteUpdateForm updateForm) {
         log.info("Update note by id: {}, dto: {}", noteId, updateForm);
+        return updateNote(noteId, updateForm, false);
+    }
+
+    @Transactional
+    public Note autosaveNoteById(Long noteId, String content) {
+        log.info("Autosave note by id: {}, content length: {}", noteId, content.length());
+        // the autosave receipt already promised the version after the stored one, unchanged content still takes it
+        return updateNote(noteId, NoteUpdateForm.builder()
+                .updateType(NoteUpdateType.MODIFY_CONTENT.name())
+                .newContent(content)
+                .build(), true);
+    }
+
+    private Note updateNote(Long noteId, NoteUpdateForm updateForm, boolean advanceUnchanged) {
         ZonedDateTime now = ZonedDateTime.now();
         Note note = noteRepository.findById(noteId)
                 .orElseThrow(() -> new NoteNotFoundException(noteId));
@@ -110,6 +213,18 @@ public class NoteService {
         } catch (IllegalArgumentException illegalArgumentException) {
             throw new UnsupportedOperationException(updateForm.updateType());
         }
+        return updateTimers.get(updateType).record(() -> applyUpdate(note, updateType, updateForm, now,
+                advanceUnchanged));
+    }
+
+    private Note applyUpdate(Note note, NoteUpdateType updateType, NoteUpdateForm updateForm, ZonedDateTime now,
+                             boolean advanceUnchanged) {
+        Long noteId = note.getId();
+        Long fromFolderId = note.getFolder().getId();
+        String indexedContent = null;
+        String appendedContent = null;
+        Tag changedTag = null;
+        ChangeType tagChangeType = ChangeType.UPDATED;
         switch (updateType) {
         case RENAME_NOTE -> {
             String newName = updateForm.newName();
@@ -123,11 +238,61 @@ public class NoteService {
         }
         case MODIFY_CONTENT -> {
             String newContent = updateForm.newContent();
-            if (newContent.equals(note.getContent())) {
+            String content = noteContentRepository.findContentById(noteId)
+                    .orElseThrow(() -> new NoteNotFoundException(noteId));
+            if (newContent.equals(content)) {
+                if (advanceUnchanged) {
+                    noteContentRepository.updateContent(noteId, content);
+                }
                 log.error("New Content identical to the old. Abort.");
                 return note;
             }
+            // full replacements stay last-writer-wins, only appends and patches are checked against a base version
+            noteContentRepository.updateContent(noteId, newContent);
             note.setContent(newContent);
+            indexedContent = newContent;
+        }
+        case APPEND_CONTENT -> {
+            String text = updateForm.newContent();
+            if (text == null || text.isEmpty()) {
+                log.error("Nothing to append. Abort.");
+                return note;
+            }
+            // concatenated in the database, the body is never loaded and concurrent appends queue on the row
+            Long baseVersion = updateForm.baseVersion();
+            if (baseVersion == null) {
+                // the row stays locked from the version read to the append, so no other writer lands in between
+                baseVersion = noteContentRepository.findVersionForUpdateById(noteId)
+                        .orElseThrow(() -> new NoteNotFoundException(noteId));
+                noteContentRepository.appendContent(noteId, text);
+            } else if (noteContentRepository.appendContent(noteId, text, baseVersion) == 0) {
+                if (!noteContentRepository.existsById(noteId)) {
+                    throw new NoteNotFoundException(noteId);
+                }
+                throw new NoteContentConflictException(noteId, baseVersion);
+            }
+            note.setContentVersion(baseVersion + 1);
+            appendedContent = text;
+        }
+        case PATCH_CONTENT -> {
+            Long baseVersion = updateForm.baseVersion();
+            if (baseVersion == null) {
+                throw new BadRequestException("Content edits require a base version.");
+            }
+            // a stale base version is rejected on the version column alone, before the body is read
+            Long version = noteContentRepository.findVersionById(noteId)
+                    .orElseThrow(() -> new NoteNotFoundException(noteId));
+            if (!version.equals(baseVersion)) {
+                throw new NoteContentConflictException(noteId, baseVersion);
+            }
+            String content = noteContentRepository.findContentById(noteId)
+                    .orElseThrow(() -> new NoteNotFoundException(noteId));
+            String patched = ContentEdit.apply(content, updateForm.edits());
+            if (noteContentRepository.updateContent(noteId, patched, baseVersion) == 0) {
+                throw new NoteContentConflictException(noteId, baseVersion);
+            }
+            note.setContentVersion(baseVersion + 1);
+            indexedContent = patched;
         }
         case MOVE_NOTE -> {
             Long toFolderId = updateForm.toFolderId();
@@ -139,25 +304,20 @@ public class NoteService {
                 return note;
             }
 
+            // the note owns the link, the folders' notes are kept in step only once loaded, loading them reads
+            // every note of the folder
             note.setFolder(toFolder);
-
-            List<Note> fromFolderNotes = fromFolder.getNotes();
-            fromFolderNotes.remove(note);
-            fromFolder.setNotes(fromFolderNotes);
-            fromFolder.setUpdatedAt(now);
-            folderRepository.save(fromFolder);
-
-            List<Note> toFolderNotes = toFolder.getNotes();
-            toFolderNotes.add(note);
-            toFolder.setNotes(toFolderNotes);
-            toFolder.setUpdatedAt(now);
-            folderRepository.save(toFolder);
+            if (Hibernate.isInitialized(fromFolder.getNotes())) {
+                fromFolder.getNotes().remove(note);
+            }
+            if (Hibernate.isInitialized(toFolder.getNotes())) {
+                toFolder.getNotes().add(note);
+            }
         }
         case ADD_TAG -> {
-            Tag tag;
             String tagName = updateForm.tagName();
-            if (tagRepository.existsByName(tagName)) {
-                tag = tagRepository.getByName(tagName);
+            Tag tag = tagNameCache.findByName(tagName).orElse(null);
+            if (tag != null) {
                 if (note.getTags().contains(tag)) {
                     log.error("Note already contains tag to add. Abort.");
                     return note;
@@ -170,6 +330,7 @@ public class NoteService {
                         .notes(new ArrayList<>())
                         .build();
                 tag = tagRepository.save(tag);
+                tagChangeType = ChangeType.CREATED;
             }
 
             List<Tag> noteTags = note.getTags();
@@ -180,11 +341,11 @@ public class NoteService {
             tagNotes.add(note);
             tag.setNotes(tagNotes);
             tag.setUpdatedAt(now);
-            tagRepository.save(tag);
+            changedTag = tagRepository.save(tag);
         }
         case REMOVE_TAG -> {
             String tagName = updateForm.tagName();
-            Tag tag = tagRepository.findByName(tagName)
+            Tag tag = tagNameCache.findByName(tagName)
                     .orElseThrow(() -> new TagNotFoundException("name: " + tagName));
             if (!note.getTags().contains(tag)) {
                 throw new BadRequestException("Note " + note + " has no tag " + tag);
@@ -194,15 +355,38 @@ public class NoteService {
             noteTags.remove(tag);
             note.setTags(noteTags);
 
-            List<Note> tagNotes = tag.getNotes();
-            tagNotes.remove(note);
-            tag.setNotes(tagNotes);
+            // the link is owned by the note, loading the inverse side just to keep it in step reads every tagged note
+            if (Hibernate.isInitialized(tag.getNotes())) {
+                tag.getNotes().remove(note);
+            }
             tag.setUpdatedAt(now);
-            tagRepository.save(tag);
+            changedTag = tagRepository.save(tag);
         }
         }
         note.setUpdatedAt(now);
-        note.getFolder().setUpdatedAt(now);
+        folderTimestamps.touch(fromFolderId, now);
+        if (updateType == NoteUpdateType.MOVE_NOTE) {
+            folderTimestamps.touch(note.getFolder().getId(), now);
+        }
+        if (updateType == NoteUpdateType.RENAME_NOTE || updateType == NoteUpdateType.MODIFY_CONTENT
+                || updateType == NoteUpdateType.PATCH_CONTENT || updateType == NoteUpdateType.MOVE_NOTE) {
+            eventPublisher.publishEvent(new NotesSavedEvent(List.of(new NoteText(noteId, note.getFolder().getId(),
+                    note.getName(), indexedContent))));
+        }
+        if (appendedContent != null) {
+            eventPublisher.publishEvent(new NotesAppendedEvent(List.of(new NoteText(noteId,
+                    note.getFolder().getId(), note.getName(), appendedContent))));
+        }
+        EntitiesChangedEvent noteChanged = EntitiesChangedEvent.of(ChangeEntityType.NOTE, ChangeType.UPDATED, noteId)
+                .inFolders(updateType == NoteUpdateType.MOVE_NOTE
+                        ? new Long[]{fromFolderId, note.getFolder().getId()}
+                        : new Long[]{fromFolderId});
+        if (changedTag != null) {
+            eventPublisher.publishEvent(EntitiesChangedEvent.of(ChangeEntityType.TAG, tagChangeType,
+                    changedTag.getId()));
+            noteChanged = noteChanged.withTags(changedTag.getId());
+        }
+        eventPublisher.publishEvent(noteChanged);
         return noteRepository.save(note);
     }
 
@@ -213,12 +397,14 @@ public class NoteService {
                 .orElseThrow(() -> new NoteNotFoundException(noteId));
 
         Folder folder = note.getFolder();
-        List<Note> folderNotes = folder.getNotes();
-        folderNotes.remove(note);
-        folder.setNotes(folderNotes);
-        folder.setUpdatedAt(ZonedDateTime.now());
-        folderRepository.save(folder);
+        if (Hibernate.isInitialized(folder.getNotes())) {
+            folder.getNotes().remove(note);
+        }
+        folderTimestamps.touch(folder.getId(), ZonedDateTime.now());
 
         noteRepository.deleteById(noteId);
+        eventPublisher.publishEvent(new NotesDeletedEvent(List.of(noteId)));
+        eventPublisher.publishEvent(EntitiesChangedEvent.of(ChangeEntityType.NOTE, ChangeType.DELETED, noteId)
+                .inFolders(folder.getId()));
     }
 }
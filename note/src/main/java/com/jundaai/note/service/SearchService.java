@@ -0,0 +1,102 @@
+package com.jundaai.note.service;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import com.jundaai.note.dto.NoteText;
+import com.jundaai.note.dto.SearchHit;
+import com.jundaai.note.event.NotesAppendedEvent;
+import com.jundaai.note.event.NotesDeletedEvent;
+import com.jundaai.note.event.NotesSavedEvent;
+import com.jundaai.note.repository.NoteRepository;
+import com.jundaai.note.search.SearchIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+
+@Service
+@Slf4j
+public class SearchService {
+
+    private final NoteRepository noteRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final AtomicReference<SearchIndex> index = new AtomicReference<>(SearchIndex.empty());
+    private final Queue<Consumer<SearchIndex.Writer>> pendingUpdates = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public SearchService(NoteRepository noteRepository, PlatformTransactionManager transactionManager) {
+        this.noteRepository = noteRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    public List<SearchHit> searchNotes(String query, int size) {
+        log.info("Search notes, query: {}, size: {}", query, size);
+        return index.get().search(query, size);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        log.info("Rebuild search index");
+        writeLock.lock();
+        try {
+            SearchIndex rebuilt = readOnlyTransactionTemplate.execute(status -> {
+                SearchIndex.Writer writer = SearchIndex.empty().writer();
+                try (Stream<NoteText> texts = noteRepository.streamAllTexts()) {
+                    texts.forEach(text -> writer.save(text.id(), text.folderId(), text.name(), text.content()));
+                }
+                return writer.build();
+            });
+            index.set(rebuilt);
+            log.info("Search index rebuilt, notes: {}", rebuilt.size());
+        } finally {
+            writeLock.unlock();
+        }
+        applyPendingUpdates();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotesSaved(NotesSavedEvent event) {
+        pendingUpdates.add(writer -> event.notes()
+                .forEach(note -> writer.save(note.id(), note.folderId(), note.name(), note.content())));
+        applyPendingUpdates();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotesAppended(NotesAppendedEvent event) {
+        pendingUpdates.add(writer -> event.notes()
+                .forEach(note -> writer.append(note.id(), note.folderId(), note.name(), note.content())));
+        applyPendingUpdates();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotesDeleted(NotesDeletedEvent event) {
+        pendingUpdates.add(writer -> event.noteIds().forEach(writer::delete));
+        applyPendingUpdates();
+    }
+
+    private void applyPendingUpdates() {
+        while (!pendingUpdates.isEmpty() && writeLock.tryLock()) {
+            try {
+                SearchIndex.Writer writer = index.get().writer();
+                Consumer<SearchIndex.Writer> update;
+                while ((update = pendingUpdates.poll()) != null) {
+                    update.accept(writer);
+                }
+                index.set(writer.build());
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+}
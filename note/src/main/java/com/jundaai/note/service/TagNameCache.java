@@ -0,0 +1,66 @@
+package com.jundaai.note.service;
+
+import java.util.Optional;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jundaai.note.model.Tag;
+import com.jundaai.note.repository.TagRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+
+@Component
+@Slf4j
+public class TagNameCache {
+
+    public static final String CACHE_NAME = "tagNames";
+    public static final long MAXIMUM_SIZE = 10_000;
+
+    private final TagRepository tagRepository;
+    private final Cache<String, Long> tagIds;
+
+    public TagNameCache(TagRepository tagRepository, MeterRegistry meterRegistry) {
+        this.tagRepository = tagRepository;
+        this.tagIds = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tagIds, CACHE_NAME);
+    }
+
+    public Optional<Tag> findByName(String name) {
+        Long tagId = tagIds.getIfPresent(name);
+        if (tagId != null) {
+            Optional<Tag> tag = tagRepository.findById(tagId);
+            if (tag.isPresent() && name.equals(tag.get().getName())) {
+                return tag;
+            }
+            log.info("Stale tag name cache entry: {} -> {}", name, tagId);
+            tagIds.invalidate(name);
+        }
+        Optional<Tag> tag = tagRepository.findByName(name);
+        tag.filter(t -> t.getId() != null)
+                .ifPresent(t -> tagIds.put(name, t.getId()));
+        return tag;
+    }
+
+    public void evict(String name) {
+        if (name == null) {
+            return;
+        }
+        tagIds.invalidate(name);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    tagIds.invalidate(name);
+                }
+            });
+        }
+    }
+}
@@ -4,34 +4,58 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.jundaai.note.config.MetricsConfig;
 import com.jundaai.note.exception.NoteNotFoundException;
 import com.jundaai.note.exception.TagNameBlankException;
 import com.jundaai.note.exception.TagNameConflictException;
 import com.jundaai.note.exception.TagNotFoundException;
+import com.jundaai.note.dto.ChangeEntityType;
+import com.jundaai.note.dto.ChangeType;
+import com.jundaai.note.dto.KeysetCursor;
+import com.jundaai.note.dto.KeysetPage;
+import com.jundaai.note.dto.KeysetSort;
 import com.jundaai.note.dto.TagOperationForm;
+import com.jundaai.note.dto.TagSummary;
+import com.jundaai.note.event.EntitiesChangedEvent;
 import com.jundaai.note.model.Tag;
 import com.jundaai.note.repository.NoteRepository;
 import com.jundaai.note.repository.TagRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 @Slf4j
 public class TagService {
 
     private final NoteRepository noteRepository;
     private final TagRepository tagRepository;
+    private final TagNameCache tagNameCache;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TagService(NoteRepository noteRepository, TagRepository tagRepository) {
+    public TagService(NoteRepository noteRepository, TagRepository tagRepository, TagNameCache tagNameCache,
+                      ApplicationEventPublisher eventPublisher) {
         this.noteRepository = noteRepository;
         this.tagRepository = tagRepository;
+        this.tagNameCache = tagNameCache;
+        this.eventPublisher = eventPublisher;
     }
 
-    public List<Tag> getAllTags() {
-        log.info("Get all tags");
-        return tagRepository.findAll();
+    public KeysetPage<TagSummary> getAllTags(KeysetSort sort, String cursor, int size) {
+        log.info("Get all tags, sort: {}, cursor: {}, size: {}", sort, cursor, size);
+        KeysetCursor after = KeysetCursor.decode(cursor, sort);
+        Slice<TagSummary> tags = switch (sort) {
+            case UPDATED_AT -> tagRepository.findSummariesUpdatedBefore(after.updatedAt(), after.id(),
+                    PageRequest.ofSize(size));
+            case NAME -> tagRepository.findSummariesNamedAfter(after.name(), after.id(), PageRequest.ofSize(size));
+        };
+        return KeysetPage.of(tags, tag -> KeysetCursor.after(sort, tag.updatedAt(), tag.name(), tag.id()));
     }
 
     public List<Tag> getAllTagsByNoteId(Long noteId) {
@@ -46,6 +70,12 @@ public class TagService {
                 .orElseThrow(() -> new TagNotFoundException("id: " + tagId));
     }
 
+    public ZonedDateTime getTagVersionById(Long tagId) {
+        log.info("Get tag version by id: {}", tagId);
+        return tagRepository.findVersionById(tagId)
+                .orElseThrow(() -> new TagNotFoundException("id: " + tagId));
+    }
+
     @Transactional
     public Tag createTag(TagOperationForm creationForm) {
         log.info("Create new tag: {}", creationForm);
@@ -63,7 +93,10 @@ public class TagService {
                 .updatedAt(now)
                 .notes(new ArrayList<>())
                 .build();
-        return tagRepository.save(tag);
+        tagNameCache.evict(name);
+        tag = tagRepository.save(tag);
+        eventPublisher.publishEvent(EntitiesChangedEvent.of(ChangeEntityType.TAG, ChangeType.CREATED, tag.getId()));
+        return tag;
     }
 
     @Transactional
@@ -78,8 +111,11 @@ public class TagService {
         if (tagRepository.existsByName(newName)) {
             throw new TagNameConflictException(newName);
         }
+        tagNameCache.evict(tag.getName());
+        tagNameCache.evict(newName);
         tag.setName(newName);
         tag.setUpdatedAt(ZonedDateTime.now());
+        eventPublisher.publishEvent(EntitiesChangedEvent.of(ChangeEntityType.TAG, ChangeType.UPDATED, tagId));
         return tagRepository.save(tag);
     }
 
@@ -94,6 +130,8 @@ public class TagService {
             note.setTags(noteTags);
             noteRepository.save(note);
         });
+        tagNameCache.evict(tag.getName());
         tagRepository.deleteById(tagId);
+        eventPublisher.publishEvent(EntitiesChangedEvent.of(ChangeEntityType.TAG, ChangeType.DELETED, tagId));
     }
 }
@@ -0,0 +1,172 @@
+package com.jundaai.note.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.jundaai.note.model.Folder;
+import com.jundaai.note.model.Note;
+import com.jundaai.note.model.NoteContent;
+import com.jundaai.note.repository.FolderClosureRepository;
+import com.jundaai.note.repository.FolderRepository;
+import com.jundaai.note.repository.NoteContentRepository;
+import com.jundaai.note.repository.NoteRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+
+@Slf4j
+public abstract class ExecutionModeLoadTest {
+
+    static final String TOMCAT_MAX_THREADS = "server.tomcat.threads.max=8";
+    private static final int NOTE_COUNT = 20;
+    private static final int CLIENTS = 32;
+    private static final int REQUESTS_PER_CLIENT = 10;
+    private static final String PINNED_FRAME_MARKER = "<== monitors";
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private FolderRepository folderRepository;
+    @Autowired
+    private FolderClosureRepository folderClosureRepository;
+    @Autowired
+    private NoteRepository noteRepository;
+    @Autowired
+    private NoteContentRepository noteContentRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> noteIds = new ArrayList<>();
+    private Folder testFolder;
+
+    abstract String executionMode();
+
+    @BeforeEach
+    void setUp() {
+        ZonedDateTime now = ZonedDateTime.now();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            testFolder = folderRepository.save(Folder.builder()
+                    .name("Load")
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .subFolders(new ArrayList<>())
+                    .notes(new ArrayList<>())
+                    .build());
+            folderClosureRepository.insertSelf(testFolder.getId());
+            for (int i = 0; i < NOTE_COUNT; i++) {
+                Note note = noteRepository.save(Note.builder()
+                        .name("Note " + i)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .folder(testFolder)
+                        .tags(new ArrayList<>())
+                        .build());
+                noteContentRepository.save(NoteContent.builder()
+                        .note(note)
+                        .content("content " + i)
+                        .build());
+                noteIds.add(note.getId());
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            folderClosureRepository.deleteSubtreePaths(List.of(testFolder.getId()));
+            folderRepository.deleteById(testFolder.getId());
+        });
+    }
+
+    @Test
+    public void burstOfReads_AllServed() throws Exception {
+        // given
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(CLIENTS))
+                .build();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int client = 0; client < CLIENTS; client++) {
+            int offset = client;
+            results.add(clients.submit(() -> {
+                start.await();
+                long[] latencies = new long[REQUESTS_PER_CLIENT];
+                for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                    String path = i % 2 == 0
+                            ? "/api/v1/notes/" + noteIds.get((offset + i) % NOTE_COUNT)
+                            : "/api/v1/folders/" + testFolder.getId() + "/notes";
+                    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                            .header(HttpHeaders.ACCEPT, MediaTypes.HAL_JSON_VALUE)
+                            .build();
+                    long begin = System.nanoTime();
+                    HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    latencies[i] = System.nanoTime() - begin;
+                    assertEquals(200, response.statusCode());
+                }
+                return latencies;
+            }));
+        }
+
+        // when
+        // under the java21 build profile -Djdk.tracePinnedThreads prints the stack of every virtual thread that
+        // blocks while pinned to its carrier, marking the frames that hold a monitor
+        PrintStream console = System.out;
+        ByteArrayOutputStream traced = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(traced, true, StandardCharsets.UTF_8));
+        long begin = System.nanoTime();
+        long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+        try {
+            start.countDown();
+            for (int client = 0; client < CLIENTS; client++) {
+                System.arraycopy(results.get(client).get(2, TimeUnit.MINUTES), 0, latencies,
+                        client * REQUESTS_PER_CLIENT, REQUESTS_PER_CLIENT);
+            }
+        } finally {
+            System.setOut(console);
+            console.print(traced.toString(StandardCharsets.UTF_8));
+        }
+        long elapsed = System.nanoTime() - begin;
+        clients.shutdown();
+        List<String> pinnedAt = traced.toString(StandardCharsets.UTF_8).lines()
+                .filter(line -> line.contains(PINNED_FRAME_MARKER))
+                .map(String::strip)
+                .distinct()
+                .toList();
+
+        // then
+        Arrays.sort(latencies);
+        log.info("{}: {} requests from {} clients in {} ms ({} req/s), p50 {} us, p99 {} us", executionMode(),
+                latencies.length, CLIENTS, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                latencies.length * TimeUnit.SECONDS.toNanos(1) / elapsed,
+                TimeUnit.NANOSECONDS.toMicros(latencies[latencies.length / 2]),
+                TimeUnit.NANOSECONDS.toMicros(latencies[latencies.length * 99 / 100]));
+        log.info("{}: {} distinct frames pinned a blocked virtual thread{}", executionMode(), pinnedAt.size(),
+                pinnedAt.isEmpty() ? "" : "\n" + String.join("\n", pinnedAt));
+        assertEquals(CLIENTS * REQUESTS_PER_CLIENT, latencies.length);
+    }
+}
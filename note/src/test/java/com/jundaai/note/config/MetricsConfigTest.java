@@ -0,0 +1,71 @@
+package com.jundaai.note.config;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jundaai.note.dto.FolderCreationForm;
+import com.jundaai.note.dto.FolderUpdateForm;
+import com.jundaai.note.dto.FolderUpdateType;
+import com.jundaai.note.dto.KeysetSort;
+import com.jundaai.note.model.Folder;
+import com.jundaai.note.service.FolderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metrics")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class MetricsConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private FolderService folderService;
+
+    private Folder source;
+    private Folder target;
+
+    @BeforeEach
+    void setUp() {
+        Long rootId = folderService.getAllFolders(KeysetSort.NAME, null, 100).content().stream()
+                .filter(folder -> folder.getName().equals("root"))
+                .findFirst()
+                .orElseThrow()
+                .getId();
+        source = folderService.createFolderByParentId(rootId, new FolderCreationForm("Metrics Source"));
+        target = folderService.createFolderByParentId(rootId, new FolderCreationForm("Metrics Target"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        folderService.deleteFolderById(target.getId());
+    }
+
+    @Test
+    public void moveFolder_ServiceBranchAndRepositoryTimersExposed() throws Exception {
+        // when
+        folderService.updateFolderById(source.getId(), FolderUpdateForm.builder()
+                .updateType(FolderUpdateType.MOVE_FOLDER.name())
+                .toParentId(target.getId())
+                .build());
+
+        // then
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("note_service_seconds_bucket{class=\""
+                        + FolderService.class.getName() + "\",exception=\"none\",method=\"updateFolderById\"")))
+                .andExpect(content().string(containsString("folder_update_seconds_count{type=\"MOVE_FOLDER\",} 1.0")))
+                .andExpect(content().string(containsString("folder_update_seconds_count{type=\"RENAME_FOLDER\",} 0.0")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{"
+                        + "exception=\"None\",method=\"findSubtreeIds\",repository=\"FolderClosureRepository\"")));
+    }
+}
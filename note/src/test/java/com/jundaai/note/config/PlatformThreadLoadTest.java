@@ -0,0 +1,14 @@
+package com.jundaai.note.config;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.datasource.url=jdbc:h2:mem:platformload", ExecutionModeLoadTest.TOMCAT_MAX_THREADS})
+public class PlatformThreadLoadTest extends ExecutionModeLoadTest {
+
+    @Override
+    String executionMode() {
+        return "platform threads";
+    }
+}
@@ -0,0 +1,112 @@
+package com.jundaai.note.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+
+public class RequestDecompressionFilterTest {
+
+    private static final String BODY = "{\"name\": \"Compressed\"}";
+
+    private final RequestDecompressionFilter testFilter = new RequestDecompressionFilter();
+
+    @Test
+    public void doFilter_ReadListener_NotifiedWithInflatedBody() throws Exception {
+        // given
+        MockHttpServletRequest request = gzipRequest("GZIP");
+        request.setAsyncSupported(true);
+        request.startAsync();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicBoolean allDataRead = new AtomicBoolean();
+
+        // when
+        ServletRequest filtered = filter(request);
+        ServletInputStream inputStream = filtered.getInputStream();
+        inputStream.setReadListener(new ReadListener() {
+
+            @Override
+            public void onDataAvailable() throws IOException {
+                byte[] buffer = new byte[8];
+                while (inputStream.isReady() && !inputStream.isFinished()) {
+                    int n = inputStream.read(buffer);
+                    if (n > 0) {
+                        read.write(buffer, 0, n);
+                    }
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allDataRead.set(true);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                throw new AssertionError(throwable);
+            }
+        });
+
+        // then
+        assertEquals(BODY, read.toString(StandardCharsets.UTF_8));
+        assertTrue(allDataRead.get());
+        assertNull(((HttpServletRequest) filtered).getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    public void doFilter_ReadListenerWithoutAsync_ExceptionThrown() throws Exception {
+        // when
+        ServletInputStream inputStream = filter(gzipRequest("gzip")).getInputStream();
+
+        // then
+        assertThrows(IllegalStateException.class, () -> inputStream.setReadListener(new ReadListener() {
+
+            @Override
+            public void onDataAvailable() {
+            }
+
+            @Override
+            public void onAllDataRead() {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+        }));
+        assertEquals(BODY, new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    private ServletRequest filter(MockHttpServletRequest request) throws Exception {
+        MockFilterChain filterChain = new MockFilterChain();
+        testFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+        return filterChain.getRequest();
+    }
+
+    private static MockHttpServletRequest gzipRequest(String encoding) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(BODY.getBytes(StandardCharsets.UTF_8));
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/folders/1/notes");
+        request.addHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        request.setContent(bytes.toByteArray());
+        return request;
+    }
+}
@@ -0,0 +1,18 @@
+package com.jundaai.note.config;
+
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.datasource.url=jdbc:h2:mem:virtualload", ExecutionModeLoadTest.TOMCAT_MAX_THREADS})
+@ActiveProfiles(VirtualThreadConfig.PROFILE)
+@EnabledIf("com.jundaai.note.config.VirtualThreads#isAvailable")
+public class VirtualThreadLoadTest extends ExecutionModeLoadTest {
+
+    @Override
+    String executionMode() {
+        return "virtual threads";
+    }
+}
@@ -0,0 +1,39 @@
+package com.jundaai.note.config;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIf;
+import org.junit.jupiter.api.condition.EnabledIf;
+
+
+public class VirtualThreadsTest {
+
+    @Test
+    @EnabledIf("com.jundaai.note.config.VirtualThreads#isAvailable")
+    public void newVirtualThreadPerTaskExecutor_RunsTasksOnVirtualThreads() throws Exception {
+        // when
+        ExecutorService executor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+        boolean virtual = executor.submit(() -> (boolean) Thread.class.getMethod("isVirtual")
+                .invoke(Thread.currentThread())).get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // then
+        assertTrue(virtual);
+    }
+
+    @Test
+    @DisabledIf("com.jundaai.note.config.VirtualThreads#isAvailable")
+    public void newVirtualThreadPerTaskExecutor_OldRuntime_IllegalStateException() {
+        // when
+        Exception exception = assertThrows(IllegalStateException.class,
+                VirtualThreads::newVirtualThreadPerTaskExecutor);
+
+        // then
+        assertTrue(exception.getMessage().startsWith("Virtual threads require Java 21"));
+    }
+}
@@ -0,0 +1,322 @@
+package com.jundaai.note.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import com.jundaai.note.SqlStatementRecorder;
+import com.jundaai.note.dto.FolderTreeNode;
+import com.jundaai.note.dto.NoteSummary;
+import com.jundaai.note.model.Folder;
+import com.jundaai.note.repository.FolderClosureRepository;
+import com.jundaai.note.repository.FolderRepository;
+import com.jundaai.note.repository.NoteContentRepository;
+import com.jundaai.note.repository.NoteRepository;
+import com.jundaai.note.repository.TagRepository;
+import com.jundaai.note.service.ExchangeService;
+import com.jundaai.note.service.SearchService;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ExchangeControllerStatementCountTest {
+
+    private static final String BASE_PATH = "/api/v1/folders/";
+    private static final int NOTE_COUNT = 200;
+    private static final int EXPORT_NOTE_COUNT = 1200;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private FolderRepository folderRepository;
+    @Autowired
+    private FolderClosureRepository folderClosureRepository;
+    @Autowired
+    private NoteRepository noteRepository;
+    @Autowired
+    private NoteContentRepository noteContentRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private ExchangeService exchangeService;
+    @Autowired
+    private SearchService searchService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Folder> testFolders = new ArrayList<>();
+    private Folder testFolder;
+
+    @BeforeEach
+    void setUp() {
+        testFolder = saveFolder("Import");
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (Folder folder : testFolders) {
+                folderClosureRepository.deleteSubtreePaths(folderClosureRepository.findSubtreeIds(folder.getId()));
+                folderRepository.deleteById(folder.getId());
+            }
+            tagRepository.findByName("imported").ifPresent(tagRepository::delete);
+        });
+    }
+
+    private Folder saveFolder(String name) {
+        ZonedDateTime now = ZonedDateTime.now();
+        Folder folder = new TransactionTemplate(transactionManager).execute(status -> {
+            Folder saved = folderRepository.save(Folder.builder()
+                    .name(name)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .subFolders(new ArrayList<>())
+                    .notes(new ArrayList<>())
+                    .build());
+            folderClosureRepository.insertSelf(saved.getId());
+            return saved;
+        });
+        testFolders.add(folder);
+        return folder;
+    }
+
+    private String exportFolder(Long folderId, String query) throws Exception {
+        MvcResult result = mockMvc.perform(get(BASE_PATH + folderId + "/export" + query))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    @Test
+    public void importIntoFolder_NestedFoldersNotesAndTags_Success() throws Exception {
+        // given
+        String body = String.join("\n",
+                "{\"type\":\"TAG\",\"name\":\"imported\"}",
+                "{\"type\":\"FOLDER\",\"id\":10,\"name\":\"Languages\"}",
+                "{\"type\":\"FOLDER\",\"id\":11,\"parentId\":10,\"name\":\"Java\"}",
+                "{\"type\":\"NOTE\",\"id\":20,\"folderId\":11,\"name\":\"Records\",\"content\":\"Since 16\"," +
+                        "\"tags\":[\"imported\"]}",
+                "{\"type\":\"NOTE\",\"id\":21,\"name\":\"Top level\"}");
+
+        // when
+        mockMvc.perform(post(BASE_PATH + testFolder.getId() + "/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.lines").value(5))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.folders").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.notes").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.tags").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors.size()").value(0));
+
+        // then
+        List<FolderTreeNode> descendants = folderClosureRepository.findDescendantNodes(testFolder.getId(),
+                Integer.MAX_VALUE);
+        assertEquals(List.of("Languages", "Java"), descendants.stream().map(FolderTreeNode::name).toList());
+        Long javaId = descendants.get(1).id();
+        List<FolderTreeNode> ancestors = folderClosureRepository.findAncestorNodes(javaId);
+        assertEquals(testFolder.getId(), ancestors.get(ancestors.size() - 3).id());
+        assertEquals(List.of("Records"), folderRepository.findNoteSummariesByFolderId(javaId).stream()
+                .map(NoteSummary::name)
+                .toList());
+        Long recordsId = folderRepository.findNoteSummariesByFolderId(javaId).get(0).id();
+        assertEquals("Since 16", noteContentRepository.findContentById(recordsId).orElseThrow());
+        assertTrue(searchService.searchNotes("records since", 100).stream()
+                .anyMatch(hit -> hit.id().equals(recordsId)));
+        Long tagId = tagRepository.findByName("imported").orElseThrow().getId();
+        assertEquals(1, noteRepository.findAllByTagIdNamedAfter(tagId, "", 0L, Pageable.unpaged())
+                .getNumberOfElements());
+        assertEquals(1, folderRepository.findNoteSummariesByFolderId(testFolder.getId()).size());
+    }
+
+    @Test
+    public void importIntoFolder_InvalidLines_ReportedPerLine() throws Exception {
+        // given
+        String body = String.join("\n",
+                "{\"type\":\"FOLDER\",\"id\":10,\"name\":\"Kept\"}",
+                "not json",
+                "{\"type\":\"FOLDER\",\"id\":11,\"name\":\"Kept\"}",
+                "{\"type\":\"NOTE\",\"folderId\":11,\"name\":\"Orphan\"}",
+                "",
+                "{\"type\":\"NOTE\",\"folderId\":10,\"name\":\" \"}",
+                "{\"type\":\"FOLDER\",\"name\":\"root\"}",
+                "{\"type\":\"NOTE\",\"folderId\":10,\"name\":\"Kept note\"}",
+                "{\"type\":\"NOTE\",\"folderId\":99,\"name\":\"Unknown folder\"}");
+
+        // when, then
+        mockMvc.perform(post(BASE_PATH + testFolder.getId() + "/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.lines").value(9))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.folders").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.notes").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[*].line").value(
+                        Matchers.contains(2, 3, 4, 6, 7, 9)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[1].message").value(
+                        "Folder name: Kept conflicts with an existing folder under the same parent."))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[2].message").value(
+                        "Folder id: 11 was not imported."))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[5].message").value(
+                        "Folder id: 99 is not defined by an earlier line."));
+    }
+
+    @Test
+    public void importIntoFolder_FolderNotFound_404NotFound() throws Exception {
+        mockMvc.perform(post(BASE_PATH + Long.MAX_VALUE + "/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"type\":\"TAG\",\"name\":\"imported\"}"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    public void importIntoFolder_ManyNotes_InsertsBatched() throws Exception {
+        // given
+        String body = IntStream.range(0, NOTE_COUNT)
+                .mapToObj(i -> "{\"type\":\"NOTE\",\"name\":\"Note " + i + "\",\"content\":\"Content " + i + "\"}")
+                .collect(Collectors.joining("\n"));
+
+        // when
+        SqlStatementRecorder.start();
+        mockMvc.perform(post(BASE_PATH + testFolder.getId() + "/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.notes").value(NOTE_COUNT));
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        assertEquals(NOTE_COUNT, folderRepository.findNoteSummariesByFolderId(testFolder.getId()).size());
+        long inserts = statements.stream().filter(sql -> sql.startsWith("insert")).count();
+        assertTrue(inserts <= 2 * NOTE_COUNT / 50, String.join("\n", statements));
+        assertTrue(statements.size() < 20, String.join("\n", statements));
+    }
+
+    @Test
+    public void exportFolder_ImportedIntoAnotherFolder_SameTree() throws Exception {
+        // given
+        String body = String.join("\n",
+                "{\"type\":\"FOLDER\",\"id\":10,\"name\":\"Languages\"}",
+                "{\"type\":\"FOLDER\",\"id\":11,\"parentId\":10,\"name\":\"Java\"}",
+                "{\"type\":\"NOTE\",\"folderId\":11,\"name\":\"Records\",\"content\":\"Since 16\"," +
+                        "\"tags\":[\"imported\"]}",
+                "{\"type\":\"NOTE\",\"name\":\"Top level\"}");
+        mockMvc.perform(post(BASE_PATH + testFolder.getId() + "/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        Folder copyFolder = saveFolder("Copy");
+
+        // when
+        String export = exportFolder(testFolder.getId(), "");
+        mockMvc.perform(post(BASE_PATH + copyFolder.getId() + "/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(export))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.lines").value(4))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.folders").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.notes").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.tags").value(0))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors.size()").value(0));
+
+        // then
+        assertEquals(4, export.lines().count());
+        assertTrue(export.lines().allMatch(line -> line.contains("\"createdAt\"")));
+        assertEquals(2, export.lines().filter(line -> !line.contains("\"parentId\"")
+                && !line.contains("\"folderId\"")).count());
+        String copyExport = exportFolder(copyFolder.getId(), "");
+        assertEquals(stripIds(export), stripIds(copyExport));
+    }
+
+    @Test
+    public void exportFolder_Gzip_ContentEncoded() throws Exception {
+        // given
+        mockMvc.perform(post(BASE_PATH + testFolder.getId() + "/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"type\":\"NOTE\",\"name\":\"Compressed\",\"content\":\"Content\"}"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        // when
+        MvcResult result = mockMvc.perform(get(BASE_PATH + testFolder.getId() + "/export?gzip=true"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        byte[] compressed = mockMvc.perform(asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // then
+        try (GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            String export = new String(gzipInputStream.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(export.startsWith("{\"type\":\"NOTE\""), export);
+            assertTrue(export.contains("\"content\":\"Content\""), export);
+        }
+    }
+
+    @Test
+    public void exportFolder_FolderNotFound_404NotFound() throws Exception {
+        mockMvc.perform(get(BASE_PATH + Long.MAX_VALUE + "/export"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    public void exportFolder_ManyNotes_StatementsPerBatch() throws Exception {
+        // given
+        String body = IntStream.range(0, EXPORT_NOTE_COUNT)
+                .mapToObj(i -> "{\"type\":\"NOTE\",\"name\":\"Note " + i + "\",\"tags\":[\"imported\"]}")
+                .collect(Collectors.joining("\n"));
+        mockMvc.perform(post(BASE_PATH + testFolder.getId() + "/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        // when
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        SqlStatementRecorder.start();
+        exchangeService.exportFolder(testFolder.getId()).writeTo(outputStream);
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        String export = outputStream.toString(StandardCharsets.UTF_8);
+        assertEquals(EXPORT_NOTE_COUNT, export.lines().count());
+        assertTrue(export.lines().allMatch(line -> line.contains("\"tags\":[\"imported\"]")));
+        // folder existence check, folder stream, note stream, then contents and tag links per batch
+        int batches = (EXPORT_NOTE_COUNT + ExchangeService.EXPORT_BATCH_SIZE - 1) / ExchangeService.EXPORT_BATCH_SIZE;
+        assertEquals(3 + 2 * batches, statements.size(), String.join("\n", statements));
+    }
+
+    private static String stripIds(String export) {
+        return export.replaceAll("\"(id|parentId|folderId)\":\\d+,", "")
+                .replaceAll("\"(createdAt|updatedAt)\":\"[^\"]+\"", "");
+    }
+}
@@ -0,0 +1,356 @@
+package com.jundaai.note.controller;
+
+import static com.jundaai.note.SqlStatementRecorder.assertWithinBudget;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import com.jundaai.note.SqlStatementRecorder;
+import com.jundaai.note.model.Folder;
+import com.jundaai.note.model.Note;
+import com.jundaai.note.repository.FolderClosureRepository;
+import com.jundaai.note.repository.FolderRepository;
+import com.jundaai.note.repository.NoteRepository;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class FolderControllerStatementCountTest {
+
+    private static final String BASE_PATH = "/api/v1/folders/";
+    private static final int SUB_FOLDER_COUNT = 20;
+    private static final int NOTE_COUNT = 20;
+    private static final int DESCENDANTS_PER_SUB_FOLDER = 3;
+    private static final int SUB_FOLDER_SUBTREE_SIZE = 1 + DESCENDANTS_PER_SUB_FOLDER;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private FolderRepository folderRepository;
+    @Autowired
+    private FolderClosureRepository folderClosureRepository;
+    @Autowired
+    private NoteRepository noteRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Folder testFolder;
+    private Folder testFirstSubFolder;
+    private Folder testSubFolder;
+    private Folder testDescendant;
+
+    @BeforeEach
+    void setUp() {
+        ZonedDateTime now = ZonedDateTime.now();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            testFolder = saveFolder("Statement Count", null, now);
+            for (int i = 0; i < SUB_FOLDER_COUNT; i++) {
+                Folder subFolder = saveFolder("Sub-folder " + i, testFolder, now);
+                if (testFirstSubFolder == null) {
+                    testFirstSubFolder = subFolder;
+                }
+                testSubFolder = subFolder;
+                for (int j = 0; j < DESCENDANTS_PER_SUB_FOLDER; j++) {
+                    testDescendant = saveFolder("Descendant " + j, subFolder, now);
+                    noteRepository.save(newNote("Descendant note " + j, subFolder, now));
+                }
+            }
+            for (int i = 0; i < NOTE_COUNT; i++) {
+                noteRepository.save(newNote("Note " + i, testFolder, now));
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            folderClosureRepository.deleteSubtreePaths(folderClosureRepository.findSubtreeIds(testFolder.getId()));
+            folderRepository.deleteById(testFolder.getId());
+        });
+    }
+
+    @Test
+    public void getFolderById_FourStatements() throws Exception {
+        // when
+        SqlStatementRecorder.start();
+        mockMvc.perform(get(BASE_PATH + testFolder.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.subFolders.size()").value(SUB_FOLDER_COUNT))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.subFolders[0].size()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.notes.size()").value(NOTE_COUNT))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.notes[0].size()").value(2));
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        // version, folder with parent, sub-folder summaries, note summaries
+        assertEquals(4, statements.size(), String.join("\n", statements));
+    }
+
+    @Test
+    public void getFolderById_NotModified_OneStatement() throws Exception {
+        // given
+        String eTag = mockMvc.perform(get(BASE_PATH + testFolder.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when
+        SqlStatementRecorder.start();
+        mockMvc.perform(get(BASE_PATH + testFolder.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, eTag));
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        assertEquals(1, statements.size(), String.join("\n", statements));
+    }
+
+    @Test
+    public void getFolderById_SubFolderRenamed_Modified() throws Exception {
+        // given
+        String eTag = mockMvc.perform(get(BASE_PATH + testFolder.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when
+        mockMvc.perform(patch(BASE_PATH + testSubFolder.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"updateType\": \"RENAME_FOLDER\", \"newName\": \"Renamed sub-folder\"}"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        // then
+        mockMvc.perform(get(BASE_PATH + testFolder.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, Matchers.not(eTag)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.subFolders[?(@.name == 'Renamed sub-folder')]").exists());
+    }
+
+    @Test
+    public void getSubFoldersByParentId_OneStatement() throws Exception {
+        // when
+        SqlStatementRecorder.start();
+        mockMvc.perform(get(BASE_PATH + testFolder.getId() + "/subFolders").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$._embedded.folderList.size()").value(SUB_FOLDER_COUNT));
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        assertEquals(1, statements.size(), String.join("\n", statements));
+    }
+
+    @Test
+    public void getSubFoldersByParentId_FollowNextLinks_OneStatementPerPage() throws Exception {
+        // given
+        List<String> gotNames = new ArrayList<>();
+        String nextHref = BASE_PATH + testFolder.getId() + "/subFolders?sort=NAME&size=7";
+
+        // when
+        while (nextHref != null) {
+            SqlStatementRecorder.start();
+            String body = mockMvc.perform(get(nextHref).contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(MockMvcResultMatchers.status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            List<String> statements = SqlStatementRecorder.stop();
+            assertEquals(1, statements.size(), String.join("\n", statements));
+
+            gotNames.addAll(JsonPath.read(body, "$._embedded.folderList[*].name"));
+            nextHref = JsonPath.using(Configuration.defaultConfiguration().addOptions(Option.SUPPRESS_EXCEPTIONS))
+                    .parse(body)
+                    .read("$._links.next.href");
+        }
+
+        // then
+        assertEquals(SUB_FOLDER_COUNT, gotNames.size());
+        assertEquals(gotNames.stream().sorted().toList(), gotNames);
+    }
+
+    @Test
+    public void getAncestorsById_OneStatement() throws Exception {
+        // when
+        SqlStatementRecorder.start();
+        mockMvc.perform(get(BASE_PATH + testDescendant.getId() + "/ancestors").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$._embedded.folderList.size()").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$._embedded.folderList[0].id").value(testFolder.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$._embedded.folderList[2].id")
+                        .value(testDescendant.getId()));
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        assertEquals(1, statements.size(), String.join("\n", statements));
+    }
+
+    @Test
+    public void getDescendantsById_OneStatement() throws Exception {
+        // when
+        SqlStatementRecorder.start();
+        mockMvc.perform(get(BASE_PATH + testFolder.getId() + "/descendants").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$._embedded.folderList.size()")
+                        .value(SUB_FOLDER_COUNT * (1 + DESCENDANTS_PER_SUB_FOLDER)));
+        mockMvc.perform(get(BASE_PATH + testFolder.getId() + "/descendants?maxDepth=1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$._embedded.folderList.size()").value(SUB_FOLDER_COUNT));
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        assertEquals(2, statements.size(), String.join("\n", statements));
+    }
+
+    @Test
+    public void getAllFolders_WithinBudget() throws Exception {
+        // when
+        SqlStatementRecorder.start();
+        mockMvc.perform(get("/api/v1/folders?size=50").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$._embedded.folderList.size()").value(50));
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        // folders with parents
+        assertWithinBudget(1, statements);
+    }
+
+    @Test
+    public void createFolderByParentId_WithinBudget() throws Exception {
+        // when
+        SqlStatementRecorder.start();
+        mockMvc.perform(post(BASE_PATH + testFolder.getId() + "/subFolders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Budget folder\"}"))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        // parent, name conflict, folder sequence when the pool is exhausted, self path, paths under parent,
+        // folder, change log sequence (twice on first use), change log
+        assertWithinBudget(9, statements);
+    }
+
+    @Test
+    public void updateFolderById_Rename_WithinBudget() throws Exception {
+        // when
+        SqlStatementRecorder.start();
+        mockMvc.perform(patch(BASE_PATH + testSubFolder.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"updateType\": \"RENAME_FOLDER\", \"newName\": \"Renamed sub-folder\"}"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        // folder, name conflict, parent, folder touch, change log sequence (twice on first use), change log
+        assertWithinBudget(6, statements);
+    }
+
+    @Test
+    public void updateFolderById_Move_WithinBudget() throws Exception {
+        // when
+        SqlStatementRecorder.start();
+        mockMvc.perform(patch(BASE_PATH + testSubFolder.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"updateType\": \"MOVE_FOLDER\", \"toParentId\": " + testFirstSubFolder.getId()
+                                + "}"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        // folder, target parent, subtree ids, outside paths, paths under target, source parent, folder touch,
+        // change log sequence (twice on first use), change log
+        assertWithinBudget(9, statements);
+        // the other sub-folders of the source parent are never read
+        assertTrue(statements.stream().noneMatch(sql -> sql.endsWith(".parent_id=?")), () -> String.join("\n",
+                statements));
+    }
+
+    @Test
+    public void deleteFolderById_WithinBudget() throws Exception {
+        assertDeleteWithinBudget(testSubFolder);
+    }
+
+    @Test
+    public void deleteFolderById_LargerSubtree_SameBudget() throws Exception {
+        // given
+        ZonedDateTime now = ZonedDateTime.now();
+        Folder largeSubtree = new TransactionTemplate(transactionManager).execute(status -> {
+            Folder subtreeRoot = saveFolder("Large subtree", testFolder, now);
+            for (int i = 0; i < SUB_FOLDER_COUNT; i++) {
+                Folder subFolder = saveFolder("Large sub-folder " + i, subtreeRoot, now);
+                for (int j = 0; j < DESCENDANTS_PER_SUB_FOLDER; j++) {
+                    saveFolder("Large descendant " + j, subFolder, now);
+                    noteRepository.save(newNote("Large descendant note " + j, subFolder, now));
+                }
+            }
+            return subtreeRoot;
+        });
+
+        // when, then
+        assertDeleteWithinBudget(largeSubtree);
+    }
+
+    private void assertDeleteWithinBudget(Folder folder) throws Exception {
+        // when
+        SqlStatementRecorder.start();
+        mockMvc.perform(delete(BASE_PATH + folder.getId()))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        // folder, subtree ids, subtree note ids, subtree paths, note contents, note tag links, notes,
+        // parent links, folders, change log sequence (twice on first use), change log
+        assertWithinBudget(12, statements);
+    }
+
+    private Folder saveFolder(String name, Folder parent, ZonedDateTime now) {
+        Folder folder = folderRepository.save(newFolder(name, parent, now));
+        folderClosureRepository.insertSelf(folder.getId());
+        if (parent != null) {
+            folderClosureRepository.insertSubtreeUnder(parent.getId(), folder.getId());
+        }
+        return folder;
+    }
+
+    private static Folder newFolder(String name, Folder parent, ZonedDateTime now) {
+        return Folder.builder()
+                .name(name)
+                .createdAt(now)
+                .updatedAt(now)
+                .parentFolder(parent)
+                .subFolders(new ArrayList<>())
+                .notes(new ArrayList<>())
+                .build();
+    }
+
+    private static Note newNote(String name, Folder folder, ZonedDateTime now) {
+        return Note.builder()
+                .name(name)
+                .content("Content of " + name)
+                .createdAt(now)
+                .updatedAt(now)
+                .folder(folder)
+                .tags(new ArrayList<>())
+                .build();
+    }
+}
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
@@ -17,8 +18,12 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import com.jundaai.note.dto.FolderCreationForm;
+import com.jundaai.note.dto.FolderSummary;
+import com.jundaai.note.dto.FolderTreeNode;
 import com.jundaai.note.dto.FolderUpdateForm;
 import com.jundaai.note.dto.FolderUpdateType;
+import com.jundaai.note.dto.KeysetPage;
+import com.jundaai.note.dto.KeysetSort;
 import com.jundaai.note.exception.FolderNotFoundException;
 import com.jundaai.note.exception.advice.RestResponseEntityExceptionHandler;
 import com.jundaai.note.exception.advice.ValidationExceptionHandler;
@@ -32,6 +37,7 @@ import org.springframework.boot.test.json.JacksonTester;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
@@ -66,8 +72,9 @@ public class FolderControllerTest extends ControllerTest {
                 .collect(Collectors.collectingAndThen(Collectors.toList(), CollectionModel::of));
 
         // when, then
-        when(mockFolderService.getAllFolders()).thenReturn(mockFolders);
-        when(mockFolderModelAssembler.toCollectionModel(mockFolders)).thenReturn(collectionModel);
+        KeysetPage<Folder> page = new KeysetPage<>(mockFolders, null);
+        when(mockFolderService.getAllFolders(KeysetSort.UPDATED_AT, null, 20)).thenReturn(page);
+        when(mockFolderModelAssembler.toCollectionModel(eq(page), any())).thenReturn(collectionModel);
         mockMvc.perform(get(BASE_PATH + FOLDER_PATH).contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(MockMvcResultMatchers.status().isOk())
@@ -79,8 +86,8 @@ public class FolderControllerTest extends ControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.content[2].id").value(2))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.content[2].name").value("Data Structures"));
 
-        verify(mockFolderService).getAllFolders();
-        verify(mockFolderModelAssembler).toCollectionModel(mockFolders);
+        verify(mockFolderService).getAllFolders(KeysetSort.UPDATED_AT, null, 20);
+        verify(mockFolderModelAssembler).toCollectionModel(eq(page), any());
     }
 
     @Test
@@ -88,16 +95,26 @@ public class FolderControllerTest extends ControllerTest {
         // given
         var testId = mockFolderIds.get(0);
         var testFolder = mockFolders.get(0);
+        testFolder.setSubFolderSummaries(List.of(new FolderSummary(1L, "Programming Languages"),
+                new FolderSummary(2L, "Data Structures")));
+        testFolder.setNoteSummaries(List.of());
         EntityModel<Folder> entityModel = EntityModel.of(testFolder,
                 linkTo(methodOn(FolderController.class).getFolderById(testId)).withSelfRel());
 
         // when, then
+        when(mockFolderService.getFolderVersionById(testId)).thenReturn(testFolder.getUpdatedAt());
         when(mockFolderService.getFolderById(testId)).thenReturn(testFolder);
         when(mockFolderModelAssembler.toModel(testFolder)).thenReturn(entityModel);
         mockMvc.perform(get(BASE_PATH + FOLDER_PATH + "/" + testId).contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG,
+                        ConditionalRequests.eTag(testId, testFolder.getUpdatedAt())))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.size()").value(8))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.subFolders.size()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.subFolders[0].id").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.subFolders[0].name").value("Programming Languages"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.notes.size()").value(0))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(0))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.name").value("root"));
 
@@ -105,6 +122,25 @@ public class FolderControllerTest extends ControllerTest {
         verify(mockFolderModelAssembler).toModel(testFolder);
     }
 
+    @Test
+    public void getFolderById_IfNoneMatch_304NotModified() throws Exception {
+        // given
+        Long testId = mockFolderIds.get(0);
+        ZonedDateTime version = mockFolders.get(0).getUpdatedAt();
+
+        // when, then
+        when(mockFolderService.getFolderVersionById(testId)).thenReturn(version);
+        mockMvc.perform(get(BASE_PATH + FOLDER_PATH + "/" + testId)
+                        .header(HttpHeaders.IF_NONE_MATCH, ConditionalRequests.eTag(testId, version)))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+
+        verify(mockFolderService).getFolderVersionById(testId);
+        verify(mockFolderService, never()).getFolderById(testId);
+        verify(mockFolderModelAssembler, never()).toModel(any());
+    }
+
     @Test
     public void getSubFoldersByParentId_200Ok() throws Exception {
         // given
@@ -116,9 +152,13 @@ public class FolderControllerTest extends ControllerTest {
                 .collect(Collectors.collectingAndThen(Collectors.toList(), CollectionModel::of));
 
         // when, then
-        when(mockFolderService.getSubFoldersByParentId(testId)).thenReturn(testFolders);
-        when(mockFolderModelAssembler.toCollectionModel(testFolders)).thenReturn(collectionModel);
+        KeysetPage<Folder> page = new KeysetPage<>(testFolders, null);
+        when(mockFolderService.getSubFoldersByParentId(testId, KeysetSort.NAME, "cursor", 2)).thenReturn(page);
+        when(mockFolderModelAssembler.toCollectionModel(eq(page), any())).thenReturn(collectionModel);
         mockMvc.perform(get(BASE_PATH + FOLDER_PATH + "/" + testId + "/subFolders")
+                        .param("sort", "NAME")
+                        .param("cursor", "cursor")
+                        .param("size", "2")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(MockMvcResultMatchers.status().isOk())
@@ -128,8 +168,58 @@ public class FolderControllerTest extends ControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.content[1].id").value(2))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.content[1].name").value("Data Structures"));
 
-        verify(mockFolderService).getSubFoldersByParentId(testId);
-        verify(mockFolderModelAssembler).toCollectionModel(testFolders);
+        verify(mockFolderService).getSubFoldersByParentId(testId, KeysetSort.NAME, "cursor", 2);
+        verify(mockFolderModelAssembler).toCollectionModel(eq(page), any());
+    }
+
+    @Test
+    public void getAncestorsById_200Ok() throws Exception {
+        // given
+        var testId = mockFolderIds.get(1);
+        var testNodes = List.of(new FolderTreeNode(0L, "root", null, 1),
+                new FolderTreeNode(testId, "Programming Languages", 0L, 0));
+        CollectionModel<EntityModel<FolderTreeNode>> collectionModel = testNodes.stream()
+                .map(EntityModel::of)
+                .collect(Collectors.collectingAndThen(Collectors.toList(), CollectionModel::of));
+
+        // when, then
+        when(mockFolderService.getAncestorsById(testId)).thenReturn(testNodes);
+        when(mockFolderModelAssembler.toNodeCollectionModel(testNodes)).thenReturn(collectionModel);
+        mockMvc.perform(get(BASE_PATH + FOLDER_PATH + "/" + testId + "/ancestors")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(0))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].depth").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[1].parentId").value(0));
+
+        verify(mockFolderService).getAncestorsById(testId);
+        verify(mockFolderModelAssembler).toNodeCollectionModel(testNodes);
+    }
+
+    @Test
+    public void getDescendantsById_200Ok() throws Exception {
+        // given
+        var testId = mockFolderIds.get(0);
+        var testNodes = List.of(new FolderTreeNode(2L, "Data Structures", testId, 1),
+                new FolderTreeNode(1L, "Programming Languages", testId, 1));
+        CollectionModel<EntityModel<FolderTreeNode>> collectionModel = testNodes.stream()
+                .map(EntityModel::of)
+                .collect(Collectors.collectingAndThen(Collectors.toList(), CollectionModel::of));
+
+        // when, then
+        when(mockFolderService.getDescendantsById(testId, 1)).thenReturn(testNodes);
+        when(mockFolderModelAssembler.toNodeCollectionModel(testNodes)).thenReturn(collectionModel);
+        mockMvc.perform(get(BASE_PATH + FOLDER_PATH + "/" + testId + "/descendants")
+                        .param("maxDepth", "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.size()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].name").value("Data Structures"));
+
+        verify(mockFolderService).getDescendantsById(testId, 1);
+        verify(mockFolderModelAssembler).toNodeCollectionModel(testNodes);
     }
 
     @Test
@@ -159,7 +249,7 @@ public class FolderControllerTest extends ControllerTest {
                         .content(requestBody))
                 .andDo(print())
                 .andExpect(MockMvcResultMatchers.status().isCreated())
-                .andExpect(MockMvcResultMatchers.jsonPath("$.size()").value(8))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()").value(6))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(100))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.name").value("New Folder"));
 
@@ -219,7 +309,7 @@ public class FolderControllerTest extends ControllerTest {
                         .content(requestBody))
                 .andDo(print())
                 .andExpect(MockMvcResultMatchers.status().isOk())
-                .andExpect(MockMvcResultMatchers.jsonPath("$.size()").value(8))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()").value(6))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(0))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.name").value("New Name"))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.updatedAt").value(now.toEpochSecond()));
@@ -0,0 +1,300 @@
+package com.jundaai.note.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.jundaai.note.dto.KeysetSort;
+import com.jundaai.note.model.Folder;
+import com.jundaai.note.model.Note;
+import com.jundaai.note.model.NoteContent;
+import com.jundaai.note.model.assembler.NoteModelAssembler;
+import com.jundaai.note.repository.FolderClosureRepository;
+import com.jundaai.note.repository.FolderRepository;
+import com.jundaai.note.repository.NoteContentRepository;
+import com.jundaai.note.repository.NoteRepository;
+import com.jundaai.note.service.NoteService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:encoding")
+@Slf4j
+public class NoteContentEncodingTest {
+
+    private static final int NOTE_COUNT = 100;
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 1000;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private FolderRepository folderRepository;
+    @Autowired
+    private FolderClosureRepository folderClosureRepository;
+    @Autowired
+    private NoteRepository noteRepository;
+    @Autowired
+    private NoteContentRepository noteContentRepository;
+    @Autowired
+    private NoteService noteService;
+    @Autowired
+    private NoteModelAssembler noteModelAssembler;
+    @Autowired
+    private RequestMappingHandlerAdapter requestMappingHandlerAdapter;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private Folder testFolder;
+    private Note testNote;
+
+    @BeforeEach
+    void setUp() {
+        ZonedDateTime now = ZonedDateTime.now();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            testFolder = folderRepository.save(Folder.builder()
+                    .name("Encoding")
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .subFolders(new ArrayList<>())
+                    .notes(new ArrayList<>())
+                    .build());
+            folderClosureRepository.insertSelf(testFolder.getId());
+            for (int i = 0; i < NOTE_COUNT; i++) {
+                testNote = noteRepository.save(Note.builder()
+                        .name("Note " + i)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .folder(testFolder)
+                        .tags(new ArrayList<>())
+                        .build());
+            }
+            noteContentRepository.save(NoteContent.builder()
+                    .note(testNote)
+                    .content("")
+                    .build());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            folderClosureRepository.deleteSubtreePaths(List.of(testFolder.getId()));
+            folderRepository.deleteById(testFolder.getId());
+        });
+    }
+
+    @Test
+    public void getAllNotes_BytesOnTheWire() throws Exception {
+        // when
+        HttpResponse<byte[]> json = getAllNotes(MediaTypes.HAL_JSON_VALUE, "identity");
+        HttpResponse<byte[]> gzipJson = getAllNotes(MediaTypes.HAL_JSON_VALUE, "gzip");
+        HttpResponse<byte[]> cbor = getAllNotes(MediaType.APPLICATION_CBOR_VALUE, "identity");
+        HttpResponse<byte[]> gzipCbor = getAllNotes(MediaType.APPLICATION_CBOR_VALUE, "gzip");
+        log.info("getAllNotes, {} notes: hal+json {} B, hal+json gzip {} B, cbor {} B, cbor gzip {} B", NOTE_COUNT,
+                json.body().length, gzipJson.body().length, cbor.body().length, gzipCbor.body().length);
+
+        // then
+        assertTrue(json.headers().firstValue(HttpHeaders.CONTENT_ENCODING).isEmpty());
+        assertEquals("gzip", gzipJson.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElseThrow());
+        assertEquals(MediaType.APPLICATION_CBOR_VALUE,
+                cbor.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElseThrow());
+        assertEquals("gzip", gzipCbor.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElseThrow());
+        assertTrue(cbor.body().length < json.body().length);
+        assertTrue(gzipJson.body().length < json.body().length);
+        assertTrue(gzipCbor.body().length < cbor.body().length);
+
+        JsonNode decoded = new ObjectMapper(new CBORFactory()).readTree(cbor.body());
+        assertEquals(new ObjectMapper().readTree(json.body()), decoded);
+        assertTrue(decoded.at("/_embedded/noteList/0/_links/self/href").isTextual());
+    }
+
+    @Test
+    public void getAllNotes_SerializationCpu() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/notes");
+        request.setServerPort(port);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        CollectionModel<EntityModel<Note>> model;
+        try {
+            model = noteModelAssembler.toCollectionModel(noteService.getAllNotes(KeysetSort.UPDATED_AT, null,
+                    NOTE_COUNT), nextCursor -> methodOn(NoteController.class).getAllNotes(KeysetSort.UPDATED_AT,
+                    nextCursor, NOTE_COUNT));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+        HttpMessageConverter<Object> halJsonConverter = converterFor(MediaTypes.HAL_JSON);
+        HttpMessageConverter<Object> cborConverter = converterFor(MediaType.APPLICATION_CBOR);
+
+        // when
+        long halJsonNanos = cpuNanosPerWrite(halJsonConverter, MediaTypes.HAL_JSON, model);
+        long cborNanos = cpuNanosPerWrite(cborConverter, MediaType.APPLICATION_CBOR, model);
+        log.info("getAllNotes, {} notes: hal+json {} us/op, cbor {} us/op CPU", NOTE_COUNT, halJsonNanos / 1000,
+                cborNanos / 1000);
+
+        // then
+        JsonNode halJson = new ObjectMapper().readTree(write(halJsonConverter, MediaTypes.HAL_JSON, model));
+        JsonNode cbor = new ObjectMapper(new CBORFactory()).readTree(write(cborConverter,
+                MediaType.APPLICATION_CBOR, model));
+        assertEquals(halJson, cbor);
+        assertEquals(NOTE_COUNT, halJson.at("/_embedded/noteList").size());
+    }
+
+    @Test
+    public void createNote_GzipBody_201Created() throws Exception {
+        // given
+        String body = "{\"name\": \"Compressed\", \"content\": \"" + "gzip ".repeat(1000) + "\"}";
+
+        // when
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/api/v1/folders/" + testFolder.getId()
+                        + "/notes"))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(gzip(body))));
+
+        // then
+        assertEquals(201, response.statusCode(), response.body());
+        assertTrue(response.body().contains("\"name\":\"Compressed\""));
+    }
+
+    @Test
+    public void updateNote_DeflateBody_200Ok() throws Exception {
+        // given
+        String body = "{\"updateType\": \"MODIFY_CONTENT\", \"newContent\": \"" + "deflate ".repeat(1000) + "\"}";
+
+        // when
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/api/v1/notes/" + testNote.getId()))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.CONTENT_ENCODING, "deflate")
+                .method("PATCH", HttpRequest.BodyPublishers.ofByteArray(deflate(body))));
+
+        // then
+        assertEquals(200, response.statusCode(), response.body());
+        assertTrue(response.body().contains("deflate deflate"));
+    }
+
+    @Test
+    public void createNote_UnsupportedOrMalformedBody_4xx() throws Exception {
+        // given
+        byte[] body = "{\"name\": \"Compressed\"}".getBytes(StandardCharsets.UTF_8);
+        URI createUri = uri("/api/v1/folders/" + testFolder.getId() + "/notes");
+
+        // when
+        HttpResponse<String> unsupported = send(HttpRequest.newBuilder(createUri)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.CONTENT_ENCODING, "br")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body)));
+        HttpResponse<String> malformed = send(HttpRequest.newBuilder(createUri)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body)));
+
+        // then
+        assertEquals(415, unsupported.statusCode());
+        assertEquals(400, malformed.statusCode());
+    }
+
+    private HttpResponse<byte[]> getAllNotes(String accept, String acceptEncoding) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/api/v1/notes?size=" + NOTE_COUNT))
+                .header(HttpHeaders.ACCEPT, accept)
+                .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding)
+                .build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, response.statusCode());
+        return response;
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private HttpMessageConverter<Object> converterFor(MediaType mediaType) {
+        for (HttpMessageConverter<?> converter : requestMappingHandlerAdapter.getMessageConverters()) {
+            if (converter instanceof AbstractJackson2HttpMessageConverter
+                    && converter.canWrite(CollectionModel.class, mediaType)) {
+                return (HttpMessageConverter<Object>) converter;
+            }
+        }
+        throw new IllegalStateException("No converter for " + mediaType);
+    }
+
+    private static long cpuNanosPerWrite(HttpMessageConverter<Object> converter, MediaType mediaType, Object value)
+            throws IOException {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            write(converter, mediaType, value);
+        }
+        long start = threadMXBean.getCurrentThreadCpuTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            write(converter, mediaType, value);
+        }
+        return (threadMXBean.getCurrentThreadCpuTime() - start) / MEASURED_ITERATIONS;
+    }
+
+    private static byte[] write(HttpMessageConverter<Object> converter, MediaType mediaType, Object value)
+            throws IOException {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(value, mediaType, outputMessage);
+        return outputMessage.getBodyAsBytes();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static byte[] gzip(String body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] deflate(String body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflate = new DeflaterOutputStream(bytes)) {
+            deflate.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
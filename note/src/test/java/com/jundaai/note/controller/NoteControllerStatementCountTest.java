@@ -0,0 +1,311 @@
+package com.jundaai.note.controller;
+
+import static com.jundaai.note.SqlStatementRecorder.assertWithinBudget;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.jundaai.note.SqlStatementRecorder;
+import com.jundaai.note.model.Folder;
+import com.jundaai.note.model.Note;
+import com.jundaai.note.model.NoteContent;
+import com.jundaai.note.model.Tag;
+import com.jundaai.note.repository.FolderClosureRepository;
+import com.jundaai.note.repository.FolderRepository;
+import com.jundaai.note.repository.NoteContentRepository;
+import com.jundaai.note.repository.NoteRepository;
+import com.jundaai.note.repository.TagRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class NoteControllerStatementCountTest {
+
+    private static final String BASE_PATH = "/api/v1/";
+    private static final int NOTE_COUNT = 100;
+    private static final int TAG_COUNT = 10;
+    private static final int TAGS_PER_NOTE = 3;
+    private static final String CONTENT = "Lorem ipsum dolor sit amet. ".repeat(40);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private FolderRepository folderRepository;
+    @Autowired
+    private FolderClosureRepository folderClosureRepository;
+    @Autowired
+    private NoteRepository noteRepository;
+    @Autowired
+    private NoteContentRepository noteContentRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Tag> testTags = new ArrayList<>();
+    private Folder testFolder;
+    private Folder testTargetFolder;
+    private Note testNote;
+
+    @BeforeEach
+    void setUp() {
+        ZonedDateTime now = ZonedDateTime.now();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            testFolder = saveFolder("Note Statement Count", null, now);
+            testTargetFolder = saveFolder("Note Statement Count Target", testFolder, now);
+            for (int i = 0; i < TAG_COUNT; i++) {
+                testTags.add(tagRepository.save(Tag.builder()
+                        .name("note-budget-" + i)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .notes(new ArrayList<>())
+                        .build()));
+            }
+            for (int i = 0; i < NOTE_COUNT; i++) {
+                List<Tag> tags = new ArrayList<>();
+                for (int j = 0; j < TAGS_PER_NOTE; j++) {
+                    tags.add(testTags.get((i + j) % TAG_COUNT));
+                }
+                Note note = noteRepository.save(Note.builder()
+                        .name("Note " + i)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .folder(testFolder)
+                        .tags(tags)
+                        .build());
+                noteContentRepository.save(NoteContent.builder()
+                        .note(note)
+                        .content(CONTENT)
+                        .build());
+                testNote = note;
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            folderClosureRepository.deleteSubtreePaths(folderClosureRepository.findSubtreeIds(testFolder.getId()));
+            folderRepository.deleteById(testFolder.getId());
+        });
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                tagRepository.deleteAllById(testTags.stream().map(Tag::getId).toList()));
+    }
+
+    @Test
+    public void getAllNotes_WithinBudget() throws Exception {
+        // when
+        SqlStatementRecorder.start();
+        mockMvc.perform(get(BASE_PATH + "notes?size=100").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$._embedded.noteList.size()").value(NOTE_COUNT));
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        // notes with folders
+        assertWithinBudget(1, statements);
+    }
+
+    @Test
+    public void getAllNotesByFolderId_WithinBudget() throws Exception {
+        // when
+        SqlStatementRecorder.start();
+        mockMvc.perform(get(BASE_PATH + "folders/" + testFolder.getId() + "/notes?size=100")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$._embedded.noteList.size()").value(NOTE_COUNT));
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        // notes with folders
+        assertWithinBudget(1, statements);
+    }
+
+    @Test
+    public void getAllNotesByTagId_WithinBudget() throws Exception {
+        // when
+        SqlStatementRecorder.start();
+        mockMvc.perform(get(BASE_PATH + "tags/" + testTags.get(0).getId() + "/notes?size=100")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$._embedded.noteList.size()")
+                        .value(NOTE_COUNT * TAGS_PER_NOTE / TAG_COUNT));
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        // notes with folders
+        assertWithinBudget(1, statements);
+    }
+
+    @Test
+    public void getNoteById_WithinBudget() throws Exception {
+        // when
+        SqlStatementRecorder.start();
+        mockMvc.perform(get(BASE_PATH + "notes/" + testNote.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content").value(CONTENT));
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        // version, note with folder, content
+        assertWithinBudget(3, statements);
+    }
+
+    @Test
+    public void getNoteById_NotModified_WithinBudget() throws Exception {
+        // given
+        String eTag = mockMvc.perform(get(BASE_PATH + "notes/" + testNote.getId())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when
+        SqlStatementRecorder.start();
+        mockMvc.perform(get(BASE_PATH + "notes/" + testNote.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        // version
+        assertWithinBudget(1, statements);
+    }
+
+    @Test
+    public void createNoteByFolderId_WithinBudget() throws Exception {
+        // when
+        SqlStatementRecorder.start();
+        mockMvc.perform(post(BASE_PATH + "folders/" + testFolder.getId() + "/notes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Budget note\", \"content\": \"Budget content\"}"))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        // folder, name conflict, note sequence when the pool is exhausted, note, content,
+        // change log sequence (twice on first use), change log
+        assertWithinBudget(8, statements);
+    }
+
+    @Test
+    public void updateNoteById_Rename_WithinBudget() throws Exception {
+        // note with folder, name conflict, note, change log sequence (twice on first use), change log
+        assertPatchWithinBudget(6, "{\"updateType\": \"RENAME_NOTE\", \"newName\": \"Renamed note\"}");
+    }
+
+    @Test
+    public void updateNoteById_ModifyContent_WithinBudget() throws Exception {
+        // note with folder, content, note, content update, change log sequence (twice on first use), change log
+        assertPatchWithinBudget(7, "{\"updateType\": \"MODIFY_CONTENT\", \"newContent\": \"Modified content\"}");
+    }
+
+    @Test
+    public void updateNoteById_AppendContent_WithinBudget() throws Exception {
+        // note with folder, locked content version, content append, note, change log sequence (twice on first
+        // use), change log
+        assertPatchWithinBudget(7, "{\"updateType\": \"APPEND_CONTENT\", \"newContent\": \"Appended.\"}");
+    }
+
+    @Test
+    public void updateNoteById_PatchContent_WithinBudget() throws Exception {
+        // note with folder, content version, content, content update, note, change log sequence (twice on first
+        // use), change log
+        assertPatchWithinBudget(8, "{\"updateType\": \"PATCH_CONTENT\", \"baseVersion\": 0, "
+                + "\"edits\": [{\"offset\": 0, \"length\": 0, \"text\": \"Patched \"}]}");
+    }
+
+    @Test
+    public void updateNoteById_Move_WithinBudget() throws Exception {
+        // note with folder, target folder, note, change log sequence (twice on first use), change log
+        List<String> statements = assertPatchWithinBudget(6, "{\"updateType\": \"MOVE_NOTE\", \"toFolderId\": "
+                + testTargetFolder.getId() + "}");
+        // the other notes of the source folder, 99 of them here, are never read
+        assertNoFolderNotesRead(statements);
+    }
+
+    @Test
+    public void updateNoteById_AddTag_WithinBudget() throws Exception {
+        Tag tag = testTags.get(TAG_COUNT - 1 - TAGS_PER_NOTE);
+        // note with folder, tag by name, note tags, note, tag touch, note tags rewritten,
+        // change log sequence (twice on first use), change log
+        assertPatchWithinBudget(10, "{\"updateType\": \"ADD_TAG\", \"tagName\": \"" + tag.getName() + "\"}");
+    }
+
+    @Test
+    public void updateNoteById_RemoveTag_WithinBudget() throws Exception {
+        Tag tag = testTags.get((NOTE_COUNT - 1) % TAG_COUNT);
+        // note with folder, tag by name, note tags, note, tag touch, note tags rewritten,
+        // change log sequence (twice on first use), change log
+        List<String> statements = assertPatchWithinBudget(10, "{\"updateType\": \"REMOVE_TAG\", \"tagName\": \""
+                + tag.getName() + "\"}");
+        // the notes of the tag, 30 of them here, are never read
+        assertTrue(statements.stream().noneMatch(sql -> sql.endsWith(".tag_id=?")), () -> String.join("\n",
+                statements));
+    }
+
+    @Test
+    public void deleteNoteById_WithinBudget() throws Exception {
+        // when
+        SqlStatementRecorder.start();
+        mockMvc.perform(delete(BASE_PATH + "notes/" + testNote.getId()))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        // note with folder, note tags, note, change log sequence (twice on first use), change log
+        assertWithinBudget(6, statements);
+        assertNoFolderNotesRead(statements);
+    }
+
+    private List<String> assertPatchWithinBudget(int budget, String body) throws Exception {
+        // when
+        SqlStatementRecorder.start();
+        mockMvc.perform(patch(BASE_PATH + "notes/" + testNote.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        assertWithinBudget(budget, statements);
+        return statements;
+    }
+
+    private static void assertNoFolderNotesRead(List<String> statements) {
+        assertTrue(statements.stream().noneMatch(sql -> sql.endsWith(".folder_id=?")), () -> String.join("\n",
+                statements));
+    }
+
+    private Folder saveFolder(String name, Folder parent, ZonedDateTime now) {
+        Folder folder = folderRepository.save(Folder.builder()
+                .name(name)
+                .createdAt(now)
+                .updatedAt(now)
+                .parentFolder(parent)
+                .subFolders(new ArrayList<>())
+                .notes(new ArrayList<>())
+                .build());
+        folderClosureRepository.insertSelf(folder.getId());
+        if (parent != null) {
+            folderClosureRepository.insertSubtreeUnder(parent.getId(), folder.getId());
+        }
+        return folder;
+    }
+}
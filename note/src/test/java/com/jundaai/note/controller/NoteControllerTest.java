@@ -3,6 +3,7 @@ package com.jundaai.note.controller;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
@@ -14,6 +15,10 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.stream.Collectors;
 
+import com.jundaai.note.dto.AutosaveForm;
+import com.jundaai.note.dto.AutosaveReceipt;
+import com.jundaai.note.dto.KeysetPage;
+import com.jundaai.note.dto.KeysetSort;
 import com.jundaai.note.dto.NoteCreationForm;
 import com.jundaai.note.dto.NoteUpdateForm;
 import com.jundaai.note.dto.NoteUpdateType;
@@ -21,6 +26,7 @@ import com.jundaai.note.exception.advice.RestResponseEntityExceptionHandler;
 import com.jundaai.note.exception.advice.ValidationExceptionHandler;
 import com.jundaai.note.model.Note;
 import com.jundaai.note.model.assembler.NoteModelAssembler;
+import com.jundaai.note.service.AutosaveService;
 import com.jundaai.note.service.NoteService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,6 +35,7 @@ import org.springframework.boot.test.json.JacksonTester;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
@@ -42,13 +49,16 @@ public class NoteControllerTest extends ControllerTest {
     private NoteService mockNoteService;
     @MockBean
     private NoteModelAssembler mockNoteModelAssembler;
+    @MockBean
+    private AutosaveService mockAutosaveService;
 
     @Override
     @BeforeEach
     void setUp() {
         super.setUp();
         JacksonTester.initFields(this, mapper);
-        mockMvc = MockMvcBuilders.standaloneSetup(new NoteController(mockNoteService, mockNoteModelAssembler))
+        mockMvc = MockMvcBuilders.standaloneSetup(new NoteController(mockNoteService, mockNoteModelAssembler,
+                        mockAutosaveService))
                 .setControllerAdvice(RestResponseEntityExceptionHandler.class, ValidationExceptionHandler.class)
                 .build();
     }
@@ -62,8 +72,9 @@ public class NoteControllerTest extends ControllerTest {
                 .collect(Collectors.collectingAndThen(Collectors.toList(), CollectionModel::of));
 
         // when, then
-        when(mockNoteService.getAllNotes()).thenReturn(mockNotes);
-        when(mockNoteModelAssembler.toCollectionModel(mockNotes)).thenReturn(collectionModel);
+        KeysetPage<Note> page = new KeysetPage<>(mockNotes, null);
+        when(mockNoteService.getAllNotes(KeysetSort.UPDATED_AT, null, 20)).thenReturn(page);
+        when(mockNoteModelAssembler.toCollectionModel(eq(page), any())).thenReturn(collectionModel);
         mockMvc.perform(get(BASE_PATH + NOTE_PATH).contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(MockMvcResultMatchers.status().isOk())
@@ -71,8 +82,8 @@ public class NoteControllerTest extends ControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(3))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].name").value("Go"));
 
-        verify(mockNoteService).getAllNotes();
-        verify(mockNoteModelAssembler).toCollectionModel(mockNotes);
+        verify(mockNoteService).getAllNotes(KeysetSort.UPDATED_AT, null, 20);
+        verify(mockNoteModelAssembler).toCollectionModel(eq(page), any());
     }
 
     @Test
@@ -85,8 +96,9 @@ public class NoteControllerTest extends ControllerTest {
                 .collect(Collectors.collectingAndThen(Collectors.toList(), CollectionModel::of));
 
         // when, then
-        when(mockNoteService.getAllNotesByFolderId(testId)).thenReturn(mockNotes);
-        when(mockNoteModelAssembler.toCollectionModel(mockNotes)).thenReturn(collectionModel);
+        KeysetPage<Note> page = new KeysetPage<>(mockNotes, null);
+        when(mockNoteService.getAllNotesByFolderId(testId, KeysetSort.UPDATED_AT, null, 20)).thenReturn(page);
+        when(mockNoteModelAssembler.toCollectionModel(eq(page), any())).thenReturn(collectionModel);
         mockMvc.perform(get(BASE_PATH + FOLDER_PATH + "/" + testId + "/notes")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
@@ -95,8 +107,8 @@ public class NoteControllerTest extends ControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(3))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].name").value("Go"));
 
-        verify(mockNoteService).getAllNotesByFolderId(testId);
-        verify(mockNoteModelAssembler).toCollectionModel(mockNotes);
+        verify(mockNoteService).getAllNotesByFolderId(testId, KeysetSort.UPDATED_AT, null, 20);
+        verify(mockNoteModelAssembler).toCollectionModel(eq(page), any());
     }
 
     @Test
@@ -109,9 +121,13 @@ public class NoteControllerTest extends ControllerTest {
                 .collect(Collectors.collectingAndThen(Collectors.toList(), CollectionModel::of));
 
         // when, then
-        when(mockNoteService.getAllNotesByTagId(testId)).thenReturn(mockNotes);
-        when(mockNoteModelAssembler.toCollectionModel(mockNotes)).thenReturn(collectionModel);
+        KeysetPage<Note> page = new KeysetPage<>(mockNotes, null);
+        when(mockNoteService.getAllNotesByTagId(testId, KeysetSort.NAME, "cursor", 1)).thenReturn(page);
+        when(mockNoteModelAssembler.toCollectionModel(eq(page), any())).thenReturn(collectionModel);
         mockMvc.perform(get(BASE_PATH + TAG_PATH + "/" + testId + "/notes")
+                        .param("sort", "NAME")
+                        .param("cursor", "cursor")
+                        .param("size", "1")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(MockMvcResultMatchers.status().isOk())
@@ -119,8 +135,8 @@ public class NoteControllerTest extends ControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(3))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].name").value("Go"));
 
-        verify(mockNoteService).getAllNotesByTagId(testId);
-        verify(mockNoteModelAssembler).toCollectionModel(mockNotes);
+        verify(mockNoteService).getAllNotesByTagId(testId, KeysetSort.NAME, "cursor", 1);
+        verify(mockNoteModelAssembler).toCollectionModel(eq(page), any());
     }
 
     @Test
@@ -132,19 +148,42 @@ public class NoteControllerTest extends ControllerTest {
                 linkTo(methodOn(NoteController.class).getNoteById(testId)).withSelfRel());
 
         // when, then
+        when(mockNoteService.getNoteVersionById(testId)).thenReturn(testNote.getUpdatedAt());
         when(mockNoteService.getNoteById(testId)).thenReturn(testNote);
         when(mockNoteModelAssembler.toModel(testNote)).thenReturn(entityModel);
         mockMvc.perform(get(BASE_PATH + NOTE_PATH + "/" + testId).contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(MockMvcResultMatchers.status().isOk())
-                .andExpect(MockMvcResultMatchers.jsonPath("$.size()").value(8))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG,
+                        ConditionalRequests.eTag(testId, testNote.getUpdatedAt())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()").value(7))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(3))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.name").value("Go"));
 
+        verify(mockAutosaveService).flush(testId);
         verify(mockNoteService).getNoteById(testId);
         verify(mockNoteModelAssembler).toModel(testNote);
     }
 
+    @Test
+    public void getNoteById_IfNoneMatch_304NotModified() throws Exception {
+        // given
+        Long testId = mockNoteIds.get(0);
+        ZonedDateTime version = mockNotes.get(0).getUpdatedAt();
+
+        // when, then
+        when(mockNoteService.getNoteVersionById(testId)).thenReturn(version);
+        mockMvc.perform(get(BASE_PATH + NOTE_PATH + "/" + testId)
+                        .header(HttpHeaders.IF_NONE_MATCH, ConditionalRequests.eTag(testId, version)))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+
+        verify(mockNoteService).getNoteVersionById(testId);
+        verify(mockNoteService, never()).getNoteById(testId);
+        verify(mockNoteModelAssembler, never()).toModel(any());
+    }
+
     @Test
     public void createNoteByFolderId_201Created() throws Exception {
         // given
@@ -172,7 +211,7 @@ public class NoteControllerTest extends ControllerTest {
                         .content(requestBody))
                 .andDo(print())
                 .andExpect(MockMvcResultMatchers.status().isCreated())
-                .andExpect(MockMvcResultMatchers.jsonPath("$.size()").value(8))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()").value(7))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(100))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.name").value("New Note"));
 
@@ -194,7 +233,7 @@ public class NoteControllerTest extends ControllerTest {
         EntityModel<Note> entityModel = EntityModel.of(testNote,
                 linkTo(methodOn(NoteController.class).getNoteById(testId)).withSelfRel());
         String requestBody = mapper.writeValueAsString(new NoteUpdateForm(
-                NoteUpdateType.RENAME_NOTE.name(), "New Name", null, null, null));
+                NoteUpdateType.RENAME_NOTE.name(), "New Name", null, null, null, null, null));
 
         // when, then
         when(mockNoteService.updateNoteById(eq(testId), any(NoteUpdateForm.class))).thenReturn(testNote);
@@ -204,7 +243,7 @@ public class NoteControllerTest extends ControllerTest {
                         .content(requestBody))
                 .andDo(print())
                 .andExpect(MockMvcResultMatchers.status().isOk())
-                .andExpect(MockMvcResultMatchers.jsonPath("$.size()").value(8))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()").value(7))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(3))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.name").value("New Name"))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.updatedAt").value(now.toEpochSecond()));
@@ -224,6 +263,27 @@ public class NoteControllerTest extends ControllerTest {
                 .andDo(print())
                 .andExpect(MockMvcResultMatchers.status().isNoContent());
 
+        verify(mockAutosaveService).discard(testId);
         verify(mockNoteService).deleteNoteById(testId);
     }
+
+    @Test
+    public void autosaveNoteById_202Accepted() throws Exception {
+        // given
+        Long testId = mockNoteIds.get(0);
+        String requestBody = mapper.writeValueAsString(new AutosaveForm("draft"));
+
+        // when, then
+        when(mockAutosaveService.autosave(testId, "draft")).thenReturn(new AutosaveReceipt(testId, 7L));
+        mockMvc.perform(MockMvcRequestBuilders.put(BASE_PATH + NOTE_PATH + "/" + testId + "/autosave")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.noteId").value(testId))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.version").value(7));
+
+        verify(mockAutosaveService).autosave(testId, "draft");
+        verify(mockNoteService, never()).updateNoteById(eq(testId), any(NoteUpdateForm.class));
+    }
 }
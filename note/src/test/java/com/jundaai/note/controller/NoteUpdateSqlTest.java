@@ -0,0 +1,255 @@
+package com.jundaai.note.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.jundaai.note.SqlStatementRecorder;
+import com.jundaai.note.model.Folder;
+import com.jundaai.note.model.Note;
+import com.jundaai.note.model.NoteContent;
+import com.jundaai.note.model.Tag;
+import com.jundaai.note.repository.FolderClosureRepository;
+import com.jundaai.note.repository.FolderRepository;
+import com.jundaai.note.repository.NoteContentRepository;
+import com.jundaai.note.repository.NoteRepository;
+import com.jundaai.note.repository.TagRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class NoteUpdateSqlTest {
+
+    private static final String BASE_PATH = "/api/v1/";
+    private static final Pattern UPDATE = Pattern.compile("update\\s+(\\w+)\\s+set\\s+(.+?)\\s+where",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern SELECT_CONTENT = Pattern.compile("select\\s.*\\.content\\b.*\\sfrom",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private FolderRepository folderRepository;
+    @Autowired
+    private FolderClosureRepository folderClosureRepository;
+    @Autowired
+    private NoteRepository noteRepository;
+    @Autowired
+    private NoteContentRepository noteContentRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Folder testFolder;
+    private Folder testTargetFolder;
+    private Note testNote;
+    private Tag testTag;
+    private Tag testOtherTag;
+
+    @BeforeEach
+    void setUp() {
+        ZonedDateTime now = ZonedDateTime.now();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            testFolder = saveFolder("Note Update Sql", null, now);
+            testTargetFolder = saveFolder("Note Update Sql Target", testFolder, now);
+            testTag = saveTag("note-update-sql", now);
+            testOtherTag = saveTag("note-update-sql-other", now);
+            testNote = noteRepository.save(Note.builder()
+                    .name("Note Update Sql")
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .folder(testFolder)
+                    .tags(new ArrayList<>(List.of(testTag)))
+                    .build());
+            noteContentRepository.save(NoteContent.builder()
+                    .note(testNote)
+                    .content("Lorem ipsum dolor sit amet. ".repeat(40))
+                    .build());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            folderClosureRepository.deleteSubtreePaths(folderClosureRepository.findSubtreeIds(testFolder.getId()));
+            folderRepository.deleteById(testFolder.getId());
+        });
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                tagRepository.deleteAllById(List.of(testTag.getId(), testOtherTag.getId())));
+    }
+
+    @Test
+    public void updateNoteById_Rename_NameColumnsOnly() throws Exception {
+        // when
+        Map<String, Set<String>> updated = patchAndCollectUpdatedColumns(
+                "{\"updateType\": \"RENAME_NOTE\", \"newName\": \"Renamed note\"}");
+
+        // then
+        assertEquals(Map.of("note", Set.of("name", "updated_at")), updated);
+    }
+
+    @Test
+    public void updateNoteById_ModifyContent_ContentRowOnly() throws Exception {
+        // when
+        Map<String, Set<String>> updated = patchAndCollectUpdatedColumns(
+                "{\"updateType\": \"MODIFY_CONTENT\", \"newContent\": \"Modified content\"}");
+
+        // then
+        assertEquals(Map.of("note", Set.of("updated_at"), "note_content", Set.of("content", "version")), updated);
+    }
+
+    @Test
+    public void updateNoteById_AppendContent_ContentNeverSelected() throws Exception {
+        // when
+        SqlStatementRecorder.start();
+        mockMvc.perform(patch(BASE_PATH + "notes/" + testNote.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"updateType\": \"APPEND_CONTENT\", \"newContent\": \"Appended.\"}"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.contentVersion").value(1));
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        assertTrue(statements.stream().noneMatch(statement -> SELECT_CONTENT.matcher(statement).find()));
+        assertEquals("Lorem ipsum dolor sit amet. ".repeat(40) + "Appended.",
+                noteContentRepository.findContentById(testNote.getId()).orElseThrow());
+    }
+
+    @Test
+    public void updateNoteById_AppendContentStaleBaseVersion_Conflict() throws Exception {
+        // when
+        mockMvc.perform(patch(BASE_PATH + "notes/" + testNote.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"updateType\": \"APPEND_CONTENT\", \"newContent\": \"First.\", "
+                                + "\"baseVersion\": 0}"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        // then
+        mockMvc.perform(patch(BASE_PATH + "notes/" + testNote.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"updateType\": \"APPEND_CONTENT\", \"newContent\": \"Second.\", "
+                                + "\"baseVersion\": 0}"))
+                .andExpect(MockMvcResultMatchers.status().isConflict());
+        assertTrue(noteContentRepository.findContentById(testNote.getId()).orElseThrow().endsWith("First."));
+    }
+
+    @Test
+    public void updateNoteById_PatchContent_EditsApplied() throws Exception {
+        // when
+        Map<String, Set<String>> updated = patchAndCollectUpdatedColumns(
+                "{\"updateType\": \"PATCH_CONTENT\", \"baseVersion\": 0, \"edits\": ["
+                        + "{\"offset\": 0, \"length\": 5, \"text\": \"Lipsum\"}, "
+                        + "{\"offset\": 1119, \"length\": 1, \"text\": \"!\"}]}");
+
+        // then
+        String base = "Lorem ipsum dolor sit amet. ".repeat(40);
+        assertEquals(Map.of("note", Set.of("updated_at"), "note_content", Set.of("content", "version")), updated);
+        assertEquals("Lipsum" + base.substring(5, 1119) + "!",
+                noteContentRepository.findContentById(testNote.getId()).orElseThrow());
+        assertEquals(1L, noteContentRepository.findVersionById(testNote.getId()).orElseThrow());
+    }
+
+    @Test
+    public void updateNoteById_Move_FolderColumnsOnly() throws Exception {
+        // when
+        Map<String, Set<String>> updated = patchAndCollectUpdatedColumns(
+                "{\"updateType\": \"MOVE_NOTE\", \"toFolderId\": " + testTargetFolder.getId() + "}");
+
+        // then
+        assertEquals(Map.of("note", Set.of("folder_id", "updated_at")), updated);
+    }
+
+    @Test
+    public void updateNoteById_AddTag_NoteTimestampOnly() throws Exception {
+        // when
+        Map<String, Set<String>> updated = patchAndCollectUpdatedColumns(
+                "{\"updateType\": \"ADD_TAG\", \"tagName\": \"" + testOtherTag.getName() + "\"}");
+
+        // then
+        // tag rows are second-level cached and small, so they keep full-row updates
+        assertEquals(Set.of("note", "tag"), updated.keySet());
+        assertEquals(Set.of("updated_at"), updated.get("note"));
+    }
+
+    @Test
+    public void updateNoteById_RemoveTag_NoteTimestampOnly() throws Exception {
+        // when
+        Map<String, Set<String>> updated = patchAndCollectUpdatedColumns(
+                "{\"updateType\": \"REMOVE_TAG\", \"tagName\": \"" + testTag.getName() + "\"}");
+
+        // then
+        // tag rows are second-level cached and small, so they keep full-row updates
+        assertEquals(Set.of("note", "tag"), updated.keySet());
+        assertEquals(Set.of("updated_at"), updated.get("note"));
+    }
+
+    private Map<String, Set<String>> patchAndCollectUpdatedColumns(String body) throws Exception {
+        SqlStatementRecorder.start();
+        mockMvc.perform(patch(BASE_PATH + "notes/" + testNote.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        List<String> statements = SqlStatementRecorder.stop();
+
+        Map<String, Set<String>> updated = new TreeMap<>();
+        for (String statement : statements) {
+            Matcher matcher = UPDATE.matcher(statement);
+            if (matcher.find()) {
+                updated.computeIfAbsent(matcher.group(1).toLowerCase(), table -> new TreeSet<>())
+                        .addAll(Arrays.stream(matcher.group(2).split(","))
+                                .map(assignment -> assignment.split("=")[0].trim().toLowerCase())
+                                .collect(Collectors.toSet()));
+            }
+        }
+        return updated;
+    }
+
+    private Folder saveFolder(String name, Folder parent, ZonedDateTime now) {
+        Folder folder = folderRepository.save(Folder.builder()
+                .name(name)
+                .createdAt(now)
+                .updatedAt(now)
+                .parentFolder(parent)
+                .subFolders(new ArrayList<>())
+                .notes(new ArrayList<>())
+                .build());
+        folderClosureRepository.insertSelf(folder.getId());
+        if (parent != null) {
+            folderClosureRepository.insertSubtreeUnder(parent.getId(), folder.getId());
+        }
+        return folder;
+    }
+
+    private Tag saveTag(String name, ZonedDateTime now) {
+        return tagRepository.save(Tag.builder()
+                .name(name)
+                .createdAt(now)
+                .updatedAt(now)
+                .notes(new ArrayList<>())
+                .build());
+    }
+}
@@ -0,0 +1,79 @@
+package com.jundaai.note.controller;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.jundaai.note.dto.SearchHit;
+import com.jundaai.note.exception.advice.RestResponseEntityExceptionHandler;
+import com.jundaai.note.exception.advice.ValidationExceptionHandler;
+import com.jundaai.note.model.assembler.SearchHitModelAssembler;
+import com.jundaai.note.service.SearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+
+@WebMvcTest(SearchController.class)
+public class SearchControllerTest extends ControllerTest {
+
+    private static final String SEARCH_PATH = "/search/notes";
+
+    @MockBean
+    private SearchService mockSearchService;
+    @MockBean
+    private SearchHitModelAssembler mockSearchHitModelAssembler;
+
+    @Override
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+        mockMvc = MockMvcBuilders.standaloneSetup(new SearchController(mockSearchService, mockSearchHitModelAssembler))
+                .setControllerAdvice(RestResponseEntityExceptionHandler.class, ValidationExceptionHandler.class)
+                .build();
+    }
+
+    @Test
+    public void searchNotes_200Ok() throws Exception {
+        // given
+        List<SearchHit> hits = List.of(new SearchHit(3L, 1L, "Go", 1.5));
+        CollectionModel<EntityModel<SearchHit>> collectionModel = hits.stream()
+                .map(EntityModel::of)
+                .collect(Collectors.collectingAndThen(Collectors.toList(), CollectionModel::of));
+
+        // when, then
+        when(mockSearchService.searchNotes("go language", 10)).thenReturn(hits);
+        when(mockSearchHitModelAssembler.toCollectionModel(hits)).thenReturn(collectionModel);
+        mockMvc.perform(get(BASE_PATH + SEARCH_PATH)
+                        .param("q", "go language")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].name").value("Go"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].score").value(1.5));
+
+        verify(mockSearchService).searchNotes("go language", 10);
+        verify(mockSearchHitModelAssembler).toCollectionModel(hits);
+    }
+
+    @Test
+    public void searchNotes_MissingQuery_400BadRequest() throws Exception {
+        mockMvc.perform(get(BASE_PATH + SEARCH_PATH).contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        verifyNoInteractions(mockSearchService);
+    }
+}
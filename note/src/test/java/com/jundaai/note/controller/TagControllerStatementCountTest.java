@@ -0,0 +1,217 @@
+package com.jundaai.note.controller;
+
+import static com.jundaai.note.SqlStatementRecorder.assertWithinBudget;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.jundaai.note.SqlStatementRecorder;
+import com.jundaai.note.model.Folder;
+import com.jundaai.note.model.Note;
+import com.jundaai.note.model.Tag;
+import com.jundaai.note.repository.FolderClosureRepository;
+import com.jundaai.note.repository.FolderRepository;
+import com.jundaai.note.repository.NoteRepository;
+import com.jundaai.note.repository.TagRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class TagControllerStatementCountTest {
+
+    private static final String BASE_PATH = "/api/v1/";
+    private static final int NOTE_COUNT = 100;
+    private static final int TAG_COUNT = 50;
+    private static final int TAGS_PER_NOTE = 5;
+    private static final int NOTES_PER_TAG = NOTE_COUNT * TAGS_PER_NOTE / TAG_COUNT;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private FolderRepository folderRepository;
+    @Autowired
+    private FolderClosureRepository folderClosureRepository;
+    @Autowired
+    private NoteRepository noteRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Tag> testTags = new ArrayList<>();
+    private Folder testFolder;
+    private Note testNote;
+
+    @BeforeEach
+    void setUp() {
+        ZonedDateTime now = ZonedDateTime.now();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            testFolder = folderRepository.save(Folder.builder()
+                    .name("Tag Statement Count")
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .subFolders(new ArrayList<>())
+                    .notes(new ArrayList<>())
+                    .build());
+            folderClosureRepository.insertSelf(testFolder.getId());
+            for (int i = 0; i < TAG_COUNT; i++) {
+                testTags.add(tagRepository.save(Tag.builder()
+                        .name("tag-budget-" + i)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .notes(new ArrayList<>())
+                        .build()));
+            }
+            for (int i = 0; i < NOTE_COUNT; i++) {
+                List<Tag> tags = new ArrayList<>();
+                for (int j = 0; j < TAGS_PER_NOTE; j++) {
+                    tags.add(testTags.get((i + j) % TAG_COUNT));
+                }
+                testNote = noteRepository.save(Note.builder()
+                        .name("Note " + i)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .folder(testFolder)
+                        .tags(tags)
+                        .build());
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            folderClosureRepository.deleteSubtreePaths(List.of(testFolder.getId()));
+            folderRepository.deleteById(testFolder.getId());
+        });
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            tagRepository.deleteAllById(testTags.stream()
+                    .map(Tag::getId)
+                    .filter(tagRepository::existsById)
+                    .toList());
+            tagRepository.findByName("tag-budget-new").ifPresent(tagRepository::delete);
+        });
+    }
+
+    @Test
+    public void getAllTags_WithinBudget() throws Exception {
+        // when
+        SqlStatementRecorder.start();
+        mockMvc.perform(get(BASE_PATH + "tags?size=50").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$._embedded.tagList.size()").value(TAG_COUNT));
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        // tag summaries with note counts
+        assertWithinBudget(1, statements);
+    }
+
+    @Test
+    public void getAllTagsByNoteId_WithinBudget() throws Exception {
+        // when
+        SqlStatementRecorder.start();
+        mockMvc.perform(get(BASE_PATH + "notes/" + testNote.getId() + "/tags").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$._embedded.tagList.size()").value(TAGS_PER_NOTE));
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        // tags of note
+        assertWithinBudget(1, statements);
+    }
+
+    @Test
+    public void getTagById_WithinBudget() throws Exception {
+        // when
+        SqlStatementRecorder.start();
+        mockMvc.perform(get(BASE_PATH + "tags/" + testTags.get(0).getId()).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        // version, tag
+        assertWithinBudget(2, statements);
+    }
+
+    @Test
+    public void getTagById_NotModified_WithinBudget() throws Exception {
+        // given
+        String eTag = mockMvc.perform(get(BASE_PATH + "tags/" + testTags.get(0).getId())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when
+        SqlStatementRecorder.start();
+        mockMvc.perform(get(BASE_PATH + "tags/" + testTags.get(0).getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        // version
+        assertWithinBudget(1, statements);
+    }
+
+    @Test
+    public void createTag_WithinBudget() throws Exception {
+        // when
+        SqlStatementRecorder.start();
+        mockMvc.perform(post(BASE_PATH + "tags")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"tag-budget-new\"}"))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        // name conflict, tag sequence when the pool is exhausted, tag,
+        // change log sequence (twice on first use), change log
+        assertWithinBudget(6, statements);
+    }
+
+    @Test
+    public void updateTag_WithinBudget() throws Exception {
+        // when
+        SqlStatementRecorder.start();
+        mockMvc.perform(patch(BASE_PATH + "tags/" + testTags.get(0).getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"tag-budget-renamed\"}"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        // tag, name conflict, tag, change log sequence (twice on first use), change log
+        assertWithinBudget(6, statements);
+    }
+
+    @Test
+    public void deleteTagById_WithinBudget() throws Exception {
+        // when
+        SqlStatementRecorder.start();
+        mockMvc.perform(delete(BASE_PATH + "tags/" + testTags.get(0).getId()))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        // tag, tag notes, tag, change log sequence (twice on first use), change log;
+        // per linked note: note tags, note tags rewritten (delete and insert)
+        assertWithinBudget(6 + 3 * NOTES_PER_TAG, statements);
+    }
+}
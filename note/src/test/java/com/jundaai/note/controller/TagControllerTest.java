@@ -3,6 +3,7 @@ package com.jundaai.note.controller;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
@@ -11,10 +12,15 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Collectors;
 
+import com.jundaai.note.dto.KeysetPage;
+import com.jundaai.note.dto.KeysetSort;
 import com.jundaai.note.dto.TagOperationForm;
+import com.jundaai.note.dto.TagSummary;
 import com.jundaai.note.exception.advice.RestResponseEntityExceptionHandler;
 import com.jundaai.note.exception.advice.ValidationExceptionHandler;
 import com.jundaai.note.model.Tag;
@@ -27,6 +33,7 @@ import org.springframework.boot.test.json.JacksonTester;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
@@ -54,23 +61,30 @@ public class TagControllerTest extends ControllerTest {
     @Test
     public void getAllTags_200Ok() throws Exception {
         // given
-        CollectionModel<EntityModel<Tag>> collectionModel = mockTags.stream()
+        List<TagSummary> tagSummaries = mockTags.stream()
+                .map(tag -> new TagSummary(tag.getId(), tag.getName(), tag.getCreatedAt(), tag.getUpdatedAt(),
+                        tag.getNotes().size()))
+                .toList();
+        CollectionModel<EntityModel<TagSummary>> collectionModel = tagSummaries.stream()
                 .map(tag -> EntityModel.of(tag,
-                        linkTo(methodOn(TagController.class).getTagById(tag.getId())).withSelfRel()))
+                        linkTo(methodOn(TagController.class).getTagById(tag.id())).withSelfRel()))
                 .collect(Collectors.collectingAndThen(Collectors.toList(), CollectionModel::of));
 
         // when, then
-        when(mockTagService.getAllTags()).thenReturn(mockTags);
-        when(mockTagModelAssembler.toCollectionModel(mockTags)).thenReturn(collectionModel);
+        KeysetPage<TagSummary> page = new KeysetPage<>(tagSummaries, null);
+        when(mockTagService.getAllTags(KeysetSort.UPDATED_AT, null, 20)).thenReturn(page);
+        when(mockTagModelAssembler.toSummaryCollectionModel(eq(page), any())).thenReturn(collectionModel);
         mockMvc.perform(get(BASE_PATH + TAG_PATH).contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.jsonPath("$.size()").value(2))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(4))
-                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].name").value("Google"));
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].name").value("Google"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].noteCount").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[1].noteCount").value(0));
 
-        verify(mockTagService).getAllTags();
-        verify(mockTagModelAssembler).toCollectionModel(mockTags);
+        verify(mockTagService).getAllTags(KeysetSort.UPDATED_AT, null, 20);
+        verify(mockTagModelAssembler).toSummaryCollectionModel(eq(page), any());
     }
 
     @Test
@@ -106,11 +120,14 @@ public class TagControllerTest extends ControllerTest {
                 linkTo(methodOn(TagController.class).getTagById(testId)).withSelfRel());
 
         // when, then
+        when(mockTagService.getTagVersionById(testId)).thenReturn(testTag.getUpdatedAt());
         when(mockTagService.getTagById(testId)).thenReturn(testTag);
         when(mockTagModelAssembler.toModel(testTag)).thenReturn(entityModel);
         mockMvc.perform(get(BASE_PATH + TAG_PATH + "/" + testId).contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG,
+                        ConditionalRequests.eTag(testId, testTag.getUpdatedAt())))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.size()").value(5))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(4))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.name").value("Google"));
@@ -119,6 +136,26 @@ public class TagControllerTest extends ControllerTest {
         verify(mockTagModelAssembler).toModel(testTag);
     }
 
+    @Test
+    public void getTagById_IfModifiedSince_304NotModified() throws Exception {
+        // given
+        Long testId = mockTagIds.get(0);
+        ZonedDateTime version = mockTags.get(0).getUpdatedAt();
+
+        // when, then
+        when(mockTagService.getTagVersionById(testId)).thenReturn(version);
+        mockMvc.perform(get(BASE_PATH + TAG_PATH + "/" + testId)
+                        .header(HttpHeaders.IF_MODIFIED_SINCE,
+                                DateTimeFormatter.RFC_1123_DATE_TIME.format(version.plusSeconds(1))))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+
+        verify(mockTagService).getTagVersionById(testId);
+        verify(mockTagService, never()).getTagById(testId);
+        verify(mockTagModelAssembler, never()).toModel(any());
+    }
+
     @Test
     public void createTag_201Created() throws Exception {
         // given
@@ -1,6 +1,7 @@
 package com.jundaai.note.model.assembler;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
@@ -10,6 +11,9 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import com.jundaai.note.controller.FolderController;
+import com.jundaai.note.dto.FolderTreeNode;
+import com.jundaai.note.dto.KeysetPage;
+import com.jundaai.note.dto.KeysetSort;
 import com.jundaai.note.model.Folder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,6 +23,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 
 
 @SpringBootTest
@@ -67,7 +72,7 @@ public class FolderModelAssemblerTest {
                 linkTo(methodOn(FolderController.class).getFolderById(folder.getId())).withSelfRel(),
                 linkTo(methodOn(FolderController.class).getFolderById(folder.getParentFolder().getId()))
                         .withRel("parent"),
-                linkTo(methodOn(FolderController.class).getAllFolders()).withRel("all folders"));
+                linkTo(methodOn(FolderController.class).getAllFolders(null, null, null)).withRel("all folders"));
 
         // when
         EntityModel<Folder> gotModel = testModelAssembler.toModel(folder);
@@ -88,7 +93,8 @@ public class FolderModelAssemblerTest {
                                 linkTo(methodOn(FolderController.class).getFolderById(folder.getParentFolder().getId()))
                                         .withRel("parent"));
                     }
-                    entityModel.add(linkTo(methodOn(FolderController.class).getAllFolders()).withRel("all folders"));
+                    entityModel.add(linkTo(methodOn(FolderController.class).getAllFolders(null, null, null))
+                            .withRel("all folders"));
                     return entityModel;
                 })
                 .collect(Collectors.collectingAndThen(Collectors.toList(), CollectionModel::of));
@@ -99,4 +105,51 @@ public class FolderModelAssemblerTest {
         // then
         assertEquals(expectedModel, gotModel);
     }
+
+    @Test
+    public void toCollectionModel_KeysetPage_NextLinkAdded() {
+        // given
+        KeysetPage<Folder> page = new KeysetPage<>(mockFolders, "nextCursor");
+        String expectedHref = "http://localhost/api/v1/folders?sort=NAME&cursor=nextCursor&size=2";
+
+        // when
+        CollectionModel<EntityModel<Folder>> gotModel = testModelAssembler.toCollectionModel(page,
+                nextCursor -> methodOn(FolderController.class).getAllFolders(KeysetSort.NAME, nextCursor, 2));
+
+        // then
+        assertEquals(mockFolders.size(), gotModel.getContent().size());
+        assertEquals(expectedHref, gotModel.getRequiredLink(IanaLinkRelations.NEXT).getHref());
+    }
+
+    @Test
+    public void toCollectionModel_LastKeysetPage_NoNextLink() {
+        // given
+        KeysetPage<Folder> page = new KeysetPage<>(mockFolders, null);
+
+        // when
+        CollectionModel<EntityModel<Folder>> gotModel = testModelAssembler.toCollectionModel(page,
+                nextCursor -> methodOn(FolderController.class).getAllFolders(KeysetSort.NAME, nextCursor, 2));
+
+        // then
+        assertTrue(gotModel.getLink(IanaLinkRelations.NEXT).isEmpty());
+    }
+
+    @Test
+    public void toNodeCollectionModel_Success() {
+        // given
+        List<FolderTreeNode> nodes = List.of(new FolderTreeNode(1L, "Parent Folder", null, 1),
+                new FolderTreeNode(2L, "Folder", 1L, 0));
+        CollectionModel<EntityModel<FolderTreeNode>> expectedModel = CollectionModel.of(List.of(
+                EntityModel.of(nodes.get(0),
+                        linkTo(methodOn(FolderController.class).getFolderById(1L)).withSelfRel()),
+                EntityModel.of(nodes.get(1),
+                        linkTo(methodOn(FolderController.class).getFolderById(2L)).withSelfRel(),
+                        linkTo(methodOn(FolderController.class).getFolderById(1L)).withRel("parent"))));
+
+        // when
+        CollectionModel<EntityModel<FolderTreeNode>> gotModel = testModelAssembler.toNodeCollectionModel(nodes);
+
+        // then
+        assertEquals(expectedModel, gotModel);
+    }
 }
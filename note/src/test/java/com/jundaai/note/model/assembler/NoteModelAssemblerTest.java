@@ -11,6 +11,8 @@ import java.util.stream.Collectors;
 
 import com.jundaai.note.controller.FolderController;
 import com.jundaai.note.controller.NoteController;
+import com.jundaai.note.dto.KeysetPage;
+import com.jundaai.note.dto.KeysetSort;
 import com.jundaai.note.model.Folder;
 import com.jundaai.note.model.Note;
 import org.junit.jupiter.api.Test;
@@ -20,6 +22,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 
 
 @SpringBootTest
@@ -53,7 +56,7 @@ public class NoteModelAssemblerTest {
         EntityModel<Note> expectedModel = EntityModel.of(note,
                 linkTo(methodOn(NoteController.class).getNoteById(note.getId())).withSelfRel(),
                 linkTo(methodOn(FolderController.class).getFolderById(note.getFolder().getId())).withRel("folder"),
-                linkTo(methodOn(NoteController.class).getAllNotes()).withRel("all notes"));
+                linkTo(methodOn(NoteController.class).getAllNotes(null, null, null)).withRel("all notes"));
 
         // when
         EntityModel<Note> gotModel = testModelAssembler.toModel(note);
@@ -88,7 +91,7 @@ public class NoteModelAssemblerTest {
                         linkTo(methodOn(NoteController.class).getNoteById(note.getId())).withSelfRel(),
                         linkTo(methodOn(FolderController.class).getFolderById(note.getFolder().getId()))
                                 .withRel("folder"),
-                        linkTo(methodOn(NoteController.class).getAllNotes()).withRel("all notes")))
+                        linkTo(methodOn(NoteController.class).getAllNotes(null, null, null)).withRel("all notes")))
                 .collect(Collectors.collectingAndThen(Collectors.toList(), CollectionModel::of));
 
         // when
@@ -97,4 +100,29 @@ public class NoteModelAssemblerTest {
         // then
         assertEquals(expectedModel, gotModel);
     }
+
+    @Test
+    public void toCollectionModel_KeysetPage_NextLinkAdded() {
+        // given
+        ZonedDateTime now = ZonedDateTime.now();
+        Note note = Note.builder()
+                .id(1L)
+                .name("Note")
+                .createdAt(now)
+                .updatedAt(now)
+                .folder(folder)
+                .tags(new ArrayList<>())
+                .build();
+        KeysetPage<Note> page = new KeysetPage<>(List.of(note), "nextCursor");
+        String expectedHref = "http://localhost/api/v1/folders/1/notes?sort=UPDATED_AT&cursor=nextCursor&size=1";
+
+        // when
+        CollectionModel<EntityModel<Note>> gotModel = testModelAssembler.toCollectionModel(page,
+                nextCursor -> methodOn(NoteController.class)
+                        .getAllNotesByFolderId(folder.getId(), KeysetSort.UPDATED_AT, nextCursor, 1));
+
+        // then
+        assertEquals(1, gotModel.getContent().size());
+        assertEquals(expectedHref, gotModel.getRequiredLink(IanaLinkRelations.NEXT).getHref());
+    }
 }
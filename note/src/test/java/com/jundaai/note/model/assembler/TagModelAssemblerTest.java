@@ -10,6 +10,9 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import com.jundaai.note.controller.TagController;
+import com.jundaai.note.dto.KeysetPage;
+import com.jundaai.note.dto.KeysetSort;
+import com.jundaai.note.dto.TagSummary;
 import com.jundaai.note.model.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,6 +21,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 
 
 @SpringBootTest
@@ -40,7 +44,7 @@ public class TagModelAssemblerTest {
                 .build();
         EntityModel<Tag> expectedModel = EntityModel.of(tag,
                 linkTo(methodOn(TagController.class).getTagById(tag.getId())).withSelfRel(),
-                linkTo(methodOn(TagController.class).getAllTags()).withRel("all tags"));
+                linkTo(methodOn(TagController.class).getAllTags(null, null, null)).withRel("all tags"));
 
         // when
         EntityModel<Tag> gotModel = testModelAssembler.toModel(tag);
@@ -71,7 +75,7 @@ public class TagModelAssemblerTest {
         CollectionModel<EntityModel<Tag>> expectedModel = notes.stream()
                 .map(tag -> EntityModel.of(tag,
                         linkTo(methodOn(TagController.class).getTagById(tag.getId())).withSelfRel(),
-                        linkTo(methodOn(TagController.class).getAllTags()).withRel("all tags")))
+                        linkTo(methodOn(TagController.class).getAllTags(null, null, null)).withRel("all tags")))
                 .collect(Collectors.collectingAndThen(Collectors.toList(), CollectionModel::of));
 
         // when
@@ -80,4 +84,39 @@ public class TagModelAssemblerTest {
         // then
         assertEquals(expectedModel, gotModel);
     }
+
+    @Test
+    public void toSummaryCollectionModel_Success() {
+        // given
+        ZonedDateTime now = ZonedDateTime.now();
+        List<TagSummary> summaries = List.of(new TagSummary(1L, "Tag", now, now, 3),
+                new TagSummary(2L, "Another tag", now, now, 0));
+        CollectionModel<EntityModel<TagSummary>> expectedModel = summaries.stream()
+                .map(summary -> EntityModel.of(summary,
+                        linkTo(methodOn(TagController.class).getTagById(summary.id())).withSelfRel(),
+                        linkTo(methodOn(TagController.class).getAllTags(null, null, null)).withRel("all tags")))
+                .collect(Collectors.collectingAndThen(Collectors.toList(), CollectionModel::of));
+
+        // when
+        CollectionModel<EntityModel<TagSummary>> gotModel = testModelAssembler.toSummaryCollectionModel(summaries);
+
+        // then
+        assertEquals(expectedModel, gotModel);
+    }
+
+    @Test
+    public void toSummaryCollectionModel_KeysetPage_NextLinkAdded() {
+        // given
+        ZonedDateTime now = ZonedDateTime.now();
+        KeysetPage<TagSummary> page = new KeysetPage<>(List.of(new TagSummary(1L, "Tag", now, now, 3)), "nextCursor");
+        String expectedHref = "http://localhost/api/v1/tags?sort=NAME&cursor=nextCursor&size=1";
+
+        // when
+        CollectionModel<EntityModel<TagSummary>> gotModel = testModelAssembler.toSummaryCollectionModel(page,
+                nextCursor -> methodOn(TagController.class).getAllTags(KeysetSort.NAME, nextCursor, 1));
+
+        // then
+        assertEquals(1, gotModel.getContent().size());
+        assertEquals(expectedHref, gotModel.getRequiredLink(IanaLinkRelations.NEXT).getHref());
+    }
 }
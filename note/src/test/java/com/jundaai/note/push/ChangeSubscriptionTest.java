@@ -0,0 +1,114 @@
+package com.jundaai.note.push;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.jundaai.note.dto.ChangeEntityType;
+import com.jundaai.note.dto.ChangeType;
+import com.jundaai.note.dto.EntityChange;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+
+public class ChangeSubscriptionTest {
+
+    private static EntityChange change(long id) {
+        return EntityChange.builder()
+                .entityType(ChangeEntityType.NOTE)
+                .id(id)
+                .changeType(ChangeType.UPDATED)
+                .build();
+    }
+
+    @Test
+    public void drain_SendsBufferedChangesInOrder() throws IOException {
+        // given
+        RecordingEmitter emitter = new RecordingEmitter();
+        ChangeSubscription subscription = new ChangeSubscription(ChangeSubscription.Scope.FOLDER, 1L, emitter, 4);
+
+        // when
+        assertTrue(subscription.offer(change(1L)));
+        assertTrue(subscription.offer(change(2L)));
+        subscription.drain();
+
+        // then
+        assertEquals(2, emitter.events.size());
+        assertTrue(emitter.events.get(0).contains("event:" + ChangeSubscription.CHANGE_EVENT));
+        assertTrue(emitter.events.get(0).contains("\"id\":1"));
+        assertTrue(emitter.events.get(1).contains("\"id\":2"));
+        assertFalse(subscription.hasPending());
+    }
+
+    @Test
+    public void offer_FullBuffer_OverflowEndsStream() throws IOException {
+        // given
+        RecordingEmitter emitter = new RecordingEmitter();
+        ChangeSubscription subscription = new ChangeSubscription(ChangeSubscription.Scope.TAG, 1L, emitter, 2);
+
+        // when
+        assertTrue(subscription.offer(change(1L)));
+        assertTrue(subscription.offer(change(2L)));
+        assertFalse(subscription.offer(change(3L)));
+        assertFalse(subscription.offer(change(4L)));
+        assertTrue(subscription.isOverflowed());
+        subscription.drain();
+
+        // then
+        assertEquals(1, emitter.events.size());
+        assertTrue(emitter.events.get(0).contains("event:" + ChangeSubscription.OVERFLOW_EVENT));
+        assertTrue(subscription.isClosed());
+        assertFalse(subscription.offer(change(5L)));
+        assertFalse(subscription.hasPending());
+    }
+
+    @Test
+    public void drain_HeartbeatSentOnce() throws IOException {
+        // given
+        RecordingEmitter emitter = new RecordingEmitter();
+        ChangeSubscription subscription = new ChangeSubscription(ChangeSubscription.Scope.FOLDER, 1L, emitter, 2);
+
+        // when
+        subscription.requestHeartbeat();
+        assertTrue(subscription.hasPending());
+        subscription.drain();
+        subscription.drain();
+
+        // then
+        assertEquals(List.of(":\n\n"), emitter.events);
+    }
+
+    @Test
+    public void startDraining_OneDrainerAtATime() {
+        // given
+        ChangeSubscription subscription = new ChangeSubscription(ChangeSubscription.Scope.FOLDER, 1L,
+                new RecordingEmitter(), 2);
+
+        // when, then
+        assertTrue(subscription.startDraining());
+        assertFalse(subscription.startDraining());
+        subscription.finishDraining();
+        assertTrue(subscription.startDraining());
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            Set<DataWithMediaType> parts = builder.build();
+            events.add(parts.stream()
+                    .map(part -> part.getData() instanceof EntityChange change
+                            ? "{\"id\":" + change.id() + "}"
+                            : part.getData().toString())
+                    .collect(Collectors.joining()));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.jundaai.note.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import com.jundaai.note.dto.ChangeEntityType;
+import com.jundaai.note.dto.ChangeType;
+import com.jundaai.note.model.ChangeLog;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+
+@DataJpaTest
+public class ChangeLogRepositoryTest {
+
+    @Autowired
+    private ChangeLogRepository testRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private List<ChangeLog> testEntries;
+
+    @BeforeEach
+    void setUp() {
+        ZonedDateTime now = ZonedDateTime.now();
+        testEntries = testRepository.saveAll(List.of(
+                entry(1L, ChangeType.CREATED, now),
+                entry(1L, ChangeType.UPDATED, now),
+                entry(2L, ChangeType.CREATED, now)));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void findUnsequenced_OldestFirst() {
+        // when
+        List<ChangeLog> gotEntries = testRepository.findUnsequenced(PageRequest.ofSize(2));
+
+        // then
+        assertEquals(List.of(testEntries.get(0).getId(), testEntries.get(1).getId()), gotEntries.stream()
+                .map(ChangeLog::getId)
+                .toList());
+    }
+
+    @Test
+    public void findAllAfter_OnlySequencedInSequenceOrder() {
+        // given
+        List<ChangeLog> entries = testRepository.findUnsequenced(PageRequest.ofSize(10));
+        entries.get(2).setSequence(7L);
+        entries.get(0).setSequence(8L);
+        entityManager.flush();
+
+        // when
+        Slice<ChangeLog> gotEntries = testRepository.findAllAfter(0L, PageRequest.ofSize(10));
+
+        // then
+        assertEquals(List.of(7L, 8L), gotEntries.stream().map(ChangeLog::getSequence).toList());
+        assertEquals(8L, testRepository.findLatestSequence());
+        assertTrue(testRepository.existsBySequenceIsNull());
+    }
+
+    @Test
+    public void findLatestSequence_NothingSequenced_Zero() {
+        // when
+        Long gotSequence = testRepository.findLatestSequence();
+
+        // then
+        assertEquals(0L, gotSequence);
+        assertFalse(testRepository.findAllAfter(0L, PageRequest.ofSize(10)).hasContent());
+    }
+
+    private static ChangeLog entry(Long entityId, ChangeType changeType, ZonedDateTime changedAt) {
+        return ChangeLog.builder()
+                .entityType(ChangeEntityType.NOTE)
+                .entityId(entityId)
+                .changeType(changeType)
+                .changedAt(changedAt)
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.jundaai.note.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import com.jundaai.note.dto.FolderTreeNode;
+import com.jundaai.note.model.Folder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+
+@DataJpaTest
+public class FolderClosureRepositoryTest extends RepositoryTest {
+
+    @Autowired
+    private FolderClosureRepository testRepository;
+
+    private Folder root;
+    private Folder pl;
+    private Folder ds;
+
+    @Override
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+        root = mockFolders.get(0);
+        pl = mockFolders.get(1);
+        ds = mockFolders.get(2);
+        testRepository.insertSelf(root.getId());
+        testRepository.insertSelf(pl.getId());
+        testRepository.insertSubtreeUnder(root.getId(), pl.getId());
+        testRepository.insertSelf(ds.getId());
+        testRepository.insertSubtreeUnder(root.getId(), ds.getId());
+    }
+
+    @Test
+    public void findAncestorNodes_Success() {
+        // given
+        List<FolderTreeNode> expectedAncestors = List.of(
+                new FolderTreeNode(root.getId(), root.getName(), null, 1),
+                new FolderTreeNode(pl.getId(), pl.getName(), root.getId(), 0));
+
+        // when
+        List<FolderTreeNode> gotAncestors = testRepository.findAncestorNodes(pl.getId());
+
+        // then
+        assertEquals(expectedAncestors, gotAncestors);
+    }
+
+    @Test
+    public void findDescendantNodes_Success() {
+        // given
+        List<FolderTreeNode> expectedDescendants = List.of(
+                new FolderTreeNode(ds.getId(), ds.getName(), root.getId(), 1),
+                new FolderTreeNode(pl.getId(), pl.getName(), root.getId(), 1));
+
+        // when
+        List<FolderTreeNode> gotDescendants = testRepository.findDescendantNodes(root.getId(), 1);
+
+        // then
+        assertEquals(expectedDescendants, gotDescendants);
+    }
+
+    @Test
+    public void moveSubtree_PathsReplaced() {
+        // given
+        List<Integer> expectedDepths = List.of(2, 1, 0);
+
+        // when
+        testRepository.deleteOutsidePaths(testRepository.findSubtreeIds(ds.getId()));
+        testRepository.insertSubtreeUnder(pl.getId(), ds.getId());
+        List<FolderTreeNode> gotAncestors = testRepository.findAncestorNodes(ds.getId());
+
+        // then
+        assertEquals(List.of(root.getId(), pl.getId(), ds.getId()),
+                gotAncestors.stream().map(FolderTreeNode::id).toList());
+        assertEquals(expectedDepths, gotAncestors.stream().map(FolderTreeNode::depth).toList());
+        assertEquals(List.of(pl.getId(), ds.getId()),
+                testRepository.findDescendantNodes(root.getId(), Integer.MAX_VALUE).stream()
+                        .map(FolderTreeNode::id)
+                        .toList());
+    }
+
+    @Test
+    public void deleteSubtreePaths_Success() {
+        // when
+        testRepository.deleteSubtreePaths(testRepository.findSubtreeIds(pl.getId()));
+
+        // then
+        assertEquals(List.of(ds.getId()), testRepository.findDescendantNodes(root.getId(), Integer.MAX_VALUE).stream()
+                .map(FolderTreeNode::id)
+                .toList());
+        assertEquals(List.of(), testRepository.findAncestorNodes(pl.getId()));
+    }
+}
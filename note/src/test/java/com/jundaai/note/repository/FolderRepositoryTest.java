@@ -4,15 +4,18 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-import java.util.ArrayList;
 import java.util.List;
 
+import com.jundaai.note.dto.KeysetCursor;
+import com.jundaai.note.dto.KeysetSort;
 import com.jundaai.note.model.Folder;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 
 
 @DataJpaTest
@@ -34,29 +37,68 @@ public class FolderRepositoryTest extends RepositoryTest {
     }
 
     @Test
-    public void findSubFoldersByParentId_Success() {
+    public void findSubFoldersByParentIdNamedAfter_Success() {
         // given
-        Long testId = testRepository.findAll().get(0).getId();
-        List<String> expectedFolderNames = List.of(mockFolders.get(1).getName(), mockFolders.get(2).getName());
+        Long testId = mockFolders.get(0).getId();
+        KeysetCursor first = KeysetCursor.first(KeysetSort.NAME);
 
         // when
-        List<Folder> gotFolders = testRepository.findSubFoldersByParentId(testId).orElse(null);
+        Slice<Folder> firstPage = testRepository.findSubFoldersByParentIdNamedAfter(testId, first.name(), first.id(),
+                PageRequest.ofSize(1));
+        Folder last = firstPage.getContent().get(0);
+        Slice<Folder> secondPage = testRepository.findSubFoldersByParentIdNamedAfter(testId, last.getName(),
+                last.getId(), PageRequest.ofSize(1));
 
         // then
-        assert gotFolders != null;
-        assertEquals(expectedFolderNames, gotFolders.stream().map(Folder::getName).toList());
+        assertTrue(firstPage.hasNext());
+        assertEquals(mockFolders.get(2).getName(), last.getName());
+        assertFalse(secondPage.hasNext());
+        assertEquals(List.of(mockFolders.get(1).getName()),
+                secondPage.getContent().stream().map(Folder::getName).toList());
     }
 
     @Test
-    public void findSubFoldersByParentId_NotExistingParentId_EmptyListReturned() {
+    public void findSubFoldersByParentIdUpdatedBefore_Success() {
+        // given
+        Long testId = mockFolders.get(0).getId();
+        KeysetCursor first = KeysetCursor.first(KeysetSort.UPDATED_AT);
+        List<String> expectedFolderNames = List.of(mockFolders.get(2).getName(), mockFolders.get(1).getName());
+
+        // when
+        Slice<Folder> gotFolders = testRepository.findSubFoldersByParentIdUpdatedBefore(testId, first.updatedAt(),
+                first.id(), PageRequest.ofSize(10));
+
+        // then
+        assertFalse(gotFolders.hasNext());
+        assertEquals(expectedFolderNames, gotFolders.getContent().stream().map(Folder::getName).toList());
+    }
+
+    @Test
+    public void findSubFoldersByParentIdNamedAfter_NotExistingParentId_EmptySliceReturned() {
         // given
         Long notExistingId = -1L;
+        KeysetCursor first = KeysetCursor.first(KeysetSort.NAME);
+
+        // when
+        Slice<Folder> gotFolders = testRepository.findSubFoldersByParentIdNamedAfter(notExistingId, first.name(),
+                first.id(), PageRequest.ofSize(10));
+
+        // then
+        assertTrue(gotFolders.getContent().isEmpty());
+    }
+
+    @Test
+    public void findAllNamedAfter_Success() {
+        // given
+        KeysetCursor first = KeysetCursor.first(KeysetSort.NAME);
+        List<String> expectedFolderNames = List.of(mockFolders.get(2).getName(), mockFolders.get(1).getName(),
+                mockFolders.get(0).getName());
 
         // when
-        List<Folder> gotFolders = testRepository.findSubFoldersByParentId(notExistingId).orElse(null);
+        Slice<Folder> gotFolders = testRepository.findAllNamedAfter(first.name(), first.id(), PageRequest.ofSize(10));
 
         // then
-        assertEquals(new ArrayList<>(), gotFolders);
+        assertEquals(expectedFolderNames, gotFolders.getContent().stream().map(Folder::getName).toList());
     }
 
     @Test
@@ -0,0 +1,82 @@
+package com.jundaai.note.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+import com.jundaai.note.model.Note;
+import com.jundaai.note.model.NoteContent;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+
+@DataJpaTest
+public class NoteContentRepositoryTest extends RepositoryTest {
+
+    @Autowired
+    private NoteContentRepository testRepository;
+    @Autowired
+    private NoteRepository noteRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Note testNote;
+
+    @Override
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+        testNote = noteRepository.saveAll(mockNotes).get(0);
+        testRepository.save(NoteContent.builder()
+                .note(testNote)
+                .content(mockNotes.get(0).getContent())
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void findContentById_Success() {
+        // given
+        Long testId = testNote.getId();
+        String expectedContent = mockNotes.get(0).getContent();
+
+        // when
+        Optional<String> gotContent = testRepository.findContentById(testId);
+
+        // then
+        assertTrue(gotContent.isPresent());
+        assertEquals(expectedContent, gotContent.get());
+    }
+
+    @Test
+    public void findContentById_NotExistingId_EmptyReturned() {
+        // given
+        Long notExistingId = -1L;
+
+        // when
+        Optional<String> gotContent = testRepository.findContentById(notExistingId);
+
+        // then
+        assertFalse(gotContent.isPresent());
+    }
+
+    @Test
+    public void deleteNote_ContentDeleted() {
+        // given
+        Long testId = testNote.getId();
+
+        // when
+        noteRepository.deleteById(testId);
+        entityManager.flush();
+        entityManager.clear();
+
+        // then
+        assertFalse(testRepository.existsById(testId));
+    }
+}
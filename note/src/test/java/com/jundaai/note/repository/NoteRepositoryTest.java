@@ -8,12 +8,17 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import com.jundaai.note.dto.KeysetCursor;
+import com.jundaai.note.dto.KeysetSort;
 import com.jundaai.note.model.Folder;
+import com.jundaai.note.model.Note;
 import com.jundaai.note.model.Tag;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 
 
 @DataJpaTest
@@ -80,4 +85,79 @@ public class NoteRepositoryTest extends RepositoryTest {
         // then
         assertEquals(new ArrayList<>(), gotTags);
     }
+
+    @Test
+    public void findAllByTagIdUpdatedBefore_Success() {
+        // given
+        Long testTagId = mockTags.get(0).getId();
+        KeysetCursor first = KeysetCursor.first(KeysetSort.UPDATED_AT);
+        List<String> expectedNoteNames = Collections.singletonList(mockNotes.get(0).getName());
+
+        // when
+        Slice<Note> gotNotes = testRepository.findAllByTagIdUpdatedBefore(testTagId, first.updatedAt(), first.id(),
+                PageRequest.ofSize(20));
+
+        // then
+        assertEquals(expectedNoteNames, gotNotes.stream().map(Note::getName).toList());
+        assertFalse(gotNotes.hasNext());
+    }
+
+    @Test
+    public void findAllByTagIdNamedAfter_TagWithoutNotes_EmptySliceReturned() {
+        // given
+        Long testTagId = mockTags.get(1).getId();
+        KeysetCursor first = KeysetCursor.first(KeysetSort.NAME);
+
+        // when
+        Slice<Note> gotNotes = testRepository.findAllByTagIdNamedAfter(testTagId, first.name(), first.id(),
+                PageRequest.ofSize(20));
+
+        // then
+        assertTrue(gotNotes.isEmpty());
+    }
+
+    @Test
+    public void findAllByFolderIdUpdatedBefore_Success() {
+        // given
+        Long testFolderId = mockFolders.get(1).getId();
+        KeysetCursor first = KeysetCursor.first(KeysetSort.UPDATED_AT);
+        List<String> expectedNoteNames = Collections.singletonList(mockNotes.get(0).getName());
+
+        // when
+        Slice<Note> gotNotes = testRepository.findAllByFolderIdUpdatedBefore(testFolderId, first.updatedAt(),
+                first.id(), PageRequest.ofSize(20));
+
+        // then
+        assertEquals(expectedNoteNames, gotNotes.stream().map(Note::getName).toList());
+        assertFalse(gotNotes.hasNext());
+    }
+
+    @Test
+    public void findAllByFolderIdNamedAfter_FolderWithoutNotes_EmptySliceReturned() {
+        // given
+        Long testFolderId = mockFolders.get(2).getId();
+        KeysetCursor first = KeysetCursor.first(KeysetSort.NAME);
+
+        // when
+        Slice<Note> gotNotes = testRepository.findAllByFolderIdNamedAfter(testFolderId, first.name(), first.id(),
+                PageRequest.ofSize(20));
+
+        // then
+        assertTrue(gotNotes.isEmpty());
+    }
+
+    @Test
+    public void findAllNamedAfter_AfterLastNote_EmptySliceReturned() {
+        // given
+        Note lastNote = mockNotes.get(0);
+
+        // when
+        Slice<Note> firstPage = testRepository.findAllNamedAfter("", 0L, PageRequest.ofSize(20));
+        Slice<Note> nextPage = testRepository.findAllNamedAfter(lastNote.getName(), lastNote.getId(),
+                PageRequest.ofSize(20));
+
+        // then
+        assertEquals(1, firstPage.getNumberOfElements());
+        assertTrue(nextPage.isEmpty());
+    }
 }
@@ -5,12 +5,19 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
+
+import com.jundaai.note.dto.KeysetCursor;
+import com.jundaai.note.dto.KeysetSort;
+import com.jundaai.note.dto.TagSummary;
 import com.jundaai.note.model.Tag;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 
 
 @DataJpaTest
@@ -92,4 +99,40 @@ public class TagRepositoryTest extends RepositoryTest {
         // then
         assertEquals(expectedTag, gotTag);
     }
+
+    @Test
+    public void findSummariesNamedAfter_Success() {
+        // given
+        KeysetCursor first = KeysetCursor.first(KeysetSort.NAME);
+        List<String> expectedTagNames = mockTags.stream().map(Tag::getName).toList();
+        List<Integer> expectedNoteCounts = List.of(1, 0);
+
+        // when
+        Slice<TagSummary> gotSummaries = testRepository.findSummariesNamedAfter(first.name(), first.id(),
+                PageRequest.ofSize(10));
+
+        // then
+        assertFalse(gotSummaries.hasNext());
+        assertEquals(expectedTagNames, gotSummaries.getContent().stream().map(TagSummary::name).toList());
+        assertEquals(expectedNoteCounts, gotSummaries.getContent().stream().map(TagSummary::noteCount).toList());
+    }
+
+    @Test
+    public void findSummariesUpdatedBefore_Success() {
+        // given
+        KeysetCursor first = KeysetCursor.first(KeysetSort.UPDATED_AT);
+
+        // when
+        Slice<TagSummary> firstPage = testRepository.findSummariesUpdatedBefore(first.updatedAt(), first.id(),
+                PageRequest.ofSize(1));
+        TagSummary last = firstPage.getContent().get(0);
+        Slice<TagSummary> secondPage = testRepository.findSummariesUpdatedBefore(last.updatedAt(), last.id(),
+                PageRequest.ofSize(1));
+
+        // then
+        assertTrue(firstPage.hasNext());
+        assertEquals(mockTags.get(1).getName(), last.name());
+        assertFalse(secondPage.hasNext());
+        assertEquals(mockTags.get(0).getName(), secondPage.getContent().get(0).name());
+    }
 }
@@ -0,0 +1,86 @@
+package com.jundaai.note.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+
+public class PersistentMapTest {
+
+    private static <K, V> Map<K, V> toMap(PersistentMap<K, V> map) {
+        Map<K, V> entries = new HashMap<>();
+        map.forEach(entries::put);
+        return entries;
+    }
+
+    @Test
+    public void with_OlderVersionsUnchanged() {
+        // given
+        PersistentMap<Long, Integer> map = PersistentMap.empty();
+        Map<Long, Integer> expected = new HashMap<>();
+        for (long key = 0; key < 5_000; key++) {
+            map = map.with(key, (int) key);
+            expected.put(key, (int) key);
+        }
+
+        // when
+        PersistentMap<Long, Integer> updated = map.with(7L, 70).with(5_000L, 1).without(42L);
+
+        // then
+        assertEquals(expected, toMap(map));
+        assertEquals(5_000, map.size());
+        assertEquals(70, updated.get(7L));
+        assertEquals(1, updated.get(5_000L));
+        assertNull(updated.get(42L));
+        assertEquals(5_000, updated.size());
+        assertSame(updated, updated.with(7L, 70));
+        assertSame(updated, updated.without(-1L));
+    }
+
+    @Test
+    public void without_AllKeys_Empty() {
+        // given
+        PersistentMap<Long, Integer> map = PersistentMap.empty();
+        for (long key = 0; key < 1_000; key++) {
+            map = map.with(key * 31, 1);
+        }
+
+        // when
+        for (long key = 0; key < 1_000; key++) {
+            assertEquals(1, map.get(key * 31));
+            map = map.without(key * 31);
+        }
+
+        // then
+        assertTrue(map.isEmpty());
+        assertEquals(Map.of(), toMap(map));
+    }
+
+    @Test
+    public void collidingHashes_KeptApart() {
+        // given
+        String first = "Aa";
+        String second = "BB";
+        String third = "C#";
+        assertEquals(first.hashCode(), second.hashCode());
+
+        // when
+        PersistentMap<String, Integer> map = PersistentMap.<String, Integer>empty()
+                .with(first, 1)
+                .with(second, 2)
+                .with(third, 3);
+        PersistentMap<String, Integer> removed = map.without(first);
+
+        // then
+        assertEquals(Map.of(first, 1, second, 2, third, 3), toMap(map));
+        assertEquals(Map.of(second, 2, third, 3), toMap(removed));
+        assertNull(removed.get(first));
+        assertEquals(2, removed.get(second));
+    }
+}
@@ -0,0 +1,133 @@
+package com.jundaai.note.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import com.jundaai.note.dto.SearchHit;
+import org.junit.jupiter.api.Test;
+
+
+public class SearchIndexTest {
+
+    private static List<Long> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::id).toList();
+    }
+
+    @Test
+    public void tokenize_SplitsOnNonAlphanumericsAndLowercases() {
+        assertEquals(List.of("spring", "boot", "3", "0", "rest", "api"),
+                Tokenizer.tokenize("Spring-Boot 3.0: REST API!"));
+        assertEquals(List.of(), Tokenizer.tokenize(null));
+        assertEquals(List.of("ok"), Tokenizer.tokenize("ok " + "x".repeat(Tokenizer.MAX_TOKEN_LENGTH + 1)));
+    }
+
+    @Test
+    public void search_Bm25_RanksRareTermsAndShortDocumentsHigher() {
+        // given
+        SearchIndex index = SearchIndex.empty().writer()
+                .save(1L, 10L, "Go", "Go is a programming language designed at Google.")
+                .save(2L, 10L, "Java", "Java is a programming language. Java runs on the JVM, java everywhere.")
+                .save(3L, 11L, "Groceries", "Milk, eggs and bread.")
+                .save(4L, 11L, "Essay", "A very long note that mentions java once among many many other words "
+                        + "about nothing in particular at all whatsoever.")
+                .build();
+
+        // when
+        List<SearchHit> javaHits = index.search("java", 10);
+        List<SearchHit> languageHits = index.search("programming language google", 10);
+
+        // then
+        assertEquals(List.of(2L, 4L), ids(javaHits));
+        assertTrue(javaHits.get(0).score() > javaHits.get(1).score());
+        assertEquals("Java", javaHits.get(0).name());
+        assertEquals(10L, javaHits.get(0).folderId());
+        assertEquals(List.of(1L, 2L), ids(languageHits));
+        assertEquals(List.of(), index.search("zebra", 10));
+    }
+
+    @Test
+    public void search_TopK_ReturnsBestHitsInOrder() {
+        // given
+        SearchIndex.Writer writer = SearchIndex.empty().writer();
+        for (long id = 1; id <= 50; id++) {
+            writer.save(id, 1L, "Note " + id, "term ".repeat((int) id) + "filler ".repeat(50));
+        }
+        SearchIndex index = writer.build();
+
+        // when
+        List<SearchHit> hits = index.search("term", 3);
+
+        // then
+        assertEquals(List.of(50L, 49L, 48L), ids(hits));
+        assertEquals(List.of(), index.search("term", 0));
+    }
+
+    @Test
+    public void writer_RenameModifyMoveAndDelete_UpdatesPostings() {
+        // given
+        SearchIndex index = SearchIndex.empty().writer()
+                .save(1L, 10L, "Kotlin", "Coroutines and flows.")
+                .save(2L, 10L, "Scala", "Actors and futures.")
+                .build();
+
+        // when
+        SearchIndex renamed = index.writer().save(1L, 10L, "Swift", null).build();
+        SearchIndex modified = renamed.writer().save(1L, 10L, "Swift", "Actors in Swift concurrency.").build();
+        SearchIndex moved = modified.writer().save(2L, 20L, null, null).build();
+        SearchIndex deleted = moved.writer().delete(2L).delete(99L).build();
+
+        // then
+        assertEquals(List.of(), ids(renamed.search("kotlin", 10)));
+        assertEquals(List.of(1L), ids(renamed.search("coroutines", 10)));
+        assertEquals(List.of(), ids(modified.search("coroutines", 10)));
+        assertEquals(List.of(1L, 2L), ids(modified.search("actors swift", 10)));
+        assertEquals(20L, moved.search("scala", 10).get(0).folderId());
+        assertEquals("Scala", moved.search("futures", 10).get(0).name());
+        assertEquals(List.of(1L), ids(deleted.search("actors", 10)));
+        assertEquals(1, deleted.size());
+    }
+
+    @Test
+    public void writer_Append_KeepsExistingTermsAndAddsNewOnes() {
+        // given
+        SearchIndex index = SearchIndex.empty().writer()
+                .save(1L, 10L, "Journal", "Monday: actors.")
+                .save(2L, 10L, "Scala", "Actors and futures.")
+                .build();
+
+        // when
+        SearchIndex appended = index.writer()
+                .append(1L, 10L, "Journal", " Tuesday: actors again.")
+                .append(3L, 10L, "Fresh", "Unindexed before.")
+                .build();
+
+        // then
+        assertEquals(List.of(1L), ids(appended.search("monday tuesday", 10)));
+        assertEquals(List.of(1L, 2L), ids(appended.search("actors", 10)));
+        assertEquals("Journal", appended.search("tuesday", 10).get(0).name());
+        assertEquals(List.of(3L), ids(appended.search("unindexed", 10)));
+        assertEquals(3, appended.size());
+    }
+
+    @Test
+    public void writer_Build_LeavesPreviousSnapshotUnchanged() {
+        // given
+        SearchIndex before = SearchIndex.empty().writer()
+                .save(1L, 1L, "Snapshot", "isolation")
+                .build();
+
+        // when
+        SearchIndex after = before.writer()
+                .save(2L, 1L, "Another", "isolation")
+                .delete(1L)
+                .build();
+
+        // then
+        assertEquals(List.of(1L), ids(before.search("isolation", 10)));
+        assertEquals(1, before.size());
+        assertEquals(List.of(2L), ids(after.search("isolation", 10)));
+        assertEquals(0, SearchIndex.empty().size());
+    }
+}
@@ -0,0 +1,169 @@
+package com.jundaai.note.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import com.jundaai.note.dto.AutosaveReceipt;
+import com.jundaai.note.exception.NoteNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+
+@ExtendWith(MockitoExtension.class)
+public class AutosaveServiceTest extends ServiceTest {
+
+    @Mock
+    private NoteService mockNoteService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AutosaveService testService;
+
+    @Override
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+        meterRegistry = new SimpleMeterRegistry();
+        testService = new AutosaveService(mockNoteService, mockNoteContentRepository, meterRegistry);
+    }
+
+    @Override
+    @AfterEach
+    void tearDown() throws Exception {
+        testService.stop();
+        super.tearDown();
+    }
+
+    @Test
+    public void autosave_Burst_OnlyLatestFlushed() {
+        // given
+        Long testId = mockNoteIds.get(0);
+
+        // when
+        when(mockNoteContentRepository.findVersionById(testId)).thenReturn(Optional.of(3L));
+        AutosaveReceipt first = testService.autosave(testId, "d");
+        AutosaveReceipt second = testService.autosave(testId, "dr");
+        AutosaveReceipt third = testService.autosave(testId, "draft");
+        testService.flush(testId);
+
+        // then
+        // the burst is written once, as the content version after the stored one
+        assertEquals(List.of(4L, 4L, 4L), List.of(first.version(), second.version(), third.version()));
+        verify(mockNoteContentRepository).findVersionById(testId);
+        verify(mockNoteService).autosaveNoteById(testId, "draft");
+        assertEquals(0, testService.getPendingCount());
+        assertEquals(3.0, testService.getCoalescingRatio());
+        assertEquals(3.0, meterRegistry.get(AutosaveService.COALESCING_GAUGE).gauge().value());
+    }
+
+    @Test
+    public void autosave_NoteNotFound_ExceptionThrown() {
+        // given
+        Long testId = 99L;
+        String expectedMessage = "Note by id: " + testId + " was not found.";
+
+        // when
+        when(mockNoteContentRepository.findVersionById(testId)).thenReturn(Optional.empty());
+        Exception exception = assertThrows(NoteNotFoundException.class, () -> testService.autosave(testId, "draft"));
+
+        // then
+        assertEquals(expectedMessage, exception.getMessage());
+        assertEquals(0, testService.getPendingCount());
+    }
+
+    @Test
+    public void autosave_DuringWrite_NextContentVersion() {
+        // given
+        Long testId = mockNoteIds.get(0);
+        List<AutosaveReceipt> duringWrite = new ArrayList<>();
+
+        // when
+        when(mockNoteContentRepository.findVersionById(testId)).thenReturn(Optional.of(3L));
+        when(mockNoteService.autosaveNoteById(eq(testId), any(String.class))).thenAnswer(invocation -> {
+            duringWrite.add(testService.autosave(testId, "draft 2"));
+            return mockNotes.get(0);
+        });
+        AutosaveReceipt first = testService.autosave(testId, "draft 1");
+        testService.flush(testId);
+
+        // then
+        assertEquals(4L, first.version());
+        assertEquals(5L, duringWrite.get(0).version());
+        assertEquals(1, testService.getPendingCount());
+        assertEquals(2L * "draft 2".length(), testService.getPendingBytes());
+    }
+
+    @Test
+    public void autosave_PastByteBudget_WrittenThrough() {
+        // given
+        Long testId = mockNoteIds.get(0);
+        String largeContent = "x".repeat((int) (AutosaveService.MAX_PENDING_BYTES / 2) + 1);
+
+        // when
+        when(mockNoteContentRepository.findVersionById(testId)).thenReturn(Optional.of(3L));
+        AutosaveReceipt receipt = testService.autosave(testId, largeContent);
+
+        // then
+        assertEquals(4L, receipt.version());
+        verify(mockNoteService).autosaveNoteById(eq(testId), any(String.class));
+        assertEquals(0, testService.getPendingCount());
+        assertEquals(0, testService.getPendingBytes());
+    }
+
+    @Test
+    public void flush_NothingPending_NoWrite() {
+        // when
+        testService.flush(mockNoteIds.get(0));
+
+        // then
+        verifyNoInteractions(mockNoteService);
+    }
+
+    @Test
+    public void discard_PendingDropped() {
+        // given
+        Long testId = mockNoteIds.get(0);
+
+        // when
+        when(mockNoteContentRepository.findVersionById(testId)).thenReturn(Optional.of(3L));
+        testService.autosave(testId, "draft");
+        testService.discard(testId);
+        testService.flushAll();
+
+        // then
+        verify(mockNoteService, never()).autosaveNoteById(eq(testId), any(String.class));
+        assertEquals(0, testService.getPendingCount());
+        assertEquals(0, testService.getPendingBytes());
+    }
+
+    @Test
+    public void flush_WriteFails_ContentKept() {
+        // given
+        Long testId = mockNoteIds.get(0);
+
+        // when
+        when(mockNoteContentRepository.findVersionById(testId)).thenReturn(Optional.of(3L));
+        when(mockNoteService.autosaveNoteById(eq(testId), any(String.class)))
+                .thenThrow(new IllegalStateException("database unavailable"));
+        testService.autosave(testId, "draft");
+
+        // then
+        assertThrows(IllegalStateException.class, () -> testService.flush(testId));
+        assertEquals(1, testService.getPendingCount());
+        assertEquals(4L, testService.autosave(testId, "draft again").version());
+    }
+}
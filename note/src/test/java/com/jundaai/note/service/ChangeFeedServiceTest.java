@@ -0,0 +1,185 @@
+package com.jundaai.note.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import com.jundaai.note.dto.ChangeCursor;
+import com.jundaai.note.dto.ChangeEntityType;
+import com.jundaai.note.dto.ChangePage;
+import com.jundaai.note.dto.ChangeType;
+import com.jundaai.note.dto.EntityChange;
+import com.jundaai.note.event.EntitiesChangedEvent;
+import com.jundaai.note.exception.InvalidCursorException;
+import com.jundaai.note.model.ChangeLog;
+import com.jundaai.note.model.Note;
+import com.jundaai.note.repository.ChangeLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+
+@ExtendWith(MockitoExtension.class)
+public class ChangeFeedServiceTest extends ServiceTest {
+
+    @Mock
+    private ChangeLogRepository mockChangeLogRepository;
+    @Mock
+    private ChangeSequencer mockChangeSequencer;
+
+    private ChangeFeedService testService;
+
+    @Override
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+        testService = new ChangeFeedService(mockChangeLogRepository, mockFolderRepository, mockNoteRepository,
+                mockTagRepository, mockChangeSequencer);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void onEntitiesChanged_OneEntryPerEntity() {
+        // given
+        ArgumentCaptor<List<ChangeLog>> changeLogArgumentCaptor = ArgumentCaptor.forClass(List.class);
+
+        // when
+        testService.onEntitiesChanged(new EntitiesChangedEvent(ChangeEntityType.FOLDER, ChangeType.DELETED,
+                mockFolderIds).inFolders(mockFolderIds.get(0)));
+
+        // then
+        verify(mockChangeLogRepository).saveAll(changeLogArgumentCaptor.capture());
+        verify(mockChangeSequencer).request();
+        List<ChangeLog> entries = changeLogArgumentCaptor.getValue();
+        assertEquals(mockFolderIds, entries.stream()
+                .map(ChangeLog::getEntityId)
+                .toList());
+        assertTrue(entries.stream().allMatch(entry -> entry.getChangeType() == ChangeType.DELETED
+                && entry.getSequence() == null
+                && mockFolderIds.get(0).equals(entry.getFolderId())
+                && entry.getToFolderId() == null));
+    }
+
+    @Test
+    public void onEntitiesChanged_NoIds_NothingRecorded() {
+        // when
+        testService.onEntitiesChanged(new EntitiesChangedEvent(ChangeEntityType.NOTE, ChangeType.DELETED, List.of()));
+
+        // then
+        verifyNoInteractions(mockChangeLogRepository, mockChangeSequencer);
+    }
+
+    @Test
+    public void getChanges_LatestChangePerEntity() {
+        // given
+        Note testNote = mockNotes.get(0);
+        Long testNoteId = testNote.getId();
+        ZonedDateTime now = ZonedDateTime.now();
+        List<ChangeLog> entries = List.of(
+                changeLog(1L, ChangeEntityType.NOTE, testNoteId, ChangeType.CREATED, now),
+                changeLog(2L, ChangeEntityType.TAG, 99L, ChangeType.DELETED, now),
+                changeLog(3L, ChangeEntityType.NOTE, testNoteId, ChangeType.UPDATED, now));
+
+        // when
+        when(mockChangeLogRepository.findAllAfter(0L, PageRequest.ofSize(10)))
+                .thenReturn(new SliceImpl<>(entries));
+        when(mockNoteRepository.findAllById(List.of(testNoteId))).thenReturn(List.of(testNote));
+        ChangePage gotPage = testService.getChanges(null, 10);
+
+        // then
+        verify(mockChangeSequencer).sequencePending();
+        verify(mockChangeLogRepository).findAllAfter(0L, PageRequest.ofSize(10));
+        verifyNoInteractions(mockTagRepository);
+        assertEquals(2, gotPage.changes().size());
+        assertFalse(gotPage.hasMore());
+        assertEquals(3L, ChangeCursor.decode(gotPage.cursor()).sequence());
+
+        EntityChange tombstone = gotPage.changes().get(0);
+        assertEquals(ChangeEntityType.TAG, tombstone.entityType());
+        assertEquals(ChangeType.DELETED, tombstone.changeType());
+        assertEquals(99L, tombstone.id());
+        assertNull(tombstone.name());
+
+        EntityChange created = gotPage.changes().get(1);
+        assertEquals(ChangeEntityType.NOTE, created.entityType());
+        assertEquals(ChangeType.CREATED, created.changeType());
+        assertEquals(3L, created.sequence());
+        assertEquals(testNote.getName(), created.name());
+        assertEquals(testNote.getFolder().getId(), created.parentId());
+    }
+
+    @Test
+    public void getChanges_EntityGoneSinceChange_Tombstone() {
+        // given
+        Long testFolderId = mockFolderIds.get(1);
+        List<ChangeLog> entries = List.of(changeLog(5L, ChangeEntityType.FOLDER, testFolderId, ChangeType.UPDATED,
+                ZonedDateTime.now()));
+
+        // when
+        when(mockChangeLogRepository.findAllAfter(4L, PageRequest.ofSize(10)))
+                .thenReturn(new SliceImpl<>(entries));
+        when(mockFolderRepository.findAllById(List.of(testFolderId))).thenReturn(List.of());
+        ChangePage gotPage = testService.getChanges(new ChangeCursor(4L).encode(), 10);
+
+        // then
+        assertEquals(1, gotPage.changes().size());
+        assertEquals(ChangeType.DELETED, gotPage.changes().get(0).changeType());
+    }
+
+    @Test
+    public void getChanges_NoChanges_CursorUnchanged() {
+        // given
+        String testCursor = new ChangeCursor(7L).encode();
+
+        // when
+        when(mockChangeLogRepository.findAllAfter(7L, PageRequest.ofSize(10)))
+                .thenReturn(new SliceImpl<>(List.of()));
+        ChangePage gotPage = testService.getChanges(testCursor, 10);
+
+        // then
+        assertTrue(gotPage.changes().isEmpty());
+        assertEquals(testCursor, gotPage.cursor());
+        assertFalse(gotPage.hasMore());
+    }
+
+    @Test
+    public void getChanges_InvalidCursor_ExceptionThrown() {
+        // given
+        String invalidCursor = "not-a-cursor";
+        String expectedMessage = "Cursor: " + invalidCursor + " is not valid.";
+
+        // when
+        Exception exception = assertThrows(InvalidCursorException.class,
+                () -> testService.getChanges(invalidCursor, 10));
+
+        // then
+        verifyNoInteractions(mockChangeLogRepository);
+        assertEquals(expectedMessage, exception.getMessage());
+    }
+
+    private static ChangeLog changeLog(Long sequence, ChangeEntityType entityType, Long entityId,
+                                       ChangeType changeType, ZonedDateTime changedAt) {
+        // ids allocated out of commit order, the sequence decides
+        return ChangeLog.builder()
+                .id(100 - sequence)
+                .sequence(sequence)
+                .entityType(entityType)
+                .entityId(entityId)
+                .changeType(changeType)
+                .changedAt(changedAt)
+                .build();
+    }
+}
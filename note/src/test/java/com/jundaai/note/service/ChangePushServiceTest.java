@@ -0,0 +1,284 @@
+package com.jundaai.note.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import com.jundaai.note.dto.ChangeCursor;
+import com.jundaai.note.dto.ChangeEntityType;
+import com.jundaai.note.dto.ChangeType;
+import com.jundaai.note.dto.EntityChange;
+import com.jundaai.note.dto.NoteTagLink;
+import com.jundaai.note.event.ChangesSequencedEvent;
+import com.jundaai.note.exception.FolderNotFoundException;
+import com.jundaai.note.exception.TagNotFoundException;
+import com.jundaai.note.model.ChangeLog;
+import com.jundaai.note.model.FolderClosure;
+import com.jundaai.note.repository.ChangeLogRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+
+@ExtendWith(MockitoExtension.class)
+public class ChangePushServiceTest extends ServiceTest {
+
+    private static final String TEST_CURSOR = new ChangeCursor(3L).encode();
+
+    @Mock
+    private ChangeFeedService mockChangeFeedService;
+    @Mock
+    private ChangeLogRepository mockChangeLogRepository;
+
+    private final List<BlockingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final CountDownLatch unblock = new CountDownLatch(1);
+    private ChangePushService testService;
+    private MeterRegistry meterRegistry;
+
+    @Override
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+        meterRegistry = new SimpleMeterRegistry();
+        testService = new ChangePushService(mockFolderRepository, mockFolderClosureRepository, mockNoteRepository,
+                mockTagRepository, mockChangeFeedService, mockChangeLogRepository, meterRegistry) {
+
+            @Override
+            SseEmitter newEmitter() {
+                BlockingEmitter emitter = new BlockingEmitter(emitters.isEmpty() ? null : unblock);
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+        testService.start();
+    }
+
+    @Override
+    @AfterEach
+    void tearDown() throws Exception {
+        unblock.countDown();
+        testService.stop();
+        super.tearDown();
+    }
+
+    @Test
+    public void subscribeToFolder_Success() {
+        // given
+        Long testFolderId = mockFolderIds.get(1);
+
+        // when
+        when(mockFolderRepository.existsById(testFolderId)).thenReturn(true);
+        when(mockChangeFeedService.getLatestCursor()).thenReturn(TEST_CURSOR);
+        SseEmitter emitter = testService.subscribeToFolder(testFolderId);
+
+        // then
+        verify(mockChangeFeedService).getLatestCursor();
+        assertEquals(ChangePushService.SUBSCRIPTION_TIMEOUT_MILLIS, emitter.getTimeout());
+        assertEquals(1, testService.getSubscriberCount());
+        assertEquals(1.0, meterRegistry.get(ChangePushService.SUBSCRIBERS_GAUGE).gauge().value());
+    }
+
+    @Test
+    public void subscribe_NotExistingScope_ExceptionThrown() {
+        // given
+        Long notExistingId = -1L;
+
+        // when
+        assertThrows(FolderNotFoundException.class, () -> testService.subscribeToFolder(notExistingId));
+        assertThrows(TagNotFoundException.class, () -> testService.subscribeToTag(notExistingId));
+
+        // then
+        assertEquals(0, testService.getSubscriberCount());
+        verifyNoInteractions(mockChangeFeedService);
+    }
+
+    @Test
+    public void onChangesSequenced_NoSubscribers_NoLookups() {
+        // when
+        testService.onChangesSequenced(new ChangesSequencedEvent(4L));
+
+        // then
+        verify(mockChangeLogRepository, after(200).never()).findAllAfter(anyLong(), any());
+        verifyNoInteractions(mockFolderClosureRepository, mockNoteRepository);
+    }
+
+    @Test
+    public void onChangesSequenced_FolderSubscriber_ResolvesAncestorsOnSender() {
+        // given
+        Long rootId = mockFolderIds.get(0);
+        Long testFolderId = mockFolderIds.get(1);
+        AtomicReference<Thread> resolvingThread = new AtomicReference<>();
+
+        // when
+        when(mockFolderRepository.existsById(rootId)).thenReturn(true);
+        when(mockChangeFeedService.getLatestCursor()).thenReturn(TEST_CURSOR);
+        when(mockChangeLogRepository.findAllAfter(anyLong(), any())).thenReturn(
+                new SliceImpl<>(List.of(entry(4L, ChangeEntityType.NOTE, mockNoteIds.get(0), ChangeType.UPDATED,
+                        testFolderId))),
+                new SliceImpl<>(List.of()));
+        when(mockFolderClosureRepository.findAllByDescendantIds(Set.of(testFolderId))).thenAnswer(invocation -> {
+            resolvingThread.set(Thread.currentThread());
+            return List.of(new FolderClosure(rootId, testFolderId, 1), new FolderClosure(testFolderId,
+                    testFolderId, 0));
+        });
+        testService.subscribeToFolder(rootId);
+        testService.onChangesSequenced(new ChangesSequencedEvent(4L));
+
+        // then
+        verify(mockFolderClosureRepository, timeout(1_000)).findAllByDescendantIds(Set.of(testFolderId));
+        assertNotEquals(Thread.currentThread(), resolvingThread.get());
+        verifyNoInteractions(mockNoteRepository);
+    }
+
+    @Test
+    public void onChangesSequenced_TagSubscriber_ResolvesNoteTags() {
+        // given
+        Long testTagId = mockTagIds.get(0);
+        Long testNoteId = mockNoteIds.get(0);
+        Long testFolderId = mockFolderIds.get(1);
+
+        // when
+        when(mockTagRepository.existsById(testTagId)).thenReturn(true);
+        when(mockChangeFeedService.getLatestCursor()).thenReturn(TEST_CURSOR);
+        when(mockChangeLogRepository.findAllAfter(anyLong(), any())).thenReturn(
+                new SliceImpl<>(List.of(
+                        entry(4L, ChangeEntityType.NOTE, testNoteId, ChangeType.UPDATED, testFolderId),
+                        entry(5L, ChangeEntityType.NOTE, testNoteId, ChangeType.DELETED, testFolderId))),
+                new SliceImpl<>(List.of()));
+        when(mockNoteRepository.findTagLinksByNoteIds(Set.of(testNoteId)))
+                .thenReturn(List.of(new NoteTagLink(testNoteId, testTagId, mockTags.get(0).getName())));
+        testService.subscribeToTag(testTagId);
+        testService.onChangesSequenced(new ChangesSequencedEvent(5L));
+
+        // then
+        verify(mockNoteRepository, timeout(1_000)).findTagLinksByNoteIds(Set.of(testNoteId));
+        verifyNoInteractions(mockFolderClosureRepository);
+    }
+
+    @Test
+    public void onChangesSequenced_TailStartsAtSubscriptionCursor() {
+        // given
+        Long testFolderId = mockFolderIds.get(1);
+
+        // when
+        when(mockFolderRepository.existsById(testFolderId)).thenReturn(true);
+        when(mockChangeFeedService.getLatestCursor()).thenReturn(TEST_CURSOR);
+        when(mockChangeLogRepository.findAllAfter(anyLong(), any())).thenReturn(new SliceImpl<>(List.of()));
+        testService.onChangesSequenced(new ChangesSequencedEvent(2L));
+        testService.subscribeToFolder(testFolderId);
+        testService.onChangesSequenced(new ChangesSequencedEvent(4L));
+
+        // then
+        verify(mockChangeLogRepository, timeout(1_000).atLeastOnce()).findAllAfter(eq(3L), any());
+        verify(mockChangeLogRepository, never()).findAllAfter(eq(2L), any());
+    }
+
+    @Test
+    public void onChangesSequenced_StalledSubscribers_OthersStillReceive() {
+        // given
+        Long rootId = mockFolderIds.get(0);
+        Long testFolderId = mockFolderIds.get(1);
+        // more clients that stop reading than the machine has cores
+        int stalledCount = Runtime.getRuntime().availableProcessors() + 2;
+
+        // when
+        when(mockFolderRepository.existsById(rootId)).thenReturn(true);
+        when(mockChangeFeedService.getLatestCursor()).thenReturn(TEST_CURSOR);
+        when(mockChangeLogRepository.findAllAfter(anyLong(), any())).thenReturn(
+                new SliceImpl<>(List.of(entry(4L, ChangeEntityType.NOTE, mockNoteIds.get(0), ChangeType.UPDATED,
+                        testFolderId))),
+                new SliceImpl<>(List.of()));
+        when(mockFolderClosureRepository.findAllByDescendantIds(Set.of(testFolderId)))
+                .thenReturn(List.of(new FolderClosure(rootId, testFolderId, 1)));
+        // the first emitter reads, every later one blocks on its first change
+        BlockingEmitter reading = (BlockingEmitter) testService.subscribeToFolder(rootId);
+        for (int i = 0; i < stalledCount; i++) {
+            testService.subscribeToFolder(rootId);
+        }
+        testService.onChangesSequenced(new ChangesSequencedEvent(4L));
+
+        // then
+        await(() -> reading.received.contains(4L), 1_000);
+        await(() -> testService.getSubscriberCount() == 1,
+                ChangePushService.SEND_TIMEOUT_MILLIS + 2 * ChangePushService.STALL_CHECK_INTERVAL_MILLIS);
+        assertEquals((double) stalledCount, meterRegistry.get(ChangePushService.STALLED_COUNTER).counter().count());
+    }
+
+    private static void await(BooleanSupplier condition, long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met in " + timeoutMillis + " ms");
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+        }
+    }
+
+    private static ChangeLog entry(Long sequence, ChangeEntityType entityType, Long entityId, ChangeType changeType,
+                                   Long folderId) {
+        return ChangeLog.builder()
+                .id(sequence)
+                .sequence(sequence)
+                .entityType(entityType)
+                .entityId(entityId)
+                .changeType(changeType)
+                .changedAt(ZonedDateTime.now())
+                .folderId(folderId)
+                .build();
+    }
+
+    private static class BlockingEmitter extends SseEmitter {
+
+        private final List<Long> received = new CopyOnWriteArrayList<>();
+        private final CountDownLatch unblock;
+
+        private BlockingEmitter(CountDownLatch unblock) {
+            super(ChangePushService.SUBSCRIPTION_TIMEOUT_MILLIS);
+            this.unblock = unblock;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            for (DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof EntityChange change) {
+                    if (unblock != null) {
+                        // a client that stops reading, the write blocks until the connection goes away
+                        try {
+                            unblock.await();
+                        } catch (InterruptedException interruptedException) {
+                            Thread.currentThread().interrupt();
+                            throw new IOException(interruptedException);
+                        }
+                    }
+                    received.add(change.sequence());
+                }
+            }
+        }
+    }
+}
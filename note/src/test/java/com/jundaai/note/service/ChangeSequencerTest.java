@@ -0,0 +1,163 @@
+package com.jundaai.note.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import com.jundaai.note.dto.ChangeEntityType;
+import com.jundaai.note.dto.ChangeType;
+import com.jundaai.note.event.ChangesSequencedEvent;
+import com.jundaai.note.model.ChangeLog;
+import com.jundaai.note.model.ChangeSequence;
+import com.jundaai.note.repository.ChangeLogRepository;
+import com.jundaai.note.repository.ChangeSequenceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+
+@ExtendWith(MockitoExtension.class)
+public class ChangeSequencerTest {
+
+    @Mock
+    private ChangeLogRepository mockChangeLogRepository;
+    @Mock
+    private ChangeSequenceRepository mockChangeSequenceRepository;
+    @Mock
+    private PlatformTransactionManager mockTransactionManager;
+    @Mock
+    private ApplicationEventPublisher mockEventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ChangeSequencer testSequencer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        testSequencer = new ChangeSequencer(mockChangeLogRepository, mockChangeSequenceRepository,
+                mockTransactionManager, mockEventPublisher, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        testSequencer.stop();
+    }
+
+    @Test
+    public void sequencePending_ContinuesFromCounter() {
+        // given
+        ChangeSequence counter = new ChangeSequence(ChangeSequencer.COUNTER_ID, 5L);
+        List<ChangeLog> entries = entries(3);
+
+        // when
+        when(mockChangeLogRepository.existsBySequenceIsNull()).thenReturn(true);
+        when(mockChangeSequenceRepository.findForUpdateById(ChangeSequencer.COUNTER_ID))
+                .thenReturn(Optional.of(counter));
+        when(mockChangeLogRepository.findUnsequenced(PageRequest.ofSize(ChangeSequencer.BATCH_SIZE)))
+                .thenReturn(entries);
+        int sequenced = testSequencer.sequencePending();
+
+        // then
+        assertEquals(3, sequenced);
+        assertEquals(List.of(6L, 7L, 8L), entries.stream().map(ChangeLog::getSequence).toList());
+        assertEquals(8L, counter.getLastSequence());
+        verify(mockEventPublisher).publishEvent(new ChangesSequencedEvent(8L));
+        assertEquals(3.0, meterRegistry.get(ChangeSequencer.SEQUENCED_COUNTER).counter().count());
+    }
+
+    @Test
+    public void sequencePending_NothingPending_NoTransaction() {
+        // when
+        when(mockChangeLogRepository.existsBySequenceIsNull()).thenReturn(false);
+        int sequenced = testSequencer.sequencePending();
+
+        // then
+        assertEquals(0, sequenced);
+        verifyNoInteractions(mockTransactionManager, mockChangeSequenceRepository, mockEventPublisher);
+        verify(mockChangeLogRepository, never()).findUnsequenced(any());
+    }
+
+    @Test
+    public void sequencePending_NoCounter_StartsAfterLatestSequence() {
+        // given
+        List<ChangeLog> entries = entries(1);
+
+        // when
+        when(mockChangeLogRepository.existsBySequenceIsNull()).thenReturn(true);
+        when(mockChangeSequenceRepository.findForUpdateById(ChangeSequencer.COUNTER_ID)).thenReturn(Optional.empty());
+        when(mockChangeLogRepository.findLatestSequence()).thenReturn(41L);
+        when(mockChangeSequenceRepository.save(any(ChangeSequence.class))).thenAnswer(invocation ->
+                invocation.getArgument(0));
+        when(mockChangeLogRepository.findUnsequenced(PageRequest.ofSize(ChangeSequencer.BATCH_SIZE)))
+                .thenReturn(entries);
+        testSequencer.sequencePending();
+
+        // then
+        assertEquals(42L, entries.get(0).getSequence());
+    }
+
+    @Test
+    public void sequencePending_Failure_LeftForNextPass() {
+        // when
+        when(mockChangeLogRepository.existsBySequenceIsNull()).thenThrow(new IllegalStateException("down"));
+        int sequenced = testSequencer.sequencePending();
+
+        // then
+        assertEquals(0, sequenced);
+        verifyNoInteractions(mockChangeSequenceRepository);
+    }
+
+    @Test
+    public void request_BeforeStart_LeftForPolling() {
+        // when
+        testSequencer.request();
+
+        // then
+        assertFalse(testSequencer.isRunning());
+        verifyNoInteractions(mockChangeLogRepository);
+    }
+
+    @Test
+    public void start_PollsPending_StopEndsPolling() {
+        // when
+        testSequencer.start();
+
+        // then
+        assertTrue(testSequencer.isRunning());
+        verify(mockChangeLogRepository, timeout(5 * ChangeSequencer.SEQUENCE_INTERVAL_MILLIS).atLeastOnce())
+                .existsBySequenceIsNull();
+        testSequencer.stop();
+        assertFalse(testSequencer.isRunning());
+    }
+
+    private static List<ChangeLog> entries(int count) {
+        ZonedDateTime now = ZonedDateTime.now();
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> ChangeLog.builder()
+                        .id(id)
+                        .entityType(ChangeEntityType.NOTE)
+                        .entityId(id)
+                        .changeType(ChangeType.UPDATED)
+                        .changedAt(now)
+                        .build())
+                .toList();
+    }
+}
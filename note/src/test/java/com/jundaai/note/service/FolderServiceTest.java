@@ -4,41 +4,62 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import com.jundaai.note.dto.ChangeEntityType;
+import com.jundaai.note.dto.ChangeType;
 import com.jundaai.note.dto.FolderCreationForm;
+import com.jundaai.note.dto.FolderSummary;
+import com.jundaai.note.dto.FolderTreeNode;
 import com.jundaai.note.dto.FolderUpdateForm;
 import com.jundaai.note.dto.FolderUpdateType;
+import com.jundaai.note.dto.KeysetCursor;
+import com.jundaai.note.dto.KeysetPage;
+import com.jundaai.note.dto.KeysetSort;
+import com.jundaai.note.event.EntitiesChangedEvent;
+import com.jundaai.note.event.NotesDeletedEvent;
 import com.jundaai.note.exception.FolderNameBlankException;
 import com.jundaai.note.exception.FolderNameConflictException;
 import com.jundaai.note.exception.FolderNotFoundException;
 import com.jundaai.note.exception.RootPreservationException;
 import com.jundaai.note.model.Folder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
 
 @ExtendWith(MockitoExtension.class)
 public class FolderServiceTest extends ServiceTest {
 
     private FolderService testService;
+    private MeterRegistry meterRegistry;
 
     @Override
     @BeforeEach
     void setUp() {
         super.setUp();
-        testService = new FolderService(mockFolderRepository);
+        meterRegistry = new SimpleMeterRegistry();
+        testService = new FolderService(mockFolderRepository, mockFolderClosureRepository, mockNoteRepository,
+                mockNoteContentRepository, mockFolderTimestamps, mockEventPublisher, meterRegistry);
         Logger logger = (Logger) LoggerFactory.getLogger(FolderService.class);
         logger.addAppender(loggingEventListAppender);
     }
@@ -47,14 +68,17 @@ public class FolderServiceTest extends ServiceTest {
     public void getAllFolders_Success() {
         // given
         List<Folder> expectedFolders = mockFolders;
+        KeysetCursor first = KeysetCursor.first(KeysetSort.NAME);
 
         // when
-        when(mockFolderRepository.findAll()).thenReturn(mockFolders);
-        List<Folder> gotFolders = testService.getAllFolders();
+        when(mockFolderRepository.findAllNamedAfter(first.name(), first.id(), PageRequest.ofSize(20)))
+                .thenReturn(new SliceImpl<>(mockFolders));
+        KeysetPage<Folder> gotFolders = testService.getAllFolders(KeysetSort.NAME, null, 20);
 
         // then
-        verify(mockFolderRepository).findAll();
-        assertEquals(expectedFolders, gotFolders);
+        verify(mockFolderRepository).findAllNamedAfter(first.name(), first.id(), PageRequest.ofSize(20));
+        assertEquals(expectedFolders, gotFolders.content());
+        assertFalse(gotFolders.hasNext());
     }
 
     @Test
@@ -64,12 +88,20 @@ public class FolderServiceTest extends ServiceTest {
         Folder expectedFolder = mockFolders.get(0);
 
         // when
-        when(mockFolderRepository.findById(testId)).thenReturn(Optional.ofNullable(mockFolders.get(0)));
+        when(mockFolderRepository.findWithParentById(testId)).thenReturn(Optional.ofNullable(mockFolders.get(0)));
+        when(mockFolderRepository.findSubFolderSummariesByParentId(testId)).thenReturn(List.of(
+                new FolderSummary(mockFolderIds.get(1), mockFolders.get(1).getName()),
+                new FolderSummary(mockFolderIds.get(2), mockFolders.get(2).getName())));
         Folder gotFolder = testService.getFolderById(testId);
 
         // then
-        verify(mockFolderRepository).findById(testId);
+        verify(mockFolderRepository).findWithParentById(testId);
+        verify(mockFolderRepository).findSubFolderSummariesByParentId(testId);
+        verify(mockFolderRepository).findNoteSummariesByFolderId(testId);
         assertEquals(expectedFolder, gotFolder);
+        assertEquals(List.of(mockFolderIds.get(1), mockFolderIds.get(2)),
+                gotFolder.getSubFolderSummaries().stream().map(FolderSummary::id).toList());
+        assertTrue(gotFolder.getNoteSummaries().isEmpty());
     }
 
     @Test
@@ -83,7 +115,7 @@ public class FolderServiceTest extends ServiceTest {
                 () -> testService.getFolderById(notExistingId));
 
         // then
-        verify(mockFolderRepository).findById(notExistingId);
+        verify(mockFolderRepository).findWithParentById(notExistingId);
         assertEquals(expectedMessage, exception.getMessage());
     }
 
@@ -91,16 +123,25 @@ public class FolderServiceTest extends ServiceTest {
     public void getSubFoldersByParentId_Success() {
         // given
         Long testParentId = mockFolderIds.get(0);
-        List<Folder> expectedSubFolders = List.of(mockFolders.get(1), mockFolders.get(2));
+        Folder lastSubFolder = mockFolders.get(1);
+        String cursor = KeysetCursor.after(KeysetSort.UPDATED_AT, lastSubFolder.getUpdatedAt(),
+                lastSubFolder.getName(), lastSubFolder.getId()).encode();
+        List<Folder> expectedSubFolders = List.of(mockFolders.get(2));
 
         // when
-        when(mockFolderRepository.findSubFoldersByParentId(testParentId))
-                .thenReturn(Optional.of(List.of(mockFolders.get(1), mockFolders.get(2))));
-        List<Folder> gotSubFolders = testService.getSubFoldersByParentId(testParentId);
+        when(mockFolderRepository.findSubFoldersByParentIdUpdatedBefore(any(), any(), any(), any()))
+                .thenReturn(new SliceImpl<>(expectedSubFolders, PageRequest.ofSize(1), true));
+        KeysetPage<Folder> gotSubFolders = testService.getSubFoldersByParentId(testParentId, KeysetSort.UPDATED_AT,
+                cursor, 1);
 
         // then
-        verify(mockFolderRepository).findSubFoldersByParentId(testParentId);
-        assertEquals(expectedSubFolders, gotSubFolders);
+        verify(mockFolderRepository, never()).existsById(testParentId);
+        verify(mockFolderRepository).findSubFoldersByParentIdUpdatedBefore(testParentId,
+                lastSubFolder.getUpdatedAt().withZoneSameInstant(ZoneOffset.UTC), lastSubFolder.getId(),
+                PageRequest.ofSize(1));
+        assertEquals(expectedSubFolders, gotSubFolders.content());
+        assertEquals(KeysetCursor.after(KeysetSort.UPDATED_AT, mockFolders.get(2).getUpdatedAt(),
+                mockFolders.get(2).getName(), mockFolders.get(2).getId()).encode(), gotSubFolders.nextCursor());
     }
 
     @Test
@@ -109,12 +150,80 @@ public class FolderServiceTest extends ServiceTest {
         Long notExistingId = -1L;
         String expectedMessage = "Folder by id: " + notExistingId + " was not found.";
 
+        // when
+        when(mockFolderRepository.findSubFoldersByParentIdNamedAfter(notExistingId, "", 0L, PageRequest.ofSize(20)))
+                .thenReturn(new SliceImpl<>(List.of()));
+        Exception exception = assertThrows(FolderNotFoundException.class,
+                () -> testService.getSubFoldersByParentId(notExistingId, KeysetSort.NAME, null, 20));
+
+        // then
+        verify(mockFolderRepository).existsById(notExistingId);
+        assertEquals(expectedMessage, exception.getMessage());
+    }
+
+    @Test
+    public void getAncestorsById_Success() {
+        // given
+        Long testId = mockFolderIds.get(1);
+        List<FolderTreeNode> expectedAncestors = List.of(
+                new FolderTreeNode(mockFolderIds.get(0), mockFolders.get(0).getName(), null, 1),
+                new FolderTreeNode(testId, mockFolders.get(1).getName(), mockFolderIds.get(0), 0));
+
+        // when
+        when(mockFolderClosureRepository.findAncestorNodes(testId)).thenReturn(expectedAncestors);
+        List<FolderTreeNode> gotAncestors = testService.getAncestorsById(testId);
+
+        // then
+        verify(mockFolderClosureRepository).findAncestorNodes(testId);
+        assertEquals(expectedAncestors, gotAncestors);
+    }
+
+    @Test
+    public void getAncestorsById_NotExistingId_ExceptionThrown() {
+        // given
+        Long notExistingId = -1L;
+        String expectedMessage = "Folder by id: " + notExistingId + " was not found.";
+
+        // when
+        Exception exception = assertThrows(FolderNotFoundException.class,
+                () -> testService.getAncestorsById(notExistingId));
+
+        // then
+        verify(mockFolderClosureRepository).findAncestorNodes(notExistingId);
+        assertEquals(expectedMessage, exception.getMessage());
+    }
+
+    @Test
+    public void getDescendantsById_Success() {
+        // given
+        Long testId = mockFolderIds.get(0);
+        List<FolderTreeNode> expectedDescendants = List.of(
+                new FolderTreeNode(mockFolderIds.get(2), mockFolders.get(2).getName(), testId, 1),
+                new FolderTreeNode(mockFolderIds.get(1), mockFolders.get(1).getName(), testId, 1));
+
+        // when
+        when(mockFolderClosureRepository.findDescendantNodes(testId, 1)).thenReturn(expectedDescendants);
+        List<FolderTreeNode> gotDescendants = testService.getDescendantsById(testId, 1);
+
+        // then
+        verify(mockFolderClosureRepository).findDescendantNodes(testId, 1);
+        verify(mockFolderRepository, never()).existsById(testId);
+        assertEquals(expectedDescendants, gotDescendants);
+    }
+
+    @Test
+    public void getDescendantsById_NotExistingId_ExceptionThrown() {
+        // given
+        Long notExistingId = -1L;
+        String expectedMessage = "Folder by id: " + notExistingId + " was not found.";
+
         // when
         Exception exception = assertThrows(FolderNotFoundException.class,
-                () -> testService.getSubFoldersByParentId(notExistingId));
+                () -> testService.getDescendantsById(notExistingId, Integer.MAX_VALUE));
 
         // then
-        verify(mockFolderRepository).findSubFoldersByParentId(notExistingId);
+        verify(mockFolderClosureRepository).findDescendantNodes(notExistingId, Integer.MAX_VALUE);
+        verify(mockFolderRepository).existsById(notExistingId);
         assertEquals(expectedMessage, exception.getMessage());
     }
 
@@ -127,14 +236,19 @@ public class FolderServiceTest extends ServiceTest {
 
         // when
         when(mockFolderRepository.findById(testParentId)).thenReturn(Optional.ofNullable(mockFolders.get(0)));
+        when(mockFolderRepository.save(any(Folder.class))).thenAnswer(invocation -> invocation.getArgument(0));
         testService.createFolderByParentId(testParentId, testForm);
 
         // then
         verify(mockFolderRepository).findById(testParentId);
-        verify(mockFolderRepository, times(2)).save(folderArgumentCaptor.capture());
+        verify(mockFolderRepository).save(folderArgumentCaptor.capture());
+        verify(mockFolderClosureRepository).insertSelf(any());
+        verify(mockFolderClosureRepository).insertSubtreeUnder(eq(testParentId), any());
+        verify(mockFolderTimestamps).touch(eq(testParentId), any(ZonedDateTime.class));
 
-        Folder capturedFolder = folderArgumentCaptor.getAllValues().get(0);
+        Folder capturedFolder = folderArgumentCaptor.getValue();
         assertEquals(testName, capturedFolder.getName());
+        assertTrue(mockFolders.get(0).getSubFolders().contains(capturedFolder));
     }
 
     @Test
@@ -227,21 +341,49 @@ public class FolderServiceTest extends ServiceTest {
         // when
         when(mockFolderRepository.findById(testId)).thenReturn(Optional.ofNullable(mockFolders.get(2)));
         when(mockFolderRepository.findById(testToParentId)).thenReturn(Optional.ofNullable(mockFolders.get(1)));
+        when(mockFolderClosureRepository.findSubtreeIds(testId)).thenReturn(List.of(testId));
         testService.updateFolderById(testId, testMoveForm);
 
         // then
         verify(mockFolderRepository).findById(testId);
         verify(mockFolderRepository).findById(testToParentId);
-        verify(mockFolderRepository, times(3)).save(folderArgumentCaptor.capture());
+        verify(mockFolderClosureRepository).deleteOutsidePaths(List.of(testId));
+        verify(mockFolderClosureRepository).insertSubtreeUnder(testToParentId, testId);
+        verify(mockFolderRepository).save(folderArgumentCaptor.capture());
+        verify(mockFolderTimestamps).touch(eq(mockFolderIds.get(0)), any(ZonedDateTime.class));
+        verify(mockFolderTimestamps).touch(eq(testToParentId), any(ZonedDateTime.class));
 
-        Folder capturedFolder = folderArgumentCaptor.getAllValues().get(2);
+        Folder capturedFolder = folderArgumentCaptor.getValue();
         assertEquals(testToParentId, capturedFolder.getParentFolder().getId());
+        assertFalse(mockFolders.get(0).getSubFolders().contains(capturedFolder));
+        assertTrue(mockFolders.get(1).getSubFolders().contains(capturedFolder));
+    }
+
+    @Test
+    public void updateFolderById_Move_TimedByUpdateType() {
+        // given
+        Long testId = mockFolderIds.get(2);
+        Long testToParentId = mockFolderIds.get(1);
+        FolderUpdateForm testMoveForm = FolderUpdateForm.builder()
+                .updateType(FolderUpdateType.MOVE_FOLDER.name())
+                .toParentId(testToParentId)
+                .build();
 
-        Folder capturedFromFolder = folderArgumentCaptor.getAllValues().get(0);
-        assertFalse(capturedFromFolder.getSubFolders().contains(capturedFolder));
+        // when
+        when(mockFolderRepository.findById(testId)).thenReturn(Optional.ofNullable(mockFolders.get(2)));
+        when(mockFolderRepository.findById(testToParentId)).thenReturn(Optional.ofNullable(mockFolders.get(1)));
+        when(mockFolderClosureRepository.findSubtreeIds(testId)).thenReturn(List.of(testId));
+        testService.updateFolderById(testId, testMoveForm);
 
-        Folder capturedToFolder = folderArgumentCaptor.getAllValues().get(1);
-        assertTrue(capturedToFolder.getSubFolders().contains(capturedFolder));
+        // then
+        assertEquals(1, meterRegistry.get(FolderService.UPDATE_TIMER)
+                .tag("type", FolderUpdateType.MOVE_FOLDER.name())
+                .timer()
+                .count());
+        assertEquals(0, meterRegistry.get(FolderService.UPDATE_TIMER)
+                .tag("type", FolderUpdateType.RENAME_FOLDER.name())
+                .timer()
+                .count());
     }
 
     @Test
@@ -392,17 +534,56 @@ public class FolderServiceTest extends ServiceTest {
         assertEquals(Level.ERROR, loggingEvents.get(3).getLevel());
     }
 
+    @Test
+    public void updateFolderById_MoveIntoOwnSubFolder_Aborted() {
+        // given
+        Long testId = mockFolderIds.get(1);
+        Long testToParentId = mockFolderIds.get(2);
+        FolderUpdateForm testForm = FolderUpdateForm.builder()
+                .updateType(FolderUpdateType.MOVE_FOLDER.name())
+                .toParentId(testToParentId)
+                .build();
+        String expectedMessage = "Cannot move folder into its own sub-folder. Abort.";
+
+        // when
+        when(mockFolderRepository.findById(testId)).thenReturn(Optional.ofNullable(mockFolders.get(1)));
+        when(mockFolderRepository.findById(testToParentId)).thenReturn(Optional.ofNullable(mockFolders.get(2)));
+        when(mockFolderClosureRepository.findSubtreeIds(testId)).thenReturn(List.of(testId, testToParentId));
+        testService.updateFolderById(testId, testForm);
+
+        // then
+        verify(mockFolderClosureRepository, never()).deleteOutsidePaths(any());
+        verify(mockFolderRepository, never()).save(any());
+
+        List<ILoggingEvent> loggingEvents = loggingEventListAppender.list;
+        assertEquals(expectedMessage, loggingEvents.get(1).getMessage());
+        assertEquals(Level.ERROR, loggingEvents.get(1).getLevel());
+    }
+
     @Test
     public void deleteFolderById_Success() {
         // given
         Long testId = mockFolderIds.get(1);
+        List<Long> testSubtreeIds = List.of(testId);
 
         // when
         when(mockFolderRepository.findById(testId)).thenReturn(Optional.ofNullable(mockFolders.get(1)));
+        when(mockFolderClosureRepository.findSubtreeIds(testId)).thenReturn(testSubtreeIds);
+        when(mockFolderRepository.findNoteIdsByFolderIds(testSubtreeIds)).thenReturn(mockNoteIds);
         testService.deleteFolderById(testId);
 
         // then
-        verify(mockFolderRepository).deleteById(testId);
+        verify(mockFolderClosureRepository).deleteSubtreePaths(testSubtreeIds);
+        verify(mockNoteContentRepository).deleteAllByFolderIds(testSubtreeIds);
+        verify(mockNoteRepository).deleteAllByFolderIds(testSubtreeIds);
+        verify(mockFolderRepository).detachAllByIds(testSubtreeIds);
+        verify(mockFolderRepository).deleteAllByIds(testSubtreeIds);
+        verify(mockFolderRepository, never()).deleteById(testId);
+        verify(mockEventPublisher).publishEvent(new NotesDeletedEvent(mockNoteIds));
+        verify(mockEventPublisher).publishEvent(new EntitiesChangedEvent(ChangeEntityType.NOTE, ChangeType.DELETED,
+                mockNoteIds).inFolders(mockFolderIds.get(0)));
+        verify(mockEventPublisher).publishEvent(new EntitiesChangedEvent(ChangeEntityType.FOLDER,
+                ChangeType.DELETED, testSubtreeIds).inFolders(mockFolderIds.get(0)));
     }
 
     @Test
@@ -0,0 +1,140 @@
+package com.jundaai.note.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+
+@ExtendWith(MockitoExtension.class)
+public class FolderTimestampsTest extends ServiceTest {
+
+    @Mock
+    private PlatformTransactionManager mockTransactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private FolderTimestamps testTimestamps;
+
+    @Override
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+        meterRegistry = new SimpleMeterRegistry();
+        testTimestamps = new FolderTimestamps(mockFolderRepository, mockTransactionManager, meterRegistry);
+    }
+
+    @Override
+    @AfterEach
+    void tearDown() throws Exception {
+        testTimestamps.stop();
+        super.tearDown();
+    }
+
+    @Test
+    public void flush_ManyTouches_OneWriteWithLatest() {
+        // given
+        Long testId = mockFolderIds.get(0);
+        ZonedDateTime stored = mockFolders.get(0).getUpdatedAt();
+        ZonedDateTime first = stored.plusSeconds(1);
+        ZonedDateTime second = stored.plusSeconds(2);
+
+        // when
+        when(mockFolderRepository.findAllForUpdateByIds(List.of(testId))).thenReturn(List.of(mockFolders.get(0)));
+        testTimestamps.touch(testId, second);
+        testTimestamps.touch(testId, first);
+        ZonedDateTime latest = testTimestamps.latest(testId, stored);
+        testTimestamps.flush();
+
+        // then
+        assertEquals(second, latest);
+        verify(mockFolderRepository).findAllForUpdateByIds(List.of(testId));
+        assertEquals(second, mockFolders.get(0).getUpdatedAt());
+        assertEquals(0, testTimestamps.getPendingCount());
+        assertEquals(2.0, meterRegistry.get(FolderTimestamps.TOUCHES_COUNTER).counter().count());
+        assertEquals(1.0, meterRegistry.get(FolderTimestamps.WRITES_COUNTER).counter().count());
+    }
+
+    @Test
+    public void touch_InTransaction_RecordedAfterCommit() {
+        // given
+        Long testId = mockFolderIds.get(1);
+        ZonedDateTime stored = mockFolders.get(1).getUpdatedAt();
+        ZonedDateTime touched = stored.plusSeconds(1);
+
+        // when
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            testTimestamps.touch(testId, touched);
+            assertEquals(stored, testTimestamps.latest(testId, stored));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // then
+        assertEquals(touched, testTimestamps.latest(testId, stored));
+    }
+
+    @Test
+    public void flush_WriteFails_TouchKept() {
+        // given
+        Long testId = mockFolderIds.get(0);
+        ZonedDateTime touched = mockFolders.get(0).getUpdatedAt().plusSeconds(1);
+
+        // when
+        when(mockFolderRepository.findAllForUpdateByIds(List.of(testId)))
+                .thenThrow(new IllegalStateException("database unavailable"));
+        testTimestamps.touch(testId, touched);
+        testTimestamps.flush();
+
+        // then
+        assertEquals(1, testTimestamps.getPendingCount());
+    }
+
+    @Test
+    public void start_FlushesOnSchedule_StopFlushesRest() {
+        // given
+        Long testId = mockFolderIds.get(0);
+        ZonedDateTime touched = mockFolders.get(0).getUpdatedAt().plusSeconds(1);
+
+        // when
+        when(mockFolderRepository.findAllForUpdateByIds(List.of(testId))).thenReturn(List.of(mockFolders.get(0)));
+        assertFalse(testTimestamps.isRunning());
+        testTimestamps.start();
+        testTimestamps.touch(testId, touched);
+
+        // then
+        assertTrue(testTimestamps.isRunning());
+        verify(mockFolderRepository, timeout(2 * FolderTimestamps.FLUSH_INTERVAL_MILLIS))
+                .findAllForUpdateByIds(List.of(testId));
+        testTimestamps.stop();
+        assertFalse(testTimestamps.isRunning());
+        assertEquals(0, testTimestamps.getPendingCount());
+    }
+
+    @Test
+    public void flush_NothingTouched_NoWrite() {
+        // when
+        testTimestamps.flush();
+
+        // then
+        verifyNoInteractions(mockFolderRepository);
+    }
+}
@@ -5,8 +5,11 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.time.ZonedDateTime;
@@ -17,35 +20,56 @@ import java.util.Optional;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import com.jundaai.note.dto.ChangeEntityType;
+import com.jundaai.note.dto.ChangeType;
+import com.jundaai.note.dto.ContentEdit;
+import com.jundaai.note.dto.KeysetCursor;
+import com.jundaai.note.dto.KeysetPage;
+import com.jundaai.note.dto.KeysetSort;
 import com.jundaai.note.dto.NoteCreationForm;
+import com.jundaai.note.dto.NoteText;
 import com.jundaai.note.dto.NoteUpdateForm;
 import com.jundaai.note.dto.NoteUpdateType;
+import com.jundaai.note.event.EntitiesChangedEvent;
+import com.jundaai.note.event.NotesAppendedEvent;
+import com.jundaai.note.event.NotesDeletedEvent;
+import com.jundaai.note.event.NotesSavedEvent;
 import com.jundaai.note.exception.BadRequestException;
 import com.jundaai.note.exception.FolderNotFoundException;
+import com.jundaai.note.exception.InvalidCursorException;
+import com.jundaai.note.exception.NoteContentConflictException;
 import com.jundaai.note.exception.NoteNameBlankException;
 import com.jundaai.note.exception.NoteNameConflictException;
 import com.jundaai.note.exception.NoteNotFoundException;
 import com.jundaai.note.exception.TagNotFoundException;
 import com.jundaai.note.model.Folder;
 import com.jundaai.note.model.Note;
+import com.jundaai.note.model.NoteContent;
 import com.jundaai.note.model.Tag;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
 
 @ExtendWith(MockitoExtension.class)
 public class NoteServiceTest extends ServiceTest {
 
     private NoteService testService;
+    private MeterRegistry meterRegistry;
 
     @Override
     @BeforeEach
     void setUp() {
         super.setUp();
-        testService = new NoteService(mockFolderRepository, mockNoteRepository, mockTagRepository);
+        meterRegistry = new SimpleMeterRegistry();
+        testService = new NoteService(mockFolderRepository, mockNoteRepository, mockNoteContentRepository,
+                mockTagRepository, mockTagNameCache, mockFolderTimestamps, mockEventPublisher, meterRegistry);
         Logger logger = (Logger) LoggerFactory.getLogger(NoteService.class);
         logger.addAppender(loggingEventListAppender);
     }
@@ -54,14 +78,37 @@ public class NoteServiceTest extends ServiceTest {
     public void getAllNotes_Success() {
         // given
         List<Note> expectedNotes = mockNotes;
+        KeysetCursor first = KeysetCursor.first(KeysetSort.UPDATED_AT);
 
         // when
-        when(mockNoteRepository.findAll()).thenReturn(mockNotes);
-        List<Note> gotNotes = testService.getAllNotes();
+        when(mockNoteRepository.findAllUpdatedBefore(first.updatedAt(), first.id(), PageRequest.ofSize(20)))
+                .thenReturn(new SliceImpl<>(mockNotes));
+        KeysetPage<Note> gotNotes = testService.getAllNotes(KeysetSort.UPDATED_AT, null, 20);
 
         // then
-        verify(mockNoteRepository).findAll();
-        assertEquals(expectedNotes, gotNotes);
+        verify(mockNoteRepository).findAllUpdatedBefore(first.updatedAt(), first.id(), PageRequest.ofSize(20));
+        assertEquals(expectedNotes, gotNotes.content());
+        assertFalse(gotNotes.hasNext());
+    }
+
+    @Test
+    public void getAllNotes_CursorOfOtherSort_ExceptionThrown() {
+        // given
+        Note testNote = mockNotes.get(0);
+        String cursor = KeysetCursor.after(KeysetSort.UPDATED_AT, testNote.getUpdatedAt(), testNote.getName(),
+                testNote.getId()).encode();
+        String expectedMessage = "Cursor: " + cursor + " is not valid for sort: NAME.";
+
+        // when
+        Exception exception1 = assertThrows(InvalidCursorException.class,
+                () -> testService.getAllNotes(KeysetSort.NAME, cursor, 20));
+        Exception exception2 = assertThrows(InvalidCursorException.class,
+                () -> testService.getAllNotes(KeysetSort.NAME, "not a cursor", 20));
+
+        // then
+        verifyNoInteractions(mockNoteRepository);
+        assertEquals(expectedMessage, exception1.getMessage());
+        assertEquals("Cursor: not a cursor is not valid for sort: NAME.", exception2.getMessage());
     }
 
     @Test
@@ -71,12 +118,14 @@ public class NoteServiceTest extends ServiceTest {
         List<Note> expectedNotes = mockNotes;
 
         // when
-        when(mockFolderRepository.findById(testId)).thenReturn(Optional.of(mockFolders.get(1)));
-        List<Note> gotNotes = testService.getAllNotesByFolderId(testId);
+        when(mockNoteRepository.findAllByFolderIdNamedAfter(testId, "", 0L, PageRequest.ofSize(20)))
+                .thenReturn(new SliceImpl<>(mockFolders.get(1).getNotes()));
+        KeysetPage<Note> gotNotes = testService.getAllNotesByFolderId(testId, KeysetSort.NAME, null, 20);
 
         // then
-        verify(mockFolderRepository).findById(testId);
-        assertEquals(expectedNotes, gotNotes);
+        verify(mockFolderRepository, never()).existsById(testId);
+        verify(mockNoteRepository).findAllByFolderIdNamedAfter(testId, "", 0L, PageRequest.ofSize(20));
+        assertEquals(expectedNotes, gotNotes.content());
     }
 
     @Test
@@ -86,11 +135,13 @@ public class NoteServiceTest extends ServiceTest {
         String expectedMessage = "Folder by id: " + notExistingId + " was not found.";
 
         // when
+        when(mockNoteRepository.findAllByFolderIdNamedAfter(notExistingId, "", 0L, PageRequest.ofSize(20)))
+                .thenReturn(new SliceImpl<>(List.of()));
         Exception exception = assertThrows(FolderNotFoundException.class,
-                () -> testService.getAllNotesByFolderId(notExistingId));
+                () -> testService.getAllNotesByFolderId(notExistingId, KeysetSort.NAME, null, 20));
 
         // then
-        verify(mockFolderRepository).findById(notExistingId);
+        verify(mockFolderRepository).existsById(notExistingId);
         assertEquals(expectedMessage, exception.getMessage());
     }
 
@@ -101,12 +152,15 @@ public class NoteServiceTest extends ServiceTest {
         List<Note> expectedNotes = mockNotes;
 
         // when
-        when(mockTagRepository.findById(testId)).thenReturn(Optional.of(mockTags.get(0)));
-        List<Note> gotNotes = testService.getAllNotesByTagId(testId);
+        when(mockNoteRepository.findAllByTagIdNamedAfter(testId, "", 0L, PageRequest.ofSize(20)))
+                .thenReturn(new SliceImpl<>(mockTags.get(0).getNotes(), PageRequest.ofSize(20), false));
+        KeysetPage<Note> gotNotes = testService.getAllNotesByTagId(testId, KeysetSort.NAME, null, 20);
 
         // then
-        verify(mockTagRepository).findById(testId);
-        assertEquals(expectedNotes, gotNotes);
+        verify(mockTagRepository, never()).existsById(testId);
+        verify(mockNoteRepository).findAllByTagIdNamedAfter(testId, "", 0L, PageRequest.ofSize(20));
+        assertEquals(expectedNotes, gotNotes.content());
+        assertFalse(gotNotes.hasNext());
     }
 
     @Test
@@ -116,11 +170,13 @@ public class NoteServiceTest extends ServiceTest {
         String expectedMessage = "Tag by id: " + notExistingId + " was not found.";
 
         // when
+        when(mockNoteRepository.findAllByTagIdNamedAfter(notExistingId, "", 0L, PageRequest.ofSize(20)))
+                .thenReturn(new SliceImpl<>(List.of()));
         Exception exception = assertThrows(TagNotFoundException.class,
-                () -> testService.getAllNotesByTagId(notExistingId));
+                () -> testService.getAllNotesByTagId(notExistingId, KeysetSort.NAME, null, 20));
 
         // then
-        verify(mockTagRepository).findById(notExistingId);
+        verify(mockTagRepository).existsById(notExistingId);
         assertEquals(expectedMessage, exception.getMessage());
     }
 
@@ -132,11 +188,18 @@ public class NoteServiceTest extends ServiceTest {
 
         // when
         when(mockNoteRepository.findById(testId)).thenReturn(Optional.of(expectedNote));
+        when(mockNoteContentRepository.findById(testId)).thenReturn(Optional.of(NoteContent.builder()
+                .note(expectedNote)
+                .content(expectedNote.getContent())
+                .version(3L)
+                .build()));
         Note gotNote = testService.getNoteById(testId);
 
         // then
         verify(mockNoteRepository).findById(testId);
+        verify(mockNoteContentRepository).findById(testId);
         assertEquals(expectedNote, gotNote);
+        assertEquals(3L, gotNote.getContentVersion());
     }
 
     @Test
@@ -167,16 +230,21 @@ public class NoteServiceTest extends ServiceTest {
 
         // when
         when(mockFolderRepository.findById(testFolderId)).thenReturn(Optional.of(testFolder));
+        when(mockNoteRepository.save(any(Note.class))).thenAnswer(invocation -> invocation.getArgument(0));
         testService.createNoteByFolderId(testFolderId, testForm);
 
         // then
         verify(mockFolderRepository).findById(testFolderId);
         verify(mockNoteRepository).existsByNameWithSameFolder(testName, testFolder);
         verify(mockNoteRepository).save(noteArgumentCaptor.capture());
+        verify(mockNoteContentRepository).save(noteContentArgumentCaptor.capture());
+        verify(mockEventPublisher).publishEvent(new NotesSavedEvent(List.of(new NoteText(null, testFolderId,
+                testName, testContent))));
 
         Note capturedNote = noteArgumentCaptor.getValue();
         assertEquals(testName, capturedNote.getName());
         assertEquals(testContent, capturedNote.getContent());
+        assertEquals(testContent, noteContentArgumentCaptor.getValue().getContent());
     }
 
     @Test
@@ -248,6 +316,8 @@ public class NoteServiceTest extends ServiceTest {
         verify(mockNoteRepository).findById(testId);
         verify(mockNoteRepository).existsByNameWithSameFolder(newName, testFolder);
         verify(mockNoteRepository).save(noteArgumentCaptor.capture());
+        verify(mockEventPublisher).publishEvent(new NotesSavedEvent(List.of(new NoteText(testId,
+                testFolder.getId(), newName, null))));
 
         Note capturedNote = noteArgumentCaptor.getValue();
         assertEquals(newName, capturedNote.getName());
@@ -265,21 +335,160 @@ public class NoteServiceTest extends ServiceTest {
 
         // when
         when(mockNoteRepository.findById(testId)).thenReturn(Optional.of(mockNotes.get(0)));
+        when(mockNoteContentRepository.findContentById(testId))
+                .thenReturn(Optional.of(mockNotes.get(0).getContent()));
         testService.updateNoteById(testId, testForm);
 
         // then
         verify(mockNoteRepository).findById(testId);
+        verify(mockNoteContentRepository).findContentById(testId);
+        verify(mockNoteContentRepository).updateContent(testId, newContent);
         verify(mockNoteRepository).save(noteArgumentCaptor.capture());
 
         Note capturedNote = noteArgumentCaptor.getValue();
         assertEquals(newContent, capturedNote.getContent());
     }
 
+    @Test
+    public void autosaveNoteById_UnchangedContent_VersionAdvanced() {
+        // given
+        Long testId = mockNoteIds.get(0);
+        String content = mockNotes.get(0).getContent();
+
+        // when
+        when(mockNoteRepository.findById(testId)).thenReturn(Optional.of(mockNotes.get(0)));
+        when(mockNoteContentRepository.findContentById(testId)).thenReturn(Optional.of(content));
+        testService.autosaveNoteById(testId, content);
+
+        // then
+        // the receipt handed out the next version, so the write takes it even though the body is the same
+        verify(mockNoteContentRepository).updateContent(testId, content);
+        verify(mockNoteRepository, never()).save(any(Note.class));
+    }
+
+    @Test
+    public void updateNoteById_AppendContent_Success() {
+        // given
+        Long testId = mockNoteIds.get(0);
+        NoteUpdateForm testForm = NoteUpdateForm.builder()
+                .updateType(NoteUpdateType.APPEND_CONTENT.name())
+                .newContent(" Appended.")
+                .build();
+
+        // when
+        when(mockNoteRepository.findById(testId)).thenReturn(Optional.of(mockNotes.get(0)));
+        when(mockNoteContentRepository.findVersionForUpdateById(testId)).thenReturn(Optional.of(3L));
+        testService.updateNoteById(testId, testForm);
+
+        // then
+        // the version is read under the row lock the append then takes, so it is the one the append advanced
+        verify(mockNoteContentRepository).findVersionForUpdateById(testId);
+        verify(mockNoteContentRepository).appendContent(testId, " Appended.");
+        verify(mockNoteContentRepository, never()).findVersionById(testId);
+        verify(mockNoteContentRepository, never()).findById(testId);
+        verify(mockNoteRepository).save(noteArgumentCaptor.capture());
+        verify(mockEventPublisher).publishEvent(new NotesAppendedEvent(List.of(new NoteText(testId,
+                mockNotes.get(0).getFolder().getId(), mockNotes.get(0).getName(), " Appended."))));
+        assertEquals(4L, noteArgumentCaptor.getValue().getContentVersion());
+    }
+
+    @Test
+    public void updateNoteById_AppendContentStaleBaseVersion_ExceptionThrown() {
+        // given
+        Long testId = mockNoteIds.get(0);
+        NoteUpdateForm testForm = NoteUpdateForm.builder()
+                .updateType(NoteUpdateType.APPEND_CONTENT.name())
+                .newContent(" Appended.")
+                .baseVersion(2L)
+                .build();
+        String expectedMessage = "Content of note by id: " + testId + " has changed since version: 2.";
+
+        // when
+        when(mockNoteRepository.findById(testId)).thenReturn(Optional.of(mockNotes.get(0)));
+        when(mockNoteContentRepository.appendContent(testId, " Appended.", 2L)).thenReturn(0);
+        when(mockNoteContentRepository.existsById(testId)).thenReturn(true);
+        Exception exception = assertThrows(NoteContentConflictException.class,
+                () -> testService.updateNoteById(testId, testForm));
+
+        // then
+        assertEquals(expectedMessage, exception.getMessage());
+        verify(mockNoteRepository, never()).save(any(Note.class));
+    }
+
+    @Test
+    public void updateNoteById_PatchContent_Success() {
+        // given
+        Long testId = mockNoteIds.get(0);
+        NoteUpdateForm testForm = NoteUpdateForm.builder()
+                .updateType(NoteUpdateType.PATCH_CONTENT.name())
+                .baseVersion(5L)
+                .edits(List.of(new ContentEdit(0, 5, "Hi"), new ContentEdit(12, 1, "?")))
+                .build();
+
+        // when
+        when(mockNoteRepository.findById(testId)).thenReturn(Optional.of(mockNotes.get(0)));
+        when(mockNoteContentRepository.findVersionById(testId)).thenReturn(Optional.of(5L));
+        when(mockNoteContentRepository.findContentById(testId)).thenReturn(Optional.of("Hello, World!"));
+        when(mockNoteContentRepository.updateContent(testId, "Hi, World?", 5L)).thenReturn(1);
+        testService.updateNoteById(testId, testForm);
+
+        // then
+        verify(mockNoteContentRepository).updateContent(testId, "Hi, World?", 5L);
+        verify(mockNoteRepository).save(noteArgumentCaptor.capture());
+        verify(mockEventPublisher).publishEvent(new NotesSavedEvent(List.of(new NoteText(testId,
+                mockNotes.get(0).getFolder().getId(), mockNotes.get(0).getName(), "Hi, World?"))));
+        assertEquals(6L, noteArgumentCaptor.getValue().getContentVersion());
+    }
+
+    @Test
+    public void updateNoteById_PatchContentStaleBaseVersion_RejectedBeforeContentRead() {
+        // given
+        Long testId = mockNoteIds.get(0);
+        NoteUpdateForm testForm = NoteUpdateForm.builder()
+                .updateType(NoteUpdateType.PATCH_CONTENT.name())
+                .baseVersion(4L)
+                .edits(List.of(new ContentEdit(0, 5, "Hi")))
+                .build();
+        String expectedMessage = "Content of note by id: " + testId + " has changed since version: 4.";
+
+        // when
+        when(mockNoteRepository.findById(testId)).thenReturn(Optional.of(mockNotes.get(0)));
+        when(mockNoteContentRepository.findVersionById(testId)).thenReturn(Optional.of(5L));
+        Exception exception = assertThrows(NoteContentConflictException.class,
+                () -> testService.updateNoteById(testId, testForm));
+
+        // then
+        assertEquals(expectedMessage, exception.getMessage());
+        verify(mockNoteContentRepository, never()).findContentById(testId);
+        verify(mockNoteRepository, never()).save(any(Note.class));
+    }
+
+    @Test
+    public void updateNoteById_PatchContentOverlappingEdits_ExceptionThrown() {
+        // given
+        Long testId = mockNoteIds.get(0);
+        NoteUpdateForm testForm = NoteUpdateForm.builder()
+                .updateType(NoteUpdateType.PATCH_CONTENT.name())
+                .baseVersion(5L)
+                .edits(List.of(new ContentEdit(0, 5, "Hi"), new ContentEdit(3, 1, "?")))
+                .build();
+
+        // when
+        when(mockNoteRepository.findById(testId)).thenReturn(Optional.of(mockNotes.get(0)));
+        when(mockNoteContentRepository.findVersionById(testId)).thenReturn(Optional.of(5L));
+        when(mockNoteContentRepository.findContentById(testId)).thenReturn(Optional.of("Hello, World!"));
+
+        // then
+        assertThrows(BadRequestException.class, () -> testService.updateNoteById(testId, testForm));
+        verify(mockNoteContentRepository, never()).updateContent(eq(testId), any(String.class), eq(5L));
+    }
+
     @Test
     public void updateNoteById_Move_Success() {
         // given
         Long testId = mockNoteIds.get(0);
         Long testToFolderId = mockFolderIds.get(0);
+        Folder testFromFolder = mockNotes.get(0).getFolder();
         NoteUpdateForm testForm = NoteUpdateForm.builder()
                 .updateType(NoteUpdateType.MOVE_NOTE.name())
                 .toFolderId(testToFolderId)
@@ -293,17 +502,15 @@ public class NoteServiceTest extends ServiceTest {
         // then
         verify(mockNoteRepository).findById(testId);
         verify(mockFolderRepository).findById(testToFolderId);
-        verify(mockFolderRepository, times(2)).save(folderArgumentCaptor.capture());
+        verify(mockFolderRepository, never()).save(any(Folder.class));
+        verify(mockFolderTimestamps).touch(eq(testFromFolder.getId()), any(ZonedDateTime.class));
+        verify(mockFolderTimestamps).touch(eq(testToFolderId), any(ZonedDateTime.class));
         verify(mockNoteRepository).save(noteArgumentCaptor.capture());
 
         Note capturedNote = noteArgumentCaptor.getValue();
         assertEquals(testToFolderId, capturedNote.getFolder().getId());
-
-        Folder capturedFromFolder = folderArgumentCaptor.getAllValues().get(0);
-        assertFalse(capturedFromFolder.getNotes().contains(capturedNote));
-
-        Folder capturedToFolder = folderArgumentCaptor.getAllValues().get(1);
-        assertTrue(capturedToFolder.getNotes().contains(capturedNote));
+        assertFalse(testFromFolder.getNotes().contains(capturedNote));
+        assertTrue(mockFolders.get(0).getNotes().contains(capturedNote));
     }
 
     @Test
@@ -333,7 +540,7 @@ public class NoteServiceTest extends ServiceTest {
 
         // then
         verify(mockNoteRepository).findById(testId);
-        verify(mockTagRepository).existsByName(newTagName);
+        verify(mockTagNameCache).findByName(newTagName);
         verify(mockTagRepository, times(2)).save(tagArgumentCaptor.capture());
         verify(mockNoteRepository).save(noteArgumentCaptor.capture());
 
@@ -358,14 +565,12 @@ public class NoteServiceTest extends ServiceTest {
 
         // when
         when(mockNoteRepository.findById(testId)).thenReturn(Optional.of(testNote));
-        when(mockTagRepository.existsByName(existingTagName)).thenReturn(true);
-        when(mockTagRepository.getByName(existingTagName)).thenReturn(existingTag);
+        when(mockTagNameCache.findByName(existingTagName)).thenReturn(Optional.of(existingTag));
         testService.updateNoteById(testId, testForm);
 
         // then
         verify(mockNoteRepository).findById(testId);
-        verify(mockTagRepository).existsByName(existingTagName);
-        verify(mockTagRepository).getByName(existingTagName);
+        verify(mockTagNameCache).findByName(existingTagName);
         verify(mockTagRepository).save(tagArgumentCaptor.capture());
         verify(mockNoteRepository).save(noteArgumentCaptor.capture());
 
@@ -390,12 +595,12 @@ public class NoteServiceTest extends ServiceTest {
 
         // when
         when(mockNoteRepository.findById(testId)).thenReturn(Optional.of(testNote));
-        when(mockTagRepository.findByName(oldTagName)).thenReturn(Optional.of(oldTag));
+        when(mockTagNameCache.findByName(oldTagName)).thenReturn(Optional.of(oldTag));
         testService.updateNoteById(testId, testForm);
 
         // then
         verify(mockNoteRepository).findById(testId);
-        verify(mockTagRepository).findByName(oldTagName);
+        verify(mockTagNameCache).findByName(oldTagName);
         verify(mockTagRepository).save(tagArgumentCaptor.capture());
         verify(mockNoteRepository).save(noteArgumentCaptor.capture());
 
@@ -474,9 +679,11 @@ public class NoteServiceTest extends ServiceTest {
 
         // when
         when(mockNoteRepository.findById(testId)).thenReturn(Optional.of(testNote));
+        when(mockNoteContentRepository.findContentById(testId)).thenReturn(Optional.of(oldContent));
         testService.updateNoteById(testId, testForm);
 
         // then
+        verifyNoInteractions(mockEventPublisher);
         List<ILoggingEvent> loggingEvents = loggingEventListAppender.list;
         assertEquals(expectedMessage, loggingEvents.get(1).getMessage());
         assertEquals(Level.ERROR, loggingEvents.get(1).getLevel());
@@ -531,14 +738,12 @@ public class NoteServiceTest extends ServiceTest {
 
         // when
         when(mockNoteRepository.findById(testId)).thenReturn(Optional.of(mockNotes.get(0)));
-        when(mockTagRepository.existsByName(oldTagName)).thenReturn(true);
-        when(mockTagRepository.getByName(oldTagName)).thenReturn(mockTags.get(0));
+        when(mockTagNameCache.findByName(oldTagName)).thenReturn(Optional.of(mockTags.get(0)));
         testService.updateNoteById(testId, testForm);
 
         // then
         verify(mockNoteRepository).findById(testId);
-        verify(mockTagRepository).existsByName(oldTagName);
-        verify(mockTagRepository).getByName(oldTagName);
+        verify(mockTagNameCache).findByName(oldTagName);
 
         List<ILoggingEvent> loggingEvents = loggingEventListAppender.list;
         assertEquals(expectedMessage, loggingEvents.get(1).getMessage());
@@ -569,14 +774,14 @@ public class NoteServiceTest extends ServiceTest {
         Exception exception1 = assertThrows(TagNotFoundException.class,
                 () -> testService.updateNoteById(testId, testForm1));
 
-        when(mockTagRepository.findByName(testTagName)).thenReturn(Optional.of(testTag));
+        when(mockTagNameCache.findByName(testTagName)).thenReturn(Optional.of(testTag));
         Exception exception2 = assertThrows(BadRequestException.class,
                 () -> testService.updateNoteById(testId, testForm2));
 
         // then
         verify(mockNoteRepository, times(2)).findById(testId);
-        verify(mockTagRepository).findByName(notExistingTagName);
-        verify(mockTagRepository).findByName(testTagName);
+        verify(mockTagNameCache).findByName(notExistingTagName);
+        verify(mockTagNameCache).findByName(testTagName);
 
         assertEquals(expectedMessage1, exception1.getMessage());
         assertEquals(expectedMessage2, exception2.getMessage());
@@ -599,6 +804,29 @@ public class NoteServiceTest extends ServiceTest {
         assertEquals(unsupportedOperation, exception.getMessage());
     }
 
+    @Test
+    public void updateNoteById_Rename_TimedByUpdateType() {
+        // given
+        Long testId = mockNoteIds.get(0);
+        NoteUpdateForm testForm = NoteUpdateForm.builder()
+                .updateType(NoteUpdateType.RENAME_NOTE.name())
+                .newName("New Name")
+                .build();
+
+        // when
+        when(mockNoteRepository.findById(testId)).thenReturn(Optional.of(mockNotes.get(0)));
+        testService.updateNoteById(testId, testForm);
+
+        // then
+        for (NoteUpdateType updateType : NoteUpdateType.values()) {
+            long expectedCount = updateType == NoteUpdateType.RENAME_NOTE ? 1 : 0;
+            assertEquals(expectedCount, meterRegistry.get(NoteService.UPDATE_TIMER)
+                    .tag("type", updateType.name())
+                    .timer()
+                    .count());
+        }
+    }
+
     @Test
     public void deleteNoteById_Success() {
         // given
@@ -613,11 +841,13 @@ public class NoteServiceTest extends ServiceTest {
 
         // then
         verify(mockNoteRepository).findById(testId);
-        verify(mockFolderRepository).save(folderArgumentCaptor.capture());
+        verify(mockFolderRepository, never()).save(any(Folder.class));
+        verify(mockFolderTimestamps).touch(eq(testFolder.getId()), any(ZonedDateTime.class));
         verify(mockNoteRepository).deleteById(testId);
-
-        Folder capturedFolder = folderArgumentCaptor.getValue();
-        assertFalse(capturedFolder.getNotes().contains(testNote));
+        verify(mockEventPublisher).publishEvent(new NotesDeletedEvent(List.of(testId)));
+        verify(mockEventPublisher).publishEvent(EntitiesChangedEvent.of(ChangeEntityType.NOTE, ChangeType.DELETED,
+                testId).inFolders(testFolder.getId()));
+        assertFalse(testFolder.getNotes().contains(testNote));
     }
 
     @Test
@@ -0,0 +1,68 @@
+package com.jundaai.note.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.jundaai.note.dto.NoteText;
+import com.jundaai.note.dto.SearchHit;
+import com.jundaai.note.event.NotesDeletedEvent;
+import com.jundaai.note.event.NotesSavedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+
+@ExtendWith(MockitoExtension.class)
+public class SearchServiceTest extends ServiceTest {
+
+    private SearchService testService;
+
+    @Override
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+        testService = new SearchService(mockNoteRepository, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    public void rebuildIndex_IndexesAllNotes() {
+        // given
+        when(mockNoteRepository.streamAllTexts()).thenReturn(Stream.of(
+                new NoteText(3L, 1L, "Go", "Go is a general purpose programming language."),
+                new NoteText(6L, 2L, "Stack", "Last in, first out.")));
+
+        // when
+        testService.rebuildIndex();
+        List<SearchHit> hits = testService.searchNotes("programming", 10);
+
+        // then
+        verify(mockNoteRepository).streamAllTexts();
+        assertEquals(1, hits.size());
+        assertEquals(3L, hits.get(0).id());
+        assertEquals("Go", hits.get(0).name());
+    }
+
+    @Test
+    public void onNotesSavedAndDeleted_IndexUpdated() {
+        // when
+        testService.onNotesSaved(new NotesSavedEvent(List.of(
+                new NoteText(1L, 1L, "Queue", "First in, first out."),
+                new NoteText(2L, 1L, "Stack", "Last in, first out."))));
+        testService.onNotesSaved(new NotesSavedEvent(List.of(new NoteText(2L, 1L, "Heap", null))));
+        List<SearchHit> afterRename = testService.searchNotes("stack heap", 10);
+        testService.onNotesDeleted(new NotesDeletedEvent(List.of(1L)));
+        List<SearchHit> afterDelete = testService.searchNotes("first", 10);
+
+        // then
+        assertEquals(List.of(2L), afterRename.stream().map(SearchHit::id).toList());
+        assertEquals("Heap", afterRename.get(0).name());
+        assertEquals(List.of(2L), afterDelete.stream().map(SearchHit::id).toList());
+    }
+}
@@ -0,0 +1,245 @@
+package com.jundaai.note.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.jundaai.note.SqlStatementRecorder;
+import com.jundaai.note.dto.FolderCreationForm;
+import com.jundaai.note.dto.FolderUpdateForm;
+import com.jundaai.note.dto.FolderUpdateType;
+import com.jundaai.note.dto.TagOperationForm;
+import com.jundaai.note.model.Folder;
+import com.jundaai.note.model.Tag;
+import com.jundaai.note.repository.FolderClosureRepository;
+import com.jundaai.note.repository.FolderRepository;
+import com.jundaai.note.repository.TagRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:l2cache")
+@ActiveProfiles("l2cache")
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private FolderRepository folderRepository;
+    @Autowired
+    private FolderClosureRepository folderClosureRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private FolderService folderService;
+    @Autowired
+    private TagService tagService;
+    @Autowired
+    private TagNameCache tagNameCache;
+    @Autowired
+    private ExchangeService exchangeService;
+    @Autowired
+    private FolderTimestamps folderTimestamps;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Folder> testFolders = new ArrayList<>();
+    private Cache cache;
+    private Folder sourceFolder;
+    private Folder targetFolder;
+
+    @BeforeEach
+    void setUp() {
+        cache = entityManagerFactory.getCache();
+        sourceFolder = saveFolder("Source");
+        targetFolder = saveFolder("Target");
+        cache.evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        inTransaction(() -> {
+            for (Folder folder : testFolders) {
+                folderClosureRepository.deleteSubtreePaths(folderClosureRepository.findSubtreeIds(folder.getId()));
+                folderRepository.deleteById(folder.getId());
+            }
+            return null;
+        });
+    }
+
+    @Test
+    public void findFolderById_SecondReadServedFromCache() {
+        // when
+        SqlStatementRecorder.start();
+        String firstName = folderName(sourceFolder.getId());
+        List<String> firstStatements = SqlStatementRecorder.stop();
+        SqlStatementRecorder.start();
+        String secondName = folderName(sourceFolder.getId());
+        List<String> secondStatements = SqlStatementRecorder.stop();
+
+        // then
+        assertEquals("Source", firstName);
+        assertEquals("Source", secondName);
+        assertEquals(1, firstStatements.size());
+        assertEquals(List.of(), secondStatements);
+    }
+
+    @Test
+    public void renameFolder_CachedEntryUpdated() {
+        // given
+        FolderUpdateForm testForm = FolderUpdateForm.builder()
+                .updateType(FolderUpdateType.RENAME_FOLDER.name())
+                .newName("Renamed")
+                .build();
+        folderName(sourceFolder.getId());
+
+        // when
+        folderService.updateFolderById(sourceFolder.getId(), testForm);
+        SqlStatementRecorder.start();
+        String name = folderName(sourceFolder.getId());
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        assertEquals("Renamed", name);
+        assertEquals(List.of(), statements);
+    }
+
+    @Test
+    public void createAndMoveFolder_SubFolderCollectionsInvalidated() {
+        // given
+        assertEquals(List.of(), subFolderNames(sourceFolder.getId()));
+        assertEquals(List.of(), subFolderNames(targetFolder.getId()));
+
+        // when
+        Folder child = folderService.createFolderByParentId(sourceFolder.getId(), new FolderCreationForm("Child"));
+        List<String> sourceAfterCreate = subFolderNames(sourceFolder.getId());
+        folderService.updateFolderById(child.getId(), FolderUpdateForm.builder()
+                .updateType(FolderUpdateType.MOVE_FOLDER.name())
+                .toParentId(targetFolder.getId())
+                .build());
+
+        // then
+        assertEquals(List.of("Child"), sourceAfterCreate);
+        assertEquals(List.of(), subFolderNames(sourceFolder.getId()));
+        assertEquals(List.of("Child"), subFolderNames(targetFolder.getId()));
+    }
+
+    @Test
+    public void deleteFolder_EntityAndParentCollectionEvicted() {
+        // given
+        Folder child = folderService.createFolderByParentId(sourceFolder.getId(), new FolderCreationForm("Child"));
+        assertEquals(List.of("Child"), subFolderNames(sourceFolder.getId()));
+        assertTrue(cache.contains(Folder.class, child.getId()));
+
+        // when
+        folderService.deleteFolderById(child.getId());
+
+        // then
+        assertFalse(inTransaction(() -> folderRepository.findById(child.getId()).isPresent()));
+        assertEquals(List.of(), subFolderNames(sourceFolder.getId()));
+    }
+
+    @Test
+    public void flushFolderTimestamps_OnlyTouchedEntryUpdated() {
+        // given
+        ZonedDateTime touched = inTransaction(() -> folderRepository.findById(sourceFolder.getId()).orElseThrow()
+                .getUpdatedAt().plusMinutes(1));
+        folderName(targetFolder.getId());
+
+        // when
+        folderTimestamps.touch(sourceFolder.getId(), touched);
+        folderTimestamps.flush();
+        SqlStatementRecorder.start();
+        ZonedDateTime updatedAt = inTransaction(() -> folderRepository.findById(sourceFolder.getId()).orElseThrow()
+                .getUpdatedAt());
+        String targetName = folderName(targetFolder.getId());
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // then
+        assertTrue(touched.isEqual(updatedAt));
+        assertEquals("Target", targetName);
+        assertEquals(List.of(), statements);
+    }
+
+    @Test
+    public void importIntoFolder_ParentCollectionEvicted() throws Exception {
+        // given
+        String body = "{\"type\":\"FOLDER\",\"id\":1,\"name\":\"Imported\"}\n";
+        assertEquals(List.of(), subFolderNames(targetFolder.getId()));
+
+        // when
+        exchangeService.importIntoFolder(targetFolder.getId(),
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        // then
+        assertEquals(List.of("Imported"), subFolderNames(targetFolder.getId()));
+    }
+
+    @Test
+    public void renameAndDeleteTag_CachedEntryUpdatedAndEvicted() {
+        // given
+        Tag tag = tagService.createTag(new TagOperationForm("Cached"));
+        inTransaction(() -> tagRepository.findById(tag.getId()).orElseThrow().getName());
+
+        // when
+        tagService.updateTagById(tag.getId(), new TagOperationForm("Recached"));
+        SqlStatementRecorder.start();
+        String name = inTransaction(() -> tagRepository.findById(tag.getId()).orElseThrow().getName());
+        List<String> statements = SqlStatementRecorder.stop();
+        boolean oldNameResolved = inTransaction(() -> tagNameCache.findByName("Cached").isPresent());
+        tagService.deleteTagById(tag.getId());
+
+        // then
+        assertEquals("Recached", name);
+        assertEquals(List.of(), statements);
+        assertFalse(oldNameResolved);
+        assertFalse(inTransaction(() -> tagRepository.findById(tag.getId()).isPresent()));
+    }
+
+    private String folderName(Long folderId) {
+        return inTransaction(() -> folderRepository.findById(folderId).orElseThrow().getName());
+    }
+
+    private List<String> subFolderNames(Long folderId) {
+        return inTransaction(() -> folderRepository.findById(folderId).orElseThrow().getSubFolders().stream()
+                .map(Folder::getName)
+                .sorted()
+                .toList());
+    }
+
+    private Folder saveFolder(String name) {
+        ZonedDateTime now = ZonedDateTime.now();
+        Folder folder = inTransaction(() -> {
+            Folder saved = folderRepository.save(Folder.builder()
+                    .name(name)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .subFolders(new ArrayList<>())
+                    .notes(new ArrayList<>())
+                    .build());
+            folderClosureRepository.insertSelf(saved.getId());
+            return saved;
+        });
+        testFolders.add(folder);
+        return folder;
+    }
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+}
@@ -9,8 +9,11 @@ import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.read.ListAppender;
 import com.jundaai.note.model.Folder;
 import com.jundaai.note.model.Note;
+import com.jundaai.note.model.NoteContent;
 import com.jundaai.note.model.Tag;
+import com.jundaai.note.repository.FolderClosureRepository;
 import com.jundaai.note.repository.FolderRepository;
+import com.jundaai.note.repository.NoteContentRepository;
 import com.jundaai.note.repository.NoteRepository;
 import com.jundaai.note.repository.TagRepository;
 import org.junit.jupiter.api.AfterEach;
@@ -18,6 +21,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 
 public abstract class ServiceTest {
@@ -27,12 +31,23 @@ public abstract class ServiceTest {
     @Mock
     FolderRepository mockFolderRepository;
     @Mock
+    FolderClosureRepository mockFolderClosureRepository;
+    @Mock
     NoteRepository mockNoteRepository;
     @Mock
+    NoteContentRepository mockNoteContentRepository;
+    @Mock
     TagRepository mockTagRepository;
+    @Mock
+    TagNameCache mockTagNameCache;
+    @Mock
+    FolderTimestamps mockFolderTimestamps;
+    @Mock
+    ApplicationEventPublisher mockEventPublisher;
 
     ArgumentCaptor<Folder> folderArgumentCaptor;
     ArgumentCaptor<Note> noteArgumentCaptor;
+    ArgumentCaptor<NoteContent> noteContentArgumentCaptor;
     ArgumentCaptor<Tag> tagArgumentCaptor;
 
     ListAppender<ILoggingEvent> loggingEventListAppender;
@@ -50,6 +65,7 @@ public abstract class ServiceTest {
 
         folderArgumentCaptor = ArgumentCaptor.forClass(Folder.class);
         noteArgumentCaptor = ArgumentCaptor.forClass(Note.class);
+        noteContentArgumentCaptor = ArgumentCaptor.forClass(NoteContent.class);
         tagArgumentCaptor = ArgumentCaptor.forClass(Tag.class);
 
         loggingEventListAppender = new ListAppender<>();
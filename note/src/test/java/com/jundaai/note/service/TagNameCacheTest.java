@@ -0,0 +1,118 @@
+package com.jundaai.note.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import com.jundaai.note.model.Tag;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+
+@ExtendWith(MockitoExtension.class)
+public class TagNameCacheTest extends ServiceTest {
+
+    private MeterRegistry meterRegistry;
+    private TagNameCache testCache;
+
+    @Override
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+        meterRegistry = new SimpleMeterRegistry();
+        testCache = new TagNameCache(mockTagRepository, meterRegistry);
+    }
+
+    @Test
+    public void findByName_SecondLookupHitsCache() {
+        // given
+        Tag testTag = mockTags.get(0);
+        String testName = testTag.getName();
+
+        // when
+        when(mockTagRepository.findByName(testName)).thenReturn(Optional.of(testTag));
+        when(mockTagRepository.findById(testTag.getId())).thenReturn(Optional.of(testTag));
+        Optional<Tag> first = testCache.findByName(testName);
+        Optional<Tag> second = testCache.findByName(testName);
+
+        // then
+        verify(mockTagRepository).findByName(testName);
+        verify(mockTagRepository).findById(testTag.getId());
+        assertSame(testTag, first.orElseThrow());
+        assertSame(testTag, second.orElseThrow());
+        assertEquals(1.0, gets("hit"));
+        assertEquals(1.0, gets("miss"));
+    }
+
+    @Test
+    public void findByName_NotExistingName_NotCached() {
+        // given
+        String notExistingName = "Not Exist";
+
+        // when
+        Optional<Tag> first = testCache.findByName(notExistingName);
+        Optional<Tag> second = testCache.findByName(notExistingName);
+
+        // then
+        verify(mockTagRepository, times(2)).findByName(notExistingName);
+        assertFalse(first.isPresent());
+        assertFalse(second.isPresent());
+        assertEquals(2.0, gets("miss"));
+    }
+
+    @Test
+    public void findByName_RenamedTag_FallsBackToName() {
+        // given
+        Tag renamedTag = mockTags.get(0);
+        String oldName = renamedTag.getName();
+
+        // when
+        when(mockTagRepository.findByName(oldName)).thenReturn(Optional.of(renamedTag));
+        testCache.findByName(oldName);
+        renamedTag.setName("Alphabet");
+        when(mockTagRepository.findById(renamedTag.getId())).thenReturn(Optional.of(renamedTag));
+        when(mockTagRepository.findByName(oldName)).thenReturn(Optional.empty());
+        Optional<Tag> stale = testCache.findByName(oldName);
+
+        // then
+        verify(mockTagRepository, times(2)).findByName(oldName);
+        assertFalse(stale.isPresent());
+    }
+
+    @Test
+    public void evict_NextLookupMisses() {
+        // given
+        Tag testTag = mockTags.get(1);
+        String testName = testTag.getName();
+
+        // when
+        when(mockTagRepository.findByName(testName)).thenReturn(Optional.of(testTag));
+        testCache.findByName(testName);
+        testCache.evict(testName);
+        testCache.findByName(testName);
+
+        // then
+        verify(mockTagRepository, times(2)).findByName(testName);
+        verify(mockTagRepository, never()).findById(testTag.getId());
+        assertEquals(0.0, gets("hit"));
+        assertEquals(2.0, gets("miss"));
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", TagNameCache.CACHE_NAME)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
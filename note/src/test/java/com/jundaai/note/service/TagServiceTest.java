@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -13,7 +14,14 @@ import java.util.List;
 import java.util.Optional;
 
 import ch.qos.logback.classic.Logger;
+import com.jundaai.note.dto.ChangeEntityType;
+import com.jundaai.note.dto.ChangeType;
+import com.jundaai.note.dto.KeysetCursor;
+import com.jundaai.note.dto.KeysetPage;
+import com.jundaai.note.dto.KeysetSort;
 import com.jundaai.note.dto.TagOperationForm;
+import com.jundaai.note.dto.TagSummary;
+import com.jundaai.note.event.EntitiesChangedEvent;
 import com.jundaai.note.exception.NoteNotFoundException;
 import com.jundaai.note.exception.TagNameBlankException;
 import com.jundaai.note.exception.TagNameConflictException;
@@ -25,6 +33,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
 
 @ExtendWith(MockitoExtension.class)
@@ -36,7 +46,8 @@ public class TagServiceTest extends ServiceTest {
     @BeforeEach
     void setUp() {
         super.setUp();
-        testService = new TagService(mockNoteRepository, mockTagRepository);
+        testService = new TagService(mockNoteRepository, mockTagRepository, mockTagNameCache,
+                mockEventPublisher);
         Logger logger = (Logger) LoggerFactory.getLogger(TagService.class);
         logger.addAppender(loggingEventListAppender);
     }
@@ -44,15 +55,21 @@ public class TagServiceTest extends ServiceTest {
     @Test
     public void getAllTags_Success() {
         // given
-        List<Tag> expectedTags = mockTags;
+        List<TagSummary> expectedTags = mockTags.stream()
+                .map(tag -> new TagSummary(tag.getId(), tag.getName(), tag.getCreatedAt(), tag.getUpdatedAt(),
+                        tag.getNotes().size()))
+                .toList();
+
+        KeysetCursor first = KeysetCursor.first(KeysetSort.NAME);
 
         // when
-        when(mockTagRepository.findAll()).thenReturn(mockTags);
-        List<Tag> gotTags = testService.getAllTags();
+        when(mockTagRepository.findSummariesNamedAfter(first.name(), first.id(), PageRequest.ofSize(20)))
+                .thenReturn(new SliceImpl<>(expectedTags));
+        KeysetPage<TagSummary> gotTags = testService.getAllTags(KeysetSort.NAME, null, 20);
 
         // then
-        verify(mockTagRepository).findAll();
-        assertEquals(expectedTags, gotTags);
+        verify(mockTagRepository).findSummariesNamedAfter(first.name(), first.id(), PageRequest.ofSize(20));
+        assertEquals(expectedTags, gotTags.content());
     }
 
     @Test
@@ -123,10 +140,12 @@ public class TagServiceTest extends ServiceTest {
 
         // when
         when(mockTagRepository.existsByName(testName)).thenReturn(false);
+        when(mockTagRepository.save(any(Tag.class))).thenAnswer(invocation -> invocation.getArgument(0));
         testService.createTag(testForm);
 
         // then
         verify(mockTagRepository).existsByName(testName);
+        verify(mockTagNameCache).evict(testName);
         verify(mockTagRepository).save(tagArgumentCaptor.capture());
 
         Tag capturedTag = tagArgumentCaptor.getValue();
@@ -173,7 +192,11 @@ public class TagServiceTest extends ServiceTest {
         // then
         verify(mockTagRepository).findById(testId);
         verify(mockTagRepository).existsByName(newName);
+        verify(mockTagNameCache).evict("Google");
+        verify(mockTagNameCache).evict(newName);
         verify(mockTagRepository).save(tagArgumentCaptor.capture());
+        verify(mockEventPublisher).publishEvent(EntitiesChangedEvent.of(ChangeEntityType.TAG, ChangeType.UPDATED,
+                testId));
 
         Tag capturedTag = tagArgumentCaptor.getValue();
         assertEquals(newName, capturedTag.getName());
@@ -238,8 +261,11 @@ public class TagServiceTest extends ServiceTest {
 
         // then
         verify(mockTagRepository).findById(testId);
+        verify(mockTagNameCache).evict(testTag.getName());
         verify(mockTagRepository).deleteById(testId);
         verify(mockNoteRepository).save(noteArgumentCaptor.capture());
+        verify(mockEventPublisher).publishEvent(EntitiesChangedEvent.of(ChangeEntityType.TAG, ChangeType.DELETED,
+                testId));
 
         Note capturedNote = noteArgumentCaptor.getValue();
         assertFalse(capturedNote.getTags().contains(testTag));